@@ -0,0 +1,57 @@
+package com.recomon.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : HtmlCleanerBenchmark
+ * author         : kobe
+ * date           : 2026. 1. 18.
+ * description    : 기존 정규식 태그 제거(replaceAll)와 HtmlCleaner 비교
+ *                  실행: ./gradlew jmh -Pjmh.includes=HtmlCleanerBenchmark
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 18.        kobe       최초 생성
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HtmlCleanerBenchmark {
+
+    // 네이버 도서 검색 API 응답에서 발췌한 형태 그대로의 샘플 (검색어 하이라이트 <b>, 엔티티 포함)
+    private static final String[] SAMPLES = {
+            "채식주의자 (<b>소설</b>가 한강의 장편<b>소설</b>)",
+            "한강",
+            "2016년 맨부커 인터내셔널상 수상작. &quot;나는 꿈을 꾸었어.&quot; 평범한 여자 영혜가 육식을 거부하면서 "
+                    + "시작되는 이야기. 세 편의 중편 <b>소설</b>로 구성된 연작<b>소설</b>로, 각각의 시선에서 영혜를 "
+                    + "바라본다. 인간의 폭력성과 그에 대한 저항, 그리고 &lt;아름다움&gt;에 대한 질문을 던진다.",
+            "불편한 편의점 (40만부 기념 벚꽃 에디션) &amp; 작가의 말",
+            "김호연^김영하",
+            "<b>컴퓨터</b> 구조와 운영체제 - 혼자 공부하는 &#39;혼공&#39; 시리즈 &middot; 개정판",
+            "이 책은 개발자라면 누구나 알아야 할 <b>IT</b> 기초 지식을 다룬다. CPU, 메모리, 보조기억장치, "
+                    + "입출력장치의 동작 원리부터 프로세스와 스레드, CPU 스케줄링, 동기화와 교착 상태, "
+                    + "가상 메모리와 파일 시스템까지 한 권에 담았다. 그림 300여 개와 함께 설명하여 "
+                    + "비전공자도 쉽게 이해할 수 있다. &quot;혼자 해도 충분하다!&quot;"
+    };
+
+    @Benchmark
+    public void regexReplaceAll(Blackhole blackhole) {
+        for (String sample : SAMPLES) {
+            blackhole.consume(sample.replaceAll("<[^>]*>", ""));
+        }
+    }
+
+    @Benchmark
+    public void htmlCleaner(Blackhole blackhole) {
+        for (String sample : SAMPLES) {
+            blackhole.consume(HtmlCleaner.clean(sample));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.recomon.vectorindex;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : PgvectorSearchBenchmark
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : pgvector(vector_store) 코사인 top-10 검색 지연 (VectorScanBenchmark와 비교용)
+ *                  VectorDocumentRepository.searchByVector와 같은 쿼리를 JDBC로 직접 실행합니다 (네트워크 왕복 포함).
+ *                  실행: RECOMON_BENCH_PG_URL=jdbc:postgresql://localhost:5432/recomon RECOMON_BENCH_PG_USER=... \
+ *                        RECOMON_BENCH_PG_PASSWORD=... ./gradlew jmh -Pjmh.includes=PgvectorSearchBenchmark
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PgvectorSearchBenchmark {
+
+    private static final int TOP_K = 10;
+
+    @Param({"1536"})
+    private int dimensions;
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private String query;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = System.getenv("RECOMON_BENCH_PG_URL");
+        if (url == null) {
+            throw new IllegalStateException("RECOMON_BENCH_PG_URL이 없습니다 (예: jdbc:postgresql://localhost:5432/recomon)");
+        }
+        connection = DriverManager.getConnection(url,
+                System.getenv("RECOMON_BENCH_PG_USER"), System.getenv("RECOMON_BENCH_PG_PASSWORD"));
+        statement = connection.prepareStatement(
+                "SELECT id, content, metadata::text AS metadata, embedding <=> ?::vector AS distance "
+                        + "FROM vector_store ORDER BY distance LIMIT " + TOP_K);
+
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder vector = new StringBuilder("[");
+        for (int i = 0; i < dimensions; i++) {
+            if (i > 0) {
+                vector.append(',');
+            }
+            vector.append((float) (random.nextDouble() * 2 - 1));
+        }
+        query = vector.append(']').toString();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void pgvectorTopK(Blackhole blackhole) throws SQLException {
+        statement.setString(1, query);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getString(1));
+                blackhole.consume(resultSet.getString(3));
+                blackhole.consume(resultSet.getDouble(4));
+            }
+        }
+    }
+}
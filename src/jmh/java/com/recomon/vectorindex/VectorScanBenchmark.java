@@ -0,0 +1,108 @@
+package com.recomon.vectorindex;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : VectorScanBenchmark
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : 전수 비교 top-10 (FlatVectorIndex와 같은 배치: 연속 float[] + TopK 힙) 스칼라 / SIMD 내적 비교
+ *                  pgvector 비교는 PgvectorSearchBenchmark
+ *                  실행: ./gradlew jmh -Pjmh.includes=VectorScanBenchmark
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VectorScanBenchmark {
+
+    private static final int TOP_K = 10;
+
+    @Param({"10000", "50000"})
+    private int documents;
+
+    @Param({"1536"})
+    private int dimensions;
+
+    private float[] vectors;
+    private float[] query;
+    private final int[] rows = new int[TOP_K];
+    private final float[] distances = new float[TOP_K];
+
+    private DotProduct scalar;
+    private DotProduct simd;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        vectors = new float[documents * dimensions];
+        for (int row = 0; row < documents; row++) {
+            normalizeInto(random, vectors, row * dimensions);
+        }
+        query = new float[dimensions];
+        normalizeInto(random, query, 0);
+
+        scalar = DotProducts.scalar();
+        simd = DotProducts.best();
+        if (!"simd".equals(simd.name())) {
+            throw new IllegalStateException("jdk.incubator.vector 모듈 없이 실행되었습니다 (build.gradle jmh.jvmArgsAppend 확인)");
+        }
+    }
+
+    @Benchmark
+    public void scalarTopK(Blackhole blackhole) {
+        blackhole.consume(scan(scalar));
+    }
+
+    @Benchmark
+    public void simdTopK(Blackhole blackhole) {
+        blackhole.consume(scan(simd));
+    }
+
+    // 내적 한 번 (1536차원) 비용
+    @Benchmark
+    public float scalarDot() {
+        return scalar.dot(query, vectors, 0);
+    }
+
+    @Benchmark
+    public float simdDot() {
+        return simd.dot(query, vectors, 0);
+    }
+
+    private int scan(DotProduct dotProduct) {
+        TopK nearest = new TopK(TOP_K);
+        for (int row = 0, offset = 0; row < documents; row++, offset += dimensions) {
+            float distance = 1 - dotProduct.dot(query, vectors, offset);
+            if (distance < nearest.worst()) {
+                nearest.offer(row, distance);
+            }
+        }
+        nearest.drainSorted(rows, distances);
+        return rows[0];
+    }
+
+    private void normalizeInto(SplittableRandom random, float[] target, int offset) {
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            float value = (float) (random.nextDouble() * 2 - 1);
+            target[offset + i] = value;
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < dimensions; i++) {
+            target[offset + i] /= (float) norm;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.recomon;
 
-import com.recomon.service.BookCollectorService;
+import com.recomon.domain.BookCategories;
+import com.recomon.service.CategoryWatermarkService;
+import com.recomon.service.job.CollectionJob;
+import com.recomon.service.job.CollectionJobService;
+import com.recomon.service.job.CollectionJobType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -19,32 +24,42 @@ import java.util.List;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 11.        kobe       최초 생성
+ * 2026. 1. 15.        kobe       카테고리 동시 수집 (BookCrawlExecutor)
+ * 2026. 1. 17.        kobe       백그라운드 작업으로 전환, 워터마크 기준으로 최근 수집 카테고리 제외
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AppStartRunner implements CommandLineRunner {
 
-    private final BookCollectorService bookCollectorService;
+    public static final String TRIGGER = "startup";
 
-    @Override
-    public void run(String... args) throws Exception {
-        log.info(">>> [초기 데이터 수집] 서버 시작 시 도서 데이터를 수집합니다...");
+    private final CollectionJobService collectionJobService;
+    private final CategoryWatermarkService categoryWatermarkService;
+
+    @Value("${recomon.ingest.startup.enabled:true}")
+    private boolean enabled;
 
-        // 1. 수집하고 싶은 카테고리(키워드) 목록 정의
-        List<String> keywords = Arrays.asList(
-                "소설", "시", "에세이", "인문", "요리", "건강", "취미", "실용", "스포츠", "경제", "경영", "자기계발", "정치", "사회",
-                "역사", "문화", "종교", "기술", "공학", "외국어", "과학", "여행", "컴퓨터", "IT", "만화", "대학교재"
-        );
+    // 마지막 수집 후 이 시간이 지나지 않은 카테고리는 다시 수집하지 않음
+    @Value("${recomon.ingest.startup.fresh-for:24h}")
+    private Duration freshFor;
 
-        // 2. 각 키워드별로 API 호출하여 저장
-        for (String keyword : keywords) {
-            int count = bookCollectorService.collectBooks(keyword);
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            log.info(">>> [초기 데이터 수집] 비활성화되어 있습니다 (recomon.ingest.startup.enabled=false)");
+            return;
+        }
 
-            // 네이버 API 호출 제한(초당 10회 등)을 피하기 위해 0.5초 쉬어줍니다.
-            Thread.sleep(500);
+        List<String> staleCategories = categoryWatermarkService.findStaleCategories(BookCategories.ALL, freshFor);
+        if (staleCategories.isEmpty()) {
+            log.info(">>> [초기 데이터 수집] 모든 카테고리가 최근 {} 이내에 수집되어 건너뜁니다.", freshFor);
+            return;
         }
 
-        log.info(">>> [초기 데이터 수집] 모든 작업이 완료되었습니다!");
+        // 서버 시작을 막지 않도록 백그라운드 작업으로 제출 (진행 상황은 /admin/jobs, /actuator/health 에서 확인)
+        CollectionJob job = collectionJobService.submit(CollectionJobType.COLLECT, staleCategories, TRIGGER);
+        log.info(">>> [초기 데이터 수집] {}/{}개 카테고리 수집 작업을 백그라운드로 제출했습니다. jobId={}",
+                staleCategories.size(), BookCategories.ALL.size(), job.getId());
     }
 }
@@ -3,7 +3,9 @@ package com.recomon;
 import org.springframework.ai.autoconfigure.vectorstore.pgvector.PgVectorStoreAutoConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling // 임베딩 outbox relay
 @SpringBootApplication(exclude = { PgVectorStoreAutoConfiguration.class })
 public class RecomonApplication {
 
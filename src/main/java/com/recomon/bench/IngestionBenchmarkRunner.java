@@ -0,0 +1,111 @@
+package com.recomon.bench;
+
+import com.recomon.repository.BookRepository;
+import com.recomon.repository.VectorDocumentRepository;
+import com.recomon.service.BookCollectorService;
+import com.recomon.service.BookCrawlExecutor;
+import com.recomon.service.BookDocuments;
+import com.recomon.service.pipeline.IngestionPipeline;
+import com.recomon.service.source.BookSource;
+import com.recomon.service.source.ReplayBookSource;
+import com.recomon.vectorindex.VectorSearcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.bench
+ * fileName       : IngestionBenchmarkRunner
+ * author         : kobe
+ * date           : 2026. 1. 21.
+ * description    : 오프라인 수집 처리량 벤치마크 (bench 프로필)
+ *                  기록된 네이버 응답(ReplayBookSource) + FakeEmbeddingModel로 전체 수집 경로
+ *                  (fetch -> clean -> MySQL -> embed -> pgvector)를 반복 실행하고 books/sec를 출력합니다.
+ *                  매 반복 전에 기록에 포함된 ISBN의 books / vector_store 행을 지우므로 벤치마크 전용 DB에서만 실행하세요.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 21.        kobe       최초 생성
+ * 2026. 2. 2.        kobe       정리 시 JVM 내 인덱스(hnsw / flat)에서도 삭제
+ */
+@Slf4j
+@Profile("bench")
+@Component
+@RequiredArgsConstructor
+public class IngestionBenchmarkRunner implements CommandLineRunner {
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final BookSource bookSource;
+    private final BookCollectorService bookCollectorService;
+    private final BookCrawlExecutor bookCrawlExecutor;
+    private final BookRepository bookRepository;
+    private final VectorDocumentRepository vectorDocumentRepository;
+    private final VectorSearcher vectorSearcher;
+    private final IngestionPipeline ingestionPipeline;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${recomon.bench.iterations:3}")
+    private int iterations;
+
+    // 끝나면 애플리케이션 종료 (CI/스크립트에서 실행할 때)
+    @Value("${recomon.bench.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!(bookSource instanceof ReplayBookSource replay)) {
+            throw new IllegalStateException("bench 프로필은 recomon.book-source.mode=replay 에서만 실행할 수 있습니다.");
+        }
+        List<String> categories = replay.queries();
+        List<String> isbns = new ArrayList<>(replay.isbns());
+        log.info(">>> [벤치마크] {}개 카테고리, 기록된 도서 {}권, {}회 반복", categories.size(), isbns.size(), iterations);
+
+        List<Double> rates = new ArrayList<>();
+        for (int i = 1; i <= iterations; i++) {
+            reset(isbns);
+
+            long start = System.nanoTime();
+            Map<String, Integer> results = bookCrawlExecutor.crawl(categories, bookCollectorService::collectBooks);
+            long elapsed = System.nanoTime() - start;
+
+            int books = results.values().stream().filter(count -> count > 0).mapToInt(Integer::intValue).sum();
+            double rate = books / (elapsed / 1_000_000_000.0);
+            rates.add(rate);
+            log.info(">>> [벤치마크] {}회차: {}권, {}ms, {} books/sec",
+                    i, books, TimeUnit.NANOSECONDS.toMillis(elapsed), String.format("%.1f", rate));
+        }
+
+        List<Double> sorted = rates.stream().sorted().toList();
+        log.info(">>> [벤치마크] 결과: median {} books/sec, min {}, max {}",
+                String.format("%.1f", sorted.get(sorted.size() / 2)),
+                String.format("%.1f", sorted.get(0)),
+                String.format("%.1f", sorted.get(sorted.size() - 1)));
+        log.info(">>> [벤치마크] 단계별 상태: {}", ingestionPipeline.stats());
+
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    // 이전 반복에서 저장된 도서를 지워 매 반복이 같은 양을 신규 저장하도록 함
+    private void reset(List<String> isbns) {
+        for (int from = 0; from < isbns.size(); from += DELETE_CHUNK_SIZE) {
+            List<String> chunk = isbns.subList(from, Math.min(from + DELETE_CHUNK_SIZE, isbns.size()));
+            bookRepository.deleteAllByIdInBatch(chunk);
+            List<String> documentIds = chunk.stream().map(BookDocuments::idOf).toList();
+            vectorDocumentRepository.deleteByIds(documentIds);
+            vectorSearcher.delete(documentIds);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.recomon.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recomon.service.NaverBookClient;
+import com.recomon.service.source.BookSource;
+import com.recomon.service.source.RecordingBookSource;
+import com.recomon.service.source.ReplayBookSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 도서 검색 공급원 설정 (recomon.book-source.mode)
+ * - live   : 네이버 API 직접 호출 (기본값)
+ * - record : 네이버 API 호출 + 응답을 fixture-path(JSONL)에 기록
+ * - replay : fixture-path를 재생 (네트워크 없이 수집/벤치마크)
+ */
+@Slf4j
+@Configuration
+public class BookSourceConfig {
+
+    @Value("${recomon.book-source.mode:live}")
+    private String mode;
+
+    @Value("${recomon.book-source.fixture-path:fixtures/naver-pages.jsonl}")
+    private Path fixturePath;
+
+    // 재생 시 요청마다 대기할 시간 (실제 네이버 API 응답 시간 흉내)
+    @Value("${recomon.book-source.replay.latency:80ms}")
+    private Duration replayLatency;
+
+    @Value("${recomon.book-source.replay.jitter:40ms}")
+    private Duration replayJitter;
+
+    @Bean
+    @Primary
+    public BookSource bookSource(NaverBookClient naverBookClient, ObjectMapper objectMapper) {
+        log.info(">>> 도서 검색 공급원: {}", mode);
+        return switch (mode) {
+            case "live" -> naverBookClient;
+            case "record" -> new RecordingBookSource(naverBookClient, objectMapper, fixturePath);
+            case "replay" -> new ReplayBookSource(objectMapper, fixturePath, replayLatency, replayJitter);
+            default -> throw new IllegalStateException(
+                    "recomon.book-source.mode는 live, record, replay 중 하나여야 합니다: " + mode);
+        };
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -42,9 +43,18 @@ public class DataSourceConfig {
         dataSource.setUsername(mysqlUsername);
         dataSource.setPassword(mysqlPassword);
         dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        // JDBC 배치를 multi-row INSERT로 재작성 (hibernate.jdbc.batch_size와 함께 동작)
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
         return dataSource;
     }
 
+    // pgVectorJdbcTemplate 빈이 있으면 JdbcTemplate 자동 설정이 빠지므로 MySQL용 기본 JdbcTemplate을 직접 등록
+    @Bean
+    @Primary
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
     private void createDatabaseIfNotExists() {
         try {
             // URL에서 데이터베이스 이름 추출
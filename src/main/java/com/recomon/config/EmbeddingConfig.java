@@ -0,0 +1,74 @@
+package com.recomon.config;
+
+import com.recomon.embedding.CachingEmbeddingModel;
+import com.recomon.embedding.EmbeddingCacheRepository;
+import com.recomon.embedding.FakeEmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.openai.OpenAiEmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * 임베딩 모델 설정
+ * OpenAI 임베딩 모델 앞에 영구 캐시(embedding_cache)를 두어, 이미 임베딩한 텍스트는 다시 호출하지 않습니다.
+ * VectorStore 등 EmbeddingModel을 주입받는 모든 곳이 이 캐시를 거칩니다.
+ * 추천 쿼리 텍스트처럼 영구 캐시에 남길 필요가 없는 곳은 providerEmbeddingModel(캐시 없는 모델)을 주입받습니다.
+ * recomon.embedding.provider=fake 이면 OpenAI 대신 로컬 FakeEmbeddingModel을 사용합니다 (오프라인 벤치마크).
+ */
+@Slf4j
+@Configuration
+public class EmbeddingConfig {
+
+    @Value("${spring.ai.openai.embedding.options.model:text-embedding-ada-002}")
+    private String embeddingModelName;
+
+    @Value("${spring.ai.vectorstore.pgvector.dimensions}")
+    private int dimensions;
+
+    // openai | fake
+    @Value("${recomon.embedding.provider:openai}")
+    private String provider;
+
+    // false 이면 embedding_cache를 거치지 않음 (벤치마크에서 매번 모델을 호출하도록)
+    @Value("${recomon.embedding.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${recomon.embedding.fake.latency:150ms}")
+    private Duration fakeLatency;
+
+    @Value("${recomon.embedding.fake.per-document-latency:1ms}")
+    private Duration fakePerDocumentLatency;
+
+    // embedding_cache를 거치지 않는 모델 (openai | fake)
+    @Bean
+    @Qualifier("providerEmbeddingModel")
+    public EmbeddingModel providerEmbeddingModel(ObjectProvider<OpenAiEmbeddingModel> openAiEmbeddingModel) {
+        if ("fake".equals(provider)) {
+            log.info(">>> 로컬 FakeEmbeddingModel 사용 (요청당 {}ms + 건당 {}ms)",
+                    fakeLatency.toMillis(), fakePerDocumentLatency.toMillis());
+            return new FakeEmbeddingModel(dimensions, fakeLatency, fakePerDocumentLatency);
+        }
+        return openAiEmbeddingModel.getObject();
+    }
+
+    @Bean
+    @Primary
+    public EmbeddingModel cachingEmbeddingModel(@Qualifier("providerEmbeddingModel") EmbeddingModel delegate,
+                                                EmbeddingCacheRepository embeddingCacheRepository,
+                                                MeterRegistry meterRegistry) {
+        if (!cacheEnabled) {
+            return delegate;
+        }
+        // 캐시 키가 실제 모델과 섞이지 않도록 fake는 모델 이름을 따로
+        String modelName = "fake".equals(provider) ? "fake" : embeddingModelName;
+        return new CachingEmbeddingModel(delegate, embeddingCacheRepository, modelName, dimensions, meterRegistry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.recomon.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * 네이버 API 전용 HTTP 클라이언트 설정
+ * 커넥션 풀(keep-alive 재사용)과 연결/응답 타임아웃을 적용하여, 느린 응답 하나가 수집 스레드를 무한정 붙잡지 않도록 합니다.
+ * 재시도는 NaverBookClient에서 직접 처리하므로 HttpClient 자체 재시도는 끕니다.
+ */
+@Configuration
+public class NaverClientConfig {
+
+    @Value("${naver.api.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${naver.api.read-timeout:5s}")
+    private Duration readTimeout;
+
+    // 풀에서 커넥션을 빌리기 위해 기다리는 최대 시간
+    @Value("${naver.api.pool-timeout:2s}")
+    private Duration poolTimeout;
+
+    @Value("${naver.api.max-connections:20}")
+    private int maxConnections;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient naverHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) // 호출 대상이 openapi.naver.com 하나뿐
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate naverRestTemplate(@Qualifier("naverHttpClient") CloseableHttpClient naverHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(naverHttpClient));
+    }
+}
@@ -58,6 +58,8 @@ public class PgVectorStoreConfig {
         dataSource.setUsername(pgVectorUsername);
         dataSource.setPassword(pgVectorPassword);
         dataSource.setDriverClassName("org.postgresql.Driver");
+        // 배치 INSERT를 multi-row INSERT 한 문장으로 재작성 (임베딩 배치 저장 시 라운드트립 감소)
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
         return dataSource;
     }
 
@@ -203,6 +205,12 @@ public class PgVectorStoreConfig {
             } else {
                 log.info("vector_store 테이블이 이미 존재합니다.");
             }
+
+            // 쓸 때마다 증가하는 revision (JVM 내 인덱스가 재시작 / 다른 인스턴스의 변경을 따라잡는 기준, 기존 행은 0)
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS vector_store_revision_seq");
+            jdbcTemplate.execute("ALTER TABLE vector_store ADD COLUMN IF NOT EXISTS revision BIGINT NOT NULL DEFAULT 0");
+            jdbcTemplate.execute("ALTER TABLE vector_store ALTER COLUMN revision SET DEFAULT nextval('vector_store_revision_seq')");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS vector_store_revision_idx ON vector_store (revision)");
         } catch (Exception e) {
             log.error("vector_store 테이블 초기화 중 오류가 발생했습니다: {}", e.getMessage(), e);
             throw new RuntimeException("vector_store 테이블 초기화 실패", e);
@@ -0,0 +1,27 @@
+package com.recomon.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate가 준비(prepare)하는 SQL 문 수를 스레드별로 세는 StatementInspector
+ * JDBC 배치는 문장을 한 번만 준비하므로, 이 값이 곧 RDB 라운드트립 수에 가깝습니다.
+ * (사용: reset() 후 작업 수행 -> current()로 조회)
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+}
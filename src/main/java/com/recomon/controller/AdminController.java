@@ -1,17 +1,30 @@
 package com.recomon.controller;
 
+import com.recomon.domain.BookCategories;
+import com.recomon.domain.ImportCheckpoint;
+import com.recomon.recommendation.ranking.RankingPipeline;
 import com.recomon.repository.BookRepository;
 import com.recomon.service.BookCollectorService;
+import com.recomon.service.imports.BookImportService;
+import com.recomon.service.job.CollectionJob;
+import com.recomon.service.job.CollectionJobService;
+import com.recomon.service.job.CollectionJobType;
+import com.recomon.service.pipeline.EmbeddingOutboxRelay;
+import com.recomon.service.pipeline.IngestionPipeline;
+import com.recomon.vectorindex.VectorSearcher;
+import com.recomon.vectorindex.QuantizationReport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 관리자용 컨트롤러 - 데이터 수집 및 확인
@@ -24,15 +37,18 @@ public class AdminController {
 
     private final BookRepository bookRepository;
     private final BookCollectorService bookCollectorService;
+    private final CollectionJobService collectionJobService;
+    private final IngestionPipeline ingestionPipeline;
+    private final EmbeddingOutboxRelay embeddingOutboxRelay;
+    private final VectorSearcher vectorSearcher;
+    private final QuantizationReport quantizationReport;
+    private final BookImportService bookImportService;
+    private final RankingPipeline rankingPipeline;
 
     // 카테고리별 책 개수 확인
     @GetMapping("/book-count")
     public ResponseEntity<Map<String, Object>> getBookCount() {
-        List<String> categories = Arrays.asList(
-            "소설", "시", "에세이", "인문", "요리", "건강", "취미", "실용", "스포츠", 
-            "경제", "경영", "자기계발", "정치", "사회", "역사", "문화", "종교", "기술", 
-            "공학", "외국어", "과학", "여행", "컴퓨터", "IT", "만화", "대학교재"
-        );
+        List<String> categories = BookCategories.ALL;
 
         Map<String, Long> countByCategory = new HashMap<>();
         long totalCount = 0;
@@ -70,38 +86,10 @@ public class AdminController {
         }
     }
 
-    // 모든 카테고리 데이터 수집 (GET 또는 POST 모두 허용)
+    // 모든 카테고리 데이터 수집: 백그라운드 작업으로 제출하고 작업 ID를 바로 반환 (GET 또는 POST 모두 허용)
     @RequestMapping(value = "/collect-all", method = {RequestMethod.GET, RequestMethod.POST})
     public ResponseEntity<Map<String, Object>> collectAllBooks() {
-        List<String> categories = Arrays.asList(
-            "소설", "시", "에세이", "인문", "요리", "건강", "취미", "실용", "스포츠", 
-            "경제", "경영", "자기계발", "정치", "사회", "역사", "문화", "종교", "기술", 
-            "공학", "외국어", "과학", "여행", "컴퓨터", "IT", "만화", "대학교재"
-        );
-
-        Map<String, Integer> results = new HashMap<>();
-        int totalCollected = 0;
-
-        for (String category : categories) {
-            try {
-                int count = bookCollectorService.collectBooks(category);
-                results.put(category, count);
-                totalCollected += count;
-
-                // API 호출 제한을 피하기 위해 대기
-                Thread.sleep(500);
-            } catch (Exception e) {
-                log.error("데이터 수집 실패: {}", category, e);
-                results.put(category, -1); // 에러 표시
-            }
-        }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("results", results);
-        response.put("totalCollected", totalCollected);
-        response.put("message", "모든 카테고리 데이터 수집 완료");
-
-        return ResponseEntity.ok(response);
+        return submitJob(CollectionJobType.COLLECT, BookCategories.ALL);
     }
 
     // 기존 데이터의 이미지 URL 업데이트 (GET 또는 POST 모두 허용)
@@ -123,37 +111,101 @@ public class AdminController {
         }
     }
 
-    // 모든 카테고리의 이미지 URL 업데이트 (GET 또는 POST 모두 허용)
+    // 모든 카테고리의 이미지 URL 업데이트: 백그라운드 작업으로 제출 (GET 또는 POST 모두 허용)
     @RequestMapping(value = "/update-all-images", method = {RequestMethod.GET, RequestMethod.POST})
     public ResponseEntity<Map<String, Object>> updateAllImages() {
-        List<String> categories = Arrays.asList(
-            "소설", "시", "에세이", "인문", "요리", "건강", "취미", "실용", "스포츠", 
-            "경제", "경영", "자기계발", "정치", "사회", "역사", "문화", "종교", "기술", 
-            "공학", "외국어", "과학", "여행", "컴퓨터", "IT", "만화", "대학교재"
-        );
+        return submitJob(CollectionJobType.UPDATE_IMAGES, BookCategories.ALL);
+    }
 
-        Map<String, Integer> results = new HashMap<>();
-        int totalUpdated = 0;
+    // 작업 목록 (최근 작업부터)
+    @GetMapping("/jobs")
+    public List<Map<String, Object>> getJobs() {
+        return collectionJobService.findAll().stream()
+                .map(CollectionJob::toSummary)
+                .toList();
+    }
 
-        for (String category : categories) {
-            try {
-                int count = bookCollectorService.updateImageUrls(category);
-                results.put(category, count);
-                totalUpdated += count;
-
-                // API 호출 제한을 피하기 위해 대기
-                Thread.sleep(500);
-            } catch (Exception e) {
-                log.error("이미지 URL 업데이트 실패: {}", category, e);
-                results.put(category, -1); // 에러 표시
+    // 작업 진행 상황 (카테고리별 진행률, 처리량)
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId) {
+        return collectionJobService.find(jobId)
+                .map(job -> ResponseEntity.ok(job.toSummary()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 작업 취소
+    @RequestMapping(value = "/jobs/{jobId}/cancel", method = {RequestMethod.POST, RequestMethod.DELETE})
+    public ResponseEntity<Map<String, Object>> cancelJob(@PathVariable String jobId) {
+        return collectionJobService.cancel(jobId)
+                .map(job -> ResponseEntity.ok(job.toSummary()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 수집 파이프라인 단계별 큐 깊이/지연 (병목 단계 확인용)
+    @GetMapping("/pipeline")
+    public Map<String, Object> getPipelineStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(ingestionPipeline.stats());
+        stats.put("outboxPending", embeddingOutboxRelay.pendingCount());
+        stats.put("vectorIndex", vectorSearcher.stats());
+        return stats;
+    }
+
+    // 추천 정렬 단계별 예산 / 평균·최대 지연 / 예산 초과 횟수 (p99는 /actuator/metrics/recomon.recommend.ranking.stage)
+    @GetMapping("/recommend/ranking")
+    public Map<String, Object> getRankingStats() {
+        return rankingPipeline.stats();
+    }
+
+    // 양자화 방식별(float / int8 / pq, 재정렬 유무) recall@10 · 메모리 비교 (pgvector 검색 결과 기준)
+    @GetMapping("/vector-index/quantization-report")
+    public ResponseEntity<Map<String, Object>> getQuantizationReport(@RequestParam(defaultValue = "50") int queries) {
+        try {
+            return ResponseEntity.ok(quantizationReport.run(Math.max(1, Math.min(queries, 500))));
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
+    // 카탈로그 파일 가져오기: recomon.import.base-dir 기준 경로 (.jsonl / .csv), 체크포인트가 있으면 이어서 가져옴
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importCatalog(@RequestParam String file,
+                                                             @RequestParam(defaultValue = "false") boolean fromStart) {
+        try {
+            bookImportService.resolve(file);
+            if (fromStart) {
+                bookImportService.resetCheckpoint(file);
             }
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("file", file);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         }
+        return submitJob(CollectionJobType.IMPORT, List.of(file));
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("results", results);
-        response.put("totalUpdated", totalUpdated);
-        response.put("message", "모든 카테고리 이미지 URL 업데이트 완료");
+    // 파일별 가져오기 진행 위치
+    @GetMapping("/import/checkpoints")
+    public List<ImportCheckpoint> getImportCheckpoints() {
+        return bookImportService.findCheckpoints();
+    }
 
-        return ResponseEntity.ok(response);
+    private ResponseEntity<Map<String, Object>> submitJob(CollectionJobType type, List<String> categories) {
+        try {
+            CollectionJob job = collectionJobService.submit(type, categories, "admin");
+            Map<String, Object> response = new HashMap<>();
+            response.put("jobId", job.getId());
+            response.put("status", job.getStatus());
+            response.put("statusUrl", "/admin/jobs/" + job.getId());
+            response.put("message", "작업이 제출되었습니다");
+            return ResponseEntity.accepted().body(response);
+        } catch (RejectedExecutionException e) {
+            log.warn("작업 대기열이 가득 찼습니다: {}", type);
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "실행 대기 중인 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+        }
     }
 }
@@ -1,14 +1,20 @@
 package com.recomon.controller;
 
 import com.recomon.domain.Book;
+import com.recomon.recommendation.BatchRecommendationService;
 import com.recomon.recommendation.RecommendationService;
+import com.recomon.recommendation.dto.BatchRecommendRequest;
+import com.recomon.recommendation.dto.BatchRecommendResult;
+import com.recomon.recommendation.dto.ScoredBook;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * packageName    : com.recomon.controller
@@ -20,6 +26,8 @@ import java.util.List;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 11.        kobe       최초 생성
+ * 2026. 2. 5.        kobe       skipStages 파라미터 (요청마다 정렬 단계 끄기)
+ * 2026. 2. 6.        kobe       일괄 추천 (POST /api/recommend/batch)
  */
 @RestController
 @RequiredArgsConstructor
@@ -27,9 +35,36 @@ import java.util.List;
 public class RecommendationController {
 
     private final RecommendationService recommendationService;
+    private final BatchRecommendationService batchRecommendationService;
 
+    // skipStages: 끌 정렬 단계 (예: ?skipStages=category-boost,diversify)
     @PostMapping
-    public List<Book> getRecommendations(@RequestBody List<String> isbnList) {
-        return recommendationService.recommendBooks(isbnList);
+    public List<Book> getRecommendations(@RequestBody List<String> isbnList,
+                                         @RequestParam(required = false) Set<String> skipStages) {
+        return recommendationService.recommendBooks(isbnList, List.of(), Set.of(), skipStages);
+    }
+
+    // 여러 사용자의 추천을 한 번에 (예: [{"isbns": ["...", "..."], "intents": ["BEST_SELLER"]}, ...])
+    // results의 i번째가 요청의 i번째 결과 (실패한 요청은 books가 비고 error에 사유)
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> getBatchRecommendations(@RequestBody List<BatchRecommendRequest> requests) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (requests == null || requests.isEmpty() || requests.size() > batchRecommendationService.maxSize()) {
+            response.put("error", "요청은 1건 이상 " + batchRecommendationService.maxSize() + "건 이하여야 합니다.");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (BatchRecommendResult result : batchRecommendationService.recommend(requests)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("books", result.books().stream().map(ScoredBook::book).toList());
+            if (result.hasError()) {
+                item.put("error", result.error());
+            }
+            results.add(item);
+        }
+        response.put("count", results.size());
+        response.put("results", results);
+        return ResponseEntity.ok(response);
     }
 }
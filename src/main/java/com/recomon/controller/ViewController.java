@@ -3,7 +3,7 @@ package com.recomon.controller;
 import com.recomon.domain.Book;
 import com.recomon.repository.BookRepository;
 import com.recomon.recommendation.RecommendIntent;
-import com.recomon.recommendation.RecommendationService;
+import com.recomon.recommendation.DeadlineRecommendationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,13 +28,14 @@ import java.util.stream.Collectors;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 12.        kobe       최초 생성
+ * 2026. 2. 7.        kobe       시간 예산 + 메모리 대체 추천 (findByCategoryNotIn 전체 조회 제거)
  */
 @Controller
 @RequiredArgsConstructor
 public class ViewController {
 
     private final BookRepository bookRepository;
-    private final RecommendationService recommendationService;
+    private final DeadlineRecommendationService deadlineRecommendationService;
 
     // 기준 선택 페이지 (메인 화면)
     @GetMapping("/")
@@ -118,27 +119,11 @@ public class ViewController {
         
         try {
             // 1. 추천 서비스 호출 (선택한 기준 전달)
-            recommendations = recommendationService.recommendBooks(isbns, selectedIntents);
-            
-            // 추천 결과가 없으면 대체 추천 제공
+            // 시간 예산 안에 끝나지 않거나 실패하면 메모리에 미리 올려둔 인기 도서로 대체 추천
+            recommendations = deadlineRecommendationService.recommendBooks(isbns, selectedIntents);
+
             if (recommendations.isEmpty()) {
-                // 선택한 책들의 카테고리와 다른 카테고리의 책들을 추천
-                List<Book> selectedBooks = bookRepository.findAllById(isbns);
-                if (!selectedBooks.isEmpty()) {
-                    Set<String> selectedCategories = selectedBooks.stream()
-                            .map(Book::getCategory)
-                            .filter(cat -> cat != null && !cat.isEmpty())
-                            .collect(java.util.stream.Collectors.toSet());
-                    
-                    recommendations = bookRepository.findByCategoryNotIn(new ArrayList<>(selectedCategories))
-                            .stream()
-                            .limit(10)
-                            .collect(java.util.stream.Collectors.toList());
-                }
-                
-                if (recommendations.isEmpty()) {
-                    errorMessage = "AI 추천 서비스에 일시적인 문제가 발생했습니다. 잠시 후 다시 시도해주세요.";
-                }
+                errorMessage = "AI 추천 서비스에 일시적인 문제가 발생했습니다. 잠시 후 다시 시도해주세요.";
             }
         } catch (Exception e) {
             errorMessage = "추천 서비스 처리 중 오류가 발생했습니다: " + e.getMessage();
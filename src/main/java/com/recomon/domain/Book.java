@@ -1,7 +1,9 @@
 package com.recomon.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 /**
  * packageName    : com.recomon.domain
@@ -13,6 +15,8 @@ import lombok.*;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 10.        kobe       최초 생성
+ * 2026. 1. 14.        kobe       Persistable 구현 (saveAll 시 merge용 SELECT 제거)
+ * 2026. 1. 23.        kobe       출판년도 파싱을 수집/가져오기 공용으로 이동
  */
 @Entity
 @Table(name = "books")
@@ -20,7 +24,7 @@ import lombok.*;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class Book {
+public class Book implements Persistable<String> {
 
     @Id
     @Column(length = 20)
@@ -38,4 +42,49 @@ public class Book {
 
     private boolean bestSeller;
     private boolean awardWinner;
+
+    // ISBN을 직접 할당하므로 JPA가 신규 여부를 알 수 없음 -> 조회/저장된 엔티티만 false
+    // (없으면 save()가 merge로 동작하여 INSERT 전에 SELECT가 한 번 더 나감)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public String getId() {
+        return isbn;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    // 이미지 URL 갱신 (영속 상태에서 호출하면 flush 시 UPDATE)
+    public void updateImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public boolean hasImage() {
+        return imageUrl != null && !imageUrl.isEmpty();
+    }
+
+    // 출판년도 파싱 (pubdate 형식: "20240101" 또는 "2024-01-01"), 실패 시 0
+    public static int parsePublishedYear(String pubdate) {
+        if (pubdate == null || pubdate.length() < 4) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(pubdate.substring(0, 4));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 }
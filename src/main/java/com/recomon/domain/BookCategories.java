@@ -0,0 +1,27 @@
+package com.recomon.domain;
+
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.domain
+ * fileName       : BookCategories
+ * author         : kobe
+ * date           : 2026. 1. 15.
+ * description    : 수집/조회 대상 도서 카테고리(검색 키워드) 목록
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 15.        kobe       최초 생성
+ */
+public final class BookCategories {
+
+    public static final List<String> ALL = List.of(
+            "소설", "시", "에세이", "인문", "요리", "건강", "취미", "실용", "스포츠",
+            "경제", "경영", "자기계발", "정치", "사회", "역사", "문화", "종교", "기술",
+            "공학", "외국어", "과학", "여행", "컴퓨터", "IT", "만화", "대학교재"
+    );
+
+    private BookCategories() {
+        // 인스턴스 생성 차단
+    }
+}
@@ -0,0 +1,42 @@
+package com.recomon.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * packageName    : com.recomon.domain
+ * fileName       : CategoryWatermark
+ * author         : kobe
+ * date           : 2026. 1. 17.
+ * description    : 카테고리별 마지막 수집 시각 (서버 재시작 시 최근에 수집한 카테고리는 건너뛰기 위함)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 17.        kobe       최초 생성
+ */
+@Entity
+@Table(name = "category_watermarks")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryWatermark {
+
+    @Id
+    @Column(length = 50)
+    private String category;
+
+    private LocalDateTime lastCollectedAt;
+    private int lastCollectedCount;
+
+    public void markCollected(LocalDateTime collectedAt, int collectedCount) {
+        this.lastCollectedAt = collectedAt;
+        this.lastCollectedCount = collectedCount;
+    }
+
+    public boolean isFreshAt(LocalDateTime threshold) {
+        return lastCollectedAt != null && lastCollectedAt.isAfter(threshold);
+    }
+}
@@ -0,0 +1,59 @@
+package com.recomon.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * packageName    : com.recomon.domain
+ * fileName       : EmbeddingOutbox
+ * author         : kobe
+ * date           : 2026. 1. 25.
+ * description    : 임베딩 대기열 (transactional outbox)
+ *                  books 저장과 같은 MySQL 트랜잭션에서 기록하고, vector_store 저장이 끝나면 삭제합니다.
+ *                  nextAttemptAt이 지난 행은 EmbeddingOutboxRelay가 다시 가져가 임베딩하므로,
+ *                  임베딩/pgvector 저장이 실패하거나 서버가 중간에 종료되어도 두 저장소가 결국 일치하게 됩니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 25.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       claimToken (기록/가져갈 때마다 새 값, 같은 값을 가진 작업만 임베딩/삭제)
+ */
+@Entity
+@Table(name = "embedding_outbox", indexes = @Index(name = "idx_embedding_outbox_next_attempt", columnList = "next_attempt_at"))
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmbeddingOutbox {
+
+    @Id
+    @Column(length = 36)
+    private String documentId; // BookDocuments.idOf(isbn)
+
+    @Column(length = 20)
+    private String isbn;
+
+    private String title;
+    private String category;
+
+    @Column(columnDefinition = "TEXT")
+    private String content; // 임베딩할 본문
+
+    private int attempts;
+    private long claimToken; // 마지막으로 이 행을 맡은 작업 (다시 기록되거나 relay가 가져가면 바뀜)
+    private LocalDateTime nextAttemptAt; // 이 시각 이후 relay가 (다시) 가져갈 수 있음
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    // relay가 가져갈 때: 시도 횟수 증가, 이번 시도가 실패하면 retryAt 이후 재시도
+    public void claim(LocalDateTime retryAt, long token) {
+        this.attempts++;
+        this.nextAttemptAt = retryAt;
+        this.claimToken = token;
+    }
+}
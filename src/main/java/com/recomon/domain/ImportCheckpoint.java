@@ -0,0 +1,67 @@
+package com.recomon.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * packageName    : com.recomon.domain
+ * fileName       : ImportCheckpoint
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : 카탈로그 파일 가져오기 진행 위치 (파일별 바이트 오프셋)
+ *                  중단 후 다시 실행하면 byteOffset부터 이어서 읽습니다. 오프셋은 항상 줄의 시작 위치입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ */
+@Entity
+@Table(name = "import_checkpoints")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportCheckpoint {
+
+    @Id
+    @Column(length = 255)
+    private String source; // recomon.import.base-dir 기준 상대 경로
+
+    private long byteOffset;    // 여기까지의 줄은 RDB 저장 완료
+    private long fileSize;      // 마지막으로 확인한 파일 크기
+    private long importedCount; // 누적 저장 행 수
+    private long skippedCount;  // 누적 건너뛴 행 수 (ISBN 없음, 파싱 실패)
+    private boolean completed;
+    private LocalDateTime updatedAt;
+
+    public static ImportCheckpoint start(String source) {
+        return ImportCheckpoint.builder()
+                .source(source)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public void advance(long byteOffset, long fileSize, int imported, int skipped) {
+        this.byteOffset = byteOffset;
+        this.fileSize = fileSize;
+        this.importedCount += imported;
+        this.skippedCount += skipped;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void markCompleted() {
+        this.completed = true;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // 파일이 교체되어 기존 오프셋이 의미가 없을 때 처음부터
+    public void restart() {
+        this.byteOffset = 0;
+        this.importedCount = 0;
+        this.skippedCount = 0;
+        this.completed = false;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,118 @@
+package com.recomon.embedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * packageName    : com.recomon.embedding
+ * fileName       : CachingEmbeddingModel
+ * author         : kobe
+ * date           : 2026. 1. 19.
+ * description    : 실제 임베딩 모델(OpenAI) 앞단의 영구 캐시
+ *                  같은 (모델, 차원, 텍스트)는 한 번만 임베딩하고, 이후에는 embedding_cache에서 읽습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 19.        kobe       최초 생성
+ */
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final EmbeddingCacheRepository cacheRepository;
+    private final String model;
+    private final int dimensions;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, EmbeddingCacheRepository cacheRepository,
+                                 String model, int dimensions, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cacheRepository = cacheRepository;
+        this.model = model;
+        this.dimensions = dimensions;
+        this.hitCounter = Counter.builder("recomon.embedding.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("recomon.embedding.cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+
+        // 1. 텍스트별 해시 계산 후 캐시 일괄 조회
+        List<String> hashes = texts.stream().map(this::contentHash).toList();
+        Map<String, float[]> cached = cacheRepository.findAll(new HashSet<>(hashes));
+
+        // 2. 캐시에 없는 텍스트만 (요청 내 중복 제거하여) 실제 모델로 임베딩
+        Map<String, String> missingTexts = new LinkedHashMap<>(); // hash -> text
+        for (int i = 0; i < texts.size(); i++) {
+            if (!cached.containsKey(hashes.get(i))) {
+                missingTexts.putIfAbsent(hashes.get(i), texts.get(i));
+            }
+        }
+
+        Map<String, float[]> embeddings = new HashMap<>(cached);
+        if (!missingTexts.isEmpty()) {
+            EmbeddingResponse response = delegate.call(
+                    new EmbeddingRequest(new ArrayList<>(missingTexts.values()), request.getOptions()));
+            List<String> missingHashes = new ArrayList<>(missingTexts.keySet());
+            Map<String, float[]> fresh = new HashMap<>();
+            for (Embedding embedding : response.getResults()) {
+                fresh.put(missingHashes.get(embedding.getIndex()), embedding.getOutput());
+            }
+            cacheRepository.saveAll(model, fresh);
+            embeddings.putAll(fresh);
+        }
+
+        hitCounter.increment(texts.size() - missingTexts.size());
+        missCounter.increment(missingTexts.size());
+        if (log.isDebugEnabled()) {
+            log.debug(">>> 임베딩 캐시: 요청 {}건, 캐시 적중 {}건, 모델 호출 {}건",
+                    texts.size(), texts.size() - missingTexts.size(), missingTexts.size());
+        }
+
+        // 3. 요청 순서대로 응답 구성
+        List<Embedding> results = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            results.add(new Embedding(embeddings.get(hashes.get(i)), i));
+        }
+        return new EmbeddingResponse(results);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    // (모델, 차원, 텍스트)의 SHA-256 (hex)
+    String contentHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Integer.toString(dimensions).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
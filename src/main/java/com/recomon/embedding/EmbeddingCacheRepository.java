@@ -0,0 +1,84 @@
+package com.recomon.embedding;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * packageName    : com.recomon.embedding
+ * fileName       : EmbeddingCacheRepository
+ * author         : kobe
+ * date           : 2026. 1. 19.
+ * description    : 임베딩 영구 캐시 (PostgreSQL embedding_cache 테이블)
+ *                  키는 (모델, 차원, 텍스트)의 SHA-256 해시이므로 환경 간에 테이블을 옮겨도 그대로 재사용됩니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 19.        kobe       최초 생성
+ */
+@Slf4j
+@Repository
+public class EmbeddingCacheRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Value("${spring.ai.vectorstore.pgvector.dimensions}")
+    private int dimensions;
+
+    public EmbeddingCacheRepository(@Qualifier("pgVectorJdbcTemplate") JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @PostConstruct
+    void createTableIfNeeded() {
+        // VectorStore 초기화보다 먼저 실행될 수 있으므로 확장도 여기서 보장
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS vector");
+        jdbcTemplate.execute(String.format("""
+                CREATE TABLE IF NOT EXISTS embedding_cache (
+                    content_hash CHAR(64) PRIMARY KEY,
+                    model VARCHAR(100) NOT NULL,
+                    dimensions INT NOT NULL,
+                    embedding vector(%d) NOT NULL,
+                    created_at TIMESTAMP NOT NULL DEFAULT now()
+                )
+                """, dimensions));
+        log.info("embedding_cache 테이블이 준비되었습니다.");
+    }
+
+    // 해시 -> 임베딩 (없는 해시는 결과에 포함되지 않음)
+    public Map<String, float[]> findAll(Collection<String> contentHashes) {
+        if (contentHashes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, float[]> result = new HashMap<>();
+        namedJdbcTemplate.query(
+                "SELECT content_hash, embedding::text AS embedding FROM embedding_cache WHERE content_hash IN (:hashes)",
+                Map.of("hashes", contentHashes),
+                rs -> {
+                    result.put(rs.getString("content_hash"), PgVectors.parse(rs.getString("embedding")));
+                });
+        return result;
+    }
+
+    // 이미 있는 해시는 무시 (동시에 같은 텍스트를 임베딩해도 안전)
+    public void saveAll(String model, Map<String, float[]> embeddingsByHash) {
+        if (embeddingsByHash.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(embeddingsByHash.size());
+        embeddingsByHash.forEach((hash, embedding) ->
+                rows.add(new Object[]{hash, model, embedding.length, PgVectors.toPg(embedding)}));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO embedding_cache (content_hash, model, dimensions, embedding) VALUES (?, ?, ?, ?) "
+                        + "ON CONFLICT (content_hash) DO NOTHING",
+                rows);
+    }
+}
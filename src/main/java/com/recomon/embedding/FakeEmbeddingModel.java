@@ -0,0 +1,90 @@
+package com.recomon.embedding;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.embedding
+ * fileName       : FakeEmbeddingModel
+ * author         : kobe
+ * date           : 2026. 1. 21.
+ * description    : 네트워크 없이 동작하는 로컬 임베딩 모델 (벤치마크/오프라인 개발용)
+ *                  텍스트 해시를 시드로 단위 벡터를 만들므로 같은 텍스트는 항상 같은 벡터가 됩니다.
+ *                  요청마다 latency, Document마다 perDocumentLatency만큼 대기하여 실제 API 호출 비용을 흉내냅니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 21.        kobe       최초 생성
+ */
+public class FakeEmbeddingModel implements EmbeddingModel {
+
+    private final int dimensions;
+    private final long latencyNanos;
+    private final long perDocumentLatencyNanos;
+
+    public FakeEmbeddingModel(int dimensions, Duration latency, Duration perDocumentLatency) {
+        this.dimensions = dimensions;
+        this.latencyNanos = latency.toNanos();
+        this.perDocumentLatencyNanos = perDocumentLatency.toNanos();
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        simulateLatency(texts.size());
+
+        List<Embedding> results = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            results.add(new Embedding(vectorOf(texts.get(i)), i));
+        }
+        return new EmbeddingResponse(results);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        simulateLatency(1);
+        return vectorOf(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    // 텍스트 해시를 시드로 한 [-1, 1) 난수 벡터를 정규화 (코사인 유사도 계산이 가능하도록)
+    float[] vectorOf(String text) {
+        SplittableRandom random = new SplittableRandom(text.hashCode());
+        float[] vector = new float[dimensions];
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) (random.nextDouble() * 2 - 1);
+            norm += vector[i] * vector[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    private void simulateLatency(int documentCount) {
+        long delay = latencyNanos + perDocumentLatencyNanos * documentCount;
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
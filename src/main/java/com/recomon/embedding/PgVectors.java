@@ -0,0 +1,55 @@
+package com.recomon.embedding;
+
+import com.pgvector.PGvector;
+
+/**
+ * packageName    : com.recomon.embedding
+ * fileName       : PgVectors
+ * author         : kobe
+ * date           : 2026. 1. 19.
+ * description    : pgvector 값 <-> float[] 변환
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 19.        kobe       최초 생성
+ */
+public final class PgVectors {
+
+    private PgVectors() {
+        // 인스턴스 생성 차단
+    }
+
+    public static PGvector toPg(float[] vector) {
+        return new PGvector(vector);
+    }
+
+    // "[0.1,0.2,...]" 형태의 텍스트 표현(embedding::text)을 float[]로 변환
+    public static float[] parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int start = text.indexOf('[') + 1;
+        int end = text.lastIndexOf(']');
+        if (end <= start) {
+            return new float[0];
+        }
+
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == ',') {
+                count++;
+            }
+        }
+
+        float[] vector = new float[count];
+        int index = 0;
+        int tokenStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || text.charAt(i) == ',') {
+                vector[index++] = Float.parseFloat(text.substring(tokenStart, i).trim());
+                tokenStart = i + 1;
+            }
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,267 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import com.recomon.recommendation.dto.BatchRecommendRequest;
+import com.recomon.recommendation.dto.BatchRecommendResult;
+import com.recomon.recommendation.ranking.RankingContext;
+import com.recomon.recommendation.ranking.RankingPipeline;
+import com.recomon.repository.BookRepository;
+import com.recomon.service.BookDocuments;
+import com.recomon.vectorindex.VectorSearcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : BatchRecommendationService
+ * author         : kobe
+ * date           : 2026. 2. 6.
+ * description    : 여러 사용자의 추천을 한 번에 (오프라인 작업 / 캠페인용)
+ *                  요청마다 RecommendationService를 부르면 DB 조회 / 임베딩 요청이 N번씩 나가므로 단계별로 모아서 처리합니다.
+ *                  1. 모든 요청의 선택 도서를 findAllById 한 번으로
+ *                  2. 쿼리 벡터: 저장된 임베딩 조회 한 번 + 캐시에 없는 텍스트 임베딩 요청 (한도 이하 묶음마다 한 번, QueryVectorFactory.buildAll)
+ *                  3. 벡터 검색 ~ 정렬은 고정 크기 스레드 풀에서 요청별로 동시에 (엔티티 조회는 미룸)
+ *                     저장된 임베딩을 쓰는 단계(diversify) 전에 멈추고, 모든 요청의 후보 임베딩을 한 번에 조회한 뒤 나머지 단계를 실행
+ *                  4. 모든 요청의 추천 도서를 findAllById 한 번으로
+ *                  요청 하나의 실패(임베딩 요청이 실패한 묶음 포함)는 그 결과에만 error로 남기고 나머지는 그대로 반환합니다.
+ *                  결과 캐시는 거치지 않습니다 (한 번 쓰고 마는 조합이 대부분이라 캐시만 밀어냄).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 6.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       쿼리 임베딩 실패는 해당 요청만, diversify 후보 임베딩을 요청마다가 아니라 한 번에 조회
+ */
+@Slf4j
+@Service
+public class BatchRecommendationService {
+
+    // 추천 결과 수 (RecommendationService와 같음)
+    private static final int RECOMMEND_COUNT = 10;
+
+    private final Function<Collection<String>, List<Book>> books; // ISBN -> 도서 (순서 무관)
+    private final Function<List<List<Book>>, List<float[]>> queryVectors; // QueryVectorFactory.buildAll
+    private final Function<Collection<String>, Map<String, float[]>> storedEmbeddings; // 문서 ID -> 저장된 임베딩
+    private final RankingPipeline rankingPipeline;
+    private final int rerankOverfetch;
+    private final int maxSize;
+    private final Timer timer;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public BatchRecommendationService(BookRepository bookRepository,
+                                      QueryVectorFactory queryVectorFactory,
+                                      VectorSearcher vectorSearcher,
+                                      RankingPipeline rankingPipeline,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${recomon.recommend.rerank-overfetch:3}") int rerankOverfetch,
+                                      // 벡터 검색 ~ 정렬을 동시에 실행할 스레드 수
+                                      @Value("${recomon.recommend.batch.threads:4}") int threads,
+                                      // 한 번에 받을 수 있는 요청 수
+                                      @Value("${recomon.recommend.batch.max-size:500}") int maxSize) {
+        this(bookRepository::findAllById, queryVectorFactory::buildAll, vectorSearcher::findEmbeddingsByIds,
+                rankingPipeline, meterRegistry, rerankOverfetch, threads, maxSize);
+    }
+
+    BatchRecommendationService(Function<Collection<String>, List<Book>> books,
+                               Function<List<List<Book>>, List<float[]>> queryVectors,
+                               Function<Collection<String>, Map<String, float[]>> storedEmbeddings,
+                               RankingPipeline rankingPipeline,
+                               MeterRegistry meterRegistry,
+                               int rerankOverfetch,
+                               int threads,
+                               int maxSize) {
+        this.books = books;
+        this.queryVectors = queryVectors;
+        this.storedEmbeddings = storedEmbeddings;
+        this.rankingPipeline = rankingPipeline;
+        this.rerankOverfetch = Math.max(1, rerankOverfetch);
+        this.maxSize = maxSize;
+        this.timer = Timer.builder("recomon.recommend.batch")
+                .description("일괄 추천 소요 시간")
+                .register(meterRegistry);
+
+        AtomicInteger sequence = new AtomicInteger();
+        // 대기열이 가득 차면 호출 스레드가 직접 실행 (여러 일괄 요청이 겹쳐도 풀 크기 이상으로 늘지 않음)
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-recommend-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    // requests.get(i)의 결과가 결과의 i번째
+    public List<BatchRecommendResult> recommend(List<BatchRecommendRequest> requests) {
+        if (requests.size() > maxSize) {
+            throw new IllegalArgumentException("한 번에 요청할 수 있는 추천은 최대 " + maxSize + "건입니다.");
+        }
+        return timer.record(() -> run(requests));
+    }
+
+    private List<BatchRecommendResult> run(List<BatchRecommendRequest> requests) {
+        BatchRecommendResult[] results = new BatchRecommendResult[requests.size()];
+
+        // 1. 모든 요청의 선택 도서를 한 번에 조회
+        Set<String> selectedIsbns = new HashSet<>();
+        requests.forEach(request -> selectedIsbns.addAll(request.isbns()));
+        Map<String, Book> selectedByIsbn = findByIsbns(selectedIsbns);
+
+        List<Integer> valid = new ArrayList<>();
+        List<List<Book>> selections = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            // 선택 순서와 무관하게 같은 쿼리가 나오도록 ISBN 순으로 정렬 (RecommendationService와 같음)
+            List<Book> selectedBooks = requests.get(i).isbns().stream()
+                    .distinct()
+                    .map(selectedByIsbn::get)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparing(Book::getIsbn))
+                    .toList();
+            if (selectedBooks.isEmpty()) {
+                results[i] = BatchRecommendResult.failed("선택된 도서가 없습니다.");
+            } else {
+                valid.add(i);
+                selections.add(selectedBooks);
+            }
+        }
+
+        // 2. 쿼리 벡터를 한 번에 (저장된 임베딩 조회가 실패하면 나머지 요청 모두 실패, 텍스트 임베딩은 실패한 묶음의 요청만)
+        List<float[]> vectors;
+        try {
+            vectors = selections.isEmpty() ? List.of() : queryVectors.apply(selections);
+        } catch (Exception e) {
+            log.error(">>> 일괄 추천 쿼리 벡터 생성 실패: {}", e.getMessage(), e);
+            valid.forEach(i -> results[i] = BatchRecommendResult.failed("쿼리 벡터 생성 실패"));
+            return Arrays.asList(results);
+        }
+
+        // 3. 요청별 벡터 검색 ~ 정렬 (엔티티 조회는 미룸)
+        List<RankingContext> contexts = new ArrayList<>(valid.size());
+        for (int k = 0; k < valid.size(); k++) {
+            int index = valid.get(k);
+            if (vectors.get(k) == null) {
+                results[index] = BatchRecommendResult.failed("쿼리 벡터 생성 실패");
+                contexts.add(null);
+                continue;
+            }
+            RankingContext context = new RankingContext(selections.get(k), requests.get(index).intents(),
+                    Set.of(), Set.of(), RECOMMEND_COUNT, RECOMMEND_COUNT * rerankOverfetch);
+            context.setQueryVector(vectors.get(k));
+            context.deferHydration();
+            contexts.add(context);
+        }
+
+        Optional<String> embeddingStage = rankingPipeline.embeddingStage();
+        if (embeddingStage.isPresent()) {
+            // 후보 임베딩을 쓰는 단계 전까지 -> 모든 요청의 후보 임베딩을 한 번에 조회 -> 나머지 단계
+            String stage = embeddingStage.get();
+            runAll(valid, contexts, results, context -> rankingPipeline.runBefore(context, stage));
+            prefetchStoredEmbeddings(valid, contexts, results);
+            runAll(valid, contexts, results, context -> rankingPipeline.runFrom(context, stage));
+        } else {
+            runAll(valid, contexts, results, rankingPipeline::run);
+        }
+
+        Set<String> rankedIsbns = new HashSet<>();
+        for (int k = 0; k < valid.size(); k++) {
+            if (results[valid.get(k)] == null) {
+                rankedIsbns.addAll(contexts.get(k).rankedIsbns());
+            }
+        }
+
+        // 4. 모든 요청의 추천 도서를 한 번에 조회
+        Map<String, Book> rankedByIsbn = findByIsbns(rankedIsbns);
+        for (int k = 0; k < valid.size(); k++) {
+            int index = valid.get(k);
+            if (results[index] == null) {
+                results[index] = BatchRecommendResult.of(contexts.get(k).toScoredBooks(rankedByIsbn));
+            }
+        }
+
+        long failed = Arrays.stream(results).filter(BatchRecommendResult::hasError).count();
+        log.info(">>> 일괄 추천: 요청 {}건, 실패 {}건, 선택 도서 {}권, 추천 도서 {}권",
+                requests.size(), failed, selectedIsbns.size(), rankedIsbns.size());
+        return Arrays.asList(results);
+    }
+
+    // 아직 실패하지 않은 요청마다 step을 스레드 풀에서 동시에 실행하고 모두 기다림 (실패는 해당 결과에만)
+    private void runAll(List<Integer> valid, List<RankingContext> contexts, BatchRecommendResult[] results,
+                        Consumer<RankingContext> step) {
+        Map<Integer, Future<?>> futures = new LinkedHashMap<>();
+        for (int k = 0; k < valid.size(); k++) {
+            if (results[valid.get(k)] == null) {
+                RankingContext context = contexts.get(k);
+                futures.put(k, executor.submit(() -> step.accept(context)));
+            }
+        }
+        for (Map.Entry<Integer, Future<?>> entry : futures.entrySet()) {
+            int index = valid.get(entry.getKey());
+            try {
+                entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(future -> future.cancel(true));
+                throw new IllegalStateException("일괄 추천이 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                log.warn(">>> 일괄 추천 {}번째 요청 실패: {}", index, e.getCause().getMessage());
+                results[index] = BatchRecommendResult.failed("추천 실패: " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    // 남은 요청들의 후보 임베딩을 한 번에 조회해 넘김 (실패하면 임베딩 없이 점수 순 + 카테고리 상한으로)
+    private void prefetchStoredEmbeddings(List<Integer> valid, List<RankingContext> contexts,
+                                          BatchRecommendResult[] results) {
+        List<RankingContext> remaining = new ArrayList<>();
+        Set<String> documentIds = new HashSet<>();
+        for (int k = 0; k < valid.size(); k++) {
+            if (results[valid.get(k)] == null) {
+                RankingContext context = contexts.get(k);
+                remaining.add(context);
+                for (int row = 0; row < context.size(); row++) {
+                    documentIds.add(BookDocuments.idOf(context.isbn(row)));
+                }
+            }
+        }
+        Map<String, float[]> stored;
+        try {
+            stored = documentIds.isEmpty() ? Map.of() : storedEmbeddings.apply(documentIds);
+        } catch (RuntimeException e) {
+            log.warn(">>> 일괄 추천 후보 임베딩 조회 실패, 다양화는 점수 순으로: {}", e.getMessage());
+            stored = Map.of();
+        }
+        Map<String, float[]> prefetched = stored;
+        remaining.forEach(context -> context.setStoredEmbeddings(prefetched));
+    }
+
+    // findAllById는 순서를 보장하지 않음
+    private Map<String, Book> findByIsbns(Set<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Map.of();
+        }
+        return books.apply(isbns).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+    }
+}
@@ -0,0 +1,209 @@
+package com.recomon.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : CatalogSnapshot
+ * author         : kobe
+ * date           : 2026. 2. 4.
+ * description    : 추천 목적 점수 계산용 카탈로그 읽기 전용 스냅샷 (열 단위 기본형 배열)
+ *                  도서마다 0부터 이어지는 번호(id)를 붙이고, 점수에 쓰는 값만 배열로 둡니다.
+ *                  - rating / reviewCount / publishedYear: float[] / int[] / int[]
+ *                  - log(reviewCount + 1): 미리 계산한 float[]
+ *                  - bestSeller / awardWinner: long[] 비트 플래그
+ *                  - category: 카테고리 번호 int[] (이름은 사전 한 벌, 카테고리 없음은 -1)
+ *                  Book 엔티티를 읽지 않고 후보 수천 건의 점수를 계산할 수 있습니다 (IntentWeightPolicy.score 참고).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 4.        kobe       최초 생성
+ * 2026. 2. 5.        kobe       카테고리 열 (정렬 단계의 카테고리 가중치 / 다양화)
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final int size;
+    private final Map<String, Integer> idByIsbn;
+    private final String[] isbns;
+    private final float[] ratings;
+    private final int[] reviewCounts;
+    private final float[] logReviewCounts;
+    private final int[] publishedYears;
+    private final long[] bestSellers;
+    private final long[] awardWinners;
+    private final int[] categoryIds;
+    private final List<String> categoryNames;
+    private final Map<String, Integer> categoryIdByName;
+
+    private CatalogSnapshot(Builder builder, long version) {
+        this.version = version;
+        this.size = builder.size;
+        this.idByIsbn = builder.idByIsbn;
+        this.isbns = Arrays.copyOf(builder.isbns, size);
+        this.ratings = Arrays.copyOf(builder.ratings, size);
+        this.reviewCounts = Arrays.copyOf(builder.reviewCounts, size);
+        this.publishedYears = Arrays.copyOf(builder.publishedYears, size);
+        this.bestSellers = Arrays.copyOf(builder.bestSellers, words(size));
+        this.awardWinners = Arrays.copyOf(builder.awardWinners, words(size));
+        this.categoryIds = Arrays.copyOf(builder.categoryIds, size);
+        this.categoryNames = List.copyOf(builder.categoryNames);
+        this.categoryIdByName = builder.categoryIdByName;
+        this.logReviewCounts = new float[size];
+        for (int id = 0; id < size; id++) {
+            logReviewCounts[id] = (float) Math.log(reviewCounts[id] + 1);
+        }
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    // 스냅샷을 만들 때의 CatalogVersion
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 없으면 -1
+    public int idOf(String isbn) {
+        Integer id = idByIsbn.get(isbn);
+        return id == null ? -1 : id;
+    }
+
+    public String isbn(int id) {
+        return isbns[id];
+    }
+
+    public float rating(int id) {
+        return ratings[id];
+    }
+
+    public int reviewCount(int id) {
+        return reviewCounts[id];
+    }
+
+    public float logReviewCount(int id) {
+        return logReviewCounts[id];
+    }
+
+    public int publishedYear(int id) {
+        return publishedYears[id];
+    }
+
+    public boolean bestSeller(int id) {
+        return (bestSellers[id >>> 6] & (1L << id)) != 0;
+    }
+
+    public boolean awardWinner(int id) {
+        return (awardWinners[id >>> 6] & (1L << id)) != 0;
+    }
+
+    // 카테고리 번호 (0 ~ categoryCount() - 1, 카테고리 없음은 -1)
+    public int categoryId(int id) {
+        return categoryIds[id];
+    }
+
+    public int categoryCount() {
+        return categoryNames.size();
+    }
+
+    public String categoryName(int categoryId) {
+        return categoryNames.get(categoryId);
+    }
+
+    // 없으면 -1
+    public int categoryIdOf(String category) {
+        Integer categoryId = category == null ? null : categoryIdByName.get(category);
+        return categoryId == null ? -1 : categoryId;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Integer> idByIsbn;
+        private String[] isbns;
+        private float[] ratings;
+        private int[] reviewCounts;
+        private int[] publishedYears;
+        private long[] bestSellers;
+        private long[] awardWinners;
+        private int[] categoryIds;
+        private final List<String> categoryNames = new ArrayList<>();
+        private final Map<String, Integer> categoryIdByName = new HashMap<>();
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            this.idByIsbn = new HashMap<>(capacity * 4 / 3 + 1);
+            this.isbns = new String[capacity];
+            this.ratings = new float[capacity];
+            this.reviewCounts = new int[capacity];
+            this.publishedYears = new int[capacity];
+            this.bestSellers = new long[words(capacity)];
+            this.awardWinners = new long[words(capacity)];
+            this.categoryIds = new int[capacity];
+        }
+
+        // 같은 ISBN을 다시 넣으면 마지막 값으로 덮어씀
+        public Builder add(String isbn, String category, double rating, int reviewCount, int publishedYear,
+                           boolean bestSeller, boolean awardWinner) {
+            Integer existing = idByIsbn.get(isbn);
+            int id;
+            if (existing != null) {
+                id = existing;
+            } else {
+                ensureCapacity(size + 1);
+                id = size++;
+                idByIsbn.put(isbn, id);
+                isbns[id] = isbn;
+            }
+            ratings[id] = (float) rating;
+            reviewCounts[id] = reviewCount;
+            publishedYears[id] = publishedYear;
+            setBit(bestSellers, id, bestSeller);
+            setBit(awardWinners, id, awardWinner);
+            categoryIds[id] = category == null ? -1 : categoryIdByName.computeIfAbsent(category, name -> {
+                categoryNames.add(name);
+                return categoryNames.size() - 1;
+            });
+            return this;
+        }
+
+        public CatalogSnapshot build(long version) {
+            return new CatalogSnapshot(this, version);
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= isbns.length) {
+                return;
+            }
+            int capacity = Math.max(required, isbns.length * 2);
+            isbns = Arrays.copyOf(isbns, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+            reviewCounts = Arrays.copyOf(reviewCounts, capacity);
+            publishedYears = Arrays.copyOf(publishedYears, capacity);
+            bestSellers = Arrays.copyOf(bestSellers, words(capacity));
+            awardWinners = Arrays.copyOf(awardWinners, words(capacity));
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+        }
+
+        private static void setBit(long[] bits, int id, boolean value) {
+            if (value) {
+                bits[id >>> 6] |= 1L << id;
+            } else {
+                bits[id >>> 6] &= ~(1L << id);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.recomon.recommendation;
+
+import com.recomon.repository.BookRepository;
+import com.recomon.service.CatalogVersion;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : CatalogSnapshots
+ * author         : kobe
+ * date           : 2026. 2. 4.
+ * description    : 현재 CatalogSnapshot 제공
+ *                  처음 요청할 때 한 번 만들고, 이후 CatalogVersion이 바뀌면 기존 스냅샷을 계속 주면서 백그라운드에서 다시 만듭니다.
+ *                  (다시 만드는 동안 새로 저장된 도서는 스냅샷에 없으므로 호출 측이 엔티티로 점수를 계산)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 4.        kobe       최초 생성
+ * 2026. 2. 5.        kobe       카테고리 열 적재
+ */
+@Slf4j
+@Component
+public class CatalogSnapshots {
+
+    private final BookRepository bookRepository;
+    private final CatalogVersion catalogVersion;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshots(BookRepository bookRepository, CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.catalogVersion = catalogVersion;
+        Gauge.builder("recomon.catalog.snapshot.size", this, snapshots -> {
+                    CatalogSnapshot current = snapshots.snapshot;
+                    return current == null ? 0 : current.size();
+                })
+                .description("추천 점수 계산용 카탈로그 스냅샷 도서 수")
+                .register(meterRegistry);
+    }
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                return snapshot;
+            }
+        }
+        if (current.version() != catalogVersion.current()) {
+            rebuildAsync();
+        }
+        return current;
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    snapshot = load();
+                } catch (Exception e) {
+                    log.warn(">>> 카탈로그 스냅샷 다시 만들기 실패, 이전 스냅샷을 계속 사용합니다: {}", e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    // 조회 전에 읽은 버전을 붙임 (조회 중 버전이 또 바뀌면 다음 요청에서 다시 만듦)
+    private CatalogSnapshot load() {
+        long start = System.nanoTime();
+        long version = catalogVersion.current();
+        List<Object[]> rows = bookRepository.findScoringColumns();
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder(rows.size());
+        for (Object[] row : rows) {
+            builder.add((String) row[0],
+                    (String) row[1],
+                    ((Number) row[2]).doubleValue(),
+                    ((Number) row[3]).intValue(),
+                    ((Number) row[4]).intValue(),
+                    (Boolean) row[5],
+                    (Boolean) row[6]);
+        }
+        CatalogSnapshot built = builder.build(version);
+        log.info(">>> 카탈로그 스냅샷: {}건, 버전 {} ({}ms)", built.size(), version,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return built;
+    }
+}
@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 13.        kobe       최초 생성
+ * 2026. 1. 27.        kobe       계산한 가중치가 결과에 담기지 않던 문제 수정
  */
 @Component
 public class CategoryWeightCalculator {
@@ -39,7 +40,10 @@ public class CategoryWeightCalculator {
         }
 
         // 카테고리별 선택 개수 집계
-        Map<String, Long> categoryCountMap = selectedBooks.stream().collect(Collectors.groupingBy(Book::getCategory, Collectors.counting()));
+        // 카테고리가 없는 도서는 집계에서 제외 (groupingBy는 null 키를 허용하지 않음)
+        Map<String, Long> categoryCountMap = selectedBooks.stream()
+                .filter(book -> book.getCategory() != null)
+                .collect(Collectors.groupingBy(Book::getCategory, Collectors.counting()));
         int totalSelected = selectedBooks.size();
         Map<String, Double> categoryWeights = new HashMap<>();
 
@@ -50,6 +54,7 @@ public class CategoryWeightCalculator {
 
             double ratio = (double) count / totalSelected;
             double weight = calculateWeightByRatio(ratio);
+            categoryWeights.put(category, weight);
         }
 
         return categoryWeights;
@@ -0,0 +1,115 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : DeadlineRecommendationService
+ * author         : kobe
+ * date           : 2026. 2. 7.
+ * description    : 시간 예산 안에서의 추천 (화면용)
+ *                  벡터 추천(RecommendationService)을 고정 크기 풀에서 실행하고 예산만큼만 기다립니다.
+ *                  예산을 넘기거나 실패 / 빈 결과 / 풀 포화면 FallbackRecommendations(메모리의 인기 도서)로 바로 응답합니다.
+ *                  예산을 넘긴 벡터 추천은 취소하지 않고 끝까지 실행해 결과 캐시를 채웁니다 (같은 선택의 다음 요청은 캐시 적중).
+ *                  풀과 대기열이 모두 차면 새 요청은 벡터 추천을 시작하지 않으므로, 장애 중에도 스레드 / 메모리가 늘지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 7.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       벡터 추천 실패를 삼키지 않고 받아 error 사유로 셈 (recommendCached)
+ */
+@Slf4j
+@Service
+public class DeadlineRecommendationService {
+
+    // 추천 결과 수 (RecommendationService와 같음)
+    private static final int RECOMMEND_COUNT = 10;
+
+    private final RecommendationService recommendationService;
+    private final FallbackRecommendations fallbackRecommendations;
+    private final long budgetMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Counter> fallbackCounters = new HashMap<>();
+
+    public DeadlineRecommendationService(RecommendationService recommendationService,
+                                         FallbackRecommendations fallbackRecommendations,
+                                         MeterRegistry meterRegistry,
+                                         // 벡터 추천을 기다릴 기본 시간
+                                         @Value("${recomon.recommend.deadline.budget-ms:1500}") long budgetMillis,
+                                         @Value("${recomon.recommend.deadline.threads:8}") int threads,
+                                         // 실행 대기 가능한 벡터 추천 수 (초과 시 바로 대체 추천)
+                                         @Value("${recomon.recommend.deadline.queue-capacity:32}") int queueCapacity) {
+        this.recommendationService = recommendationService;
+        this.fallbackRecommendations = fallbackRecommendations;
+        this.budgetMillis = budgetMillis;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "deadline-recommend-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        for (String reason : List.of("timeout", "error", "empty", "rejected")) {
+            fallbackCounters.put(reason, Counter.builder("recomon.recommend.fallback")
+                    .tag("reason", reason)
+                    .description("시간 예산 초과 / 실패로 대체 추천을 준 횟수")
+                    .register(meterRegistry));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public List<Book> recommendBooks(List<String> userSelectedIsbns, List<RecommendIntent> intents) {
+        return recommendBooks(userSelectedIsbns, intents, budgetMillis);
+    }
+
+    // 선택된 도서가 없으면 IllegalArgumentException (대체 추천 없음)
+    public List<Book> recommendBooks(List<String> userSelectedIsbns, List<RecommendIntent> intents, long budgetMillis) {
+        Future<List<Book>> future;
+        try {
+            future = executor.submit(() -> recommendationService.recommendCached(userSelectedIsbns, intents,
+                    Set.of(), Set.of()));
+        } catch (RejectedExecutionException e) {
+            return fallback(userSelectedIsbns, "rejected");
+        }
+
+        try {
+            List<Book> books = future.get(budgetMillis, TimeUnit.MILLISECONDS);
+            return books.isEmpty() ? fallback(userSelectedIsbns, "empty") : books;
+        } catch (TimeoutException e) {
+            return fallback(userSelectedIsbns, "timeout");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException cause) {
+                throw cause;
+            }
+            log.warn(">>> 벡터 추천 실패: {}", e.getCause().getMessage());
+            return fallback(userSelectedIsbns, "error");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback(userSelectedIsbns, "error");
+        }
+    }
+
+    private List<Book> fallback(List<String> userSelectedIsbns, String reason) {
+        fallbackCounters.get(reason).increment();
+        List<Book> books = fallbackRecommendations.recommend(userSelectedIsbns, RECOMMEND_COUNT);
+        log.info(">>> 대체 추천 ({}): {}권", reason, books.size());
+        return books;
+    }
+}
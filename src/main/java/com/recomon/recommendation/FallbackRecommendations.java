@@ -0,0 +1,296 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import com.recomon.repository.BookRepository;
+import com.recomon.service.CatalogVersion;
+import com.recomon.vectorindex.TopK;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : FallbackRecommendations
+ * author         : kobe
+ * date           : 2026. 2. 7.
+ * description    : 벡터 추천이 시간 안에 끝나지 않거나 실패했을 때 줄 대체 추천 (findByCategoryNotIn 전체 조회 대체)
+ *                  카테고리마다 인기 도서(평점 * log(리뷰 수 + 1), 베스트셀러 우선) per-category권을 미리 메모리에 올려두고,
+ *                  요청 시에는 DB / 임베딩 호출 없이 그 안에서 무작위로 고릅니다. (메모리: 카테고리 수 * per-category권)
+ *                  시작 시 백그라운드에서 인기 순 상위 initial-limit권으로 초기 목록을 먼저 만들고 (스냅샷을 기다리지 않음),
+ *                  이어서 스냅샷 기준 목록으로 바꿉니다. CatalogVersion이 바뀌면 기존 목록을 주면서 다시 만듭니다.
+ *                  목록이 준비되기 전 요청은 빈 결과이고, 만들기가 실패하면 retry-after 동안 다시 시도하지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 7.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       준비 전 첫 요청은 제한된 쿼리로 초기 목록을 만들어 응답 (빈 결과 대신)
+ * 2026. 2. 10.       kobe       초기 목록도 시작 시 백그라운드에서 (요청 스레드에서는 DB 조회 없음), 실패 후 재시도 간격
+ */
+@Slf4j
+@Component
+public class FallbackRecommendations {
+
+    private final CatalogSnapshots catalogSnapshots;
+    private final CatalogVersion catalogVersion;
+    private final BookRepository bookRepository;
+    private final int perCategory;
+    private final int initialLimit;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fallback-recommendations-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final long retryAfterNanos;
+    private volatile long nextAttemptAt; // 만들기가 실패하면 이 시각(System.nanoTime) 전에는 다시 시도하지 않음
+
+    private volatile Pool pool;
+
+    public FallbackRecommendations(CatalogSnapshots catalogSnapshots,
+                                   CatalogVersion catalogVersion,
+                                   BookRepository bookRepository,
+                                   MeterRegistry meterRegistry,
+                                   // 카테고리마다 메모리에 둘 인기 도서 수
+                                   @Value("${recomon.recommend.fallback.per-category:30}") int perCategory,
+                                   // 스냅샷 기준 목록보다 먼저 만드는 초기 목록에서 조회할 인기 도서 수
+                                   @Value("${recomon.recommend.fallback.initial-limit:300}") int initialLimit,
+                                   // 목록 만들기가 실패한 뒤 다시 시도하기까지의 시간
+                                   @Value("${recomon.recommend.fallback.retry-after:30s}") Duration retryAfter) {
+        this.catalogSnapshots = catalogSnapshots;
+        this.catalogVersion = catalogVersion;
+        this.bookRepository = bookRepository;
+        this.perCategory = perCategory;
+        this.initialLimit = Math.max(1, initialLimit);
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.nextAttemptAt = System.nanoTime();
+        Gauge.builder("recomon.recommend.fallback.size", this, fallback -> {
+                    Pool current = fallback.pool;
+                    return current == null ? 0 : current.size();
+                })
+                .description("대체 추천용으로 메모리에 둔 도서 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuildAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // 선택한 도서와 다른 카테고리의 인기 도서 우선 (부족하면 같은 카테고리에서 채움), 선택한 도서는 제외
+    public List<Book> recommend(Collection<String> selectedIsbns, int limit) {
+        Pool current = pool;
+        if (current == null || current.version() != catalogVersion.current()) {
+            rebuildAsync();
+        }
+        if (current == null) {
+            return List.of(); // 시작 직후 목록이 준비되기 전 (요청 스레드에서는 DB를 조회하지 않음)
+        }
+
+        Set<String> selectedCategories = new HashSet<>();
+        for (String isbn : selectedIsbns) {
+            String category = current.categoryOf(isbn);
+            if (category != null) {
+                selectedCategories.add(category);
+            }
+        }
+        return pick(current.booksByCategory(), selectedCategories, new HashSet<>(selectedIsbns), limit,
+                ThreadLocalRandom.current());
+    }
+
+    public boolean ready() {
+        return pool != null;
+    }
+
+    private void rebuildAsync() {
+        if (System.nanoTime() - nextAttemptAt < 0 || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    if (pool == null) {
+                        pool = loadInitial(); // 전체 스냅샷보다 먼저, 제한된 조회로
+                    }
+                    CatalogSnapshot snapshot = catalogSnapshots.current();
+                    // 스냅샷이 아직 다시 만들어지지 않았으면 다음 요청에서
+                    if (pool.version() != snapshot.version()) {
+                        pool = load(snapshot);
+                    }
+                } catch (Exception e) {
+                    nextAttemptAt = System.nanoTime() + retryAfterNanos;
+                    log.warn(">>> 대체 추천 목록 만들기 실패, 이전 목록을 계속 사용합니다: {}", e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    // 목록이 아직 없을 때: 인기 순 상위 initialLimit권만 조회 (버전 -1이므로 이어서 스냅샷 기준 목록으로 바뀜)
+    private Pool loadInitial() {
+        long start = System.nanoTime();
+        Map<String, List<Book>> booksByCategory = groupByCategory(
+                bookRepository.findPopular(PageRequest.of(0, initialLimit)), perCategory);
+        Pool initial = new Pool(-1, null, booksByCategory);
+        log.info(">>> 대체 추천 초기 목록: 카테고리 {}개, {}권 ({}ms)", booksByCategory.size(), initial.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return initial;
+    }
+
+    // 인기 순으로 받은 도서를 카테고리별 최대 perCategory권으로 (순서 유지)
+    static Map<String, List<Book>> groupByCategory(List<Book> popular, int perCategory) {
+        Map<String, List<Book>> booksByCategory = new LinkedHashMap<>();
+        for (Book book : popular) {
+            if (book.getCategory() == null) {
+                continue;
+            }
+            List<Book> books = booksByCategory.computeIfAbsent(book.getCategory(), category -> new ArrayList<>());
+            if (books.size() < perCategory) {
+                books.add(book);
+            }
+        }
+        return booksByCategory;
+    }
+
+    private Pool load(CatalogSnapshot snapshot) {
+        long start = System.nanoTime();
+        Map<String, List<String>> isbnsByCategory = popularIsbns(snapshot, perCategory);
+
+        // 고른 도서만 한 번에 조회 (findAllById는 순서를 보장하지 않음)
+        Set<String> isbns = new HashSet<>();
+        isbnsByCategory.values().forEach(isbns::addAll);
+        Map<String, Book> booksByIsbn = bookRepository.findAllById(isbns).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+
+        Map<String, List<Book>> booksByCategory = new HashMap<>();
+        isbnsByCategory.forEach((category, categoryIsbns) -> {
+            List<Book> books = categoryIsbns.stream().map(booksByIsbn::get).filter(Objects::nonNull).toList();
+            if (!books.isEmpty()) {
+                booksByCategory.put(category, books);
+            }
+        });
+        Pool built = new Pool(snapshot.version(), snapshot, booksByCategory);
+        log.info(">>> 대체 추천 목록: 카테고리 {}개, {}권, 버전 {} ({}ms)", booksByCategory.size(), built.size(),
+                snapshot.version(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return built;
+    }
+
+    // 카테고리별 인기 순 ISBN (카테고리마다 고정 크기 힙, 카테고리 없는 도서는 제외)
+    static Map<String, List<String>> popularIsbns(CatalogSnapshot snapshot, int perCategory) {
+        TopK[] tops = new TopK[snapshot.categoryCount()];
+        for (int id = 0; id < snapshot.size(); id++) {
+            int categoryId = snapshot.categoryId(id);
+            if (categoryId < 0) {
+                continue;
+            }
+            if (tops[categoryId] == null) {
+                tops[categoryId] = new TopK(Math.max(1, perCategory));
+            }
+            tops[categoryId].offer(id, -popularity(snapshot, id));
+        }
+
+        Map<String, List<String>> isbnsByCategory = new LinkedHashMap<>();
+        int[] ids = new int[Math.max(1, perCategory)];
+        float[] distances = new float[ids.length];
+        for (int categoryId = 0; categoryId < tops.length; categoryId++) {
+            if (tops[categoryId] == null) {
+                continue;
+            }
+            int found = tops[categoryId].drainSorted(ids, distances);
+            List<String> isbns = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                isbns.add(snapshot.isbn(ids[i]));
+            }
+            isbnsByCategory.put(snapshot.categoryName(categoryId), isbns);
+        }
+        return isbnsByCategory;
+    }
+
+    // 베스트셀러가 먼저, 그다음 평점 * log(리뷰 수 + 1)
+    private static float popularity(CatalogSnapshot snapshot, int id) {
+        float score = snapshot.rating(id) * snapshot.logReviewCount(id);
+        return snapshot.bestSeller(id) ? score + 1_000f : score;
+    }
+
+    // 다른 카테고리를 무작위 순서로 돌아가며 한 권씩 (카테고리 안에서도 무작위), 부족하면 선택한 카테고리에서
+    static List<Book> pick(Map<String, List<Book>> booksByCategory, Set<String> selectedCategories,
+                           Set<String> excludedIsbns, int limit, Random random) {
+        List<String> others = new ArrayList<>();
+        List<String> selected = new ArrayList<>();
+        booksByCategory.keySet().forEach(category -> (selectedCategories.contains(category) ? selected : others).add(category));
+        Collections.shuffle(others, random);
+        Collections.shuffle(selected, random);
+
+        List<Book> picked = new ArrayList<>(limit);
+        for (List<String> categories : List.of(others, selected)) {
+            List<Deque<Book>> queues = new ArrayList<>();
+            for (String category : categories) {
+                List<Book> books = new ArrayList<>(booksByCategory.get(category));
+                books.removeIf(book -> excludedIsbns.contains(book.getIsbn()));
+                Collections.shuffle(books, random);
+                if (!books.isEmpty()) {
+                    queues.add(new ArrayDeque<>(books));
+                }
+            }
+            while (picked.size() < limit && !queues.isEmpty()) {
+                Iterator<Deque<Book>> iterator = queues.iterator();
+                while (picked.size() < limit && iterator.hasNext()) {
+                    Deque<Book> queue = iterator.next();
+                    picked.add(queue.poll());
+                    if (queue.isEmpty()) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+        return picked;
+    }
+
+    // snapshot: 초기 목록이면 null (선택 도서의 카테고리는 목록에 있는 도서로만 앎)
+    private record Pool(long version, CatalogSnapshot snapshot, Map<String, List<Book>> booksByCategory) {
+
+        String categoryOf(String isbn) {
+            if (snapshot != null) {
+                int id = snapshot.idOf(isbn);
+                int categoryId = id < 0 ? -1 : snapshot.categoryId(id);
+                return categoryId < 0 ? null : snapshot.categoryName(categoryId);
+            }
+            for (Map.Entry<String, List<Book>> entry : booksByCategory.entrySet()) {
+                for (Book book : entry.getValue()) {
+                    if (book.getIsbn().equals(isbn)) {
+                        return entry.getKey();
+                    }
+                }
+            }
+            return null;
+        }
+
+        int size() {
+            return booksByCategory.values().stream().mapToInt(List::size).sum();
+        }
+    }
+}
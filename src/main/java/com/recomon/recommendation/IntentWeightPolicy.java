@@ -15,14 +15,18 @@ import java.util.List;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 13.        kobe       최초 생성
+ * 2026. 2. 4.        kobe       CatalogSnapshot 일괄 점수 계산, 가중치/점수 기본형으로 (신작 기준 연도는 생성 시 한 번만 계산)
  */
 public class IntentWeightPolicy {
 
-    private Double bestSellerWeight = 0.0;
-    private Double newReleasesWeight = 0.0;
-    private Double reviewWeight = 0.0;
-    private Double ratingWeight = 0.0;
-    private Double awardWeight = 0.0;
+    private double bestSellerWeight = 0.0;
+    private double newReleasesWeight = 0.0;
+    private double reviewWeight = 0.0;
+    private double ratingWeight = 0.0;
+    private double awardWeight = 0.0;
+
+    // 이 연도부터 출간된 도서가 신작 (최근 2년)
+    private final int newReleaseFromYear = Year.now().getValue() - 2;
 
     private IntentWeightPolicy() {
         // 외부 생성 차단
@@ -50,38 +54,47 @@ public class IntentWeightPolicy {
     }
 
     // 측정 도서에 대해 추천 목적 기반 점수를 계산
-    public Double score(Book book) {
+    public double score(Book book) {
+        return score(book.isBestSeller(), book.getPublishedYear(), Math.log(book.getReviewCount() + 1),
+                book.getRating(), book.isAwardWinner());
+    }
+
+    // candidates[i](CatalogSnapshot의 도서 번호)의 점수를 out[i]에 기록 (스냅샷에 없는 도서(-1)는 0)
+    // 도서마다 객체를 만들지 않으므로 후보 수천 건도 할당 없이 계산합니다.
+    public void score(CatalogSnapshot snapshot, int[] candidates, double[] out) {
+        for (int i = 0; i < candidates.length; i++) {
+            int id = candidates[i];
+            out[i] = id < 0 ? 0 : score(snapshot.bestSeller(id), snapshot.publishedYear(id),
+                    snapshot.logReviewCount(id), snapshot.rating(id), snapshot.awardWinner(id));
+        }
+    }
+
+    private double score(boolean bestSeller, int publishedYear, double logReviewCount, double rating,
+                         boolean awardWinner) {
 
         double score = 0;
 
         // 1. 베스트샐러
-        if (book.isBestSeller()) {
+        if (bestSeller) {
             score += bestSellerWeight;
         }
 
         // 2. 신작 (최근 2년)
-        if (isNewRelease(book)) {
+        if (publishedYear >= newReleaseFromYear) {
             score += newReleasesWeight;
         }
 
         // 3. 리뷰 수 (로그 스케일)
-        score += Math.log(book.getReviewCount() + 1)
-                * reviewWeight;
+        score += logReviewCount * reviewWeight;
 
         // 4. 평정 (0.0 ~ 5.0 -> 0.0 ~ 1.0 정규화)
-        score += (book.getRating() / 5.0)
-                * ratingWeight;
+        score += (rating / 5.0) * ratingWeight;
 
         // 5. 수상작
-        if (book.isAwardWinner()) {
+        if (awardWinner) {
             score += awardWeight;
         }
 
         return score;
     }
-
-    private boolean isNewRelease(Book book) {
-        int currentYear = Year.now().getValue();
-        return book.getPublishedYear() >= currentYear - 2;
-    }
 }
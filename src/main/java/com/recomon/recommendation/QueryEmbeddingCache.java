@@ -0,0 +1,151 @@
+package com.recomon.recommendation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : QueryEmbeddingCache
+ * author         : kobe
+ * date           : 2026. 1. 26.
+ * description    : 추천 쿼리 텍스트 -> 임베딩 벡터 인메모리 캐시 (최대 개수 + TTL 만료)
+ *                  인기 도서 조합은 같은 쿼리 텍스트를 만들므로, 적중 시 임베딩 모델을 호출하지 않습니다.
+ *                  쿼리 텍스트의 캐시는 이것 하나: 영구 캐시(embedding_cache)를 거치지 않는 providerEmbeddingModel을 사용합니다.
+ *                  같은 키를 동시에 요청하면 한 번만 임베딩합니다.
+ *                  키만 정규화하고 임베딩은 처음 받은 원문으로 합니다 (대소문자 / 공백을 바꾼 텍스트를 모델에 보내지 않도록).
+ *                  캐시의 배열은 공유되므로 호출 측에는 복사본을 돌려줍니다.
+ *                  embedAll()은 캐시에 없는 텍스트를 batch.max-texts개 / batch.max-chars자 이하로 나누어 요청하고,
+ *                  실패한 묶음의 텍스트만 null로 돌려줍니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 26.        kobe       최초 생성
+ * 2026. 2. 6.        kobe       여러 쿼리 일괄 임베딩 (캐시에 없는 텍스트만 요청 한 번)
+ * 2026. 2. 9.        kobe       일괄 임베딩을 요청 한도 이하로 나누고, 실패는 해당 묶음만
+ * 2026. 2. 9.        kobe       원문을 임베딩하고 키만 정규화, 복사본 반환
+ * 2026. 2. 10.       kobe       embedding_cache를 거치지 않는 모델 사용 (미스마다 조회 / 저장, 선호 텍스트 영구 보관 방지)
+ */
+@Slf4j
+@Component
+public class QueryEmbeddingCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmbeddingModel embeddingModel;
+    private final Cache<String, float[]> cache;
+    private final int maxBatchTexts;
+    private final int maxBatchChars;
+
+    @Autowired
+    public QueryEmbeddingCache(@Qualifier("providerEmbeddingModel") EmbeddingModel embeddingModel,
+                               @Value("${recomon.recommend.query-cache.max-size:5000}") long maxSize,
+                               @Value("${recomon.recommend.query-cache.ttl:6h}") Duration ttl,
+                               @Value("${recomon.recommend.query-cache.batch.max-texts:500}") int maxBatchTexts,
+                               @Value("${recomon.recommend.query-cache.batch.max-chars:100000}") int maxBatchChars,
+                               MeterRegistry meterRegistry) {
+        this(embeddingModel, maxSize, ttl, maxBatchTexts, maxBatchChars);
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size (tag: cache=recomon.query.embedding)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recomon.query.embedding");
+    }
+
+    QueryEmbeddingCache(EmbeddingModel embeddingModel, long maxSize, Duration ttl) {
+        this(embeddingModel, maxSize, ttl, 500, 100_000);
+    }
+
+    QueryEmbeddingCache(EmbeddingModel embeddingModel, long maxSize, Duration ttl, int maxBatchTexts, int maxBatchChars) {
+        this.embeddingModel = embeddingModel;
+        this.maxBatchTexts = Math.max(1, maxBatchTexts);
+        this.maxBatchChars = Math.max(1, maxBatchChars);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // 정규화한 텍스트로 조회하고, 없으면 원문을 임베딩하여 저장 (반환값은 복사본)
+    public float[] embed(String queryText) {
+        String key = normalize(queryText);
+        return cache.get(key, k -> embeddingModel.embed(queryText)).clone();
+    }
+
+    // 여러 쿼리를 한 번에 (캐시에 없는 텍스트만 한도 이하 묶음으로 나누어 요청, 결과는 queryTexts 순서의 복사본)
+    // 같은 키의 텍스트가 여럿이면 처음 나온 원문을 임베딩, 요청이 실패한 묶음의 텍스트는 null (다른 묶음의 결과는 그대로 반환)
+    public List<float[]> embedAll(List<String> queryTexts) {
+        List<String> keys = queryTexts.stream().map(QueryEmbeddingCache::normalize).toList();
+        Map<String, float[]> embeddings = new HashMap<>(cache.getAllPresent(keys));
+        Map<String, String> missing = new LinkedHashMap<>(); // 키 -> 임베딩할 원문
+        for (int i = 0; i < keys.size(); i++) {
+            if (!embeddings.containsKey(keys.get(i))) {
+                missing.putIfAbsent(keys.get(i), queryTexts.get(i));
+            }
+        }
+        for (List<String> chunk : chunks(List.copyOf(missing.values()))) {
+            try {
+                List<float[]> vectors = embeddingModel.embed(chunk);
+                for (int i = 0; i < chunk.size(); i++) {
+                    String key = normalize(chunk.get(i));
+                    cache.put(key, vectors.get(i));
+                    embeddings.put(key, vectors.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.warn(">>> 쿼리 임베딩 요청 실패 ({}건): {}", chunk.size(), e.getMessage());
+            }
+        }
+        List<float[]> results = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            float[] embedding = embeddings.get(key);
+            results.add(embedding == null ? null : embedding.clone());
+        }
+        return results;
+    }
+
+    // 텍스트 maxBatchTexts개, 글자 수 합 maxBatchChars 이하로 (한 텍스트가 maxBatchChars를 넘으면 혼자 한 묶음)
+    private List<List<String>> chunks(List<String> texts) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> chunk = new ArrayList<>();
+        int chars = 0;
+        for (String text : texts) {
+            if (!chunk.isEmpty() && (chunk.size() >= maxBatchTexts || chars + text.length() > maxBatchChars)) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                chars = 0;
+            }
+            chunk.add(text);
+            chars += text.length();
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    // 유니코드 NFC + 소문자 + 연속 공백 하나로 (표기만 다른 같은 쿼리를 같은 키로)
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
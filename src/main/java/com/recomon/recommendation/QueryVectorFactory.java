@@ -0,0 +1,153 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import com.recomon.service.BookDocuments;
+import com.recomon.vectorindex.VectorSearcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : QueryVectorFactory
+ * author         : kobe
+ * date           : 2026. 2. 6.
+ * description    : 선택 도서로 추천 검색용 쿼리 벡터 만들기 (CandidateGenerationStage에서 옮김)
+ *                  - centroid: vector_store에 이미 저장된 선택 도서 임베딩의 (카테고리) 가중 평균 -> 임베딩 API 호출 없음
+ *                  - text: 선택 도서의 카테고리/제목 텍스트를 임베딩 (저장된 임베딩이 하나도 없을 때도 이 방식으로 대체)
+ *                  buildAll()은 여러 선택을 한 번에: 저장된 임베딩 조회 한 번 + 캐시에 없는 텍스트 임베딩 요청 (한도 이하 묶음마다 한 번)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 6.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       텍스트 임베딩이 실패한 선택만 null (일괄 추천에서 해당 요청만 실패)
+ */
+@Slf4j
+@Component
+public class QueryVectorFactory {
+
+    private final VectorSearcher vectorSearcher;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final CategoryWeightCalculator categoryWeightCalculator;
+    private final String queryMode;
+    private final String centroidWeighting;
+
+    public QueryVectorFactory(VectorSearcher vectorSearcher,
+                              QueryEmbeddingCache queryEmbeddingCache,
+                              CategoryWeightCalculator categoryWeightCalculator,
+                              // centroid | text
+                              @Value("${recomon.recommend.query-mode:centroid}") String queryMode,
+                              // category | mean (centroid 모드에서 선택 도서 임베딩을 합치는 방식)
+                              @Value("${recomon.recommend.centroid-weighting:category}") String centroidWeighting) {
+        this.vectorSearcher = vectorSearcher;
+        this.queryEmbeddingCache = queryEmbeddingCache;
+        this.categoryWeightCalculator = categoryWeightCalculator;
+        this.queryMode = queryMode;
+        this.centroidWeighting = centroidWeighting;
+    }
+
+    public float[] build(List<Book> selectedBooks) {
+        float[] vector = buildAll(List.of(selectedBooks)).get(0);
+        if (vector == null) {
+            throw new IllegalStateException("쿼리 텍스트 임베딩에 실패했습니다.");
+        }
+        return vector;
+    }
+
+    // selections.get(i)의 쿼리 벡터가 결과의 i번째 (텍스트 임베딩 요청이 실패한 선택은 null)
+    public List<float[]> buildAll(List<List<Book>> selections) {
+        float[][] vectors = new float[selections.size()][];
+
+        if ("centroid".equals(queryMode)) {
+            Set<String> documentIds = new HashSet<>();
+            selections.forEach(books -> books.forEach(book -> documentIds.add(BookDocuments.idOf(book.getIsbn()))));
+            Map<String, float[]> storedEmbeddings = vectorSearcher.findEmbeddingsByIds(documentIds);
+            int withoutEmbeddings = 0;
+            for (int i = 0; i < selections.size(); i++) {
+                vectors[i] = centroid(selections.get(i), storedEmbeddings);
+                if (vectors[i] == null) {
+                    withoutEmbeddings++;
+                }
+            }
+            if (withoutEmbeddings > 0) {
+                log.info(">>> 선택한 도서의 저장된 임베딩이 없어 텍스트 임베딩으로 검색합니다. ({}건)", withoutEmbeddings);
+            }
+        }
+
+        // 나머지는 텍스트 임베딩 (쿼리 임베딩은 인메모리 캐시에서 먼저 찾고, 없는 것만 OpenAI에 한 번에 요청)
+        List<Integer> textIndexes = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < vectors.length; i++) {
+            if (vectors[i] == null) {
+                textIndexes.add(i);
+                texts.add(preferenceText(selections.get(i)));
+            }
+        }
+        if (!texts.isEmpty()) {
+            List<float[]> embedded = queryEmbeddingCache.embedAll(texts);
+            for (int i = 0; i < textIndexes.size(); i++) {
+                vectors[textIndexes.get(i)] = embedded.get(i);
+            }
+        }
+        return Arrays.asList(vectors);
+    }
+
+    // 저장된 임베딩이 하나도 없으면 null
+    private float[] centroid(List<Book> selectedBooks, Map<String, float[]> storedEmbeddings) {
+        Map<String, Double> categoryWeights = "category".equals(centroidWeighting)
+                ? categoryWeightCalculator.calculate(selectedBooks)
+                : Map.of();
+
+        List<float[]> vectors = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (Book book : selectedBooks) {
+            float[] embedding = storedEmbeddings.get(BookDocuments.idOf(book.getIsbn()));
+            if (embedding != null) {
+                vectors.add(embedding);
+                // 기본 1 + 카테고리 가중치 (선호 비율이 낮은 카테고리도 쿼리에서 빠지지 않도록)
+                weights.add(1.0 + categoryWeights.getOrDefault(book.getCategory(), 0.0));
+            }
+        }
+        if (vectors.isEmpty()) {
+            return null;
+        }
+        if (vectors.size() < selectedBooks.size()) {
+            log.debug(">>> 임베딩이 없는 선택 도서 {}건은 쿼리 벡터에서 제외", selectedBooks.size() - vectors.size());
+        }
+        return QueryVectors.weightedCentroid(vectors, weights);
+    }
+
+    // 유저가 고른 책들의 제목과 카테고리를 합쳐서 하나의 긴 텍스트로 만듭니다.
+    // AI는 이 텍스트와 "의미적으로 가장 가까운" 다른 책을 찾아줄 겁니다.
+    // OpenAI embedding 모델의 최대 컨텍스트 길이는 8192 토큰입니다.
+    // 한국어는 1자당 약 1-2 토큰으로 변환되므로, 안전하게 4000자로 제한합니다.
+    private String preferenceText(List<Book> selectedBooks) {
+        String userPreferenceText = selectedBooks.stream()
+                .map(book -> {
+                    StringBuilder sb = new StringBuilder();
+                    if (book.getCategory() != null && !book.getCategory().isEmpty()) {
+                        sb.append(book.getCategory()).append(" ");
+                    }
+                    if (book.getTitle() != null && !book.getTitle().isEmpty()) {
+                        String title = book.getTitle();
+                        // 제목이 너무 길면 최대 50자로 제한
+                        if (title.length() > 50) {
+                            title = title.substring(0, 50);
+                        }
+                        sb.append(title);
+                    }
+                    return sb.toString().trim();
+                })
+                .filter(text -> !text.isEmpty())
+                .collect(Collectors.joining(" "));
+
+        // 전체 텍스트 길이를 4000자로 제한 (약 6000-8000 토큰, 안전 마진 포함)
+        if (userPreferenceText.length() > 4000) {
+            userPreferenceText = userPreferenceText.substring(0, 4000);
+        }
+        return userPreferenceText;
+    }
+}
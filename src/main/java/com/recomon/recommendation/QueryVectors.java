@@ -0,0 +1,72 @@
+package com.recomon.recommendation;
+
+import com.recomon.vectorindex.Vectors;
+
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : QueryVectors
+ * author         : kobe
+ * date           : 2026. 1. 27.
+ * description    : 선택한 도서들의 저장된 임베딩으로 쿼리 벡터를 만드는 계산
+ *                  각 벡터를 단위 길이로 맞춘 뒤 가중 평균하고 다시 단위 길이로 정규화합니다 (코사인 거리 검색용).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 27.        kobe       최초 생성
+ * 2026. 2. 5.        kobe       정렬 파이프라인(ranking 패키지)에서 쓰도록 공개
+ * 2026. 2. 9.        kobe       벡터 길이는 Vectors로
+ */
+public final class QueryVectors {
+
+    private QueryVectors() {
+        // 인스턴스 생성 차단
+    }
+
+    // vectors.get(i)의 가중치가 weights.get(i) (가중치 합이 0이면 단순 평균)
+    public static float[] weightedCentroid(List<float[]> vectors, List<Double> weights) {
+        if (vectors.isEmpty()) {
+            throw new IllegalArgumentException("쿼리 벡터를 만들 임베딩이 없습니다.");
+        }
+        if (vectors.size() != weights.size()) {
+            throw new IllegalArgumentException("임베딩 수와 가중치 수가 다릅니다: "
+                    + vectors.size() + " != " + weights.size());
+        }
+
+        double weightSum = weights.stream().mapToDouble(Double::doubleValue).sum();
+        boolean uniform = weightSum <= 0;
+
+        int dimensions = vectors.get(0).length;
+        double[] sum = new double[dimensions];
+        for (int i = 0; i < vectors.size(); i++) {
+            float[] vector = vectors.get(i);
+            if (vector.length != dimensions) {
+                throw new IllegalArgumentException("임베딩 차원이 다릅니다: " + vector.length + " != " + dimensions);
+            }
+            double norm = Vectors.norm(vector);
+            if (norm == 0) {
+                continue;
+            }
+            double scale = (uniform ? 1.0 : weights.get(i)) / norm;
+            for (int d = 0; d < dimensions; d++) {
+                sum[d] += vector[d] * scale;
+            }
+        }
+
+        double length = 0;
+        for (double value : sum) {
+            length += value * value;
+        }
+        length = Math.sqrt(length);
+
+        float[] centroid = new float[dimensions];
+        if (length == 0) {
+            return centroid;
+        }
+        for (int d = 0; d < dimensions; d++) {
+            centroid[d] = (float) (sum[d] / length);
+        }
+        return centroid;
+    }
+}
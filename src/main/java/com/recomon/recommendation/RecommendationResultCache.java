@@ -0,0 +1,177 @@
+package com.recomon.recommendation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recomon.domain.Book;
+import com.recomon.service.CatalogVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.recomon.recommendation
+ * fileName       : RecommendationResultCache
+ * author         : kobe
+ * date           : 2026. 1. 28.
+ * description    : 추천 결과 캐시 (키: 정렬한 ISBN 집합 + 정렬한 추천 목적 + 카테고리 조건 + 끈 정렬 단계, 최대 개수로 제거)
+ *                  항목은 계산 당시의 CatalogVersion을 가지고 있어, 새 도서가 저장되면 오래된(stale) 결과가 됩니다.
+ *                  오래된 결과는 바로 반환하고 백그라운드에서 다시 계산하며(stale-while-revalidate),
+ *                  다시 계산이 실패하면(임베딩/벡터 검색 장애) 오래된 결과를 계속 제공합니다.
+ *                  시간 예산 초과로 단계를 건너뛴 결과는 처음부터 오래된 결과로 저장해 다음 요청에서 다시 계산합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 28.        kobe       최초 생성
+ * 2026. 2. 3.        kobe       카테고리 조건을 키에 포함
+ * 2026. 2. 5.        kobe       요청에서 끈 정렬 단계를 키에 포함
+ * 2026. 2. 10.       kobe       단계를 건너뛴 불완전한 결과는 오래된 결과로 저장
+ */
+@Slf4j
+@Component
+public class RecommendationResultCache {
+
+    private final CatalogVersion catalogVersion;
+    private final Cache<Key, Entry> cache;
+    private final Executor refreshExecutor;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter refreshFailureCounter;
+
+    @Autowired
+    public RecommendationResultCache(CatalogVersion catalogVersion,
+                                     @Value("${recomon.recommend.result-cache.max-size:10000}") long maxSize,
+                                     @Value("${recomon.recommend.result-cache.refresh-threads:2}") int refreshThreads,
+                                     MeterRegistry meterRegistry) {
+        this(catalogVersion, maxSize, refreshExecutor(refreshThreads), meterRegistry);
+    }
+
+    RecommendationResultCache(CatalogVersion catalogVersion, long maxSize, Executor refreshExecutor,
+                              MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+        this.refreshExecutor = refreshExecutor;
+        this.hitCounter = Counter.builder("recomon.recommend.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.staleCounter = Counter.builder("recomon.recommend.cache.requests").tag("result", "stale").register(meterRegistry);
+        this.missCounter = Counter.builder("recomon.recommend.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("recomon.recommend.cache.refresh.failures").register(meterRegistry);
+    }
+
+    // 캐시에 없으면 loader로 계산 (예외는 그대로 전파되며 캐시하지 않음)
+    public List<Book> get(Collection<String> isbns, Collection<RecommendIntent> intents, Supplier<List<Book>> loader) {
+        return get(isbns, intents, Set.of(), loader);
+    }
+
+    public List<Book> get(Collection<String> isbns, Collection<RecommendIntent> intents, Collection<String> categories,
+                          Supplier<List<Book>> loader) {
+        return get(isbns, intents, categories, Set.of(), () -> Loaded.complete(loader.get()));
+    }
+
+    public List<Book> get(Collection<String> isbns, Collection<RecommendIntent> intents, Collection<String> categories,
+                          Collection<String> skippedStages, Supplier<Loaded> loader) {
+        Key key = Key.of(isbns, intents, categories, skippedStages);
+        long version = catalogVersion.current();
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.complete() && entry.version() == version) {
+                hitCounter.increment();
+            } else {
+                staleCounter.increment();
+                refreshAsync(key, version, loader);
+            }
+            return entry.books();
+        }
+
+        missCounter.increment();
+        // 같은 키를 동시에 요청하면 한 번만 계산
+        return cache.get(key, k -> Entry.of(version, loader.get())).books();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    // 키마다 한 번만 다시 계산 (성공했을 때만 교체)
+    private void refreshAsync(Key key, long version, Supplier<Loaded> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    cache.put(key, Entry.of(version, loader.get()));
+                } catch (Exception e) {
+                    refreshFailureCounter.increment();
+                    log.warn(">>> 추천 결과 다시 계산 실패, 이전 결과를 계속 제공합니다: {}", e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 다시 계산할 작업이 밀려 있으면 이번에는 건너뜀 (다음 요청에서 다시 시도)
+            refreshing.remove(key);
+        }
+    }
+
+    private static ExecutorService refreshExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recommend-refresh-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // 선택 순서와 무관하도록 ISBN / 카테고리 / 단계는 중복 제거 후 정렬, 추천 목적은 정렬 (중복은 가중치에 반영되므로 유지)
+    record Key(List<String> isbns, List<RecommendIntent> intents, List<String> categories, List<String> skippedStages) {
+        static Key of(Collection<String> isbns, Collection<RecommendIntent> intents, Collection<String> categories,
+                      Collection<String> skippedStages) {
+            List<RecommendIntent> sortedIntents = intents == null ? List.of()
+                    : intents.stream().filter(Objects::nonNull).sorted().toList();
+            return new Key(List.copyOf(new TreeSet<>(isbns)), sortedIntents, sorted(categories), sorted(skippedStages));
+        }
+
+        private static List<String> sorted(Collection<String> values) {
+            return values == null ? List.of() : List.copyOf(new TreeSet<>(values));
+        }
+    }
+
+    // complete = false: 시간 예산 초과로 건너뛴 단계가 있는 결과 (다음 요청에서 다시 계산)
+    public record Loaded(List<Book> books, boolean complete) {
+        public static Loaded complete(List<Book> books) {
+            return new Loaded(books, true);
+        }
+    }
+
+    // complete가 false이면 버전과 관계없이 오래된 결과로 취급
+    private record Entry(long version, List<Book> books, boolean complete) {
+        static Entry of(long version, Loaded loaded) {
+            return new Entry(version, List.copyOf(loaded.books()), loaded.complete());
+        }
+    }
+}
@@ -1,17 +1,17 @@
 package com.recomon.recommendation;
 
 import com.recomon.domain.Book;
+import com.recomon.recommendation.dto.ScoredBook;
+import com.recomon.recommendation.ranking.RankingContext;
+import com.recomon.recommendation.ranking.RankingPipeline;
 import com.recomon.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.SearchRequest;
-import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * packageName    : com.recomon.service
@@ -23,108 +23,105 @@ import java.util.stream.Collectors;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 11.        kobe       최초 생성
+ * 2026. 1. 26.        kobe       쿼리 임베딩 캐시 + 임베딩 벡터로 직접 검색
+ * 2026. 1. 27.        kobe       centroid 모드 (선택 도서의 저장된 임베딩으로 쿼리 벡터 구성)
+ * 2026. 1. 28.        kobe       추천 결과 캐시 (카탈로그 버전 무효화, stale-while-revalidate)
+ * 2026. 1. 29.        kobe       VectorSearcher(HNSW 인덱스 -> pgvector 대체)로 검색
+ * 2026. 2. 3.        kobe       선택 도서 제외 / 카테고리 조건을 검색 조건으로, 추천 목적 정렬용 후보 추가 검색
+ * 2026. 2. 4.        kobe       추천 목적 점수는 CatalogSnapshot으로 일괄 계산, 상위 RECOMMEND_COUNT개만 엔티티 조회
+ * 2026. 2. 5.        kobe       정렬을 RankingPipeline 단계로 분리 (요청마다 skipStages로 단계 끄기)
+ * 2026. 2. 9.        kobe       recommendCached: 실패를 삼키지 않는 캐시 경유 추천 (화면 추천이 실패를 대체 추천 사유로 셈)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RecommendationService {
 
+    // 추천 결과 수
+    private static final int RECOMMEND_COUNT = 10;
+
     private final BookRepository bookRepository;
-    private final VectorStore vectorStore; // 백터 저장소
+    private final RecommendationResultCache recommendationResultCache;
+    private final RankingPipeline rankingPipeline; // 후보 생성 -> 특징 -> 카테고리/목적 가중 -> 다양화 -> 자르기
+
+    // 정렬 단계에서 다시 고를 후보 수 = RECOMMEND_COUNT * rerank-overfetch
+    @Value("${recomon.recommend.rerank-overfetch:3}")
+    private int rerankOverfetch;
 
     @Transactional(readOnly = true)
     public List<Book> recommendBooks(List<String> userSelectedIsbns) {
+        return recommendBooks(userSelectedIsbns, List.of());
+    }
 
-        // 1. 유저가 선택한 책들의 정보를 DB에서 가져옴
-        List<Book> selectedBooks = bookRepository.findAllById(userSelectedIsbns);
-
-        if (selectedBooks.isEmpty()) {
-            throw new IllegalArgumentException("선택된 도서가 없습니다.");
-        }
+    // IntentWeightPolicy를 활용한 추천 (오버로드 메서드)
+    // 같은 (ISBN 집합, 추천 목적) 결과는 캐시에서 반환하고, 새 도서가 저장된 뒤에는 이전 결과를 주면서 다시 계산합니다.
+    @Transactional(readOnly = true)
+    public List<Book> recommendBooks(List<String> userSelectedIsbns, List<RecommendIntent> intents) {
+        return recommendBooks(userSelectedIsbns, intents, Set.of());
+    }
 
-        // 2. 검색 쿼리 만들기
-        // 유저가 고른 책들의 제목과 카테고리를 합쳐서 하나의 긴 텍스트로 만듭니다.
-        // AI는 이 텍스트와 "의미적으로 가장 가까운" 다른 책을 찾아줄 겁니다.
-        // OpenAI embedding 모델의 최대 컨텍스트 길이는 8192 토큰입니다.
-        // 한국어는 1자당 약 1-2 토큰으로 변환되므로, 안전하게 4000자로 제한합니다.
-        String userPreferenceText = selectedBooks.stream()
-                .map(book -> {
-                    StringBuilder sb = new StringBuilder();
-                    if (book.getCategory() != null && !book.getCategory().isEmpty()) {
-                        sb.append(book.getCategory()).append(" ");
-                    }
-                    if (book.getTitle() != null && !book.getTitle().isEmpty()) {
-                        String title = book.getTitle();
-                        // 제목이 너무 길면 최대 50자로 제한
-                        if (title.length() > 50) {
-                            title = title.substring(0, 50);
-                        }
-                        sb.append(title);
-                    }
-                    return sb.toString().trim();
-                })
-                .filter(text -> !text.isEmpty())
-                .collect(Collectors.joining(" "));
-        
-        // 전체 텍스트 길이를 4000자로 제한 (약 6000-8000 토큰, 안전 마진 포함)
-        if (userPreferenceText.length() > 4000) {
-            userPreferenceText = userPreferenceText.substring(0, 4000);
-        }
+    // categories: 비어 있지 않으면 이 카테고리의 도서 중에서만 추천
+    @Transactional(readOnly = true)
+    public List<Book> recommendBooks(List<String> userSelectedIsbns, List<RecommendIntent> intents,
+                                     Set<String> categories) {
+        return recommendBooks(userSelectedIsbns, intents, categories, Set.of());
+    }
 
-        // 3. 백터 유사도 검색 (Similarity Search) - 핵심 로직!
-        // 상위 10개를 검색합니다.
+    // skippedStages: 이번 요청에서 끌 정렬 단계 (category-boost / intent-boost / diversify, 모르는 이름은 무시)
+    @Transactional(readOnly = true)
+    public List<Book> recommendBooks(List<String> userSelectedIsbns, List<RecommendIntent> intents,
+                                     Set<String> categories, Set<String> skippedStages) {
         try {
-        List<Document> similarDocuments = vectorStore.similaritySearch(
-                SearchRequest.builder()
-                        .query(userPreferenceText)
-                        .topK(10) // 상위 10개
-                        .build()
-        );
-
-        // 4. 검색된 Document에서 ISBN을 꺼내서 다시 Book 엔티티로 변환
-        List<String> recommendedIsbns = similarDocuments.stream()
-                .map(doc -> (String) doc.getMetadata().get("isbn"))
-                .filter(isbn -> !userSelectedIsbns.contains(isbn)) // 이미 읽은 책 제외
-                .collect(Collectors.toList());
-
-        // 5. DB에서 상세 정보 조회 후 반환
-        return bookRepository.findAllById(recommendedIsbns);
+            return recommendCached(userSelectedIsbns, intents, categories, skippedStages);
+        } catch (IllegalArgumentException e) {
+            throw e; // 선택된 도서 없음
         } catch (Exception e) {
             log.error("벡터 유사도 검색 중 오류 발생: {}", e.getMessage(), e);
-            // API 오류 시 빈 리스트 반환 (사용자에게는 다른 방식으로 추천 제공)
+            // API 오류이고 캐시된 이전 결과도 없으면 빈 리스트 반환 (사용자에게는 다른 방식으로 추천 제공)
             return new ArrayList<>();
         }
     }
 
-    // IntentWeightPolicy를 활용한 추천 (오버로드 메서드)
+    // 결과 캐시를 거친 추천 (캐시된 이전 결과도 없이 검색이 실패하면 예외 전파)
     @Transactional(readOnly = true)
-    public List<Book> recommendBooks(List<String> userSelectedIsbns, List<RecommendIntent> intents) {
-        // 1. 기본 벡터 유사도 검색으로 후보 도서 찾기
-        List<Book> candidateBooks = recommendBooks(userSelectedIsbns);
+    public List<Book> recommendCached(List<String> userSelectedIsbns, List<RecommendIntent> intents,
+                                      Set<String> categories, Set<String> skippedStages) {
+        Set<String> skipped = skippedStages == null ? new TreeSet<>() : new TreeSet<>(skippedStages);
+        skipped.retainAll(rankingPipeline.optionalStageNames());
+        return recommendationResultCache.get(userSelectedIsbns, intents, categories, skipped, () -> {
+            RankingContext context = rankContext(userSelectedIsbns, intents, categories, skipped);
+            // 시간 예산 초과로 단계를 건너뛴 결과는 오래된 결과로 저장 (다음 요청에서 다시 계산)
+            return new RecommendationResultCache.Loaded(
+                    context.results().stream().map(ScoredBook::book).toList(),
+                    context.budgetSkippedStages().isEmpty());
+        });
+    }
 
-        if (candidateBooks.isEmpty() || intents == null || intents.isEmpty()) {
-            return candidateBooks;
-        }
+    // 정렬 파이프라인 실행 (캐시 없음, 검색 실패 시 예외 전파 -> 캐시된 이전 결과 유지)
+    @Transactional(readOnly = true)
+    public List<ScoredBook> rank(List<String> userSelectedIsbns, List<RecommendIntent> intents,
+                                 Set<String> categories, Set<String> skippedStages) {
+        return rankContext(userSelectedIsbns, intents, categories, skippedStages).results();
+    }
+
+    private RankingContext rankContext(List<String> userSelectedIsbns, List<RecommendIntent> intents,
+                                       Set<String> categories, Set<String> skippedStages) {
 
-        // 2. IntentWeightPolicy 생성
-        IntentWeightPolicy policy = IntentWeightPolicy.from(intents);
+        // 1. 유저가 선택한 책들의 정보를 DB에서 가져옴
+        // 선택 순서와 무관하게 같은 쿼리 텍스트가 나오도록 ISBN 순으로 정렬 (쿼리 임베딩 캐시 적중률)
+        List<Book> selectedBooks = bookRepository.findAllById(userSelectedIsbns).stream()
+                .sorted(Comparator.comparing(Book::getIsbn))
+                .toList();
 
-        // 3. 각 도서에 대해 점수 계산 및 정렬
-        Map<Book, Double> bookScores = new HashMap<>();
-        for (Book book : candidateBooks) {
-            Double score = policy.score(book);
-            if (score != null && score > 0) {
-                bookScores.put(book, score);
-            }
+        if (selectedBooks.isEmpty()) {
+            throw new IllegalArgumentException("선택된 도서가 없습니다.");
         }
 
-        // 4. 점수 순으로 정렬 (내림차순)
-        return candidateBooks.stream()
-                .sorted((b1, b2) -> {
-                    Double score1 = bookScores.getOrDefault(b1, 0.0);
-                    Double score2 = bookScores.getOrDefault(b2, 0.0);
-                    return Double.compare(score2, score1); // 내림차순
-                })
-                .collect(Collectors.toList());
+        // 2. 후보 검색 -> 점수 -> 상위 RECOMMEND_COUNT개
+        RankingContext context = new RankingContext(selectedBooks, intents, categories, skippedStages,
+                RECOMMEND_COUNT, RECOMMEND_COUNT * Math.max(1, rerankOverfetch));
+        rankingPipeline.run(context);
+        log.debug(">>> 추천 정렬 단계별 시간(ms): {}", context.stageMillis());
+        return context;
     }
 }
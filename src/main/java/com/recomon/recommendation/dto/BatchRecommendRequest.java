@@ -0,0 +1,24 @@
+package com.recomon.recommendation.dto;
+
+import com.recomon.recommendation.RecommendIntent;
+
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.recommendation.dto
+ * fileName       : BatchRecommendRequest
+ * author         : kobe
+ * date           : 2026. 2. 6.
+ * description    : 일괄 추천 요청 한 건 (사용자 한 명의 선택 도서 + 추천 목적)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 6.        kobe       최초 생성
+ */
+public record BatchRecommendRequest(List<String> isbns, List<RecommendIntent> intents) {
+
+    public BatchRecommendRequest {
+        isbns = isbns == null ? List.of() : List.copyOf(isbns);
+        intents = intents == null ? List.of() : intents.stream().filter(intent -> intent != null).toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.recomon.recommendation.dto;
+
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.recommendation.dto
+ * fileName       : BatchRecommendResult
+ * author         : kobe
+ * date           : 2026. 2. 6.
+ * description    : 일괄 추천 결과 한 건 (실패한 요청은 books가 비고 error에 사유)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 6.        kobe       최초 생성
+ */
+public record BatchRecommendResult(List<ScoredBook> books, String error) {
+
+    public static BatchRecommendResult of(List<ScoredBook> books) {
+        return new BatchRecommendResult(books, null);
+    }
+
+    public static BatchRecommendResult failed(String error) {
+        return new BatchRecommendResult(List.of(), error);
+    }
+
+    public boolean hasError() {
+        return error != null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.domain.Book;
+import com.recomon.recommendation.QueryVectorFactory;
+import com.recomon.vectorindex.SearchFilter;
+import com.recomon.vectorindex.VectorSearcher;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : CandidateGenerationStage
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 1단계 candidates - 선택 도서로 쿼리 벡터를 만들어 벡터 유사도 검색 (RecommendationService에서 옮김)
+ *                  쿼리 벡터가 미리 주어지면(일괄 추천) 그대로 씁니다.
+ *                  선택 도서 제외 / 카테고리 조건은 검색 조건으로 넘겨 검색 한 번으로 후보 수를 채웁니다.
+ *                  검색 실패는 그대로 전파합니다 (캐시된 이전 결과 유지).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ * 2026. 2. 6.        kobe       쿼리 벡터 만들기를 QueryVectorFactory로 (일괄 추천과 공유)
+ */
+@Component
+@Order(100)
+class CandidateGenerationStage implements RankingStage {
+
+    private final VectorSearcher vectorSearcher; // 백터 검색 (JVM 내 인덱스, 준비 전에는 pgvector)
+    private final QueryVectorFactory queryVectorFactory;
+    private final long budgetMillis;
+
+    CandidateGenerationStage(VectorSearcher vectorSearcher, QueryVectorFactory queryVectorFactory,
+                             @Value("${recomon.recommend.ranking.candidates.budget-ms:200}") long budgetMillis) {
+        this.vectorSearcher = vectorSearcher;
+        this.queryVectorFactory = queryVectorFactory;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public String name() {
+        return "candidates";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    @Override
+    public void apply(RankingContext context) {
+        List<Book> selectedBooks = context.selectedBooks();
+
+        // 쿼리 벡터 만들기 + 백터 유사도 검색 (선택한 책 제외, 카테고리 조건)
+        float[] queryVector = context.queryVector() != null ? context.queryVector()
+                : queryVectorFactory.build(selectedBooks);
+        SearchFilter filter = SearchFilter.excluding(selectedBooks.stream().map(Book::getIsbn).toList())
+                .withCategories(context.categories());
+        List<Document> similarDocuments = vectorSearcher.searchByVector(queryVector, context.candidateCount(), filter);
+
+        // 검색된 Document에서 ISBN / 유사도를 꺼냄 (같은 ISBN은 처음 것만)
+        List<String> isbns = new ArrayList<>(similarDocuments.size());
+        float[] similarities = new float[similarDocuments.size()];
+        Set<String> seen = new HashSet<>();
+        for (Document document : similarDocuments) {
+            String isbn = (String) document.getMetadata().get("isbn");
+            if (isbn != null && seen.add(isbn)) {
+                similarities[isbns.size()] = document.getScore() == null ? 0f : document.getScore().floatValue();
+                isbns.add(isbn);
+            }
+        }
+        context.setCandidates(isbns, Arrays.copyOf(similarities, isbns.size()));
+    }
+}
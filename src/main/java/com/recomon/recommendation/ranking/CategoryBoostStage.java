@@ -0,0 +1,94 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.domain.Book;
+import com.recomon.recommendation.CatalogSnapshot;
+import com.recomon.recommendation.CategoryWeightCalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : CategoryBoostStage
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 3단계 category-boost - 선택 도서의 카테고리 비율(CategoryWeightCalculator)만큼 같은 카테고리 후보 점수를 올림
+ *                  점수 += 카테고리 가중치(0.0 ~ 1.0) * recomon.recommend.ranking.category-boost.weight
+ *                  가중치는 스냅샷의 카테고리 번호별 배열로 한 번 펼쳐 후보마다 맵을 찾지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ */
+@Component
+@Order(300)
+class CategoryBoostStage implements RankingStage {
+
+    private final CategoryWeightCalculator categoryWeightCalculator;
+    private final double weight;
+    private final boolean enabled;
+    private final long budgetMillis;
+
+    CategoryBoostStage(CategoryWeightCalculator categoryWeightCalculator,
+                       @Value("${recomon.recommend.ranking.category-boost.weight:0.2}") double weight,
+                       @Value("${recomon.recommend.ranking.category-boost.enabled:true}") boolean enabled,
+                       @Value("${recomon.recommend.ranking.category-boost.budget-ms:5}") long budgetMillis) {
+        this.categoryWeightCalculator = categoryWeightCalculator;
+        this.weight = weight;
+        this.enabled = enabled;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public String name() {
+        return "category-boost";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    @Override
+    public boolean optional() {
+        return true;
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void apply(RankingContext context) {
+        Map<String, Double> categoryWeights = categoryWeightCalculator.calculate(context.selectedBooks());
+        if (categoryWeights.isEmpty() || weight == 0) {
+            return;
+        }
+
+        CatalogSnapshot snapshot = context.snapshot();
+        double[] boostByCategoryId = new double[snapshot.categoryCount()];
+        categoryWeights.forEach((category, categoryWeight) -> {
+            int categoryId = snapshot.categoryIdOf(category);
+            if (categoryId >= 0) {
+                boostByCategoryId[categoryId] = categoryWeight * weight;
+            }
+        });
+
+        int[] ids = context.ids();
+        double[] scores = context.scores();
+        for (int row = 0; row < ids.length; row++) {
+            if (ids[row] >= 0) {
+                int categoryId = snapshot.categoryId(ids[row]);
+                if (categoryId >= 0) {
+                    scores[row] += boostByCategoryId[categoryId];
+                }
+            } else {
+                Book book = context.fallbackBook(row);
+                scores[row] += categoryWeights.getOrDefault(book.getCategory(), 0.0) * weight;
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.recommendation.CatalogSnapshot;
+import com.recomon.service.BookDocuments;
+import com.recomon.vectorindex.PairwiseSimilarity;
+import com.recomon.vectorindex.TopK;
+import com.recomon.vectorindex.VectorSearcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : DiversificationStage
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 5단계 diversify - MMR(maximal marginal relevance)로 limit권을 다시 고름
+ *                  매번 lambda * 관련도(점수를 0~1로) - (1 - lambda) * (이미 고른 도서와의 최대 코사인 유사도)가 가장 큰 후보를 고릅니다.
+ *                  유사도는 후보의 저장된 임베딩(JVM 내 인덱스, 없으면 vector_store)으로 계산하므로 임베딩 API를 호출하지 않습니다.
+ *                  일괄 추천은 모든 요청의 후보 임베딩을 미리 한 번에 조회해 RankingContext로 넘깁니다.
+ *                  한 카테고리는 최대 max-per-category권 (다른 후보가 모자라면 건너뛴 후보로 limit을 채움)
+ *                  카테고리를 모르는 후보(카테고리 없음 / 스냅샷 이후 새 카테고리)는 제한하지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ * 2026. 2. 6.        kobe       저장된 임베딩 기반 MMR (같은 시리즈/저자처럼 거의 같은 도서가 몰리지 않도록)
+ * 2026. 2. 9.        kobe       미리 조회한 후보 임베딩 사용 (일괄 추천)
+ */
+@Slf4j
+@Component
+@Order(500)
+class DiversificationStage implements RankingStage {
+
+    private final Function<Collection<String>, Map<String, float[]>> embeddings; // 문서 ID -> 저장된 임베딩
+    private final double lambda;
+    private final int maxPerCategory;
+    private final boolean enabled;
+    private final long budgetMillis;
+
+    @Autowired
+    DiversificationStage(VectorSearcher vectorSearcher,
+                         @Value("${recomon.recommend.ranking.diversify.lambda:0.7}") double lambda,
+                         @Value("${recomon.recommend.ranking.diversify.max-per-category:4}") int maxPerCategory,
+                         @Value("${recomon.recommend.ranking.diversify.enabled:true}") boolean enabled,
+                         @Value("${recomon.recommend.ranking.diversify.budget-ms:5}") long budgetMillis) {
+        this(vectorSearcher::findEmbeddingsByIds, lambda, maxPerCategory, enabled, budgetMillis);
+    }
+
+    DiversificationStage(Function<Collection<String>, Map<String, float[]>> embeddings, double lambda,
+                         int maxPerCategory, boolean enabled, long budgetMillis) {
+        this.embeddings = embeddings;
+        this.lambda = Math.max(0, Math.min(1, lambda));
+        this.maxPerCategory = Math.max(1, maxPerCategory);
+        this.enabled = enabled;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public String name() {
+        return "diversify";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    @Override
+    public boolean optional() {
+        return true;
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean usesStoredEmbeddings() {
+        return lambda < 1;
+    }
+
+    @Override
+    public void apply(RankingContext context) {
+        int count = context.size();
+        int limit = Math.min(context.limit(), count);
+        if (limit == 0) {
+            return;
+        }
+
+        // 후보를 점수 내림차순으로 (같은 MMR 값이면 점수가 높은 후보, 같은 점수는 유사도 순)
+        double[] scores = context.scores();
+        int[] order = new int[count];
+        TopK all = new TopK(count);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int row = 0; row < count; row++) {
+            all.offer(row, (float) -scores[row]);
+            min = Math.min(min, scores[row]);
+            max = Math.max(max, scores[row]);
+        }
+        all.drainSorted(order, new float[count]);
+        double range = max - min;
+
+        PairwiseSimilarity similarity = lambda < 1 ? similarity(context) : null;
+        CatalogSnapshot snapshot = context.snapshot();
+        int[] perCategory = new int[snapshot.categoryCount()];
+        float[] maxSimilarity = new float[count]; // 이미 고른 도서와의 최대 유사도
+        boolean[] taken = new boolean[count];
+        int[] ranked = new int[limit];
+        int picked = 0;
+
+        while (picked < limit) {
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int row : order) {
+                if (taken[row]) {
+                    continue;
+                }
+                int categoryId = categoryId(context, snapshot, row);
+                if (categoryId >= 0 && perCategory[categoryId] >= maxPerCategory) {
+                    continue;
+                }
+                double relevance = range > 0 ? (scores[row] - min) / range : 1.0;
+                double redundancy = similarity == null || picked == 0 ? 0 : maxSimilarity[row];
+                double value = lambda * relevance - (1 - lambda) * redundancy;
+                if (value > bestValue) {
+                    best = row;
+                    bestValue = value;
+                }
+            }
+            if (best < 0) {
+                break; // 남은 후보가 모두 카테고리 상한
+            }
+
+            taken[best] = true;
+            ranked[picked++] = best;
+            int categoryId = categoryId(context, snapshot, best);
+            if (categoryId >= 0) {
+                perCategory[categoryId]++;
+            }
+            if (similarity != null) {
+                for (int row = 0; row < count; row++) {
+                    if (!taken[row]) {
+                        float value = similarity.similarity(row, best);
+                        maxSimilarity[row] = picked == 1 ? value : Math.max(maxSimilarity[row], value);
+                    }
+                }
+            }
+        }
+
+        // 다른 카테고리가 모자라면 건너뛴 후보를 점수 순으로 채움
+        for (int i = 0; i < count && picked < limit; i++) {
+            if (!taken[order[i]]) {
+                ranked[picked++] = order[i];
+            }
+        }
+        context.setRanked(ranked);
+
+        if (similarity != null) {
+            log.debug(">>> MMR 다양화: 후보 {}건, 유사도 계산 {}쌍", count, similarity.computedPairs());
+        }
+    }
+
+    // 후보의 저장된 임베딩 (하나도 없으면 null -> 점수 순 + 카테고리 상한만)
+    private PairwiseSimilarity similarity(RankingContext context) {
+        List<String> documentIds = new ArrayList<>(context.size());
+        for (int row = 0; row < context.size(); row++) {
+            documentIds.add(BookDocuments.idOf(context.isbn(row)));
+        }
+        Map<String, float[]> stored = context.storedEmbeddings() != null
+                ? context.storedEmbeddings()
+                : embeddings.apply(documentIds);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        List<float[]> vectors = new ArrayList<>(documentIds.size());
+        for (String documentId : documentIds) {
+            vectors.add(stored.get(documentId));
+        }
+        return new PairwiseSimilarity(vectors);
+    }
+
+    private static int categoryId(RankingContext context, CatalogSnapshot snapshot, int row) {
+        int id = context.ids()[row];
+        return id >= 0 ? snapshot.categoryId(id) : snapshot.categoryIdOf(context.fallbackBook(row).getCategory());
+    }
+}
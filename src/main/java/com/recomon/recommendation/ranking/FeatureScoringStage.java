@@ -0,0 +1,99 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.domain.Book;
+import com.recomon.recommendation.CatalogSnapshot;
+import com.recomon.recommendation.CatalogSnapshots;
+import com.recomon.repository.BookRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : FeatureScoringStage
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 2단계 features - 후보 ISBN을 CatalogSnapshot 도서 번호로 바꾸고 기본 점수(= 유사도)를 채움
+ *                  스냅샷 이후에 저장된 도서는 엔티티를 조회해 fallbackBook으로 두고, DB에도 없는 후보는 뺍니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ */
+@Component
+@Order(200)
+class FeatureScoringStage implements RankingStage {
+
+    private final CatalogSnapshots catalogSnapshots;
+    private final BookRepository bookRepository;
+    private final long budgetMillis;
+
+    FeatureScoringStage(CatalogSnapshots catalogSnapshots, BookRepository bookRepository,
+                        @Value("${recomon.recommend.ranking.features.budget-ms:20}") long budgetMillis) {
+        this.catalogSnapshots = catalogSnapshots;
+        this.bookRepository = bookRepository;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public String name() {
+        return "features";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    @Override
+    public void apply(RankingContext context) {
+        CatalogSnapshot snapshot = catalogSnapshots.current();
+        int count = context.size();
+        int[] ids = new int[count];
+        List<String> missing = new ArrayList<>();
+        for (int row = 0; row < count; row++) {
+            ids[row] = snapshot.idOf(context.isbn(row));
+            if (ids[row] < 0) {
+                missing.add(context.isbn(row));
+            }
+        }
+
+        if (missing.isEmpty()) {
+            double[] scores = new double[count];
+            for (int row = 0; row < count; row++) {
+                scores[row] = context.similarity(row);
+            }
+            context.setFeatures(snapshot, ids, null, scores);
+            return;
+        }
+
+        // 스냅샷에 없는 후보: 엔티티로 대체, DB에도 없으면 제외 (유사도 순서 유지)
+        Map<String, Book> missingBooks = bookRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+        List<String> isbns = new ArrayList<>(count);
+        float[] similarities = new float[count];
+        int[] keptIds = new int[count];
+        Book[] fallbackBooks = new Book[count];
+        double[] scores = new double[count];
+        int kept = 0;
+        for (int row = 0; row < count; row++) {
+            Book fallback = ids[row] < 0 ? missingBooks.get(context.isbn(row)) : null;
+            if (ids[row] < 0 && fallback == null) {
+                continue;
+            }
+            isbns.add(context.isbn(row));
+            similarities[kept] = context.similarity(row);
+            keptIds[kept] = ids[row];
+            fallbackBooks[kept] = fallback;
+            scores[kept] = context.similarity(row);
+            kept++;
+        }
+        context.setCandidates(isbns, Arrays.copyOf(similarities, kept));
+        context.setFeatures(snapshot, Arrays.copyOf(keptIds, kept), Arrays.copyOf(fallbackBooks, kept),
+                Arrays.copyOf(scores, kept));
+    }
+}
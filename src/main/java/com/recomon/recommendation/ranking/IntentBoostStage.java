@@ -0,0 +1,69 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.recommendation.IntentWeightPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : IntentBoostStage
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 4단계 intent-boost - 추천 목적(IntentWeightPolicy) 점수를 더함 (목적이 없으면 그대로)
+ *                  스냅샷 기본형 배열로 일괄 계산하고, 스냅샷에 없는 후보만 엔티티로 계산합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ */
+@Component
+@Order(400)
+class IntentBoostStage implements RankingStage {
+
+    private final boolean enabled;
+    private final long budgetMillis;
+
+    IntentBoostStage(@Value("${recomon.recommend.ranking.intent-boost.enabled:true}") boolean enabled,
+                     @Value("${recomon.recommend.ranking.intent-boost.budget-ms:5}") long budgetMillis) {
+        this.enabled = enabled;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public String name() {
+        return "intent-boost";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    @Override
+    public boolean optional() {
+        return true;
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void apply(RankingContext context) {
+        if (context.intents().isEmpty()) {
+            return;
+        }
+        IntentWeightPolicy policy = IntentWeightPolicy.from(context.intents());
+
+        int[] ids = context.ids();
+        double[] intentScores = new double[ids.length];
+        policy.score(context.snapshot(), ids, intentScores);
+
+        double[] scores = context.scores();
+        for (int row = 0; row < ids.length; row++) {
+            scores[row] += ids[row] >= 0 ? intentScores[row] : policy.score(context.fallbackBook(row));
+        }
+    }
+}
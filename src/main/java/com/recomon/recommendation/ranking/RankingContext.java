@@ -0,0 +1,235 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.domain.Book;
+import com.recomon.recommendation.CatalogSnapshot;
+import com.recomon.recommendation.RecommendIntent;
+import com.recomon.recommendation.dto.ScoredBook;
+
+import java.util.*;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : RankingContext
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 추천 요청 한 건의 정렬 상태 (단계 사이에서 주고받음, 요청 스레드 하나에서만 사용)
+ *                  후보는 행 번호(0 ~ size() - 1, 유사도 순)로 다루고, 점수는 기본형 배열 scores()에 단계마다 더합니다.
+ *                  - candidates: isbn / similarity
+ *                  - features: CatalogSnapshot 도서 번호 (스냅샷에 없는 행은 fallbackBook), scores 초기값
+ *                  - diversify: 고른 행 순서 ranked (없으면 truncate가 점수 순으로 고름), 미리 조회한 후보 임베딩이 있으면 그것을 사용
+ *                  - truncate: 최종 행 순서 ranked + 결과 ScoredBook (일괄 추천은 엔티티 조회를 미루고 한 번에)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ * 2026. 2. 6.        kobe       미리 만든 쿼리 벡터 / 엔티티 조회 미루기 (일괄 추천)
+ * 2026. 2. 9.        kobe       미리 조회한 후보 임베딩 (일괄 추천), 실행한 단계 시간 합
+ * 2026. 2. 10.       kobe       시간 예산 초과로 건너뛴 단계 (결과 캐시가 완전한 결과로 저장하지 않도록)
+ */
+public final class RankingContext {
+
+    private final List<Book> selectedBooks;
+    private final List<RecommendIntent> intents;
+    private final Set<String> categories;
+    private final Set<String> skippedStages;
+    private final int limit;
+    private final int candidateCount;
+    private float[] queryVector; // 미리 만든 쿼리 벡터 (없으면 candidates 단계가 만듦)
+    private boolean hydrationDeferred;
+    private Map<String, float[]> storedEmbeddings; // 미리 조회한 후보 임베딩 (문서 ID -> 벡터, 없으면 diversify 단계가 조회)
+
+    private List<String> isbns = List.of();
+    private float[] similarities = new float[0];
+
+    private CatalogSnapshot snapshot;
+    private int[] ids = new int[0];
+    private Book[] fallbackBooks; // 스냅샷에 없는 행만 (모두 있으면 null)
+    private double[] scores = new double[0];
+
+    private int[] ranked;
+    private List<ScoredBook> results = List.of();
+
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private final Set<String> budgetSkippedStages = new LinkedHashSet<>();
+
+    public RankingContext(List<Book> selectedBooks, List<RecommendIntent> intents, Set<String> categories,
+                          Set<String> skippedStages, int limit, int candidateCount) {
+        this.selectedBooks = selectedBooks;
+        this.intents = intents == null ? List.of() : intents;
+        this.categories = categories == null ? Set.of() : categories;
+        this.skippedStages = skippedStages == null ? Set.of() : skippedStages;
+        this.limit = limit;
+        this.candidateCount = candidateCount;
+    }
+
+    // ===== 요청 =====
+
+    public List<Book> selectedBooks() {
+        return selectedBooks;
+    }
+
+    public List<RecommendIntent> intents() {
+        return intents;
+    }
+
+    // 비어 있지 않으면 이 카테고리의 도서만 후보
+    public Set<String> categories() {
+        return categories;
+    }
+
+    public boolean skips(String stage) {
+        return skippedStages.contains(stage);
+    }
+
+    // 최종 추천 수
+    public int limit() {
+        return limit;
+    }
+
+    // 벡터 검색으로 가져올 후보 수
+    public int candidateCount() {
+        return candidateCount;
+    }
+
+    public float[] queryVector() {
+        return queryVector;
+    }
+
+    public void setQueryVector(float[] queryVector) {
+        this.queryVector = queryVector;
+    }
+
+    // truncate가 행만 고르고 Book 조회는 호출 측이 여러 요청을 모아 한 번에 (toScoredBooks)
+    public void deferHydration() {
+        this.hydrationDeferred = true;
+    }
+
+    public boolean hydrationDeferred() {
+        return hydrationDeferred;
+    }
+
+    // 여러 요청의 후보 임베딩을 호출 측이 한 번에 조회해 넘김 (일괄 추천)
+    public void setStoredEmbeddings(Map<String, float[]> storedEmbeddings) {
+        this.storedEmbeddings = storedEmbeddings;
+    }
+
+    public Map<String, float[]> storedEmbeddings() {
+        return storedEmbeddings;
+    }
+
+    // ===== 후보 =====
+
+    public int size() {
+        return isbns.size();
+    }
+
+    public void setCandidates(List<String> isbns, float[] similarities) {
+        this.isbns = isbns;
+        this.similarities = similarities;
+    }
+
+    public String isbn(int row) {
+        return isbns.get(row);
+    }
+
+    public float similarity(int row) {
+        return similarities[row];
+    }
+
+    // ===== 특징 / 점수 =====
+
+    public void setFeatures(CatalogSnapshot snapshot, int[] ids, Book[] fallbackBooks, double[] scores) {
+        this.snapshot = snapshot;
+        this.ids = ids;
+        this.fallbackBooks = fallbackBooks;
+        this.scores = scores;
+    }
+
+    public CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // 스냅샷 도서 번호 (스냅샷에 없으면 -1 -> fallbackBook)
+    public int[] ids() {
+        return ids;
+    }
+
+    public Book fallbackBook(int row) {
+        return fallbackBooks == null ? null : fallbackBooks[row];
+    }
+
+    // 단계마다 제자리에서 더함
+    public double[] scores() {
+        return scores;
+    }
+
+    // ===== 결과 =====
+
+    public int[] ranked() {
+        return ranked;
+    }
+
+    public void setRanked(int[] ranked) {
+        this.ranked = ranked;
+    }
+
+    // ranked 순서의 ISBN
+    public List<String> rankedIsbns() {
+        if (ranked == null) {
+            return List.of();
+        }
+        List<String> rankedIsbns = new ArrayList<>(ranked.length);
+        for (int row : ranked) {
+            rankedIsbns.add(isbns.get(row));
+        }
+        return rankedIsbns;
+    }
+
+    // ranked 순서대로 조회한 Book과 점수 (조회되지 않은 도서는 제외)
+    public List<ScoredBook> toScoredBooks(Map<String, Book> booksByIsbn) {
+        if (ranked == null) {
+            return List.of();
+        }
+        List<ScoredBook> scoredBooks = new ArrayList<>(ranked.length);
+        for (int row : ranked) {
+            Book book = booksByIsbn.get(isbns.get(row));
+            if (book != null) {
+                scoredBooks.add(ScoredBook.of(book, scores[row]));
+            }
+        }
+        return scoredBooks;
+    }
+
+    public List<ScoredBook> results() {
+        return results;
+    }
+
+    public void setResults(List<ScoredBook> results) {
+        this.results = results;
+    }
+
+    void recordStage(String stage, long nanos) {
+        stageNanos.put(stage, nanos);
+    }
+
+    void recordBudgetSkip(String stage) {
+        budgetSkippedStages.add(stage);
+    }
+
+    // 요청이 끄지 않았는데 시간 예산 초과로 건너뛴 선택 단계 (있으면 결과가 평소와 다를 수 있음)
+    public Set<String> budgetSkippedStages() {
+        return budgetSkippedStages;
+    }
+
+    // 지금까지 실행한 단계 시간 합 (나누어 실행할 때 이어서 예산을 셈)
+    long elapsedNanos() {
+        return stageNanos.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // 실행한 단계별 소요 시간 (ms, 실행 순서)
+    public Map<String, Double> stageMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        stageNanos.forEach((stage, nanos) -> millis.put(stage, Math.round(nanos / 10_000.0) / 100.0));
+        return millis;
+    }
+}
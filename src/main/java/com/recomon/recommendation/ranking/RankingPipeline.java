@@ -0,0 +1,159 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.recommendation.dto.ScoredBook;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : RankingPipeline
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 추천 정렬 파이프라인
+ *                  candidates(벡터 검색) -> features(스냅샷 특징, 기본 점수 = 유사도) -> category-boost -> intent-boost
+ *                  -> diversify -> truncate 순서로 실행하고 ScoredBook을 반환합니다.
+ *                  단계마다 Timer(recomon.recommend.ranking.stage{stage})와 시간 예산이 있으며,
+ *                  지금까지 걸린 시간이 여기까지의 예산 합을 넘으면 남은 optional 단계는 건너뜁니다.
+ *                  일괄 추천은 runBefore / runFrom으로 나누어 실행하고, 그 사이에 모든 요청의 후보 임베딩을 한 번에 조회합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       runBefore / runFrom (저장된 임베딩을 쓰는 단계 전후로 나누어 실행)
+ * 2026. 2. 10.       kobe       예산 초과로 건너뛴 단계를 RankingContext에 기록
+ */
+@Slf4j
+@Component
+public class RankingPipeline {
+
+    private final List<RankingStage> stages;
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final Map<String, Counter> overBudgetCounters = new HashMap<>();
+    private final Map<String, Counter> skippedCounters = new HashMap<>();
+
+    // stages는 @Order 순서로 주입됨
+    public RankingPipeline(List<RankingStage> stages, MeterRegistry meterRegistry) {
+        this.stages = List.copyOf(stages);
+        for (RankingStage stage : this.stages) {
+            timers.put(stage.name(), Timer.builder("recomon.recommend.ranking.stage")
+                    .description("추천 정렬 단계별 처리 시간")
+                    .tag("stage", stage.name())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            overBudgetCounters.put(stage.name(), Counter.builder("recomon.recommend.ranking.stage.over-budget")
+                    .description("시간 예산을 넘긴 단계 실행 수")
+                    .tag("stage", stage.name())
+                    .register(meterRegistry));
+            skippedCounters.put(stage.name(), Counter.builder("recomon.recommend.ranking.stage.skipped")
+                    .description("앞 단계들이 예산을 다 써서 건너뛴 단계 실행 수")
+                    .tag("stage", stage.name())
+                    .register(meterRegistry));
+        }
+        log.info(">>> 추천 정렬 단계: {}", this.stages.stream().map(RankingStage::name).toList());
+    }
+
+    public List<ScoredBook> run(RankingContext context) {
+        run(context, 0, stages.size());
+        return context.results();
+    }
+
+    // 저장된 임베딩을 쓰는 첫 단계 (설정으로 꺼져 있으면 없음)
+    public Optional<String> embeddingStage() {
+        return stages.stream()
+                .filter(stage -> stage.enabled() && stage.usesStoredEmbeddings())
+                .map(RankingStage::name)
+                .findFirst();
+    }
+
+    // stageName 단계 전까지만 실행
+    public void runBefore(RankingContext context, String stageName) {
+        run(context, 0, indexOf(stageName));
+    }
+
+    // stageName 단계부터 끝까지 실행
+    public List<ScoredBook> runFrom(RankingContext context, String stageName) {
+        run(context, indexOf(stageName), stages.size());
+        return context.results();
+    }
+
+    private void run(RankingContext context, int from, int to) {
+        // 앞에서 나누어 실행한 단계 시간부터 이어서 셈 (단계 사이에 기다린 시간은 예산에 넣지 않음)
+        long start = System.nanoTime() - context.elapsedNanos();
+        long budgetNanos = 0;
+        for (int i = 0; i < to; i++) {
+            RankingStage stage = stages.get(i);
+            budgetNanos += TimeUnit.MILLISECONDS.toNanos(stage.budgetMillis());
+            if (i < from) {
+                continue;
+            }
+            if (stage.optional()) {
+                if (!stage.enabled() || context.skips(stage.name())) {
+                    continue;
+                }
+                if (System.nanoTime() - start > budgetNanos) {
+                    skippedCounters.get(stage.name()).increment();
+                    context.recordBudgetSkip(stage.name());
+                    log.debug(">>> 정렬 시간 예산 초과로 '{}' 단계를 건너뜁니다.", stage.name());
+                    continue;
+                }
+            }
+
+            long stageStart = System.nanoTime();
+            try {
+                stage.apply(context);
+            } finally {
+                long took = System.nanoTime() - stageStart;
+                timers.get(stage.name()).record(took, TimeUnit.NANOSECONDS);
+                context.recordStage(stage.name(), took);
+                if (took > TimeUnit.MILLISECONDS.toNanos(stage.budgetMillis())) {
+                    overBudgetCounters.get(stage.name()).increment();
+                }
+            }
+        }
+    }
+
+    private int indexOf(String stageName) {
+        for (int i = 0; i < stages.size(); i++) {
+            if (stages.get(i).name().equals(stageName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("정렬 단계가 없습니다: " + stageName);
+    }
+
+    // 관리자 화면용 단계별 설정 / 지연
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (RankingStage stage : stages) {
+            Timer timer = timers.get(stage.name());
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("optional", stage.optional());
+            snapshot.put("enabled", stage.enabled());
+            snapshot.put("budgetMs", stage.budgetMillis());
+            snapshot.put("count", timer.count());
+            snapshot.put("meanMs", round(timer.mean(TimeUnit.MILLISECONDS)));
+            snapshot.put("maxMs", round(timer.max(TimeUnit.MILLISECONDS)));
+            snapshot.put("overBudget", (long) overBudgetCounters.get(stage.name()).count());
+            snapshot.put("skipped", (long) skippedCounters.get(stage.name()).count());
+            stats.put(stage.name(), snapshot);
+        }
+        return stats;
+    }
+
+    // 요청에서 끌 수 있는 단계 이름
+    public Set<String> optionalStageNames() {
+        Set<String> names = new LinkedHashSet<>();
+        stages.stream().filter(RankingStage::optional).forEach(stage -> names.add(stage.name()));
+        return names;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
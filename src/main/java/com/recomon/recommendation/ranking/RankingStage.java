@@ -0,0 +1,42 @@
+package com.recomon.recommendation.ranking;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : RankingStage
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 추천 정렬 파이프라인의 한 단계
+ *                  RankingPipeline이 @Order 순서대로 RankingContext를 넘기며 실행하고 단계별 시간을 잽니다.
+ *                  optional() 단계는 설정(enabled=false)이나 요청(skipStages)으로 끌 수 있고,
+ *                  앞 단계들이 시간 예산을 다 쓴 경우에도 건너뜁니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       usesStoredEmbeddings (일괄 추천이 후보 임베딩을 미리 한 번에 조회)
+ */
+public interface RankingStage {
+
+    // 메트릭 태그 / skipStages 에 쓰는 이름
+    String name();
+
+    // 이 단계의 시간 예산 (ms)
+    long budgetMillis();
+
+    // false면 끌 수 없는 단계 (후보 생성 / 자르기)
+    default boolean optional() {
+        return false;
+    }
+
+    // 설정으로 끈 단계는 false
+    default boolean enabled() {
+        return true;
+    }
+
+    // 후보의 저장된 임베딩을 조회하는 단계 (일괄 추천은 이 단계 전에 모든 요청의 후보 임베딩을 한 번에 조회해 넘김)
+    default boolean usesStoredEmbeddings() {
+        return false;
+    }
+
+    void apply(RankingContext context);
+}
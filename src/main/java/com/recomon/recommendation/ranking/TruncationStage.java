@@ -0,0 +1,78 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.domain.Book;
+import com.recomon.repository.BookRepository;
+import com.recomon.vectorindex.TopK;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * packageName    : com.recomon.recommendation.ranking
+ * fileName       : TruncationStage
+ * author         : kobe
+ * date           : 2026. 2. 5.
+ * description    : 6단계 truncate - 상위 limit개만 남기고 그 도서만 DB에서 조회해 ScoredBook으로
+ *                  diversify가 고른 순서가 있으면 그대로, 없으면 점수 내림차순 (고정 크기 힙, 같은 점수는 유사도 순)
+ *                  조회를 미룬 요청(일괄 추천)은 행만 고릅니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 5.        kobe       최초 생성
+ * 2026. 2. 6.        kobe       엔티티 조회 미루기 (일괄 추천은 모든 요청의 도서를 한 번에 조회)
+ */
+@Component
+@Order(600)
+class TruncationStage implements RankingStage {
+
+    private final BookRepository bookRepository;
+    private final long budgetMillis;
+
+    TruncationStage(BookRepository bookRepository,
+                    @Value("${recomon.recommend.ranking.truncate.budget-ms:30}") long budgetMillis) {
+        this.bookRepository = bookRepository;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public String name() {
+        return "truncate";
+    }
+
+    @Override
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    @Override
+    public void apply(RankingContext context) {
+        int[] rows = context.ranked();
+        if (rows == null) {
+            rows = topByScore(context);
+        }
+        context.setRanked(Arrays.copyOf(rows, Math.min(rows.length, context.limit())));
+        if (context.hydrationDeferred()) {
+            return;
+        }
+
+        // findAllById는 순서를 보장하지 않음
+        Map<String, Book> booksByIsbn = bookRepository.findAllById(context.rankedIsbns()).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+        context.setResults(context.toScoredBooks(booksByIsbn));
+    }
+
+    private static int[] topByScore(RankingContext context) {
+        TopK top = new TopK(Math.max(1, context.limit()));
+        double[] scores = context.scores();
+        for (int row = 0; row < context.size(); row++) {
+            top.offer(row, (float) -scores[row]);
+        }
+        int[] rows = new int[context.limit()];
+        int found = top.drainSorted(rows, new float[context.limit()]);
+        return Arrays.copyOf(rows, found);
+    }
+}
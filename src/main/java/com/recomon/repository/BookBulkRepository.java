@@ -0,0 +1,95 @@
+package com.recomon.repository;
+
+import com.recomon.domain.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * packageName    : com.recomon.repository
+ * fileName       : BookBulkRepository
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : books 테이블 대량 upsert (JPA 영속성 컨텍스트를 거치지 않는 JDBC 배치)
+ *                  rewriteBatchedStatements=true 이므로 배치 하나가 multi-row INSERT 하나로 전송됩니다.
+ *                  같은 ISBN이 이미 있으면 파일이 준 메타데이터만 갱신합니다 (이미지 URL / 저자 / 카테고리 / 출판년도는 값이 있을 때만).
+ *                  평점 / 리뷰 수 / 베스트셀러 / 수상은 가져오기 파일에 없으므로 새 도서에만 기본값으로 넣고 기존 값은 그대로 둡니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       중복 키 갱신에 rating / review_count / best_seller / award_winner 포함
+ * 2026. 2. 9.        kobe       점수 열은 새 도서에만, 값이 없는 열(카테고리 등)은 기존 값 유지
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate; // MySQL (DataSourceConfig의 @Primary)
+
+    // 카테고리가 없는(null) 도서는 새로 추가될 때만 defaultCategory (이미 있던 도서는 기존 카테고리 유지)
+    public void upsertAll(List<Book> books, String defaultCategory) {
+        if (books.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO books (isbn, title, author, image_url, category, published_year,
+                                   rating, review_count, best_seller, award_winner)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    title = VALUES(title),
+                    author = COALESCE(NULLIF(VALUES(author), ''), author),
+                    image_url = COALESCE(NULLIF(VALUES(image_url), ''), image_url),
+                    category = COALESCE(VALUES(category), category),
+                    published_year = CASE WHEN VALUES(published_year) > 0 THEN VALUES(published_year) ELSE published_year END
+                """, books, books.size(), (ps, book) -> {
+            ps.setString(1, book.getIsbn());
+            ps.setString(2, book.getTitle());
+            ps.setString(3, book.getAuthor());
+            ps.setString(4, book.getImageUrl());
+            ps.setString(5, book.getCategory());
+            ps.setInt(6, book.getPublishedYear());
+            ps.setDouble(7, book.getRating());
+            ps.setInt(8, book.getReviewCount());
+            ps.setBoolean(9, book.isBestSeller());
+            ps.setBoolean(10, book.isAwardWinner());
+        });
+
+        // 이번에 카테고리 없이 새로 들어간 행만 기본 카테고리로
+        List<String> uncategorized = books.stream().filter(book -> book.getCategory() == null).map(Book::getIsbn).toList();
+        if (!uncategorized.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE books SET category = ? WHERE isbn = ? AND category IS NULL",
+                    uncategorized, uncategorized.size(), (ps, isbn) -> {
+                        ps.setString(1, defaultCategory);
+                        ps.setString(2, isbn);
+                    });
+        }
+    }
+
+    // ISBN -> 이미지 URL 배치 UPDATE (그 사이 다른 경로로 이미지가 채워진 행은 건드리지 않음), 갱신된 행 수 반환
+    public int updateMissingImageUrls(Map<String, String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<String, String>> entries = List.copyOf(imageUrls.entrySet());
+        int[][] results = jdbcTemplate.batchUpdate("""
+                UPDATE books SET image_url = ?
+                WHERE isbn = ? AND (image_url IS NULL OR image_url = '')
+                """, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getValue());
+            ps.setString(2, entry.getKey());
+        });
+        int updated = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // 드라이버가 행 수 대신 SUCCESS_NO_INFO(-2)를 줄 수 있음
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+}
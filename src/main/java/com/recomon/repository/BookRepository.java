@@ -4,6 +4,8 @@ import com.recomon.domain.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,6 +20,11 @@ import java.util.List;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 2026. 1. 11.        kobe       최초 생성
+ * 2026. 1. 24.        kobe       이미지 누락 ISBN 조회 추가
+ * 2026. 2. 4.        kobe       추천 목적 점수 열 조회 추가 (CatalogSnapshot)
+ * 2026. 2. 5.        kobe       점수 열 조회에 category 추가
+ * 2026. 2. 7.        kobe       findByCategoryNotIn 제거 (대체 추천은 FallbackRecommendations)
+ * 2026. 2. 9.        kobe       인기 순 상위 도서 조회 (대체 추천 초기 목록)
  */
 @Repository
 public interface BookRepository extends JpaRepository<Book, String> {
@@ -25,12 +32,32 @@ public interface BookRepository extends JpaRepository<Book, String> {
     // 1. 유사성 추천용: 내가 좋아하는 카테고리의 책들 찾기
     List<Book> findByCategoryIn(List<String> categories);
 
-    // 2. 의외성 추천용: 내가 좋아하는 카테고리가 '아닌' 책들 찾기
-    List<Book> findByCategoryNotIn(List<String> categories);
-    
-    // 3. 카테고리별로 최대 20권 조회 (Pageable 사용)
+    // 2. 카테고리별로 최대 20권 조회 (Pageable 사용)
     Page<Book> findByCategoryOrderByIsbn(String category, Pageable pageable);
     
-    // 4. 카테고리별로 최대 20권 조회 (간편 버전)
+    // 3. 카테고리별로 최대 20권 조회 (간편 버전)
     List<Book> findTop20ByCategoryOrderByIsbnAsc(String category);
+
+    // 4. 이미지가 없는 책의 ISBN만 조회 (afterIsbn 다음부터 ISBN 순, keyset 페이징)
+    @Query("""
+            select b.isbn from Book b
+            where b.category = :category and b.isbn > :afterIsbn
+              and (b.imageUrl is null or b.imageUrl = '')
+            order by b.isbn
+            """)
+    List<String> findIsbnsMissingImage(@Param("category") String category,
+                                       @Param("afterIsbn") String afterIsbn,
+                                       Pageable pageable);
+
+    // 5. 추천 정렬 점수에 쓰는 열만 조회 (isbn, category, rating, reviewCount, publishedYear, bestSeller, awardWinner)
+    @Query("select b.isbn, b.category, b.rating, b.reviewCount, b.publishedYear, b.bestSeller, b.awardWinner from Book b")
+    List<Object[]> findScoringColumns();
+
+    // 6. 인기 순 상위 도서 (베스트셀러 우선, 그다음 평점 * ln(리뷰 수 + 1)) - 스냅샷 없이 대체 추천 목록을 처음 만들 때
+    @Query("""
+            select b from Book b
+            where b.category is not null
+            order by b.bestSeller desc, b.rating * ln(b.reviewCount + 1) desc
+            """)
+    List<Book> findPopular(Pageable pageable);
 }
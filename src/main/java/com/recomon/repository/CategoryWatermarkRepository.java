@@ -0,0 +1,20 @@
+package com.recomon.repository;
+
+import com.recomon.domain.CategoryWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * packageName    : com.recomon.repository
+ * fileName       : CategoryWatermarkRepository
+ * author         : kobe
+ * date           : 2026. 1. 17.
+ * description    :
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 17.        kobe       최초 생성
+ */
+@Repository
+public interface CategoryWatermarkRepository extends JpaRepository<CategoryWatermark, String> {
+}
@@ -0,0 +1,120 @@
+package com.recomon.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.document.Document;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * packageName    : com.recomon.repository
+ * fileName       : EmbeddingOutboxJdbcRepository
+ * author         : kobe
+ * date           : 2026. 1. 25.
+ * description    : embedding_outbox 배치 쓰기 (JDBC)
+ *                  호출한 쪽의 트랜잭션에 참여하므로 books 저장과 같은 트랜잭션에서 기록됩니다.
+ *                  같은 도서가 이미 대기 중이면 본문을 새 값으로 바꾸고 재시도 횟수를 초기화합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 25.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       claim_token 조건부 lease 연장 / 삭제
+ * 2026. 2. 10.       kobe       실패 사유도 claim_token 조건부로 기록
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmbeddingOutboxJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate; // MySQL (DataSourceConfig의 @Primary)
+
+    public void upsertAll(List<Document> documents, LocalDateTime nextAttemptAt, long claimToken) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp next = Timestamp.valueOf(nextAttemptAt);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO embedding_outbox (document_id, isbn, title, category, content, attempts, claim_token,
+                                              next_attempt_at, created_at)
+                VALUES (?, ?, ?, ?, ?, 0, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    title = VALUES(title),
+                    category = VALUES(category),
+                    content = VALUES(content),
+                    attempts = 0,
+                    claim_token = VALUES(claim_token),
+                    next_attempt_at = VALUES(next_attempt_at),
+                    last_error = NULL
+                """, documents, documents.size(), (ps, document) -> {
+            ps.setString(1, document.getId());
+            ps.setString(2, (String) document.getMetadata().get("isbn"));
+            ps.setString(3, (String) document.getMetadata().get("title"));
+            ps.setString(4, (String) document.getMetadata().get("category"));
+            ps.setString(5, document.getText());
+            ps.setLong(6, claimToken);
+            ps.setTimestamp(7, next);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    // claimToken으로 맡고 있는 행만 재시도 시각을 nextAttemptAt 이후로 미루고, 그 행들의 document_id 반환
+    // (다시 기록되었거나 relay가 가져가 claim_token이 바뀐 행은 제외)
+    public Set<String> renewLease(Collection<String> documentIds, long claimToken, LocalDateTime nextAttemptAt) {
+        if (documentIds.isEmpty()) {
+            return Set.of();
+        }
+        String in = inClause(documentIds.size());
+        List<Object> args = new ArrayList<>(documentIds.size() + 2);
+        args.add(Timestamp.valueOf(nextAttemptAt));
+        args.add(claimToken);
+        args.addAll(documentIds);
+        jdbcTemplate.update("UPDATE embedding_outbox SET next_attempt_at = GREATEST(next_attempt_at, ?)"
+                + " WHERE claim_token = ? AND document_id IN " + in, args.toArray());
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT document_id FROM embedding_outbox WHERE claim_token = ? AND document_id IN " + in,
+                String.class, args.subList(1, args.size()).toArray()));
+    }
+
+    // 완료 처리: claimToken이 같은 행만 삭제 (처리 중 다시 기록된 최신 행은 남겨 다시 임베딩)
+    public void deleteClaimed(Collection<String> documentIds, long claimToken) {
+        if (documentIds.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(documentIds.size() + 1);
+        args.add(claimToken);
+        args.addAll(documentIds);
+        jdbcTemplate.update("DELETE FROM embedding_outbox WHERE claim_token = ? AND document_id IN "
+                + inClause(documentIds.size()), args.toArray());
+    }
+
+    // 실패 사유 기록: claimToken이 같은 행만 (재시도 시각은 가져갈 때 이미 정해짐, 다른 작업이 맡은 행의 사유는 덮어쓰지 않음)
+    public void markFailed(Collection<String> documentIds, long claimToken, String error) {
+        if (documentIds.isEmpty()) {
+            return;
+        }
+        String truncated = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        List<Object> args = new ArrayList<>(documentIds.size() + 2);
+        args.add(truncated);
+        args.add(claimToken);
+        args.addAll(documentIds);
+        jdbcTemplate.update("UPDATE embedding_outbox SET last_error = ? WHERE claim_token = ? AND document_id IN "
+                + inClause(documentIds.size()), args.toArray());
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM embedding_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static String inClause(int size) {
+        return "(" + String.join(",", Collections.nCopies(size, "?")) + ")";
+    }
+}
@@ -0,0 +1,34 @@
+package com.recomon.repository;
+
+import com.recomon.domain.EmbeddingOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.repository
+ * fileName       : EmbeddingOutboxRepository
+ * author         : kobe
+ * date           : 2026. 1. 25.
+ * description    :
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 25.        kobe       최초 생성
+ */
+public interface EmbeddingOutboxRepository extends JpaRepository<EmbeddingOutbox, String> {
+
+    // 재시도 시각이 지난 행을 잠그고 조회 (다른 인스턴스가 잠근 행은 건너뜀: FOR UPDATE SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from EmbeddingOutbox o where o.nextAttemptAt <= :now order by o.nextAttemptAt")
+    List<EmbeddingOutbox> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+}
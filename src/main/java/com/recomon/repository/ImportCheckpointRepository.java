@@ -0,0 +1,18 @@
+package com.recomon.repository;
+
+import com.recomon.domain.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * packageName    : com.recomon.repository
+ * fileName       : ImportCheckpointRepository
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    :
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ */
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
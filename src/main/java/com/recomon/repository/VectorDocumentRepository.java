@@ -0,0 +1,301 @@
+package com.recomon.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recomon.embedding.PgVectors;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.pgvector.PgVectorFilterExpressionConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * packageName    : com.recomon.repository
+ * fileName       : VectorDocumentRepository
+ * author         : kobe
+ * date           : 2026. 1. 20.
+ * description    : vector_store 테이블 직접 접근 (이미 계산된 임베딩을 저장할 때 사용)
+ *                  PgVectorStore.add()는 저장 시 항상 임베딩을 다시 계산하므로, 임베딩 단계와 저장 단계를
+ *                  분리한 수집 파이프라인에서는 이 저장소로 upsert 합니다.
+ *                  추천 검색도 QueryEmbeddingCache의 임베딩으로 이 저장소에서 직접 조회합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 20.        kobe       최초 생성
+ * 2026. 1. 26.        kobe       searchByVector (캐시된 쿼리 임베딩으로 검색)
+ * 2026. 1. 27.        kobe       findEmbeddingsByIds (선택 도서 임베딩으로 쿼리 벡터 구성)
+ * 2026. 1. 29.        kobe       count, forEachEmbedding (HNSW 인덱스 구축)
+ * 2026. 2. 3.        kobe       searchByVector 필터 표현식 (PgVectorStore와 같은 metadata jsonpath 조건)
+ * 2026. 2. 9.        kobe       revision (쓸 때마다 증가, JVM 내 인덱스가 다른 인스턴스의 변경까지 따라잡는 기준)
+ * 2026. 2. 9.        kobe       필터 검색은 트랜잭션 안에서 ef_search / iterative_scan을 올려 topK를 채움
+ * 2026. 2. 10.       kobe       upsert가 쓴 revision을 반환 (JVM 내 인덱스가 자기 쓰기만큼 워터마크를 올림)
+ */
+@Repository
+public class VectorDocumentRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+    // 필터 검색 시 벡터 인덱스가 살펴볼 후보 수 = topK * 배수 (hnsw.ef_search 기본 40은 조건 적용 전 후보 수라 topK를 못 채움)
+    private static final int FILTERED_CANDIDATE_FACTOR = 10;
+    private static final int MIN_EF_SEARCH = 40;
+    private static final int MAX_EF_SEARCH = 1000; // pgvector 상한
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PgVectorFilterExpressionConverter filterExpressionConverter = new PgVectorFilterExpressionConverter();
+    private final RowMapper<Document> searchResultMapper = this::toSearchResult;
+    private volatile Boolean iterativeScanSupported;
+
+    public VectorDocumentRepository(@Qualifier("pgVectorJdbcTemplate") JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // documents.get(i)의 임베딩이 embeddings.get(i) (PgVectorStore와 같은 ON CONFLICT upsert)
+    // 새로 쓰거나 바꾼 행은 revision이 vector_store_revision_seq의 다음 값이 됨, 반환값[i]가 documents.get(i)의 revision
+    // (배치 문에서는 RETURNING을 받을 수 없어 시퀀스 값을 먼저 받아 함께 씀)
+    public long[] upsert(List<Document> documents, List<float[]> embeddings) {
+        if (documents.size() != embeddings.size()) {
+            throw new IllegalArgumentException("Document 수와 임베딩 수가 다릅니다: "
+                    + documents.size() + " != " + embeddings.size());
+        }
+        if (documents.isEmpty()) {
+            return new long[0];
+        }
+
+        long[] revisions = jdbcTemplate.queryForList(
+                        "SELECT nextval('vector_store_revision_seq') FROM generate_series(1, ?)", Long.class,
+                        documents.size())
+                .stream().mapToLong(Long::longValue).toArray();
+        List<Object[]> rows = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            rows.add(new Object[]{
+                    UUID.fromString(document.getId()),
+                    document.getText(),
+                    toJson(document),
+                    PgVectors.toPg(embeddings.get(i)),
+                    revisions[i]
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO vector_store (id, content, metadata, embedding, revision)
+                VALUES (?, ?, ?::jsonb, ?, ?)
+                ON CONFLICT (id) DO UPDATE
+                SET content = EXCLUDED.content, metadata = EXCLUDED.metadata, embedding = EXCLUDED.embedding,
+                    revision = EXCLUDED.revision
+                """, rows);
+        return revisions;
+    }
+
+    // Document ID 목록으로 삭제 (id 컬럼은 VARCHAR이므로 문자열로 비교)
+    public void deleteByIds(Collection<String> ids) {
+        jdbcTemplate.batchUpdate("DELETE FROM vector_store WHERE id = ?",
+                ids.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    // 임베딩 벡터로 코사인 거리 상위 topK 검색 (이미 계산한 쿼리 임베딩을 쓰므로 PgVectorStore처럼 다시 임베딩하지 않음)
+    public List<Document> searchByVector(float[] embedding, int topK) {
+        return searchByVector(embedding, topK, null);
+    }
+
+    // filter: isbn / category 등 metadata 조건 (null이면 조건 없음), 조건을 만족하는 문서 중 상위 topK
+    // jsonpath는 PgVectorStore처럼 SQL에 이어 붙이지 않고 바인딩 파라미터로 전달
+    public List<Document> searchByVector(float[] embedding, int topK, Filter.Expression filter) {
+        String jsonPath = filter == null ? null : filterExpressionConverter.convertExpression(filter);
+        if (jsonPath == null) {
+            return jdbcTemplate.query("""
+                            SELECT id, content, metadata::text AS metadata, embedding <=> ? AS distance
+                            FROM vector_store
+                            ORDER BY distance
+                            LIMIT ?
+                            """,
+                    searchResultMapper, PgVectors.toPg(embedding), topK);
+        }
+        return searchFiltered(embedding, topK, jsonPath);
+    }
+
+    // 조건은 벡터 인덱스 탐색 뒤에 적용되므로(post-filter) 같은 트랜잭션에서 SET LOCAL로 후보 수를 늘림
+    // pgvector 0.8 이상이면 iterative_scan으로 조건을 만족하는 행이 topK개가 될 때까지 계속 탐색
+    // (relaxed_order는 순서가 조금 어긋날 수 있어 바깥에서 다시 정렬)
+    private List<Document> searchFiltered(float[] embedding, int topK, String jsonPath) {
+        int efSearch = Math.min(MAX_EF_SEARCH, Math.max(MIN_EF_SEARCH, topK * FILTERED_CANDIDATE_FACTOR));
+        boolean iterative = supportsIterativeScan();
+        return jdbcTemplate.execute((ConnectionCallback<List<Document>>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false); // SET LOCAL은 트랜잭션 안에서만 유효
+            try {
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("SET LOCAL hnsw.ef_search = " + efSearch);
+                    if (iterative) {
+                        settings.execute("SET LOCAL hnsw.iterative_scan = relaxed_order");
+                        settings.execute("SET LOCAL ivfflat.iterative_scan = relaxed_order");
+                    }
+                }
+                List<Document> documents = new ArrayList<>(topK);
+                try (PreparedStatement statement = connection.prepareStatement("""
+                        WITH candidates AS MATERIALIZED (
+                            SELECT id, content, metadata, embedding <=> ? AS distance
+                            FROM vector_store
+                            WHERE metadata::jsonb @@ ?::jsonpath
+                            ORDER BY distance
+                            LIMIT ?
+                        )
+                        SELECT id, content, metadata::text AS metadata, distance
+                        FROM candidates
+                        ORDER BY distance
+                        """)) {
+                    statement.setObject(1, PgVectors.toPg(embedding));
+                    statement.setString(2, jsonPath);
+                    statement.setInt(3, topK);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            documents.add(searchResultMapper.mapRow(rs, documents.size()));
+                        }
+                    }
+                }
+                connection.commit();
+                return documents;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    // pgvector 0.8 이상만 iterative_scan 설정이 있음 (처음 필터 검색 때 한 번 확인)
+    private boolean supportsIterativeScan() {
+        Boolean supported = iterativeScanSupported;
+        if (supported == null) {
+            String version = jdbcTemplate.query("SELECT extversion FROM pg_extension WHERE extname = 'vector'",
+                    rs -> rs.next() ? rs.getString(1) : null);
+            supported = isAtLeast(version, 0, 8);
+            iterativeScanSupported = supported;
+        }
+        return supported;
+    }
+
+    // "0.8.0" 형식 확장 버전 비교
+    static boolean isAtLeast(String version, int major, int minor) {
+        if (version == null) {
+            return false;
+        }
+        String[] parts = version.split("\\.");
+        try {
+            int actualMajor = Integer.parseInt(parts[0]);
+            int actualMinor = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            return actualMajor > major || (actualMajor == major && actualMinor >= minor);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Document toSearchResult(ResultSet rs, int rowNum) throws SQLException {
+        double distance = rs.getDouble("distance");
+        Map<String, Object> metadata = new HashMap<>(fromJson(rs.getString("metadata")));
+        metadata.put("distance", distance);
+        return Document.builder()
+                .id(rs.getString("id"))
+                .text(rs.getString("content"))
+                .metadata(metadata)
+                .score(1.0 - distance)
+                .build();
+    }
+
+    // Document ID -> 저장된 임베딩 (없는 ID는 결과에 없음)
+    public Map<String, float[]> findEmbeddingsByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, float[]> embeddings = new HashMap<>();
+        jdbcTemplate.query("SELECT id::text AS id, embedding::text AS embedding FROM vector_store WHERE id::text IN ("
+                        + String.join(",", Collections.nCopies(ids.size(), "?")) + ")",
+                rs -> {
+                    embeddings.put(rs.getString("id"), PgVectors.parse(rs.getString("embedding")));
+                },
+                ids.toArray());
+        return embeddings;
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM vector_store", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    // 지금까지 쓰인 행의 revision 최댓값 (행이 없으면 0)
+    public long maxRevision() {
+        Long revision = jdbcTemplate.queryForObject("SELECT coalesce(max(revision), 0) FROM vector_store", Long.class);
+        return revision == null ? 0 : revision;
+    }
+
+    // 전체 임베딩을 커서로 나누어 읽으며 전달 (메모리에 한꺼번에 올리지 않음, 인메모리 인덱스 구축용)
+    public void forEachEmbedding(Consumer<StoredEmbedding> consumer) {
+        forEachEmbedding(-1, consumer);
+    }
+
+    // revision이 afterRevision보다 큰 행만 (JVM 내 인덱스 따라잡기)
+    public void forEachEmbedding(long afterRevision, Consumer<StoredEmbedding> consumer) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false); // PostgreSQL은 트랜잭션 안에서만 fetchSize 커서를 사용
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT id::text AS id, metadata->>'isbn' AS isbn, embedding::text AS embedding, revision
+                    FROM vector_store WHERE revision > ?
+                    """)) {
+                statement.setLong(1, afterRevision);
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(new StoredEmbedding(rs.getString("id"), rs.getString("isbn"),
+                                PgVectors.parse(rs.getString("embedding")), rs.getLong("revision")));
+                    }
+                }
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    public record StoredEmbedding(String id, String isbn, float[] embedding, long revision) {
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("메타데이터 역직렬화 실패: " + json, e);
+        }
+    }
+
+    private String toJson(Document document) {
+        try {
+            return objectMapper.writeValueAsString(document.getMetadata());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메타데이터 직렬화 실패: " + document.getId(), e);
+        }
+    }
+}
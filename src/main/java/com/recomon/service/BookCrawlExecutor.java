@@ -0,0 +1,79 @@
+package com.recomon.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : BookCrawlExecutor
+ * author         : kobe
+ * date           : 2026. 1. 15.
+ * description    : 여러 카테고리 수집을 동시에 실행하는 실행기
+ *                  호출 속도는 NaverRateLimiter가 전역으로 제한하므로 카테고리 사이 sleep이 필요 없습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 15.        kobe       최초 생성
+ */
+@Slf4j
+@Component
+public class BookCrawlExecutor {
+
+    // 동시에 수집할 카테고리 수 (HTTP 대기 위주이므로 RDB 커넥션 풀보다 작게 유지)
+    @Value("${recomon.crawl.concurrency:4}")
+    private int concurrency;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "book-crawl-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // 카테고리별 작업을 동시에 실행하고 카테고리 순서대로 결과를 반환 (실패한 카테고리는 -1)
+    public Map<String, Integer> crawl(List<String> categories, ToIntFunction<String> task) throws InterruptedException {
+        long start = System.nanoTime();
+
+        Map<String, Future<Integer>> futures = new LinkedHashMap<>();
+        for (String category : categories) {
+            futures.put(category, executor.submit(() -> task.applyAsInt(category)));
+        }
+
+        Map<String, Integer> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Integer>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                log.error("카테고리 작업 실패: {}", entry.getKey(), e.getCause());
+                results.put(entry.getKey(), -1); // 에러 표시
+            } catch (InterruptedException e) {
+                futures.values().forEach(future -> future.cancel(true));
+                throw e;
+            }
+        }
+
+        log.info(">>> {}개 카테고리 작업 완료 ({}ms, 동시 실행 {})",
+                categories.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), concurrency);
+        return results;
+    }
+}
@@ -0,0 +1,39 @@
+package com.recomon.service;
+
+import org.springframework.ai.document.Document;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : BookDocuments
+ * author         : kobe
+ * date           : 2026. 1. 19.
+ * description    : 도서 -> Vector Store Document 변환
+ *                  Document ID를 ISBN에서 결정적으로 만들어, 같은 책을 다시 저장하면 새 행이 아닌 upsert가 되도록 합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 19.        kobe       최초 생성
+ */
+public final class BookDocuments {
+
+    private BookDocuments() {
+        // 인스턴스 생성 차단
+    }
+
+    // ISBN 기반 이름 UUID (PgVectorStore는 ID를 UUID로 저장)
+    public static String idOf(String isbn) {
+        return UUID.nameUUIDFromBytes(("book:" + isbn).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public static Document of(String isbn, String title, String category, String content) {
+        return new Document(idOf(isbn), content, Map.of(
+                "isbn", isbn,
+                "title", title,
+                "category", category
+        ));
+    }
+}
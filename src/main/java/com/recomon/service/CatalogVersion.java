@@ -0,0 +1,97 @@
+package com.recomon.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : CatalogVersion
+ * author         : kobe
+ * date           : 2026. 1. 28.
+ * description    : 도서 카탈로그 버전 (프로세스 내 단조 증가 값)
+ *                  새 도서/임베딩이 저장되거나 도서 정보가 바뀌면 올리고,
+ *                  추천 결과 캐시는 이 버전이 다른 항목을 오래된(stale) 결과로 취급합니다.
+ *                  수집 중에는 배치마다 변경이 생기므로 markChanged()로 알리면 최대 min-bump-interval-ms에 한 번만 올립니다
+ *                  (버전이 오를 때마다 결과 캐시 재계산과 스냅샷/대체 추천 재구축이 일어나므로).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 28.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       markChanged: 버전 증가를 min-bump-interval-ms 단위로 합침
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final long minIntervalNanos;
+    private final LongSupplier clock;
+    private long lastBumpAt;
+    private boolean bumped;
+
+    public CatalogVersion(MeterRegistry meterRegistry) {
+        this(Duration.ZERO, System::nanoTime, meterRegistry);
+    }
+
+    @Autowired
+    public CatalogVersion(@Value("${recomon.catalog.min-bump-interval-ms:5000}") long minBumpIntervalMs,
+                          MeterRegistry meterRegistry) {
+        this(Duration.ofMillis(minBumpIntervalMs), System::nanoTime, meterRegistry);
+    }
+
+    CatalogVersion(Duration minBumpInterval, LongSupplier clock, MeterRegistry meterRegistry) {
+        this.minIntervalNanos = minBumpInterval.toNanos();
+        this.clock = clock;
+        Gauge.builder("recomon.catalog.version", version, AtomicLong::get)
+                .description("도서 카탈로그 버전 (새 도서 저장 시 증가)")
+                .register(meterRegistry);
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    // 바로 증가 (관리 작업, 테스트)
+    public synchronized long bump() {
+        pending.set(false);
+        lastBumpAt = clock.getAsLong();
+        bumped = true;
+        long next = version.incrementAndGet();
+        log.debug(">>> 카탈로그 버전 증가: {}", next);
+        return next;
+    }
+
+    // 카탈로그가 바뀜: 마지막 증가 후 min-bump-interval-ms가 지났으면 바로, 아니면 다음 publishPending()에서 한 번에 증가
+    public void markChanged() {
+        pending.set(true);
+        publishPending();
+    }
+
+    @Scheduled(initialDelayString = "${recomon.catalog.min-bump-interval-ms:5000}",
+            fixedDelayString = "${recomon.catalog.min-bump-interval-ms:5000}")
+    public void publishPending() {
+        if (!pending.get()) {
+            return;
+        }
+        synchronized (this) {
+            if (bumped && clock.getAsLong() - lastBumpAt < minIntervalNanos) {
+                return;
+            }
+            if (!pending.get()) {
+                return; // 다른 스레드가 이미 반영
+            }
+            bump();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.recomon.service;
+
+import com.recomon.domain.CategoryWatermark;
+import com.recomon.repository.CategoryWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : CategoryWatermarkService
+ * author         : kobe
+ * date           : 2026. 1. 17.
+ * description    : 카테고리별 수집 워터마크 조회/갱신
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 17.        kobe       최초 생성
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryWatermarkService {
+
+    private final CategoryWatermarkRepository categoryWatermarkRepository;
+
+    // freshFor 이내에 수집되지 않은 카테고리만 반환 (입력 순서 유지)
+    @Transactional(readOnly = true)
+    public List<String> findStaleCategories(List<String> categories, Duration freshFor) {
+        LocalDateTime threshold = LocalDateTime.now().minus(freshFor);
+        Set<String> fresh = categoryWatermarkRepository.findAllById(categories).stream()
+                .filter(watermark -> watermark.isFreshAt(threshold))
+                .map(CategoryWatermark::getCategory)
+                .collect(Collectors.toSet());
+
+        return categories.stream()
+                .filter(category -> !fresh.contains(category))
+                .toList();
+    }
+
+    @Transactional
+    public void markCollected(String category, int collectedCount) {
+        LocalDateTime now = LocalDateTime.now();
+        categoryWatermarkRepository.findById(category)
+                .ifPresentOrElse(
+                        watermark -> watermark.markCollected(now, collectedCount),
+                        () -> categoryWatermarkRepository.save(CategoryWatermark.builder()
+                                .category(category)
+                                .lastCollectedAt(now)
+                                .lastCollectedCount(collectedCount)
+                                .build()));
+    }
+}
@@ -0,0 +1,153 @@
+package com.recomon.service;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : HtmlCleaner
+ * author         : kobe
+ * date           : 2026. 1. 18.
+ * description    : 네이버 검색 결과(title, author, description)의 HTML 태그 제거 + 엔티티 디코딩
+ *                  정규식 없이 한 번의 순회로 처리하며, 스레드별 StringBuilder를 재사용합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 18.        kobe       최초 생성
+ */
+public final class HtmlCleaner {
+
+    // 엔티티 이름 최대 길이 (&#x10FFFF; 기준)
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    // 버퍼가 너무 커지면 재사용하지 않고 버림 (긴 description 한 번으로 메모리가 고정되지 않도록)
+    private static final int MAX_REUSED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private HtmlCleaner() {
+        // 인스턴스 생성 차단
+    }
+
+    public static String clean(String input) {
+        if (input == null) {
+            return "";
+        }
+
+        // 태그/엔티티가 없으면 그대로 반환 (할당 없음)
+        int first = indexOfMarkup(input);
+        if (first < 0) {
+            return input;
+        }
+
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.append(input, 0, first);
+
+        int length = input.length();
+        int i = first;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c == '<') {
+                int close = input.indexOf('>', i + 1);
+                if (close < 0) {
+                    // 닫히지 않은 '<'는 태그가 아니므로 그대로 둠 (기존 정규식과 동일)
+                    out.append(input, i, length);
+                    break;
+                }
+                i = close + 1;
+            } else if (c == '&') {
+                i = appendEntity(input, i, out);
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+
+        String result = out.toString();
+        if (out.capacity() > MAX_REUSED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private static int indexOfMarkup(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '<' || c == '&') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // '&'로 시작하는 엔티티를 디코딩해 out에 추가하고 다음 인덱스를 반환 (알 수 없는 엔티티는 원문 유지)
+    private static int appendEntity(String input, int ampersand, StringBuilder out) {
+        int limit = Math.min(input.length(), ampersand + MAX_ENTITY_LENGTH + 2);
+        int semicolon = -1;
+        for (int j = ampersand + 1; j < limit; j++) {
+            char c = input.charAt(j);
+            if (c == ';') {
+                semicolon = j;
+                break;
+            }
+            if (c == '&' || c == '<' || Character.isWhitespace(c)) {
+                break;
+            }
+        }
+
+        if (semicolon > ampersand + 1) {
+            int decoded = decode(input, ampersand + 1, semicolon);
+            if (decoded >= 0) {
+                out.appendCodePoint(decoded);
+                return semicolon + 1;
+            }
+        }
+
+        out.append('&');
+        return ampersand + 1;
+    }
+
+    // [start, end) 범위의 엔티티 이름을 코드 포인트로 변환, 모르는 이름이면 -1
+    private static int decode(String input, int start, int end) {
+        if (input.charAt(start) == '#') {
+            return decodeNumeric(input, start + 1, end);
+        }
+        return switch (input.substring(start, end)) {
+            case "amp" -> '&';
+            case "lt" -> '<';
+            case "gt" -> '>';
+            case "quot" -> '"';
+            case "apos" -> '\'';
+            case "nbsp" -> ' ';
+            case "middot" -> '·';
+            case "hellip" -> '…';
+            case "lsquo" -> '‘';
+            case "rsquo" -> '’';
+            case "ldquo" -> '“';
+            case "rdquo" -> '”';
+            default -> -1;
+        };
+    }
+
+    private static int decodeNumeric(String input, int start, int end) {
+        int radix = 10;
+        if (start < end && (input.charAt(start) == 'x' || input.charAt(start) == 'X')) {
+            radix = 16;
+            start++;
+        }
+        if (start >= end) {
+            return -1;
+        }
+
+        int value = 0;
+        for (int j = start; j < end; j++) {
+            int digit = Character.digit(input.charAt(j), radix);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * radix + digit;
+            if (value > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+        }
+        return value;
+    }
+}
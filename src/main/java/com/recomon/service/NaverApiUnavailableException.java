@@ -0,0 +1,23 @@
+package com.recomon.service;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : NaverApiUnavailableException
+ * author         : kobe
+ * date           : 2026. 1. 22.
+ * description    : 네이버 API를 호출할 수 없는 상태 (서킷 OPEN 또는 재시도 소진)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 22.        kobe       최초 생성
+ */
+public class NaverApiUnavailableException extends RuntimeException {
+
+    public NaverApiUnavailableException(String message) {
+        super(message);
+    }
+
+    public NaverApiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,211 @@
+package com.recomon.service;
+
+import com.recomon.dto.NaverBookSearchResponse;
+import com.recomon.service.source.BookSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : NaverBookClient
+ * author         : kobe
+ * date           : 2026. 1. 20.
+ * description    : 네이버 도서 검색 API 호출 (전역 호출 제한 적용)
+ *                  429/5xx/타임아웃은 지수 백오프(full jitter)로 재시도하고, 연속 실패 시 서킷 브레이커로 호출을 차단합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 20.        kobe       최초 생성 (BookCollectorService에서 분리)
+ * 2026. 1. 22.        kobe       커넥션 풀/타임아웃, 재시도, 서킷 브레이커, 호출 지연 히스토그램
+ * 2026. 1. 24.        kobe       ISBN 상세 검색 (이미지 보완용)
+ * 2026. 2. 9.        kobe       분류되지 않은 예외도 서킷 실패로 기록, 기록 없이 끝나면 시험 호출 반환
+ */
+@Slf4j
+@Component
+public class NaverBookClient implements BookSource {
+
+    private final NaverRateLimiter naverRateLimiter; // 모든 수집 스레드가 공유하는 호출 제한
+    private final NaverCircuitBreaker naverCircuitBreaker;
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Counter retryCounter;
+
+    @Value("${naver.api.url}")
+    private String apiUrl;
+
+    @Value("${naver.client-id}")
+    private String clientId;
+
+    @Value("${naver.client-secret}")
+    private String clientSecret;
+
+    // 첫 호출 포함 최대 시도 횟수
+    @Value("${naver.api.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${naver.api.retry.initial-backoff:200ms}")
+    private Duration initialBackoff;
+
+    @Value("${naver.api.retry.max-backoff:3s}")
+    private Duration maxBackoff;
+
+    public NaverBookClient(NaverRateLimiter naverRateLimiter,
+                           NaverCircuitBreaker naverCircuitBreaker,
+                           @Qualifier("naverRestTemplate") RestTemplate restTemplate,
+                           MeterRegistry meterRegistry) {
+        this.naverRateLimiter = naverRateLimiter;
+        this.naverCircuitBreaker = naverCircuitBreaker;
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        this.retryCounter = Counter.builder("recomon.naver.retries")
+                .description("네이버 API 재시도 횟수")
+                .register(meterRegistry);
+    }
+
+    // 검색어로 도서 검색 (start: 1부터 시작, display: 최대 100)
+    @Override
+    public NaverBookSearchResponse search(String query, int start, int display) throws InterruptedException {
+        URI uri = UriComponentsBuilder
+                .fromUriString(apiUrl)
+                .path("/v1/search/book.json")
+                .queryParam("query", query)
+                .queryParam("display", display)
+                .queryParam("start", start)
+                .queryParam("sort", "sim") // 정확도순 정렬
+                .encode()
+                .build()
+                .toUri();
+        return execute(uri, query);
+    }
+
+    // ISBN 상세 검색 (book_adv의 d_isbn), 한 권만 조회하므로 전체 결과를 다시 수집하지 않아도 됨
+    @Override
+    public NaverBookSearchResponse searchByIsbn(String isbn) throws InterruptedException {
+        URI uri = UriComponentsBuilder
+                .fromUriString(apiUrl)
+                .path("/v1/search/book_adv.json")
+                .queryParam("d_isbn", isbn)
+                .queryParam("display", 1)
+                .encode()
+                .build()
+                .toUri();
+        return execute(uri, isbn);
+    }
+
+    // 호출 제한 + 서킷 브레이커 + 재시도를 적용하여 GET 요청 (label은 로그용)
+    private NaverBookSearchResponse execute(URI uri, String label) throws InterruptedException {
+        HttpEntity<Void> request = new HttpEntity<>(headers());
+
+        for (int attempt = 1; ; attempt++) {
+            naverRateLimiter.acquire(); // 전역 호출 제한 대기 (재시도도 호출 1회로 계산)
+            // 대기 후에 확인해야 인터럽트로 HALF_OPEN 시험 호출이 예약된 채 남지 않음
+            if (!naverCircuitBreaker.tryAcquire()) {
+                throw new NaverApiUnavailableException("네이버 API 서킷이 열려 있어 호출하지 않습니다: " + label);
+            }
+
+            long begin = System.nanoTime();
+            String outcome = "success";
+            boolean recorded = false; // 서킷에 결과를 기록했는지 (아니면 HALF_OPEN 시험 호출이 예약된 채 남음)
+            try {
+                NaverBookSearchResponse body = restTemplate
+                        .exchange(uri, HttpMethod.GET, request, NaverBookSearchResponse.class)
+                        .getBody();
+                naverCircuitBreaker.recordSuccess();
+                recorded = true;
+                return body;
+            } catch (HttpStatusCodeException e) {
+                HttpStatusCode status = e.getStatusCode();
+                outcome = status.value() == 429 ? "rate_limited" : status.is5xxServerError() ? "server_error" : "client_error";
+                if (status.is5xxServerError()) {
+                    naverCircuitBreaker.recordFailure();
+                } else {
+                    naverCircuitBreaker.recordSuccess(); // 4xx는 서버가 응답한 것 (서킷 판단에서 제외)
+                }
+                recorded = true;
+                if (outcome.equals("client_error") || attempt >= maxAttempts) {
+                    throw e;
+                }
+                sleepBeforeRetry(label, attempt, outcome, retryAfter(e));
+            } catch (ResourceAccessException e) {
+                outcome = "io_error"; // 연결/응답 타임아웃 포함
+                naverCircuitBreaker.recordFailure();
+                recorded = true;
+                if (attempt >= maxAttempts) {
+                    throw new NaverApiUnavailableException("네이버 API 호출 실패 (" + attempt + "회 시도): " + label, e);
+                }
+                sleepBeforeRetry(label, attempt, outcome, null);
+            } catch (RuntimeException e) {
+                outcome = "error"; // 응답 변환 실패 등: 재시도하지 않고 서킷 실패로 기록
+                naverCircuitBreaker.recordFailure();
+                recorded = true;
+                throw e;
+            } finally {
+                if (!recorded) {
+                    naverCircuitBreaker.releaseTrial();
+                }
+                requestTimer(outcome).record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    // 지수 백오프 + full jitter: 0 ~ min(maxBackoff, initialBackoff * 2^(attempt-1)), Retry-After가 있으면 그 이상 대기
+    private void sleepBeforeRetry(String label, int attempt, String outcome, Duration retryAfter) throws InterruptedException {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (retryAfter != null) {
+            backoff = Math.max(backoff, retryAfter.toMillis());
+        }
+        retryCounter.increment();
+        log.warn(">>> 네이버 API {} ('{}'), {}ms 후 재시도 ({}/{})", outcome, label, backoff, attempt + 1, maxAttempts);
+        TimeUnit.MILLISECONDS.sleep(backoff);
+    }
+
+    // Retry-After 헤더 (초 단위만 지원)
+    private Duration retryAfter(HttpStatusCodeException e) {
+        HttpHeaders headers = e.getResponseHeaders();
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    private Timer requestTimer(String outcome) {
+        return Timer.builder("recomon.naver.request")
+                .description("네이버 API 호출 1회 지연 시간 (재시도는 각각 기록)")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Naver-Client-Id", clientId);
+        headers.set("X-Naver-Client-Secret", clientSecret);
+        return headers;
+    }
+}
@@ -0,0 +1,113 @@
+package com.recomon.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : NaverCircuitBreaker
+ * author         : kobe
+ * date           : 2026. 1. 22.
+ * description    : 네이버 API 서킷 브레이커 (모든 수집 스레드가 공유)
+ *                  연속 실패(5xx/타임아웃)가 failureThreshold에 도달하면 openDuration 동안 호출하지 않고 바로 실패시킵니다.
+ *                  openDuration이 지나면 한 번의 시험 호출(HALF_OPEN)만 허용하고, 성공하면 CLOSED로 돌아갑니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 22.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       releaseTrial (결과 없이 끝난 시험 호출 반환)
+ */
+@Slf4j
+@Component
+public class NaverCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    @Autowired
+    public NaverCircuitBreaker(@Value("${naver.api.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${naver.api.circuit-breaker.open-duration:30s}") Duration openDuration,
+                               MeterRegistry meterRegistry) {
+        this(failureThreshold, openDuration, System::nanoTime);
+        Gauge.builder("recomon.naver.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("네이버 API 서킷 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+                .register(meterRegistry);
+    }
+
+    NaverCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier clock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("naver.api.circuit-breaker.failure-threshold는 0보다 커야 합니다: " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    // 호출 가능 여부 (OPEN 기간이 지났으면 시험 호출 1건만 허용)
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            log.info(">>> 네이버 API 서킷 HALF_OPEN: 시험 호출을 허용합니다.");
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info(">>> 네이버 API 서킷 CLOSED: 호출이 정상화되었습니다.");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn(">>> 네이버 API 서킷 OPEN: 연속 {}회 실패, {}초 동안 호출을 차단합니다.",
+                        consecutiveFailures, Duration.ofNanos(openNanos).toSeconds());
+            }
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            trialInFlight = false;
+        }
+    }
+
+    // 성공/실패를 기록하지 못하고 끝난 호출 (Error 등): HALF_OPEN 시험 호출을 반환해 다음 호출이 다시 시험하도록
+    public synchronized void releaseTrial() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
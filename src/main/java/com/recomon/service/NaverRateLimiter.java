@@ -0,0 +1,58 @@
+package com.recomon.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.service
+ * fileName       : NaverRateLimiter
+ * author         : kobe
+ * date           : 2026. 1. 15.
+ * description    : 네이버 API 호출 전역 토큰 버킷 (모든 수집 스레드가 공유)
+ *                  고정 sleep 대신 초당 허용량만큼만 호출하도록 대기 시간을 계산합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 15.        kobe       최초 생성
+ */
+@Slf4j
+@Component
+public class NaverRateLimiter {
+
+    private final double capacity;      // 버킷 크기 (순간 최대 호출 수)
+    private final double nanosPerToken; // 토큰 1개가 채워지는 시간
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public NaverRateLimiter(@Value("${naver.api.rate-limit-per-second:10}") double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("naver.api.rate-limit-per-second는 0보다 커야 합니다: " + permitsPerSecond);
+        }
+        this.capacity = permitsPerSecond;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    // 토큰 1개를 예약하고, 토큰이 부족하면 채워질 때까지 대기
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            refill(System.nanoTime());
+            tokens -= 1; // 음수면 미래 토큰을 예약한 것 -> 순서대로 대기
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens * nanosPerToken);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,226 @@
+package com.recomon.service.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recomon.domain.Book;
+import com.recomon.domain.ImportCheckpoint;
+import com.recomon.repository.BookBulkRepository;
+import com.recomon.repository.ImportCheckpointRepository;
+import com.recomon.service.BookDocuments;
+import com.recomon.service.pipeline.EmbeddingOutboxService;
+import com.recomon.service.pipeline.EmbeddingOutboxService.OutboxBatch;
+import com.recomon.service.pipeline.IngestionPipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * packageName    : com.recomon.service.imports
+ * fileName       : BookImportService
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : 대용량 카탈로그 파일(JSONL/CSV) 가져오기
+ *                  파일을 한 줄씩 스트리밍으로 읽어 batch-size 행마다 books에 JDBC 배치 upsert 하고,
+ *                  같은 행의 Document를 수집 파이프라인의 embed 단계로 넘깁니다. 배치마다 바이트 오프셋을 체크포인트로
+ *                  저장하므로 중단(작업 취소, 서버 재시작)되어도 다시 실행하면 이어서 가져옵니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       outbox 기록 결과(claimToken)를 그대로 임베딩 단계로 (relay와 중복 임베딩하지 않음)
+ * 2026. 2. 9.        kobe       카테고리가 없는 행이 기존 도서의 카테고리를 덮어쓰지 않도록
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+
+    private static final String DEFAULT_CATEGORY = "기타"; // 카테고리 열이 없는 행 (새 도서에만)
+
+    private final BookBulkRepository bookBulkRepository;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final IngestionPipeline ingestionPipeline;
+    private final EmbeddingOutboxService embeddingOutboxService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    // 가져올 파일이 있는 디렉터리 (이 밖의 경로는 거부)
+    @Value("${recomon.import.base-dir:imports}")
+    private Path baseDir;
+
+    // RDB 배치 / 체크포인트 저장 단위
+    @Value("${recomon.import.batch-size:500}")
+    private int batchSize;
+
+    // 파일 가져오기 (CollectionJobService의 IMPORT 작업), 이번 실행에서 저장한 행 수 반환
+    public int importFile(String source) {
+        Path path = resolve(source);
+        try {
+            return importFile(source, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("카탈로그 파일 읽기 실패: " + path, e);
+        }
+    }
+
+    // 체크포인트 삭제 (다음 실행은 처음부터)
+    public void resetCheckpoint(String source) {
+        resolve(source);
+        importCheckpointRepository.deleteById(source);
+        log.info(">>> [가져오기] 체크포인트 초기화: {}", source);
+    }
+
+    public List<ImportCheckpoint> findCheckpoints() {
+        return importCheckpointRepository.findAll();
+    }
+
+    // base-dir 기준 상대 경로만 허용 (../ 등으로 밖을 가리키면 거부)
+    public Path resolve(String source) {
+        Path base = baseDir.toAbsolutePath().normalize();
+        Path path = base.resolve(source).normalize();
+        if (!path.startsWith(base)) {
+            throw new IllegalArgumentException("가져오기 디렉터리 밖의 파일입니다: " + source);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("파일이 없습니다: " + source);
+        }
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!name.endsWith(".jsonl") && !name.endsWith(".ndjson") && !name.endsWith(".csv")) {
+            throw new IllegalArgumentException("지원하지 않는 형식입니다 (.jsonl, .ndjson, .csv): " + source);
+        }
+        return path;
+    }
+
+    private int importFile(String source, Path path) throws IOException {
+        long fileSize = Files.size(path);
+        ImportCheckpoint checkpoint = importCheckpointRepository.findById(source)
+                .orElseGet(() -> ImportCheckpoint.start(source));
+        if (checkpoint.getByteOffset() > fileSize) {
+            log.warn(">>> [가져오기] 파일이 체크포인트({} bytes)보다 작아 처음부터 다시 가져옵니다: {}",
+                    checkpoint.getByteOffset(), source);
+            checkpoint.restart();
+        }
+
+        CatalogRowParser parser;
+        long startOffset = checkpoint.getByteOffset();
+        if (path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            try (OffsetLineReader headerReader = new OffsetLineReader(path, 0)) {
+                String header = headerReader.readLine();
+                if (header == null) {
+                    return 0;
+                }
+                parser = new CsvCatalogRowParser(header);
+                startOffset = Math.max(startOffset, headerReader.offset()); // 헤더 다음 줄부터
+            }
+        } else {
+            parser = new JsonlCatalogRowParser(objectMapper);
+        }
+
+        log.info(">>> [가져오기] 시작: {} ({} bytes, {} bytes부터)", source, fileSize, startOffset);
+        long start = System.nanoTime();
+        int imported = 0;
+        Deque<CompletableFuture<Integer>> pendingEmbeddings = new ArrayDeque<>();
+
+        try (OffsetLineReader reader = new OffsetLineReader(path, startOffset)) {
+            Map<String, CatalogRow> batch = new LinkedHashMap<>(); // ISBN 기준 (배치 내 중복은 마지막 행)
+            int skipped = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    CatalogRow row = parser.parse(line);
+                    if (row.isValid()) {
+                        batch.put(row.isbn().trim(), row);
+                    } else {
+                        skipped++;
+                    }
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    log.debug(">>> [가져오기] 행 건너뜀 (offset {}): {}", reader.offset(), e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    imported += flush(source, batch, checkpoint, reader.offset(), fileSize, skipped, pendingEmbeddings);
+                    checkpoint = importCheckpointRepository.save(checkpoint);
+                    batch.clear();
+                    skipped = 0;
+                    if (Thread.currentThread().isInterrupted()) {
+                        log.info(">>> [가져오기] 중단: {} ({} bytes까지 저장)", source, reader.offset());
+                        return imported;
+                    }
+                }
+            }
+
+            imported += flush(source, batch, checkpoint, reader.offset(), fileSize, skipped, pendingEmbeddings);
+            if (!Thread.currentThread().isInterrupted()) {
+                checkpoint.markCompleted();
+            }
+            importCheckpointRepository.save(checkpoint);
+        }
+
+        awaitEmbeddings(pendingEmbeddings);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info(">>> [가져오기] 완료: {} ({}건, {}초, {} rows/sec)", source, imported,
+                String.format("%.1f", seconds), String.format("%.1f", imported / Math.max(seconds, 0.001)));
+        return imported;
+    }
+
+    // RDB 배치 upsert -> 임베딩 단계 투입 -> 체크포인트 전진 (저장은 호출한 쪽에서)
+    private int flush(String source, Map<String, CatalogRow> batch, ImportCheckpoint checkpoint,
+                      long offset, long fileSize, int skipped, Deque<CompletableFuture<Integer>> pendingEmbeddings) {
+        List<Book> books = new ArrayList<>(batch.size());
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (CatalogRow row : batch.values()) {
+            Book book = row.toBook();
+            books.add(book);
+            documents.add(BookDocuments.of(book.getIsbn(), book.getTitle(),
+                    book.getCategory() != null ? book.getCategory() : DEFAULT_CATEGORY, row.contentToEmbed()));
+        }
+
+        // books upsert + outbox 기록을 한 트랜잭션으로 (임베딩이 실패해도 relay가 다시 처리)
+        // 임베딩은 아래에서 투입한 작업이 claimToken으로 맡으므로 한 번만 수행: relay는 lease가 지난 행만 가져가고,
+        // 그러면 이 작업은 임베딩 직전 token이 달라진 행을 건너뜀
+        OutboxBatch outbox = new TransactionTemplate(transactionManager).execute(status -> {
+            bookBulkRepository.upsertAll(books, DEFAULT_CATEGORY);
+            return embeddingOutboxService.enqueue(documents);
+        });
+        if (!documents.isEmpty()) {
+            try {
+                // 임베딩 큐가 가득 차면 여기서 대기하므로 파일 읽기 속도가 임베딩 속도에 맞춰짐
+                pendingEmbeddings.add(ingestionPipeline.submitDocuments(source, outbox));
+            } catch (InterruptedException e) {
+                // 이 배치는 outbox에 기록됐으므로 relay가 임베딩. 체크포인트는 전진하지 않음 (다시 upsert해도 멱등)
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+        while (!pendingEmbeddings.isEmpty() && pendingEmbeddings.peekFirst().isDone()) {
+            pendingEmbeddings.pollFirst();
+        }
+
+        checkpoint.advance(offset, fileSize, books.size(), skipped);
+        return books.size();
+    }
+
+    private void awaitEmbeddings(Deque<CompletableFuture<Integer>> pendingEmbeddings) {
+        try {
+            CompletableFuture.allOf(pendingEmbeddings.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error(">>> [가져오기] 임베딩 대기 중 오류", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.recomon.service.imports;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.recomon.domain.Book;
+import com.recomon.service.HtmlCleaner;
+
+/**
+ * packageName    : com.recomon.service.imports
+ * fileName       : CatalogRow
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : 카탈로그 파일 한 행 (JSONL 한 줄 또는 CSV 한 줄)
+ *                  publishedYear가 없으면 pubdate("20240101", "2024-01-01")에서 연도를 읽습니다.
+ *                  카테고리가 없으면 null (이미 있는 도서의 카테고리를 덮어쓰지 않도록, 새 도서의 기본값은 저장 시 채움)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       카테고리가 없는 행은 null (기본 카테고리는 BookBulkRepository가 새 도서에만)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CatalogRow(
+        String isbn,
+        String title,
+        String author,
+        @JsonAlias({"image", "image_url"}) String imageUrl,
+        String category,
+        @JsonAlias("published_year") Integer publishedYear,
+        String pubdate,
+        String description
+) {
+
+    public boolean isValid() {
+        return isbn != null && !isbn.isBlank() && isbn.length() <= 20 && title != null && !title.isBlank();
+    }
+
+    public Book toBook() {
+        return Book.builder()
+                .isbn(isbn.trim())
+                .title(HtmlCleaner.clean(title))
+                .author(HtmlCleaner.clean(author))
+                .imageUrl(imageUrl)
+                .category(category != null && !category.isBlank() ? category : null)
+                .publishedYear(publishedYear != null ? publishedYear : Book.parsePublishedYear(pubdate))
+                .rating(0.0) // 기본값
+                .reviewCount(0) // 기본값
+                .bestSeller(false) // 기본값
+                .awardWinner(false) // 기본값
+                .build();
+    }
+
+    // 임베딩할 본문: 설명이 충분히 길면 설명, 아니면 제목
+    public String contentToEmbed() {
+        String cleanedDesc = HtmlCleaner.clean(description);
+        return cleanedDesc.length() > 10 ? cleanedDesc : HtmlCleaner.clean(title);
+    }
+}
@@ -0,0 +1,18 @@
+package com.recomon.service.imports;
+
+/**
+ * packageName    : com.recomon.service.imports
+ * fileName       : CatalogRowParser
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : 카탈로그 파일 한 줄 -> CatalogRow (형식별 구현: JSONL, CSV)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ */
+public interface CatalogRowParser {
+
+    // 파싱할 수 없는 줄이면 IllegalArgumentException
+    CatalogRow parse(String line);
+}
@@ -0,0 +1,104 @@
+package com.recomon.service.imports;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * packageName    : com.recomon.service.imports
+ * fileName       : CsvCatalogRowParser
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : CSV 형식 (첫 줄은 헤더, 열 순서는 헤더 이름으로 판단)
+ *                  큰따옴표로 감싼 값과 "" 이스케이프를 지원합니다. 값 안의 줄바꿈은 지원하지 않습니다 (한 줄 = 한 행).
+ *                  인식하는 열: isbn, title, author, image_url(image), category, published_year, pubdate, description
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ */
+public class CsvCatalogRowParser implements CatalogRowParser {
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    public CsvCatalogRowParser(String headerLine) {
+        List<String> header = split(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("isbn")) {
+            throw new IllegalArgumentException("CSV 헤더에 isbn 열이 없습니다: " + headerLine);
+        }
+    }
+
+    @Override
+    public CatalogRow parse(String line) {
+        List<String> values = split(line);
+        String publishedYear = value(values, "publishedyear");
+        return new CatalogRow(
+                value(values, "isbn"),
+                value(values, "title"),
+                value(values, "author"),
+                value(values, "imageurl", "image"),
+                value(values, "category"),
+                publishedYear != null && !publishedYear.isBlank() ? parseYear(publishedYear) : null,
+                value(values, "pubdate"),
+                value(values, "description")
+        );
+    }
+
+    private String value(List<String> values, String... names) {
+        for (String name : names) {
+            Integer index = columns.get(name);
+            if (index != null && index < values.size()) {
+                return values.get(index);
+            }
+        }
+        return null;
+    }
+
+    private static Integer parseYear(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("published_year가 숫자가 아닙니다: " + value, e);
+        }
+    }
+
+    // RFC 4180 한 줄 분리
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
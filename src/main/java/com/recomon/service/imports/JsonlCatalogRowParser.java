@@ -0,0 +1,34 @@
+package com.recomon.service.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * packageName    : com.recomon.service.imports
+ * fileName       : JsonlCatalogRowParser
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : JSON Lines 형식 (한 줄에 JSON 객체 하나)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ */
+public class JsonlCatalogRowParser implements CatalogRowParser {
+
+    private final ObjectReader reader;
+
+    public JsonlCatalogRowParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(CatalogRow.class);
+    }
+
+    @Override
+    public CatalogRow parse(String line) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 파싱 실패: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.recomon.service.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * packageName    : com.recomon.service.imports
+ * fileName       : OffsetLineReader
+ * author         : kobe
+ * date           : 2026. 1. 23.
+ * description    : 파일을 고정 크기 버퍼로 읽으며 한 줄씩 반환하고, 읽은 위치를 바이트 오프셋으로 알려주는 리더
+ *                  BufferedReader는 문자 단위라 파일 내 바이트 위치를 알 수 없으므로, 바이트 단위로 줄을 나눈 뒤 UTF-8로 디코딩합니다.
+ *                  파일 크기와 상관없이 버퍼(64KB) + 가장 긴 줄만큼의 메모리만 사용합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 23.        kobe       최초 생성
+ */
+public class OffsetLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_LINE_SIZE = 1024;
+    private static final int MAX_LINE_SIZE = 16 * 1024 * 1024; // 이보다 긴 줄은 손상된 파일로 간주
+
+    private final FileChannel channel;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+    private int position;
+    private int limit;
+
+    private byte[] line = new byte[INITIAL_LINE_SIZE];
+    private int lineLength;
+
+    private long offset; // 마지막으로 반환한 줄의 다음 바이트 위치 (다음 줄의 시작)
+    private boolean first;
+
+    public OffsetLineReader(Path path, long startOffset) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.channel.position(startOffset);
+        this.offset = startOffset;
+        this.first = startOffset == 0;
+    }
+
+    // 다음 줄 (줄바꿈 제외), 파일 끝이면 null
+    public String readLine() throws IOException {
+        lineLength = 0;
+        long consumed = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (consumed == 0) {
+                    return null;
+                }
+                offset += consumed; // 마지막 줄에 줄바꿈이 없는 경우
+                return decode();
+            }
+
+            int newline = indexOfNewline();
+            int end = newline >= 0 ? newline : limit;
+            append(end - position);
+            consumed += end - position;
+            position = end;
+
+            if (newline >= 0) {
+                position++; // '\n' 건너뜀
+                offset += consumed + 1;
+                return decode();
+            }
+        }
+    }
+
+    // 마지막으로 반환한 줄의 다음 바이트 위치 (체크포인트로 저장하는 값)
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fill() throws IOException {
+        byteBuffer.clear();
+        int read = channel.read(byteBuffer);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private int indexOfNewline() {
+        for (int i = position; i < limit; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void append(int length) throws IOException {
+        if (lineLength + length > line.length) {
+            if (lineLength + length > MAX_LINE_SIZE) {
+                throw new IOException("줄이 너무 깁니다 (" + MAX_LINE_SIZE + " bytes 초과), offset=" + offset);
+            }
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        System.arraycopy(buffer, position, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private String decode() {
+        int start = 0;
+        int length = lineLength;
+        if (first) {
+            first = false;
+            // 파일 맨 앞의 UTF-8 BOM 제거
+            if (length >= 3 && line[0] == (byte) 0xEF && line[1] == (byte) 0xBB && line[2] == (byte) 0xBF) {
+                start = 3;
+                length -= 3;
+            }
+        }
+        if (length > 0 && line[start + length - 1] == '\r') {
+            length--; // CRLF
+        }
+        String decoded = new String(line, start, length, StandardCharsets.UTF_8);
+        if (line.length > BUFFER_SIZE) {
+            line = new byte[INITIAL_LINE_SIZE]; // 아주 긴 줄 하나 때문에 커진 버퍼는 유지하지 않음
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,148 @@
+package com.recomon.service.job;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * packageName    : com.recomon.service.job
+ * fileName       : CollectionJob
+ * author         : kobe
+ * date           : 2026. 1. 16.
+ * description    : 백그라운드로 실행되는 수집 작업 1건의 상태 (카테고리별 진행률, 처리량)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 16.        kobe       최초 생성
+ */
+@Getter
+public class CollectionJob {
+
+    private final String id;
+    private final CollectionJobType type;
+    private final String trigger; // 작업 요청 주체 (startup, admin)
+    private final Instant createdAt = Instant.now();
+
+    private volatile CollectionJobStatus status = CollectionJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    // 카테고리 순서 유지 (수정은 synchronized 메서드에서만)
+    private final Map<String, CategoryProgress> progress = new LinkedHashMap<>();
+
+    CollectionJob(String id, CollectionJobType type, String trigger, List<String> categories) {
+        this.id = id;
+        this.type = type;
+        this.trigger = trigger;
+        categories.forEach(category -> progress.put(category, new CategoryProgress()));
+    }
+
+    void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized void markRunning() {
+        status = CollectionJobStatus.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    synchronized void markFinished(CollectionJobStatus finalStatus, String error) {
+        this.status = finalStatus;
+        this.error = error;
+        this.finishedAt = Instant.now();
+        // 시작하지 못한 카테고리는 취소 처리
+        progress.values().stream()
+                .filter(p -> p.status == CollectionJobStatus.QUEUED)
+                .forEach(p -> p.status = CollectionJobStatus.CANCELLED);
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    synchronized void categoryStarted(String category) {
+        CategoryProgress p = progress.get(category);
+        p.status = CollectionJobStatus.RUNNING;
+        p.startedAt = Instant.now();
+    }
+
+    synchronized void categoryFinished(String category, int count, CollectionJobStatus categoryStatus) {
+        CategoryProgress p = progress.get(category);
+        p.status = categoryStatus;
+        p.count = count;
+        p.finishedAt = Instant.now();
+    }
+
+    // 처리 건수 합계 (수집: 신규 저장 수, 이미지: 업데이트 수)
+    public synchronized int totalCount() {
+        return progress.values().stream().mapToInt(p -> p.count).sum();
+    }
+
+    // 시작 이후 처리량 (건/초)
+    public double itemsPerSecond() {
+        if (startedAt == null) {
+            return 0.0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return totalCount() * 1000.0 / millis;
+    }
+
+    // API 응답용 요약
+    public synchronized Map<String, Object> toSummary() {
+        Map<String, Object> categories = new LinkedHashMap<>();
+        int done = 0;
+        for (Map.Entry<String, CategoryProgress> entry : progress.entrySet()) {
+            CategoryProgress p = entry.getValue();
+            if (p.status.isFinished()) {
+                done++;
+            }
+            categories.put(entry.getKey(), p.toSummary());
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("jobId", id);
+        summary.put("type", type);
+        summary.put("trigger", trigger);
+        summary.put("status", status);
+        summary.put("createdAt", createdAt);
+        summary.put("startedAt", startedAt);
+        summary.put("finishedAt", finishedAt);
+        summary.put("completedCategories", done);
+        summary.put("totalCategories", progress.size());
+        summary.put("totalCount", totalCount());
+        summary.put("itemsPerSecond", Math.round(itemsPerSecond() * 100) / 100.0);
+        summary.put("cancelRequested", cancelRequested);
+        if (error != null) {
+            summary.put("error", error);
+        }
+        summary.put("categories", categories);
+        return summary;
+    }
+
+    static class CategoryProgress {
+        private CollectionJobStatus status = CollectionJobStatus.QUEUED;
+        private int count;
+        private Instant startedAt;
+        private Instant finishedAt;
+
+        Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("status", status);
+            summary.put("count", count);
+            if (startedAt != null) {
+                Instant end = finishedAt != null ? finishedAt : Instant.now();
+                summary.put("elapsedMs", Duration.between(startedAt, end).toMillis());
+            }
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.recomon.service.job;
+
+import com.recomon.service.BookCollectorService;
+import com.recomon.service.BookCrawlExecutor;
+import com.recomon.service.CategoryWatermarkService;
+import com.recomon.service.imports.BookImportService;
+import com.recomon.service.pipeline.IngestionFailedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * packageName    : com.recomon.service.job
+ * fileName       : CollectionJobService
+ * author         : kobe
+ * date           : 2026. 1. 16.
+ * description    : 수집 작업을 제한된 백그라운드 실행기에 제출하고 진행 상황을 관리
+ *                  (HTTP 요청 스레드는 작업 ID만 받고 바로 반환)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 16.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       실패한 카테고리는 워터마크 갱신 제외 (부분 저장 수 기록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollectionJobService {
+
+    private final BookCollectorService bookCollectorService;
+    private final BookCrawlExecutor bookCrawlExecutor;
+    private final CategoryWatermarkService categoryWatermarkService;
+    private final BookImportService bookImportService;
+
+    // 동시에 실행할 작업 수 (작업 하나가 이미 카테고리를 병렬로 처리)
+    @Value("${recomon.jobs.concurrency:1}")
+    private int concurrency;
+
+    // 실행 대기 가능한 작업 수 (초과 시 제출 거부)
+    @Value("${recomon.jobs.queue-capacity:10}")
+    private int queueCapacity;
+
+    // 메모리에 보관할 작업 이력 수
+    @Value("${recomon.jobs.history-size:50}")
+    private int historySize;
+
+    private final Map<String, CollectionJob> jobs = new LinkedHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "collection-job-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // 작업 제출 (대기열이 가득 차면 RejectedExecutionException)
+    public CollectionJob submit(CollectionJobType type, List<String> categories, String trigger) {
+        CollectionJob job = new CollectionJob(UUID.randomUUID().toString(), type, trigger, categories);
+        ToIntFunction<String> task = switch (type) {
+            case COLLECT -> bookCollectorService::collectBooks;
+            case UPDATE_IMAGES -> bookCollectorService::updateImageUrls;
+            case IMPORT -> bookImportService::importFile;
+        };
+
+        synchronized (jobs) {
+            Future<?> future = executor.submit(() -> run(job, categories, task));
+            job.attach(future);
+            jobs.put(job.getId(), job);
+            evictFinishedJobs();
+        }
+        log.info(">>> 수집 작업 제출: id={}, type={}, trigger={}, categories={}", job.getId(), type, trigger, categories.size());
+        return job;
+    }
+
+    public Optional<CollectionJob> find(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    // 특정 주체가 요청한 가장 최근 작업
+    public Optional<CollectionJob> findLatest(String trigger) {
+        return findAll().stream()
+                .filter(job -> trigger.equals(job.getTrigger()))
+                .findFirst();
+    }
+
+    // 최근 작업부터 반환
+    public List<CollectionJob> findAll() {
+        synchronized (jobs) {
+            List<CollectionJob> result = new ArrayList<>(jobs.values());
+            Collections.reverse(result);
+            return result;
+        }
+    }
+
+    // 작업 취소: 시작 전 카테고리는 건너뛰고, 실행 중인 수집 스레드는 인터럽트
+    public Optional<CollectionJob> cancel(String jobId) {
+        Optional<CollectionJob> found = find(jobId);
+        found.filter(job -> !job.getStatus().isFinished()).ifPresent(job -> {
+            job.requestCancel();
+            boolean neverStarted = job.getStatus() == CollectionJobStatus.QUEUED;
+            job.getFuture().cancel(true);
+            if (neverStarted) {
+                job.markFinished(CollectionJobStatus.CANCELLED, null);
+            }
+            log.info(">>> 수집 작업 취소 요청: id={}", jobId);
+        });
+        return found;
+    }
+
+    private void run(CollectionJob job, List<String> categories, ToIntFunction<String> task) {
+        if (job.isCancelRequested()) {
+            return;
+        }
+        job.markRunning();
+        try {
+            bookCrawlExecutor.crawl(categories, category -> runCategory(job, category, task));
+            job.markFinished(job.isCancelRequested() ? CollectionJobStatus.CANCELLED : CollectionJobStatus.COMPLETED, null);
+            log.info(">>> 수집 작업 종료: id={}, status={}, total={}, {} items/sec",
+                    job.getId(), job.getStatus(), job.totalCount(), String.format("%.2f", job.itemsPerSecond()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.markFinished(CollectionJobStatus.CANCELLED, null);
+            log.info(">>> 수집 작업 중단: id={}", job.getId());
+        } catch (Exception e) {
+            job.markFinished(CollectionJobStatus.FAILED, e.getMessage());
+            log.error(">>> 수집 작업 실패: id={}", job.getId(), e);
+        }
+    }
+
+    private int runCategory(CollectionJob job, String category, ToIntFunction<String> task) {
+        if (job.isCancelRequested()) {
+            job.categoryFinished(category, 0, CollectionJobStatus.CANCELLED);
+            return 0;
+        }
+        job.categoryStarted(category);
+        try {
+            int count = task.applyAsInt(category);
+            boolean cancelled = job.isCancelRequested();
+            job.categoryFinished(category, count, cancelled ? CollectionJobStatus.CANCELLED : CollectionJobStatus.COMPLETED);
+            if (!cancelled && job.getType() == CollectionJobType.COLLECT) {
+                // 다음 서버 시작 시 최근에 수집한 카테고리는 건너뛰도록 워터마크 갱신 (오류 없이 끝난 수집만)
+                categoryWatermarkService.markCollected(category, count);
+            }
+            return count;
+        } catch (IngestionFailedException e) {
+            // 실패한 수집은 워터마크를 갱신하지 않음 (장애 한 번으로 모든 카테고리가 최신으로 표시되지 않도록)
+            job.categoryFinished(category, e.getSavedCount(), CollectionJobStatus.FAILED);
+            throw e;
+        } catch (RuntimeException e) {
+            job.categoryFinished(category, 0, CollectionJobStatus.FAILED);
+            throw e;
+        }
+    }
+
+    // jobs 락을 잡은 상태에서만 호출
+    private void evictFinishedJobs() {
+        Iterator<CollectionJob> iterator = jobs.values().iterator();
+        while (jobs.size() > historySize && iterator.hasNext()) {
+            if (iterator.next().getStatus().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.recomon.service.job;
+
+/**
+ * packageName    : com.recomon.service.job
+ * fileName       : CollectionJobStatus
+ * author         : kobe
+ * date           : 2026. 1. 16.
+ * description    : 작업 전체 / 카테고리별 진행 상태
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 16.        kobe       최초 생성
+ */
+public enum CollectionJobStatus {
+    QUEUED, // 대기 중 (카테고리: 시작 전)
+    RUNNING, // 실행 중
+    COMPLETED, // 완료
+    FAILED, // 실패
+    CANCELLED; // 취소됨
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,18 @@
+package com.recomon.service.job;
+
+/**
+ * packageName    : com.recomon.service.job
+ * fileName       : CollectionJobType
+ * author         : kobe
+ * date           : 2026. 1. 16.
+ * description    :
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 16.        kobe       최초 생성
+ */
+public enum CollectionJobType {
+    COLLECT, // 카테고리별 도서 수집
+    UPDATE_IMAGES, // 카테고리별 이미지 URL 업데이트
+    IMPORT // 카탈로그 파일 가져오기 (categories 자리에 파일 경로)
+}
@@ -0,0 +1,40 @@
+package com.recomon.service.job;
+
+import com.recomon.AppStartRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * packageName    : com.recomon.service.job
+ * fileName       : IngestionHealthIndicator
+ * author         : kobe
+ * date           : 2026. 1. 17.
+ * description    : 서버 시작 시 수집 작업의 진행 상황을 /actuator/health 의 "ingestion" 항목으로 노출
+ *                  수집이 진행 중이어도 추천은 가능하므로 항상 UP이며, readiness 그룹에는 포함하지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 17.        kobe       최초 생성
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestionHealthIndicator implements HealthIndicator {
+
+    private final CollectionJobService collectionJobService;
+
+    @Override
+    public Health health() {
+        return collectionJobService.findLatest(AppStartRunner.TRIGGER)
+                .map(job -> Health.up()
+                        .withDetail("startupJobId", job.getId())
+                        .withDetail("status", job.getStatus())
+                        .withDetail("totalCount", job.totalCount())
+                        .withDetail("itemsPerSecond", Math.round(job.itemsPerSecond() * 100) / 100.0)
+                        .build())
+                .orElseGet(() -> Health.up()
+                        .withDetail("status", "SKIPPED") // 비활성화 또는 모든 카테고리가 최신
+                        .build());
+    }
+}
@@ -0,0 +1,72 @@
+package com.recomon.service.pipeline;
+
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * packageName    : com.recomon.service.pipeline
+ * fileName       : CategoryRun
+ * author         : kobe
+ * date           : 2026. 1. 20.
+ * description    : 카테고리 1건의 수집 진행 상태
+ *                  파이프라인 안에 남아있는 작업(페이지/배치) 수가 0이 되면 신규 저장 수로 완료됩니다.
+ *                  fetch / clean / persist 단계가 실패하면 IngestionFailedException으로 완료됩니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 20.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       단계 실패 / 파이프라인 종료는 예외로 완료 (부분 저장 수를 성공으로 보고하지 않음)
+ */
+@Getter
+class CategoryRun {
+
+    private final String category;
+    private final int targetCount;
+    private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+    private final AtomicInteger savedCount = new AtomicInteger();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    CategoryRun(String category, int targetCount) {
+        this.category = category;
+        this.targetCount = targetCount;
+    }
+
+    int remaining() {
+        return Math.max(0, targetCount - savedCount.get());
+    }
+
+    void addSaved(int count) {
+        savedCount.addAndGet(count);
+    }
+
+    // 파이프라인에 작업 1건 투입
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    // 작업 1건 정상 종료 (마지막 작업이면 완료)
+    void end() {
+        if (outstanding.decrementAndGet() == 0) {
+            result.complete(savedCount.get());
+        }
+    }
+
+    // 호출자가 더 이상 기다리지 않음 (진행 중인 페이지는 마저 저장하되 다음 페이지는 요청하지 않음)
+    void cancel() {
+        cancelled = true;
+    }
+
+    // 단계 실패: 남은 작업을 기다리지 않고 예외로 완료 (이후의 end()는 무시됨)
+    void fail(Throwable cause) {
+        result.completeExceptionally(new IngestionFailedException(category, savedCount.get(), cause));
+    }
+
+    // 파이프라인 종료 시 대기 중인 호출자가 멈추지 않도록 예외로 완료
+    void abort() {
+        fail(null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.recomon.service.pipeline;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * packageName    : com.recomon.service.pipeline
+ * fileName       : EmbeddingOutboxRelay
+ * author         : kobe
+ * date           : 2026. 1. 25.
+ * description    : 재시도 시각이 지난 outbox 행을 주기적으로 가져가 파이프라인의 embed -> write 단계로 투입
+ *                  (임베딩 실패, 서버 종료 등으로 fast path에서 처리되지 못한 행을 복구)
+ *                  한 번에 batch-size 행씩, 가져갈 행이 없을 때까지 반복합니다. 임베딩 큐가 가득 차면 대기합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 25.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       가져간 행은 claimToken과 함께 투입
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddingOutboxRelay {
+
+    private final EmbeddingOutboxService embeddingOutboxService;
+    private final IngestionPipeline ingestionPipeline;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${recomon.ingest.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recomon.ingest.outbox.batch-size:100}")
+    private int batchSize;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("recomon.ingest.outbox.pending", pending, AtomicLong::get)
+                .description("임베딩 대기 중인 outbox 행 수 (relay 주기마다 갱신)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${recomon.ingest.outbox.poll-interval-ms:5000}",
+            fixedDelayString = "${recomon.ingest.outbox.poll-interval-ms:5000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int relayed = 0;
+            EmbeddingOutboxService.OutboxBatch batch;
+            while (!(batch = embeddingOutboxService.claimDue(batchSize)).documents().isEmpty()) {
+                ingestionPipeline.submitDocuments("outbox", batch);
+                relayed += batch.documents().size();
+            }
+            if (relayed > 0) {
+                log.info(">>> [outbox] {}건을 임베딩 단계로 다시 보냈습니다.", relayed);
+            }
+            pending.set(embeddingOutboxService.countPending());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error(">>> [outbox] relay 실패", e);
+        }
+    }
+
+    public long pendingCount() {
+        return pending.get();
+    }
+}
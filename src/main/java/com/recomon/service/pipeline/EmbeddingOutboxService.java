@@ -0,0 +1,125 @@
+package com.recomon.service.pipeline;
+
+import com.recomon.domain.EmbeddingOutbox;
+import com.recomon.repository.EmbeddingOutboxJdbcRepository;
+import com.recomon.repository.EmbeddingOutboxRepository;
+import com.recomon.service.BookDocuments;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * packageName    : com.recomon.service.pipeline
+ * fileName       : EmbeddingOutboxService
+ * author         : kobe
+ * date           : 2026. 1. 25.
+ * description    : 임베딩 outbox 기록/가져가기/완료 처리
+ *                  enqueue는 books 저장 트랜잭션 안에서 호출하고, 파이프라인은 커밋 후 바로 임베딩을 시작합니다(fast path).
+ *                  이때 nextAttemptAt을 lease 뒤로 잡아두므로, 정상 처리되면 relay가 같은 행을 다시 가져가지 않습니다.
+ *                  기록/가져가기마다 새 claimToken을 행에 남기고, 임베딩 직전 같은 token인 행만 lease를 연장해 처리하며
+ *                  완료 시에도 같은 token인 행만 삭제합니다 (큐 대기가 lease보다 길어 relay가 다시 가져간 행, 처리 중
+ *                  다시 기록된 최신 행을 중복 임베딩하거나 잃지 않음).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 25.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       claimToken (OutboxBatch), 임베딩 직전 lease 연장, token 조건부 완료
+ * 2026. 2. 10.       kobe       실패 기록도 token 조건부
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmbeddingOutboxService {
+
+    private final EmbeddingOutboxRepository embeddingOutboxRepository;
+    private final EmbeddingOutboxJdbcRepository embeddingOutboxJdbcRepository;
+
+    // 이 시간 안에 vector_store 저장이 끝나지 않으면 relay가 다시 가져감 (첫 재시도 간격)
+    @Value("${recomon.ingest.outbox.lease:2m}")
+    private Duration lease;
+
+    // 재시도 간격 상한 (lease * 2^(시도 횟수 - 1))
+    @Value("${recomon.ingest.outbox.max-backoff:30m}")
+    private Duration maxBackoff;
+
+    // 한 번의 기록 / 가져가기로 맡은 행들 (행의 claimToken이 token과 같은 동안만 이 작업이 처리)
+    public record OutboxBatch(long token, List<Document> documents) {
+    }
+
+    // 호출한 쪽 트랜잭션(books 저장)에 참여
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxBatch enqueue(List<Document> documents) {
+        long token = newToken();
+        embeddingOutboxJdbcRepository.upsertAll(documents, LocalDateTime.now().plus(lease), token);
+        return new OutboxBatch(token, documents);
+    }
+
+    // 재시도 시각이 지난 행을 가져가고 다음 재시도 시각을 예약 (짧은 트랜잭션, 다른 인스턴스와 겹치지 않음)
+    @Transactional
+    public OutboxBatch claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        long token = newToken();
+        List<EmbeddingOutbox> due = embeddingOutboxRepository.findDueForUpdate(now, PageRequest.of(0, limit));
+        for (EmbeddingOutbox row : due) {
+            row.claim(now.plus(backoff(row.getAttempts() + 1)), token);
+            if (row.getAttempts() > 1) {
+                log.warn(">>> [outbox] 임베딩 재시도: ISBN={}, {}회차, 이전 오류={}",
+                        row.getIsbn(), row.getAttempts(), row.getLastError());
+            }
+        }
+        return new OutboxBatch(token, due.stream()
+                .map(row -> BookDocuments.of(row.getIsbn(), row.getTitle(), row.getCategory(), row.getContent()))
+                .toList());
+    }
+
+    // 임베딩 직전: 아직 token으로 맡고 있는 Document만 lease를 지금부터 다시 잡고 반환
+    // (큐에서 lease보다 오래 기다리는 사이 relay가 다시 가져간 행은 그쪽 작업이 임베딩하므로 제외)
+    public List<Document> renewLease(long token, List<Document> documents) {
+        Set<String> owned = embeddingOutboxJdbcRepository.renewLease(
+                documents.stream().map(Document::getId).toList(), token, LocalDateTime.now().plus(lease));
+        if (owned.size() < documents.size()) {
+            log.info(">>> [outbox] 다른 작업이 맡은 {}건은 임베딩하지 않습니다.", documents.size() - owned.size());
+        }
+        return documents.stream().filter(document -> owned.contains(document.getId())).toList();
+    }
+
+    // vector_store 저장 완료 (token이 같은 행만 삭제, 그 사이 다시 기록된 행은 남아 다시 임베딩)
+    public void complete(long token, Collection<String> documentIds) {
+        embeddingOutboxJdbcRepository.deleteClaimed(documentIds, token);
+    }
+
+    // 임베딩/저장 실패: 행은 남겨두고 예약된 재시도 시각에 relay가 다시 가져감 (token이 같은 행에만 사유 기록)
+    public void fail(long token, Collection<String> documentIds, Exception e) {
+        try {
+            embeddingOutboxJdbcRepository.markFailed(documentIds, token,
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (RuntimeException markError) {
+            log.warn(">>> [outbox] 실패 사유 기록 실패 ({}건)", documentIds.size(), markError);
+        }
+    }
+
+    public long countPending() {
+        return embeddingOutboxJdbcRepository.countPending();
+    }
+
+    private static long newToken() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    private Duration backoff(int attempt) {
+        Duration backoff = lease.multipliedBy(1L << Math.min(attempt - 1, 16));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
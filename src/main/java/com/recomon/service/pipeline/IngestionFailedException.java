@@ -0,0 +1,29 @@
+package com.recomon.service.pipeline;
+
+import lombok.Getter;
+
+/**
+ * packageName    : com.recomon.service.pipeline
+ * fileName       : IngestionFailedException
+ * author         : kobe
+ * date           : 2026. 2. 9.
+ * description    : 카테고리 수집이 fetch / clean / persist 단계 오류나 파이프라인 종료로 끝나지 못함
+ *                  실패 전까지 저장된 신규 도서 수를 함께 전달합니다 (부분 저장을 성공으로 보지 않도록).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 9.        kobe       최초 생성
+ */
+@Getter
+public class IngestionFailedException extends RuntimeException {
+
+    private final String category;
+    private final int savedCount;
+
+    public IngestionFailedException(String category, int savedCount, Throwable cause) {
+        super("'" + category + "' 수집 실패 (저장 " + savedCount + "권): "
+                + (cause == null ? "파이프라인 종료" : cause.getMessage()), cause);
+        this.category = category;
+        this.savedCount = savedCount;
+    }
+}
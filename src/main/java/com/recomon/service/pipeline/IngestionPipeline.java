@@ -0,0 +1,458 @@
+package com.recomon.service.pipeline;
+
+import com.recomon.config.QueryCountInspector;
+import com.recomon.domain.Book;
+import com.recomon.dto.NaverBookItem;
+import com.recomon.dto.NaverBookSearchResponse;
+import com.recomon.repository.BookRepository;
+import com.recomon.repository.VectorDocumentRepository;
+import com.recomon.service.BookDocuments;
+import com.recomon.service.CatalogVersion;
+import com.recomon.service.HtmlCleaner;
+import com.recomon.service.pipeline.EmbeddingOutboxService.OutboxBatch;
+import com.recomon.service.source.BookSource;
+import com.recomon.vectorindex.VectorSearcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * packageName    : com.recomon.service.pipeline
+ * fileName       : IngestionPipeline
+ * author         : kobe
+ * date           : 2026. 1. 20.
+ * description    : 도서 수집 파이프라인
+ *                  fetch(네이버 API) -> clean(HTML 정리/정규화) -> persist(MySQL) -> embed(임베딩) -> write(pgvector)
+ *                  단계마다 bounded 큐와 독립된 워커 수를 가지므로, 임베딩이 느려도 다른 카테고리의 수집/저장은 계속 진행되고
+ *                  임베딩 큐가 가득 차면 persist 단계가 대기하여 메모리가 무한히 늘어나지 않습니다.
+ *                  (fetch 큐만 unbounded: persist가 다음 페이지를 fetch에 넣는 순환 구조라 bounded면 교착될 수 있음.
+ *                   카테고리당 한 번에 한 페이지만 진행하므로 실제 크기는 진행 중인 카테고리 수를 넘지 않음)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 20.        kobe       최초 생성 (BookCollectorService.collectBooks의 단일 루프를 단계별로 분리)
+ * 2026. 1. 25.        kobe       embedding outbox (persist 트랜잭션에 기록, write 완료 시 삭제)
+ * 2026. 1. 28.        kobe       write 후 CatalogVersion 증가
+ * 2026. 1. 29.        kobe       write 시 HNSW 인덱스 갱신
+ * 2026. 2. 2.        kobe       JVM 내 인덱스 갱신을 VectorSearcher로 (hnsw / flat)
+ * 2026. 2. 9.        kobe       fetch / clean / persist 실패 시 수집을 예외로 완료
+ * 2026. 2. 9.        kobe       outbox claimToken: 임베딩 직전 lease 연장 (다른 작업이 맡은 행 제외), token 조건부 완료
+ * 2026. 2. 9.        kobe       write의 CatalogVersion 증가를 markChanged로 (간격 단위로 합침)
+ * 2026. 2. 10.       kobe       임베딩 실패는 lease를 다시 잡은 Document만 token 조건부로 기록
+ * 2026. 2. 10.       kobe       persist 시도마다 새 Book 엔티티 (중복 충돌 재시도가 merge로 동작하지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngestionPipeline {
+
+    private static final int TARGET_COUNT = 20; // 각 카테고리별 목표 수집 개수 (중복 제외)
+    private static final int MAX_PAGES = 5;     // 최대 5페이지까지 시도 (500권)
+    private static final int DISPLAY = 100;     // 한 페이지당 최대 100개
+
+    private final BookSource bookSource; // live / record / replay (recomon.book-source.mode)
+    private final BookRepository bookRepository;
+    private final VectorDocumentRepository vectorDocumentRepository;
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingOutboxService embeddingOutboxService; // books 저장과 같은 트랜잭션에 임베딩 대기열 기록
+    private final CatalogVersion catalogVersion;
+    private final VectorSearcher vectorSearcher;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${recomon.ingest.pipeline.fetch.workers:4}")
+    private int fetchWorkers;
+
+    @Value("${recomon.ingest.pipeline.clean.workers:1}")
+    private int cleanWorkers;
+
+    @Value("${recomon.ingest.pipeline.clean.queue-capacity:8}")
+    private int cleanQueueCapacity;
+
+    @Value("${recomon.ingest.pipeline.persist.workers:2}")
+    private int persistWorkers;
+
+    @Value("${recomon.ingest.pipeline.persist.queue-capacity:8}")
+    private int persistQueueCapacity;
+
+    @Value("${recomon.ingest.pipeline.embed.workers:2}")
+    private int embedWorkers;
+
+    @Value("${recomon.ingest.pipeline.embed.queue-capacity:16}")
+    private int embedQueueCapacity;
+
+    @Value("${recomon.ingest.pipeline.write.workers:1}")
+    private int writeWorkers;
+
+    @Value("${recomon.ingest.pipeline.write.queue-capacity:8}")
+    private int writeQueueCapacity;
+
+    // 한 번의 임베딩 요청에 담을 최대 Document 수
+    @Value("${recomon.ingest.embedding.batch-size:100}")
+    private int embeddingBatchSize;
+
+    // 배치가 덜 찼더라도 이 시간이 지나면 임베딩 요청
+    @Value("${recomon.ingest.embedding.flush-interval-ms:500}")
+    private long embeddingFlushIntervalMs;
+
+    private PipelineStage<FetchTask> fetchStage;
+    private PipelineStage<FetchedPage> cleanStage;
+    private PipelineStage<CleanedPage> persistStage;
+    private PipelineStage<EmbedTask> embedStage;
+    private PipelineStage<EmbeddedBatch> writeStage;
+    private final Map<String, PipelineStage<?>> stages = new LinkedHashMap<>();
+
+    private final Set<CategoryRun> activeRuns = ConcurrentHashMap.newKeySet();
+
+    private TransactionTemplate transactionTemplate;
+    private DistributionSummary pageQueryCounter;
+    private Counter documentCounter;
+
+    // 누적 처리량 (docs/sec 계산용, 첫 저장부터 마지막 저장까지)
+    private final AtomicLong totalDocuments = new AtomicLong();
+    private final AtomicLong firstWriteAt = new AtomicLong();
+    private final AtomicLong lastWriteAt = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        pageQueryCounter = DistributionSummary.builder("recomon.ingest.page.queries")
+                .description("수집 페이지당 RDB SQL 실행 횟수")
+                .register(meterRegistry);
+        documentCounter = Counter.builder("recomon.ingest.embedding.documents")
+                .description("Vector Store에 저장된 Document 수")
+                .register(meterRegistry);
+        Gauge.builder("recomon.ingest.embedding.throughput", this, IngestionPipeline::documentsPerSecond)
+                .description("누적 임베딩 처리량 (docs/sec)")
+                .register(meterRegistry);
+
+        // fetch / clean / persist 실패는 수집 실패 (부분 저장 수로 정상 완료하지 않음)
+        fetchStage = register(new PipelineStage<>("fetch", new LinkedBlockingQueue<>(), fetchWorkers,
+                this::fetch, (task, e) -> task.run().fail(e), meterRegistry));
+        cleanStage = register(new PipelineStage<>("clean", new ArrayBlockingQueue<>(cleanQueueCapacity), cleanWorkers,
+                this::clean, (page, e) -> page.run().fail(e), meterRegistry));
+        persistStage = register(new PipelineStage<>("persist", new ArrayBlockingQueue<>(persistQueueCapacity), persistWorkers,
+                this::persist, (page, e) -> page.run().fail(e), meterRegistry));
+        embedStage = register(new PipelineStage<>("embed", new ArrayBlockingQueue<>(embedQueueCapacity), embedWorkers,
+                task -> task.documents().size(), embeddingBatchSize, embeddingFlushIntervalMs,
+                this::embed, this::embedFailed, meterRegistry));
+        writeStage = register(new PipelineStage<>("write", new ArrayBlockingQueue<>(writeQueueCapacity), writeWorkers,
+                this::write, (batch, e) -> writeFailed(batch.tasks(), e), meterRegistry));
+
+        stages.values().forEach(PipelineStage::start);
+    }
+
+    @PreDestroy
+    void stop() {
+        stages.values().forEach(PipelineStage::stop);
+        activeRuns.forEach(CategoryRun::abort); // 대기 중인 호출자가 멈추지 않도록
+    }
+
+    // 카테고리 수집 시작 (완료 시 신규 저장 수, fetch / clean / persist 실패 시 IngestionFailedException)
+    public CompletableFuture<Integer> submit(String category) throws InterruptedException {
+        log.info(">>> '{}' 관련 도서 수집 시작...", category);
+        CategoryRun run = new CategoryRun(category, TARGET_COUNT);
+        activeRuns.add(run);
+        run.getResult().whenComplete((count, e) -> {
+            activeRuns.remove(run);
+            if (e == null) {
+                log.info(">>> '{}' 관련 도서 총 {}권 저장 및 임베딩 완료", category, count);
+            }
+        });
+
+        run.begin();
+        fetchStage.submit(new FetchTask(run, 1));
+        return run.getResult();
+    }
+
+    // 이미 RDB + outbox에 저장된 도서의 Document를 embed -> write 단계로 바로 투입 (대량 가져오기, outbox relay)
+    // 임베딩 큐가 가득 차면 대기하며, vector_store 저장이 끝나면 완료 (실패 시에도 완료되며 outbox에서 재시도)
+    public CompletableFuture<Integer> submitDocuments(String source, OutboxBatch batch) throws InterruptedException {
+        CategoryRun run = new CategoryRun(source, batch.documents().size());
+        run.addSaved(batch.documents().size());
+        run.begin();
+        embedStage.submit(new EmbedTask(run, batch.documents(), batch.token()));
+        return run.getResult();
+    }
+
+    // 호출자가 기다리기를 포기한 수집 (다음 페이지 요청 중단), 현재까지 신규 저장 수 반환
+    public int cancel(CompletableFuture<Integer> result) {
+        return activeRuns.stream()
+                .filter(run -> run.getResult() == result)
+                .findFirst()
+                .map(run -> {
+                    run.cancel();
+                    return run.getSavedCount().get();
+                })
+                .orElseGet(() -> result.isCompletedExceptionally() ? 0 : result.getNow(0));
+    }
+
+    // 단계별 큐 깊이/지연 (병목 단계 확인용)
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stages.forEach((name, stage) -> stats.put(name, stage.snapshot()));
+        return stats;
+    }
+
+    // 누적 처리량 (docs/sec)
+    public double documentsPerSecond() {
+        long nanos = lastWriteAt.get() - firstWriteAt.get();
+        return nanos <= 0 ? 0.0 : totalDocuments.get() / (nanos / 1_000_000_000.0);
+    }
+
+    // ===== 단계별 처리 =====
+
+    // 1. fetch: 도서 검색 (live 모드의 전역 호출 제한은 NaverBookClient에서 대기)
+    private void fetch(FetchTask task) {
+        CategoryRun run = task.run();
+        int start = (task.page() - 1) * DISPLAY + 1; // 1, 101, 201, ...
+        NaverBookSearchResponse body;
+        try {
+            body = bookSource.search(run.getCategory(), start, DISPLAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+            return;
+        }
+
+        if (body == null || body.getItems() == null || body.getItems().isEmpty()) {
+            log.info(">>> '{}' {}페이지: 더 이상 데이터가 없습니다.", run.getCategory(), task.page());
+            run.end();
+            return;
+        }
+        log.info(">>> '{}' {}페이지: API에서 {}권 반환됨", run.getCategory(), task.page(), body.getItems().size());
+        put(cleanStage, new FetchedPage(run, task.page(), body.getItems()));
+    }
+
+    // 2. clean: HTML 정리, 페이지 내 중복 ISBN 제거, 출판년도 파싱
+    private void clean(FetchedPage page) {
+        Set<String> seenIsbns = new HashSet<>();
+        List<Candidate> candidates = new ArrayList<>();
+        for (NaverBookItem item : page.items()) {
+            String isbn = item.getIsbn();
+            if (isbn == null || isbn.isEmpty() || !seenIsbns.add(isbn)) {
+                continue;
+            }
+            String cleanedTitle = HtmlCleaner.clean(item.getTitle());
+            String cleanedDesc = HtmlCleaner.clean(item.getDescription());
+            String contentToEmbed = cleanedDesc.length() > 10 ? cleanedDesc : cleanedTitle;
+            candidates.add(new Candidate(isbn, item.getImage(), cleanedTitle, HtmlCleaner.clean(item.getAuthor()),
+                    Book.parsePublishedYear(item.getPubdate()), contentToEmbed));
+        }
+        put(persistStage, new CleanedPage(page.run(), page.page(), page.items().size(), candidates));
+    }
+
+    // 3. persist: 페이지 단위 짧은 트랜잭션으로 신규 INSERT + 이미지 UPDATE, 이후 다음 페이지 요청
+    private void persist(CleanedPage page) {
+        CategoryRun run = page.run();
+        OutboxBatch saved;
+        try {
+            saved = transactionTemplate.execute(status -> persistPage(page));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 카테고리가 같은 ISBN을 먼저 저장한 경우: 기존 책 조회부터 한 번 더 시도 (Book 엔티티는 새로 만듦)
+            log.warn(">>> '{}' {}페이지: 중복 ISBN 충돌, 재시도합니다.", run.getCategory(), page.page());
+            saved = transactionTemplate.execute(status -> persistPage(page));
+        }
+        List<Document> newDocuments = saved.documents();
+        run.addSaved(newDocuments.size());
+
+        // 목표에 못 미쳤고 다음 페이지가 있을 수 있으면 이어서 요청 (카테고리당 한 페이지씩 순서대로 진행)
+        boolean fullPage = page.itemCount() >= DISPLAY;
+        if (!run.isCancelled() && run.remaining() > 0 && page.page() < MAX_PAGES && fullPage) {
+            run.begin();
+            put(fetchStage, new FetchTask(run, page.page() + 1));
+        }
+
+        if (newDocuments.isEmpty()) {
+            run.end();
+            return;
+        }
+        put(embedStage, new EmbedTask(run, newDocuments, saved.token())); // 임베딩 큐가 가득 차면 여기서 대기 (backpressure)
+    }
+
+    private OutboxBatch persistPage(CleanedPage page) {
+        CategoryRun run = page.run();
+        QueryCountInspector.reset();
+
+        // 페이지의 ISBN을 한 번에 조회 (책마다 existsById/findById 하지 않음)
+        Map<String, Book> existingBooks = bookRepository.findAllById(
+                        page.candidates().stream().map(Candidate::isbn).toList()).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+
+        List<Book> newBooks = new ArrayList<>();
+        List<Document> newDocuments = new ArrayList<>();
+        int duplicateCount = 0;
+        int imageUpdateCount = 0;
+        int remaining = run.remaining();
+
+        for (Candidate candidate : page.candidates()) {
+            Book existingBook = existingBooks.get(candidate.isbn());
+            if (existingBook != null) {
+                // 기존 책: imageUrl이 비어있으면 영속 엔티티를 수정 (flush 시 배치 UPDATE)
+                String imageUrl = candidate.imageUrl();
+                if (!existingBook.hasImage() && imageUrl != null && !imageUrl.isEmpty()) {
+                    existingBook.updateImageUrl(imageUrl);
+                    imageUpdateCount++;
+                }
+                duplicateCount++;
+                continue;
+            }
+
+            // 목표 개수에 도달하면 신규 책은 더 담지 않음
+            if (newBooks.size() >= remaining) {
+                break;
+            }
+            newBooks.add(candidate.newBook(run.getCategory()));
+            // ISBN 기반 ID로 저장하므로 다시 수집해도 vector_store에 중복 행이 생기지 않음
+            newDocuments.add(BookDocuments.of(candidate.isbn(), candidate.title(), run.getCategory(), candidate.content()));
+        }
+
+        bookRepository.saveAll(newBooks);
+        bookRepository.flush();
+        OutboxBatch outbox = embeddingOutboxService.enqueue(newDocuments); // 커밋되면 임베딩이 실패해도 relay가 다시 처리
+        int pageQueryCount = QueryCountInspector.current();
+        pageQueryCounter.record(pageQueryCount);
+
+        log.info(">>> '{}' {}페이지: API 반환 {}권, 신규 저장 {}권, 중복 {}권, 이미지 갱신 {}권, SQL {}회",
+                run.getCategory(), page.page(), page.itemCount(), newBooks.size(), duplicateCount,
+                imageUpdateCount, pageQueryCount);
+        return outbox;
+    }
+
+    // 4. embed: 여러 페이지의 Document를 모아 한 번의 임베딩 요청
+    private void embed(List<EmbedTask> tasks) {
+        // 큐에서 기다리는 동안 lease가 지나 relay가 다시 가져간(또는 다시 기록된) 행은 그쪽 작업이 처리하므로 제외,
+        // 남은 행은 지금부터 lease를 다시 잡음
+        List<EmbedTask> claimed = new ArrayList<>(tasks.size());
+        for (EmbedTask task : tasks) {
+            claimed.add(new EmbedTask(task.run(),
+                    embeddingOutboxService.renewLease(task.outboxToken(), task.documents()), task.outboxToken()));
+        }
+        // 여러 작업에 같은 도서가 있으면 마지막 것만 (한 번의 upsert 문에서 같은 행을 두 번 갱신할 수 없음)
+        Map<String, Document> byId = new LinkedHashMap<>();
+        claimed.forEach(task -> task.documents().forEach(document -> byId.put(document.getId(), document)));
+        if (byId.isEmpty()) {
+            claimed.forEach(task -> task.run().end());
+            return;
+        }
+        List<Document> documents = List.copyOf(byId.values());
+        List<float[]> embeddings;
+        try {
+            embeddings = embeddingModel.embed(documents.stream().map(Document::getText).toList());
+        } catch (RuntimeException e) {
+            log.error(">>> 임베딩 요청 실패 ({}건)", documents.size(), e);
+            writeFailed(claimed, e); // 다른 작업이 맡은 Document는 실패로 기록하지 않음
+            return;
+        }
+        put(writeStage, new EmbeddedBatch(claimed, documents, embeddings));
+    }
+
+    // 5. write: 계산된 임베딩을 vector_store에 배치 upsert
+    private void write(EmbeddedBatch batch) {
+        long[] revisions = vectorDocumentRepository.upsert(batch.documents(), batch.embeddings());
+        // JVM 내 검색 인덱스에도 같은 변경 반영 (쓴 revision까지 워터마크를 올려 주기 따라잡기가 다시 읽지 않도록)
+        vectorSearcher.upsert(batch.documents(), batch.embeddings(), revisions);
+        catalogVersion.markChanged(); // 새 임베딩이 검색 대상이 되었으므로 추천 결과 캐시 무효화 (배치마다 올리지 않고 간격 단위로 합침)
+
+        long now = System.nanoTime();
+        firstWriteAt.compareAndSet(0, now);
+        lastWriteAt.set(now);
+        totalDocuments.addAndGet(batch.documents().size());
+        documentCounter.increment(batch.documents().size());
+        log.info(">>> 임베딩 배치 저장: {}건 (누적 {} docs/sec)",
+                batch.documents().size(), String.format("%.1f", documentsPerSecond()));
+
+        batch.tasks().forEach(task -> embeddingOutboxService.complete(task.outboxToken(),
+                task.documents().stream().map(Document::getId).toList()));
+        batch.tasks().forEach(task -> task.run().end());
+    }
+
+    // 임베딩/저장 실패: outbox 행은 남아 있으므로 예약된 재시도 시각에 relay가 다시 처리
+    // (도서는 이미 RDB에 커밋되었으므로 수집 자체는 정상 종료로 봄)
+    // 여기로 오는 것은 lease 연장 중 실패뿐 (임베딩 요청 실패는 embed()가 연장한 Document로 처리),
+    // 어느 행을 맡고 있는지 모르므로 token이 같은 행에만 사유가 기록됨
+    private void embedFailed(List<EmbedTask> tasks, Exception e) {
+        writeFailed(tasks, e);
+    }
+
+    private void writeFailed(List<EmbedTask> tasks, Exception e) {
+        tasks.forEach(task -> embeddingOutboxService.fail(task.outboxToken(),
+                task.documents().stream().map(Document::getId).toList(), e));
+        tasks.forEach(task -> task.run().end());
+    }
+
+    // 다음 단계 큐에 넣기 (큐가 가득 차면 대기)
+    private <T> void put(PipelineStage<T> stage, T item) {
+        try {
+            stage.submit(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("파이프라인 종료 중 인터럽트", e);
+        }
+    }
+
+    private <T> PipelineStage<T> register(PipelineStage<T> stage) {
+        stages.put(stage.getName(), stage);
+        return stage;
+    }
+
+    // ===== 단계 사이에 전달되는 작업 단위 =====
+
+    private record FetchTask(CategoryRun run, int page) {
+    }
+
+    private record FetchedPage(CategoryRun run, int page, List<NaverBookItem> items) {
+    }
+
+    private record Candidate(String isbn, String imageUrl, String title, String author, int publishedYear,
+                             String content) {
+
+        // persist 시도마다 새 엔티티 (롤백된 시도에서 @PostPersist로 persisted가 켜진 인스턴스를 재시도에 쓰면
+        // isNew()가 false가 되어 INSERT 대신 merge로 동작)
+        Book newBook(String category) {
+            return Book.builder()
+                    .isbn(isbn)
+                    .title(title)
+                    .author(author)
+                    .imageUrl(imageUrl) // 이미지 URL 저장
+                    .category(category) // 검색어를 카테고리로 저장
+                    .publishedYear(publishedYear)
+                    .rating(0.0) // 기본값
+                    .reviewCount(0) // 기본값
+                    .bestSeller(false) // 기본값
+                    .awardWinner(false) // 기본값
+                    .build();
+        }
+    }
+
+    private record CleanedPage(CategoryRun run, int page, int itemCount, List<Candidate> candidates) {
+    }
+
+    // outboxToken: 이 작업이 맡은 outbox 행의 claimToken
+    private record EmbedTask(CategoryRun run, List<Document> documents, long outboxToken) {
+    }
+
+    private record EmbeddedBatch(List<EmbedTask> tasks, List<Document> documents, List<float[]> embeddings) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.recomon.service.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * packageName    : com.recomon.service.pipeline
+ * fileName       : PipelineStage
+ * author         : kobe
+ * date           : 2026. 1. 20.
+ * description    : 수집 파이프라인의 한 단계 (입력 큐 + 독립된 워커 스레드)
+ *                  입력 큐가 가득 차면 submit()이 대기하므로 느린 단계가 앞 단계를 자연스럽게 늦춥니다(backpressure).
+ *                  maxBatchWeight > 1 이면 큐에서 여러 항목을 모아 한 번에 처리합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 20.        kobe       최초 생성
+ */
+@Slf4j
+class PipelineStage<T> {
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int workers;
+    private final Consumer<List<T>> handler;
+    private final BiConsumer<List<T>, Exception> errorHandler;
+
+    // 배치 구성 (weight 합이 maxBatchWeight에 도달하거나 maxWait가 지나면 처리)
+    private final ToIntFunction<T> weigher;
+    private final int maxBatchWeight;
+    private final long maxWaitNanos;
+
+    private final Timer latencyTimer;
+    private final Timer blockedTimer;
+    private final Counter processedCounter;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    PipelineStage(String name, BlockingQueue<T> queue, int workers,
+                  ToIntFunction<T> weigher, int maxBatchWeight, long maxWaitMillis,
+                  Consumer<List<T>> handler, BiConsumer<List<T>, Exception> errorHandler,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.queue = queue;
+        this.workers = workers;
+        this.weigher = weigher;
+        this.maxBatchWeight = maxBatchWeight;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.handler = handler;
+        this.errorHandler = errorHandler;
+
+        Gauge.builder("recomon.ingest.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("단계별 입력 큐에 대기 중인 항목 수")
+                .tag("stage", name)
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("recomon.ingest.pipeline.stage.latency")
+                .description("단계별 배치 처리 시간")
+                .tag("stage", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.blockedTimer = Timer.builder("recomon.ingest.pipeline.stage.blocked")
+                .description("큐가 가득 차서 앞 단계가 이 단계에 넣기 위해 기다린 시간 (backpressure)")
+                .tag("stage", name)
+                .register(meterRegistry);
+        this.processedCounter = Counter.builder("recomon.ingest.pipeline.stage.processed")
+                .description("단계별 처리 항목 수")
+                .tag("stage", name)
+                .register(meterRegistry);
+    }
+
+    // 단일 항목씩 처리하는 단계
+    PipelineStage(String name, BlockingQueue<T> queue, int workers,
+                  Consumer<T> handler, BiConsumer<T, Exception> errorHandler, MeterRegistry meterRegistry) {
+        this(name, queue, workers, item -> 1, 1, 0,
+                batch -> handler.accept(batch.get(0)),
+                (batch, e) -> errorHandler.accept(batch.get(0), e),
+                meterRegistry);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void start() {
+        running = true;
+        for (int i = 1; i <= workers; i++) {
+            Thread thread = new Thread(this::work, "ingest-" + name + "-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    // 큐가 가득 차 있으면 자리가 날 때까지 대기 (backpressure)
+    void submit(T item) throws InterruptedException {
+        if (queue.offer(item)) {
+            return;
+        }
+        long start = System.nanoTime();
+        queue.put(item);
+        blockedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // 관리자 화면용 현재 상태
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("workers", workers);
+        snapshot.put("queueDepth", queue.size());
+        snapshot.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        snapshot.put("processed", (long) processedCounter.count());
+        snapshot.put("meanLatencyMs", round(latencyTimer.mean(TimeUnit.MILLISECONDS)));
+        snapshot.put("maxLatencyMs", round(latencyTimer.max(TimeUnit.MILLISECONDS)));
+        snapshot.put("blockedMs", round(blockedTimer.totalTime(TimeUnit.MILLISECONDS)));
+        return snapshot;
+    }
+
+    private void work() {
+        while (running) {
+            List<T> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                handler.accept(batch);
+            } catch (Exception e) {
+                log.error(">>> 파이프라인 '{}' 단계 처리 실패 ({}건)", name, batch.size(), e);
+                errorHandler.accept(batch, e);
+            } finally {
+                latencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                processedCounter.increment(batch.size());
+            }
+        }
+    }
+
+    private List<T> nextBatch() throws InterruptedException {
+        T first = queue.take();
+        List<T> batch = new ArrayList<>();
+        batch.add(first);
+
+        int weight = weigher.applyAsInt(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (weight < maxBatchWeight) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            weight += weigher.applyAsInt(next);
+        }
+        return batch;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.recomon.service.source;
+
+import com.recomon.dto.NaverBookSearchResponse;
+
+/**
+ * packageName    : com.recomon.service.source
+ * fileName       : BookSource
+ * author         : kobe
+ * date           : 2026. 1. 21.
+ * description    : 도서 검색 결과 페이지 공급원
+ *                  live(네이버 API), record(네이버 API + JSONL 기록), replay(JSONL 재생) 중 recomon.book-source.mode로 선택
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 21.        kobe       최초 생성
+ */
+public interface BookSource {
+
+    // 검색어로 도서 검색 (start: 1부터 시작, display: 최대 100), 결과가 없으면 items가 비어있거나 null
+    NaverBookSearchResponse search(String query, int start, int display) throws InterruptedException;
+
+    // ISBN 한 권 조회 (기본: ISBN을 검색어로 1건 검색)
+    default NaverBookSearchResponse searchByIsbn(String isbn) throws InterruptedException {
+        return search(isbn, 1, 1);
+    }
+}
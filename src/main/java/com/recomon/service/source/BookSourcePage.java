@@ -0,0 +1,41 @@
+package com.recomon.service.source;
+
+import com.recomon.dto.NaverBookSearchResponse;
+
+/**
+ * packageName    : com.recomon.service.source
+ * fileName       : BookSourcePage
+ * author         : kobe
+ * date           : 2026. 1. 21.
+ * description    : 기록/재생 파일(JSONL)의 한 줄 = 검색 요청 1건과 그 응답
+ *                  kind가 ISBN이면 ISBN 한 권 조회 (query = ISBN), 없으면(이전에 기록한 파일) 검색어 검색
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 21.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       요청 종류(kind): 검색어 검색 / ISBN 조회
+ */
+public record BookSourcePage(Kind kind, String query, int start, int display, NaverBookSearchResponse response) {
+
+    public enum Kind { SEARCH, ISBN }
+
+    public BookSourcePage {
+        kind = kind == null ? Kind.SEARCH : kind;
+    }
+
+    static BookSourcePage search(String query, int start, int display, NaverBookSearchResponse response) {
+        return new BookSourcePage(Kind.SEARCH, query, start, display, response);
+    }
+
+    static BookSourcePage isbn(String isbn, NaverBookSearchResponse response) {
+        return new BookSourcePage(Kind.ISBN, isbn, 1, 1, response);
+    }
+
+    String key() {
+        return kind == Kind.ISBN ? query : keyOf(query, start, display);
+    }
+
+    static String keyOf(String query, int start, int display) {
+        return query + "|" + start + "|" + display;
+    }
+}
@@ -0,0 +1,85 @@
+package com.recomon.service.source;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recomon.dto.NaverBookSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * packageName    : com.recomon.service.source
+ * fileName       : RecordingBookSource
+ * author         : kobe
+ * date           : 2026. 1. 21.
+ * description    : 실제 공급원(네이버 API)의 응답을 그대로 반환하면서 JSONL 파일에 한 줄씩 추가 기록
+ *                  기록한 파일은 ReplayBookSource로 네트워크 없이 재생할 수 있습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 21.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       ISBN 조회는 검색어와 구분해 기록 (kind = ISBN)
+ */
+@Slf4j
+public class RecordingBookSource implements BookSource, AutoCloseable {
+
+    private final BookSource delegate;
+    private final ObjectMapper objectMapper;
+    private final Path fixturePath;
+    private final Writer writer;
+
+    public RecordingBookSource(BookSource delegate, ObjectMapper objectMapper, Path fixturePath) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+        this.fixturePath = fixturePath;
+        try {
+            if (fixturePath.getParent() != null) {
+                Files.createDirectories(fixturePath.getParent());
+            }
+            this.writer = Files.newBufferedWriter(fixturePath, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("기록 파일을 열 수 없습니다: " + fixturePath, e);
+        }
+        log.info(">>> 도서 검색 응답을 기록합니다: {}", fixturePath.toAbsolutePath());
+    }
+
+    @Override
+    public NaverBookSearchResponse search(String query, int start, int display) throws InterruptedException {
+        NaverBookSearchResponse response = delegate.search(query, start, display);
+        append(BookSourcePage.search(query, start, display, response));
+        return response;
+    }
+
+    // 검색어로 재생되지 않도록 ISBN 조회로 구분해 기록 (ReplayBookSource.searchByIsbn으로 재생)
+    @Override
+    public NaverBookSearchResponse searchByIsbn(String isbn) throws InterruptedException {
+        NaverBookSearchResponse response = delegate.searchByIsbn(isbn);
+        append(BookSourcePage.isbn(isbn, response));
+        return response;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    // 여러 수집 스레드가 동시에 호출하므로 줄 단위로 동기화 (한 줄이 섞이지 않도록)
+    private synchronized void append(BookSourcePage page) {
+        try {
+            writer.write(objectMapper.writeValueAsString(page));
+            writer.write('\n');
+            writer.flush();
+        } catch (JsonProcessingException e) {
+            log.warn(">>> 응답 기록 실패 (직렬화): {}", page.key(), e);
+        } catch (IOException e) {
+            log.warn(">>> 응답 기록 실패: {} -> {}", page.key(), fixturePath, e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.recomon.service.source;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recomon.dto.NaverBookItem;
+import com.recomon.dto.NaverBookSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.service.source
+ * fileName       : ReplayBookSource
+ * author         : kobe
+ * date           : 2026. 1. 21.
+ * description    : RecordingBookSource가 기록한 JSONL을 메모리에 올려 재생 (네트워크 없이 수집/벤치마크)
+ *                  요청마다 latency(+ 0~jitter 무작위)만큼 대기하여 실제 API 응답 시간을 흉내냅니다.
+ *                  기록에 없는 요청은 빈 결과(더 이상 데이터 없음)로 응답합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 21.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       ISBN 조회 기록은 searchByIsbn으로만 재생 (검색어 목록에서 제외)
+ */
+@Slf4j
+public class ReplayBookSource implements BookSource {
+
+    private final Map<String, NaverBookSearchResponse> pages = new HashMap<>();
+    private final Map<String, NaverBookSearchResponse> isbnLookups = new HashMap<>();
+    private final Set<String> queries = new LinkedHashSet<>();
+    private final long latencyNanos;
+    private final long jitterNanos;
+
+    public ReplayBookSource(ObjectMapper objectMapper, Path fixturePath, Duration latency, Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+
+        try (BufferedReader reader = Files.newBufferedReader(fixturePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                BookSourcePage page = objectMapper.readValue(line, BookSourcePage.class);
+                // 같은 요청이 여러 번 기록되었으면 마지막 응답 사용
+                if (page.kind() == BookSourcePage.Kind.ISBN) {
+                    isbnLookups.put(page.key(), page.response());
+                } else {
+                    pages.put(page.key(), page.response());
+                    queries.add(page.query());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("재생 파일을 읽을 수 없습니다: " + fixturePath, e);
+        }
+        log.info(">>> 도서 검색 응답 재생: {} ({}개 검색어, {}페이지, ISBN 조회 {}건, 지연 {}ms + 0~{}ms)",
+                fixturePath.toAbsolutePath(), queries.size(), pages.size(), isbnLookups.size(),
+                latency.toMillis(), jitter.toMillis());
+    }
+
+    @Override
+    public NaverBookSearchResponse search(String query, int start, int display) throws InterruptedException {
+        simulateLatency();
+        NaverBookSearchResponse response = pages.get(BookSourcePage.keyOf(query, start, display));
+        return response != null ? response : new NaverBookSearchResponse();
+    }
+
+    @Override
+    public NaverBookSearchResponse searchByIsbn(String isbn) throws InterruptedException {
+        simulateLatency();
+        NaverBookSearchResponse response = isbnLookups.get(isbn);
+        return response != null ? response : new NaverBookSearchResponse();
+    }
+
+    // 기록된 검색어 (기록 순서, ISBN 조회 제외)
+    public List<String> queries() {
+        return List.copyOf(queries);
+    }
+
+    // 검색 결과에 기록된 모든 ISBN (벤치마크 초기화용)
+    public Set<String> isbns() {
+        Set<String> isbns = new HashSet<>();
+        for (NaverBookSearchResponse response : pages.values()) {
+            if (response == null || response.getItems() == null) {
+                continue;
+            }
+            for (NaverBookItem item : response.getItems()) {
+                if (item.getIsbn() != null && !item.getIsbn().isEmpty()) {
+                    isbns.add(item.getIsbn());
+                }
+            }
+        }
+        return isbns;
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long delay = latencyNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.recomon.vectorindex;
+
+import java.nio.ByteBuffer;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : DotProduct
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : float 벡터 내적 (정규화한 벡터끼리는 코사인 유사도)
+ *                  힙 배열(float[])과 메모리 맵 파일(ByteBuffer, little endian) 모두 복사 없이 계산합니다.
+ *                  구현은 DotProducts.best()로 고릅니다 (jdk.incubator.vector가 있으면 SIMD, 없으면 스칼라).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ */
+interface DotProduct {
+
+    // scalar | simd
+    String name();
+
+    // query · data[offset, offset + query.length)
+    float dot(float[] query, float[] data, int offset);
+
+    // query · buffer[byteOffset, byteOffset + query.length * 4) (little endian float)
+    float dot(float[] query, ByteBuffer buffer, int byteOffset);
+}
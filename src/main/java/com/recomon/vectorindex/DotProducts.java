@@ -0,0 +1,47 @@
+package com.recomon.vectorindex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : DotProducts
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : 실행 환경에 맞는 내적 구현 선택
+ *                  jdk.incubator.vector 모듈이 로드되어 있으면(--add-modules jdk.incubator.vector) SIMD, 아니면 스칼라
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ */
+@Slf4j
+final class DotProducts {
+
+    private static final DotProduct BEST = detect();
+
+    private DotProducts() {
+    }
+
+    static DotProduct best() {
+        return BEST;
+    }
+
+    static DotProduct scalar() {
+        return ScalarDotProduct.INSTANCE;
+    }
+
+    private static DotProduct detect() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.info(">>> jdk.incubator.vector 모듈이 없어 스칼라 내적을 사용합니다 (--add-modules jdk.incubator.vector).");
+            return scalar();
+        }
+        try {
+            DotProduct simd = new SimdDotProduct();
+            log.info(">>> SIMD 내적 사용: {}", simd);
+            return simd;
+        } catch (LinkageError e) {
+            log.warn(">>> SIMD 내적을 사용할 수 없어 스칼라 내적을 사용합니다: {}", e.toString());
+            return scalar();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.recomon.vectorindex;
+
+import com.recomon.repository.VectorDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : FlatVectorIndex
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : 전체 임베딩을 힙의 연속된 float[] 하나에 두고 전수 비교하는 정확한 검색 인덱스
+ *                  SIMD 내적(DotProduct) + 고정 크기 힙(TopK)으로 후보마다 할당하지 않으므로,
+ *                  수만~수십만 건 카탈로그에서는 근사 인덱스 없이도 충분히 빠르고 recall이 항상 1입니다.
+ *                  recomon.vector-index.backend=flat 일 때만 시작 시 vector_store에서 읽어 들입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ * 2026. 2. 3.        kobe       ISBN 제외 조건 (카테고리 조건은 pgvector로)
+ * 2026. 2. 9.        kobe       정규화는 Vectors로
+ * 2026. 2. 10.       kobe       한도(max-documents)를 넘으면 적재 / 갱신을 멈추고 사용하지 않음 (적재 중 변경 목록도 비움)
+ */
+@Slf4j
+@Component
+public class FlatVectorIndex implements VectorIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final VectorDocumentRepository vectorDocumentRepository;
+    private final DotProduct dotProduct;
+    private final int dimensions;
+    private final boolean active;
+    private final int maxDocuments;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private float[] vectors = new float[0]; // 행 i의 벡터는 [i * dimensions, (i + 1) * dimensions)
+    private String[] ids = new String[0];
+    private String[] isbns = new String[0];
+    private int count;
+    private final Map<String, Integer> rowById = new HashMap<>();
+
+    // 적재 중 변경된 문서: 적재가 읽은 (더 오래된) 값으로 덮어쓰지 않음
+    private Set<String> changedWhileLoading = new HashSet<>();
+
+    private volatile boolean ready;
+    private volatile boolean failed;
+
+    public FlatVectorIndex(VectorDocumentRepository vectorDocumentRepository,
+                           @Value("${spring.ai.vectorstore.pgvector.dimensions}") int dimensions,
+                           @Value("${recomon.vector-index.enabled:true}") boolean enabled,
+                           @Value("${recomon.vector-index.backend:hnsw}") String backend,
+                           @Value("${recomon.vector-index.flat.max-documents:200000}") int maxDocuments,
+                           @Value("${recomon.vector-index.flat.simd:true}") boolean simd) {
+        this.vectorDocumentRepository = vectorDocumentRepository;
+        this.dimensions = dimensions;
+        this.active = enabled && "flat".equals(backend);
+        this.maxDocuments = maxDocuments;
+        this.dotProduct = simd ? DotProducts.best() : DotProducts.scalar();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!active) {
+            return;
+        }
+        Thread thread = new Thread(this::load, "vector-index-flat-load");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public String name() {
+        return "flat";
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready && !failed;
+    }
+
+    @Override
+    public Optional<List<Document>> search(float[] embedding, int topK, SearchFilter filter) {
+        // 행에는 ISBN만 두므로 카테고리 조건은 처리하지 않음 (호출 측이 pgvector로 검색)
+        if (!isReady() || filter.hasCategories()) {
+            return Optional.empty();
+        }
+        Set<String> excluded = filter.excludedIsbns();
+        float[] query = Vectors.normalize(embedding, dimensions);
+        TopK nearest = new TopK(topK);
+        int[] rows = new int[topK];
+        float[] distances = new float[topK];
+        List<Document> documents = new ArrayList<>(topK);
+
+        lock.readLock().lock();
+        try {
+            float[] data = vectors;
+            for (int row = 0, offset = 0; row < count; row++, offset += dimensions) {
+                float distance = 1 - dotProduct.dot(query, data, offset);
+                if (distance < nearest.worst() && (excluded.isEmpty() || !excluded.contains(isbns[row]))) {
+                    nearest.offer(row, distance);
+                }
+            }
+            int found = nearest.drainSorted(rows, distances);
+            for (int i = 0; i < found; i++) {
+                Map<String, Object> metadata = new HashMap<>();
+                metadata.put("isbn", isbns[rows[i]]);
+                metadata.put("distance", (double) distances[i]);
+                documents.add(Document.builder()
+                        .id(ids[rows[i]])
+                        .text("")
+                        .metadata(metadata)
+                        .score(1.0 - distances[i])
+                        .build());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(documents);
+    }
+
+    @Override
+    public Optional<Map<String, float[]>> findEmbeddingsByIds(Collection<String> documentIds) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        Map<String, float[]> embeddings = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String id : documentIds) {
+                Integer row = rowById.get(id);
+                if (row != null) {
+                    embeddings.put(id, Arrays.copyOfRange(vectors, row * dimensions, (row + 1) * dimensions));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(embeddings);
+    }
+
+    @Override
+    public void upsert(List<Document> documents, List<float[]> embeddings, long[] revisions) {
+        if (!active || failed) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < documents.size(); i++) {
+                Document document = documents.get(i);
+                if (changedWhileLoading != null) {
+                    changedWhileLoading.add(document.getId());
+                }
+                try {
+                    put(document.getId(), (String) document.getMetadata().get("isbn"), embeddings.get(i));
+                } catch (IllegalArgumentException e) {
+                    log.warn(">>> 전수 비교 인덱스에 추가하지 못한 문서 {}: {}", document.getId(), e.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+            log.error(">>> 전수 비교 인덱스 갱신 실패, 재시작 전까지 pgvector로 검색합니다.", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (failed) {
+            disable();
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> documentIds) {
+        if (!active || failed) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String id : documentIds) {
+                if (changedWhileLoading != null) {
+                    changedWhileLoading.add(id);
+                }
+                remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", active);
+        stats.put("ready", isReady());
+        lock.readLock().lock();
+        try {
+            stats.put("size", count);
+            stats.put("vectorBytes", (long) vectors.length * Float.BYTES);
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("dotProduct", dotProduct.toString());
+        return stats;
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            long stored = vectorDocumentRepository.count();
+            if (stored > maxDocuments) {
+                log.warn(">>> vector_store 문서 {}건이 전수 비교 인덱스 한도({}건)를 넘어 pgvector로 검색합니다.",
+                        stored, maxDocuments);
+                disable();
+                return;
+            }
+            vectorDocumentRepository.forEachEmbedding(embedding -> {
+                lock.writeLock().lock();
+                try {
+                    if (!changedWhileLoading.contains(embedding.id())) {
+                        put(embedding.id(), embedding.isbn(), embedding.embedding());
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.warn(">>> 전수 비교 인덱스에 추가하지 못한 문서 {}: {}", embedding.id(), e.getMessage());
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+            lock.writeLock().lock();
+            try {
+                changedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info(">>> 전수 비교 인덱스 적재 완료: {}건, 내적 {} ({}ms)", count, dotProduct,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.error(">>> 전수 비교 인덱스 적재 실패, pgvector로 검색합니다.", e);
+            disable();
+        }
+    }
+
+    // 더 이상 사용하지 않음: 이후 upsert / delete는 무시하고 적재 중 변경 목록과 배열을 놓음
+    private void disable() {
+        failed = true;
+        lock.writeLock().lock();
+        try {
+            changedWhileLoading = null;
+            vectors = new float[0];
+            ids = new String[0];
+            isbns = new String[0];
+            count = 0;
+            rowById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 쓰기 잠금 안에서 호출 (새 문서가 한도를 넘으면 IllegalStateException: 호출 측이 인덱스를 사용하지 않음)
+    private void put(String id, String isbn, float[] embedding) {
+        float[] vector = Vectors.normalize(embedding, dimensions);
+        Integer row = rowById.get(id);
+        if (row == null) {
+            if (count >= maxDocuments) {
+                throw new IllegalStateException("전수 비교 인덱스 한도 초과: " + maxDocuments + "건");
+            }
+            ensureCapacity(count + 1);
+            row = count++;
+            rowById.put(id, row);
+        }
+        System.arraycopy(vector, 0, vectors, row * dimensions, dimensions);
+        ids[row] = id;
+        isbns[row] = isbn;
+    }
+
+    // 마지막 행을 빈자리로 옮겨 배열을 연속으로 유지 (쓰기 잠금 안에서 호출)
+    private void remove(String id) {
+        Integer row = rowById.remove(id);
+        if (row == null) {
+            return;
+        }
+        int last = --count;
+        if (row != last) {
+            System.arraycopy(vectors, last * dimensions, vectors, row * dimensions, dimensions);
+            ids[row] = ids[last];
+            isbns[row] = isbns[last];
+            rowById.put(ids[row], row);
+        }
+        ids[last] = null;
+        isbns[last] = null;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= ids.length) {
+            return;
+        }
+        long newRows = Math.max(INITIAL_CAPACITY, (long) ids.length * 2);
+        newRows = Math.min(newRows, Integer.MAX_VALUE / dimensions);
+        if (newRows < rows) {
+            throw new IllegalStateException("전수 비교 인덱스 용량 초과: " + rows + "건");
+        }
+        vectors = Arrays.copyOf(vectors, (int) newRows * dimensions);
+        ids = Arrays.copyOf(ids, (int) newRows);
+        isbns = Arrays.copyOf(isbns, (int) newRows);
+    }
+}
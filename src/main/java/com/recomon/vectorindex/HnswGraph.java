@@ -0,0 +1,673 @@
+package com.recomon.vectorindex;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : HnswGraph
+ * author         : kobe
+ * date           : 2026. 1. 29.
+ * description    : 메모리 맵 파일에 저장되는 HNSW 그래프 (코사인 거리)
+ *                  노드마다 고정 크기 레코드(문서 ID, ISBN, 레벨별 이웃 목록, 정규화한 벡터)를 두므로
+ *                  재시작 시 파일을 다시 매핑하기만 하면 되고 그래프를 다시 만들지 않습니다.
+ *                  같은 문서를 다른 벡터로 다시 넣으면 이전 노드는 삭제 표시(tombstone)만 하고 새 노드를 추가합니다.
+ *                  검색은 읽기 잠금, 추가/삭제는 쓰기 잠금으로 동시에 사용할 수 있습니다.
+ *                  양자화(int8 / PQ)를 켜면 탐색은 힙의 작은 코드로 하고, 최종 후보만 원본 벡터를 읽어 다시 정렬합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 29.        kobe       최초 생성
+ * 2026. 1. 30.        kobe       양자화 코드로 탐색 + 원본 벡터로 다시 정렬
+ * 2026. 2. 2.        kobe       쿼리-노드 거리를 SIMD 내적으로 계산
+ * 2026. 2. 3.        kobe       검색 시 ISBN 제외 조건
+ * 2026. 2. 9.        kobe       헤더에 vector_store revision 워터마크 (형식 2), force()는 잠금 밖에서
+ * 2026. 2. 9.        kobe       quantized() (문서가 쌓인 뒤 양자화 학습 여부 확인)
+ * 2026. 2. 9.        kobe       정규화는 Vectors로
+ */
+final class HnswGraph implements Closeable {
+
+    static final int MAGIC = 0x484E5357; // "HNSW"
+    static final int FORMAT_VERSION = 2; // 2: 헤더에 revision 워터마크
+    static final int MAX_LEVEL = 6;
+    static final int ISBN_BYTES = 32;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final DotProduct DOT_PRODUCT = DotProducts.best();
+
+    // 헤더 (64바이트)
+    private static final int HEADER_BYTES = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_DIMENSIONS = 8;
+    private static final int H_M = 12;
+    private static final int H_COUNT = 16;
+    private static final int H_ENTRY_POINT = 20;
+    private static final int H_TOP_LEVEL = 24;
+    private static final int H_REVISION = 32; // long: 반영한 vector_store.revision 최댓값
+
+    // 노드 레코드: id(16) | level(1) | deleted(1) | 예약(2) | isbn(32) | 이웃 목록 | 벡터
+    private static final int R_ID_MSB = 0;
+    private static final int R_ID_LSB = 8;
+    private static final int R_LEVEL = 16;
+    private static final int R_DELETED = 17;
+    private static final int R_ISBN = 20;
+    private static final int R_NEIGHBORS = R_ISBN + ISBN_BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private FloatBuffer floats; // buffer의 float 뷰 (벡터 읽기/거리 계산)
+
+    private final int dimensions;
+    private final int m;              // 레벨 1 이상 최대 이웃 수
+    private final int m0;             // 레벨 0 최대 이웃 수 (2M)
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final int recordBytes;
+    private final int vectorOffset;
+
+    private int capacity;
+    private int count;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private long revision;
+
+    // 양자화 (null이면 원본 벡터로만 탐색): 노드 코드는 힙에, 원본 벡터는 메모리 맵 파일에 두고 다시 정렬할 때만 읽음
+    private VectorQuantizer quantizer;
+    private byte[] codes;
+    private int rerankFactor;
+
+    private final Map<UUID, Integer> nodeById = new HashMap<>(); // 삭제되지 않은 노드만
+    private final SplittableRandom random = new SplittableRandom();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private HnswGraph(Path path, FileChannel channel, int dimensions, int m, int efConstruction) {
+        this.path = path;
+        this.channel = channel;
+        this.dimensions = dimensions;
+        this.m = m;
+        this.m0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.vectorOffset = R_NEIGHBORS + Integer.BYTES * (1 + m0) + MAX_LEVEL * Integer.BYTES * (1 + m);
+        this.recordBytes = vectorOffset + Float.BYTES * dimensions;
+    }
+
+    // 파일이 있으면 매핑하여 그대로 사용하고, 없으면 새로 생성 (차원/M이 다르면 IllegalStateException)
+    static HnswGraph open(Path path, int dimensions, int m, int efConstruction) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean exists = Files.exists(path) && Files.size(path) >= HEADER_BYTES;
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        HnswGraph graph = new HnswGraph(path, channel, dimensions, m, efConstruction);
+        try {
+            if (exists) {
+                graph.load();
+            } else {
+                graph.create();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return graph;
+    }
+
+    // 추가/갱신 (같은 벡터로 다시 넣으면 아무것도 하지 않음)
+    void upsert(UUID id, String isbn, float[] vector) {
+        float[] normalized = Vectors.normalize(vector, dimensions);
+        byte[] isbnBytes = isbn == null ? new byte[0] : isbn.getBytes(StandardCharsets.UTF_8);
+        if (isbnBytes.length > ISBN_BYTES) {
+            throw new IllegalArgumentException("ISBN이 너무 깁니다: " + isbn);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodeById.get(id);
+            if (existing != null) {
+                if (Arrays.equals(vectorOf(existing), normalized)) {
+                    writeIsbn(existing, isbnBytes);
+                    return;
+                }
+                buffer.put(recordOffset(existing) + R_DELETED, (byte) 1);
+            }
+            insert(id, isbnBytes, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void delete(Collection<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            for (UUID id : ids) {
+                Integer node = nodeById.remove(id);
+                if (node != null) {
+                    buffer.put(recordOffset(node) + R_DELETED, (byte) 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 코사인 거리 오름차순 상위 k개 (삭제된 노드 제외)
+    List<Neighbor> search(float[] query, int k, int ef) {
+        return search(query, k, ef, Set.of());
+    }
+
+    // excludedIsbns의 노드는 탐색 경로로는 쓰되 결과에서 빼고, 그만큼 넓게 탐색하여 k개를 채움
+    List<Neighbor> search(float[] query, int k, int ef, Set<String> excludedIsbns) {
+        float[] normalized = Vectors.normalize(query, dimensions);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            // 양자화를 켠 경우 그래프 탐색은 코드로 근사 거리를 계산하고, 후보만 원본 벡터로 다시 정렬
+            NodeDistance approximate;
+            int width;
+            if (quantizer != null) {
+                VectorQuantizer.Scorer scorer = quantizer.scorer(normalized);
+                int bytesPerVector = quantizer.bytesPerVector();
+                approximate = node -> scorer.distance(codes, node * bytesPerVector);
+                width = Math.max(ef, (k + excludedIsbns.size()) * rerankFactor);
+            } else {
+                approximate = node -> distance(normalized, node);
+                width = Math.max(ef, k + excludedIsbns.size());
+            }
+
+            int current = entryPoint;
+            for (int level = topLevel; level > 0; level--) {
+                current = greedyClosest(approximate, current, level);
+            }
+            // 삭제된 노드가 후보 자리를 차지하므로 그만큼 넓게 탐색 (최대 두 배)
+            List<Candidate> candidates = searchLayer(approximate, current, width + Math.min(deletedCount(), width), 0);
+
+            List<Candidate> live = new ArrayList<>(candidates.size());
+            for (Candidate candidate : candidates) {
+                if (isDeleted(candidate.node())) {
+                    continue;
+                }
+                live.add(quantizer == null ? candidate : new Candidate(candidate.node(), distance(normalized, candidate.node())));
+            }
+            if (quantizer != null) {
+                live.sort(Comparator.comparingDouble(Candidate::distance));
+            }
+
+            List<Neighbor> results = new ArrayList<>(k);
+            for (Candidate candidate : live) {
+                if (results.size() == k) {
+                    break;
+                }
+                String isbn = readIsbn(candidate.node());
+                if (!excludedIsbns.contains(isbn)) {
+                    results.add(new Neighbor(readId(candidate.node()), isbn, candidate.distance()));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 저장된 (정규화한) 벡터, 없으면 null
+    float[] vector(UUID id) {
+        lock.readLock().lock();
+        try {
+            Integer node = nodeById.get(id);
+            return node == null ? null : vectorOf(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 양자화 사용: 기존 노드를 모두 인코딩 (검색 시 k * rerankFactor개 후보를 원본 벡터로 다시 정렬)
+    void enableQuantization(VectorQuantizer quantizer, int rerankFactor) {
+        lock.writeLock().lock();
+        try {
+            byte[] encoded = new byte[capacity * quantizer.bytesPerVector()];
+            for (int node = 0; node < count; node++) {
+                quantizer.encode(vectorOf(node), encoded, node * quantizer.bytesPerVector());
+            }
+            this.codes = encoded;
+            this.rerankFactor = Math.max(1, rerankFactor);
+            this.quantizer = quantizer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean quantized() {
+        lock.readLock().lock();
+        try {
+            return quantizer != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 양자화 학습용 표본: 삭제되지 않은 노드에서 고르게 최대 max개
+    List<float[]> sampleVectors(int max) {
+        lock.readLock().lock();
+        try {
+            List<Integer> nodes = new ArrayList<>(nodeById.values());
+            Collections.sort(nodes);
+            int stride = Math.max(1, nodes.size() / Math.max(1, max));
+            List<float[]> sample = new ArrayList<>(Math.min(max, nodes.size()));
+            for (int i = 0; i < nodes.size() && sample.size() < max; i += stride) {
+                sample.add(vectorOf(nodes.get(i)));
+            }
+            return sample;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 원본 벡터(메모리 맵) / 양자화 코드(힙) / 이웃 목록 크기
+    Map<String, Object> memoryStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("quantization", quantizer == null ? "none" : quantizer.name());
+            stats.put("vectorBytes", (long) count * dimensions * Float.BYTES);
+            stats.put("codeBytes", quantizer == null ? 0L : (long) count * quantizer.bytesPerVector());
+            stats.put("graphBytes", (long) count * (vectorOffset - R_NEIGHBORS));
+            stats.put("bytesPerVector", quantizer == null ? dimensions * Float.BYTES : quantizer.bytesPerVector());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 삭제되지 않은 문서 수
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int deletedCount() {
+        return count - nodeById.size();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    // 반영한 vector_store.revision 최댓값 (이 값 이후의 행만 따라잡으면 됨)
+    long revision() {
+        lock.readLock().lock();
+        try {
+            return revision;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void advanceRevision(long revision) {
+        lock.writeLock().lock();
+        try {
+            this.revision = Math.max(this.revision, revision);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 헤더를 기록하고 변경된 페이지를 디스크에 반영
+    // force()는 최대 2GB 매핑 전체를 훑으므로 잠금 밖에서 (그동안 검색/추가가 멈추지 않음)
+    void flush() {
+        MappedByteBuffer mapped;
+        lock.writeLock().lock();
+        try {
+            writeHeader();
+            mapped = buffer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        mapped.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void create() throws IOException {
+        map(INITIAL_CAPACITY);
+        buffer.putInt(H_MAGIC, MAGIC);
+        buffer.putInt(H_VERSION, FORMAT_VERSION);
+        buffer.putInt(H_DIMENSIONS, dimensions);
+        buffer.putInt(H_M, m);
+        writeHeader();
+    }
+
+    private void load() throws IOException {
+        long fileSize = channel.size();
+        map((int) ((fileSize - HEADER_BYTES) / recordBytes));
+        if (buffer.getInt(H_MAGIC) != MAGIC || buffer.getInt(H_VERSION) != FORMAT_VERSION) {
+            throw new IllegalStateException("HNSW 인덱스 파일 형식이 아닙니다: " + path);
+        }
+        if (buffer.getInt(H_DIMENSIONS) != dimensions || buffer.getInt(H_M) != m) {
+            throw new IllegalStateException("HNSW 인덱스 설정이 다릅니다 (dimensions=" + buffer.getInt(H_DIMENSIONS)
+                    + ", m=" + buffer.getInt(H_M) + "): " + path);
+        }
+        count = buffer.getInt(H_COUNT);
+        entryPoint = buffer.getInt(H_ENTRY_POINT);
+        topLevel = buffer.getInt(H_TOP_LEVEL);
+        revision = buffer.getLong(H_REVISION);
+        if (count > capacity) {
+            throw new IllegalStateException("HNSW 인덱스 파일이 잘렸습니다: " + path);
+        }
+        for (int node = 0; node < count; node++) {
+            if (!isDeleted(node)) {
+                nodeById.put(readId(node), node); // 같은 ID는 나중 노드가 최신
+            }
+        }
+    }
+
+    private void insert(UUID id, byte[] isbnBytes, float[] vector) {
+        ensureCapacity(count + 1);
+        int node = count;
+        int level = randomLevel();
+
+        int offset = recordOffset(node);
+        buffer.putLong(offset + R_ID_MSB, id.getMostSignificantBits());
+        buffer.putLong(offset + R_ID_LSB, id.getLeastSignificantBits());
+        buffer.put(offset + R_LEVEL, (byte) level);
+        buffer.put(offset + R_DELETED, (byte) 0);
+        writeIsbn(node, isbnBytes);
+        for (int l = 0; l <= MAX_LEVEL; l++) {
+            buffer.putInt(neighborsOffset(node, l), 0);
+        }
+        floats.put(vectorIndex(node), vector);
+        if (quantizer != null) {
+            quantizer.encode(vector, codes, node * quantizer.bytesPerVector());
+        }
+        count++;
+        nodeById.put(id, node);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLevel = level;
+            return;
+        }
+
+        NodeDistance exact = other -> distance(vector, other);
+        int current = entryPoint;
+        for (int l = topLevel; l > level; l--) {
+            current = greedyClosest(exact, current, l);
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(exact, current, efConstruction, l);
+            candidates.removeIf(candidate -> candidate.node() == node);
+            List<Candidate> neighbors = selectNeighbors(candidates, l == 0 ? m0 : m);
+            writeNeighbors(node, l, neighbors);
+            for (Candidate neighbor : neighbors) {
+                connect(neighbor.node(), node, l);
+            }
+            if (!candidates.isEmpty()) {
+                current = candidates.get(0).node();
+            }
+        }
+        if (level > topLevel) {
+            topLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    // from의 level 이웃 목록에 to를 추가 (가득 차면 휴리스틱으로 다시 선택)
+    private void connect(int from, int to, int level) {
+        int max = level == 0 ? m0 : m;
+        int offset = neighborsOffset(from, level);
+        int size = buffer.getInt(offset);
+        if (size < max) {
+            buffer.putInt(offset + Integer.BYTES * (1 + size), to);
+            buffer.putInt(offset, size + 1);
+            return;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(size + 1);
+        for (int i = 0; i < size; i++) {
+            int neighbor = buffer.getInt(offset + Integer.BYTES * (1 + i));
+            candidates.add(new Candidate(neighbor, distanceBetween(from, neighbor)));
+        }
+        candidates.add(new Candidate(to, distanceBetween(from, to)));
+        candidates.sort(Comparator.comparingDouble(Candidate::distance));
+        writeNeighbors(from, level, selectNeighbors(candidates, max));
+    }
+
+    // HNSW 이웃 선택 휴리스틱: 이미 고른 이웃보다 자신에게 더 가까운 후보를 우선 (부족하면 나머지로 채움)
+    private List<Candidate> selectNeighbors(List<Candidate> sortedCandidates, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : sortedCandidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (distanceBetween(candidate.node(), chosen.node()) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (Candidate candidate : pruned) {
+            if (selected.size() >= max) {
+                break;
+            }
+            selected.add(candidate);
+        }
+        return selected;
+    }
+
+    private int greedyClosest(NodeDistance query, int start, int level) {
+        int current = start;
+        float currentDistance = query.to(current);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int offset = neighborsOffset(current, level);
+            int size = buffer.getInt(offset);
+            for (int i = 0; i < size; i++) {
+                int neighbor = buffer.getInt(offset + Integer.BYTES * (1 + i));
+                if (neighbor >= count) {
+                    continue; // 기록 도중 중단된 노드
+                }
+                float d = query.to(neighbor);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbor;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // 한 레벨에서 ef개 후보를 유지하며 탐색 (거리 오름차순)
+    private List<Candidate> searchLayer(NodeDistance query, int start, int ef, int level) {
+        BitSet visited = new BitSet(count);
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance).reversed());
+
+        Candidate first = new Candidate(start, query.to(start));
+        visited.set(start);
+        frontier.add(first);
+        nearest.add(first);
+
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (nearest.size() >= ef && closest.distance() > nearest.peek().distance()) {
+                break;
+            }
+            int offset = neighborsOffset(closest.node(), level);
+            int size = buffer.getInt(offset);
+            for (int i = 0; i < size; i++) {
+                int neighbor = buffer.getInt(offset + Integer.BYTES * (1 + i));
+                if (neighbor >= count || visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float d = query.to(neighbor);
+                if (nearest.size() < ef || d < nearest.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    frontier.add(candidate);
+                    nearest.add(candidate);
+                    if (nearest.size() > ef) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> results = new ArrayList<>(nearest);
+        results.sort(Comparator.comparingDouble(Candidate::distance));
+        return results;
+    }
+
+    // 1 - 내적 (벡터는 모두 정규화되어 있으므로 코사인 거리)
+    private float distance(float[] query, int node) {
+        return 1 - DOT_PRODUCT.dot(query, buffer, recordOffset(node) + vectorOffset);
+    }
+
+    private float distanceBetween(int a, int b) {
+        int baseA = vectorIndex(a);
+        int baseB = vectorIndex(b);
+        float dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += floats.get(baseA + i) * floats.get(baseB + i);
+        }
+        return 1 - dot;
+    }
+
+    private float[] vectorOf(int node) {
+        float[] vector = new float[dimensions];
+        floats.get(vectorIndex(node), vector);
+        return vector;
+    }
+
+    // floats 뷰에서 노드 벡터의 시작 위치 (레코드 크기와 오프셋은 모두 4의 배수)
+    private int vectorIndex(int node) {
+        return (recordOffset(node) + vectorOffset) / Float.BYTES;
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble(); // (0, 1]
+        return Math.min((int) (-Math.log(uniform) * levelMultiplier), MAX_LEVEL);
+    }
+
+    private void writeNeighbors(int node, int level, List<Candidate> neighbors) {
+        int offset = neighborsOffset(node, level);
+        buffer.putInt(offset, neighbors.size());
+        for (int i = 0; i < neighbors.size(); i++) {
+            buffer.putInt(offset + Integer.BYTES * (1 + i), neighbors.get(i).node());
+        }
+    }
+
+    private void writeIsbn(int node, byte[] isbnBytes) {
+        int offset = recordOffset(node) + R_ISBN;
+        for (int i = 0; i < ISBN_BYTES; i++) {
+            buffer.put(offset + i, i < isbnBytes.length ? isbnBytes[i] : 0);
+        }
+    }
+
+    private String readIsbn(int node) {
+        int offset = recordOffset(node) + R_ISBN;
+        byte[] bytes = new byte[ISBN_BYTES];
+        int length = 0;
+        while (length < ISBN_BYTES && buffer.get(offset + length) != 0) {
+            bytes[length] = buffer.get(offset + length);
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private UUID readId(int node) {
+        int offset = recordOffset(node);
+        return new UUID(buffer.getLong(offset + R_ID_MSB), buffer.getLong(offset + R_ID_LSB));
+    }
+
+    private boolean isDeleted(int node) {
+        return buffer.get(recordOffset(node) + R_DELETED) != 0;
+    }
+
+    private int neighborsOffset(int node, int level) {
+        int offset = recordOffset(node) + R_NEIGHBORS;
+        return level == 0 ? offset : offset + Integer.BYTES * (1 + m0) + (level - 1) * Integer.BYTES * (1 + m);
+    }
+
+    private int recordOffset(int node) {
+        return HEADER_BYTES + node * recordBytes;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(H_COUNT, count);
+        buffer.putInt(H_ENTRY_POINT, entryPoint);
+        buffer.putInt(H_TOP_LEVEL, topLevel);
+        buffer.putLong(H_REVISION, revision);
+    }
+
+    // 용량이 부족하면 두 배로 다시 매핑 (MappedByteBuffer 한 개의 한계인 2GB를 넘으면 IllegalStateException)
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        long maxCapacity = (Integer.MAX_VALUE - HEADER_BYTES) / recordBytes;
+        if (required > maxCapacity) {
+            throw new IllegalStateException("HNSW 인덱스 용량 초과 (최대 " + maxCapacity + "건)");
+        }
+        writeHeader();
+        buffer.force();
+        try {
+            map((int) Math.min(maxCapacity, Math.max((long) capacity * 2, required)));
+        } catch (IOException e) {
+            throw new IllegalStateException("HNSW 인덱스 파일 확장 실패: " + path, e);
+        }
+        if (quantizer != null) {
+            codes = Arrays.copyOf(codes, capacity * quantizer.bytesPerVector());
+        }
+    }
+
+    private void map(int newCapacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) newCapacity * recordBytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        floats = buffer.asFloatBuffer();
+        capacity = newCapacity;
+    }
+
+    record Neighbor(UUID id, String isbn, float distance) {
+    }
+
+    // 노드까지의 거리 (원본 벡터 또는 양자화 코드)
+    @FunctionalInterface
+    private interface NodeDistance {
+        float to(int node);
+    }
+
+    private record Candidate(int node, float distance) {
+    }
+}
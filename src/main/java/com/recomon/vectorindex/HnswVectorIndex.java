@@ -0,0 +1,580 @@
+package com.recomon.vectorindex;
+
+import com.recomon.repository.VectorDocumentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : HnswVectorIndex
+ * author         : kobe
+ * date           : 2026. 1. 29.
+ * description    : vector_store를 그대로 비추는 JVM 내 HNSW 인덱스 (메모리 맵 파일)
+ *                  - 시작 시 기존 파일을 매핑하고 파일의 revision 이후 vector_store 변경을 따라잡은 뒤, 문서 수가 다르면 다시 구축
+ *                  - 수집 파이프라인이 vector_store에 쓸 때마다 같은 변경을 반영 (준비 전 변경은 모아 두었다가 적용)
+ *                  - 주기적으로(sync-interval-ms) 다른 인스턴스가 쓴 변경(revision)을 따라잡고 파일을 디스크에 반영
+ *                    (이 인스턴스가 쓴 revision은 갱신 때 워터마크에 반영, 따라잡기 조회는 갱신 잠금 밖에서)
+ *                  - 준비되지 않았거나 오류가 나면 검색하지 않고 Optional.empty()를 반환 (호출 측이 pgvector로 대체)
+ *                  - 삭제 표시된 노드가 살아 있는 노드보다 많아지면 백그라운드에서 다시 구축 (그동안 기존 그래프로 검색)
+ *                  - recomon.vector-index.quantization.mode=int8|pq 이면 양자화 코드로 탐색하고 후보만 원본 벡터로 다시 정렬
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 29.        kobe       최초 생성
+ * 2026. 1. 30.        kobe       양자화(int8 / PQ) 설정
+ * 2026. 2. 2.        kobe       VectorIndex 구현 (recomon.vector-index.backend=hnsw 일 때만 사용)
+ * 2026. 2. 3.        kobe       ISBN 제외 조건 (카테고리 조건은 pgvector로)
+ * 2026. 2. 9.        kobe       revision 워터마크로 따라잡기, 갱신마다 하던 flush를 주기 작업으로, 갱신 중 교체 방지
+ * 2026. 2. 9.        kobe       빈 인덱스에서 시작해도 문서가 min-documents에 도달하면 양자화 학습
+ * 2026. 2. 10.       kobe       갱신이 쓴 revision으로 워터마크를 올리고, sync()의 조회 / 스트리밍은 updateLock 밖에서 나누어 적용
+ */
+@Slf4j
+@Component
+public class HnswVectorIndex implements VectorIndex {
+
+    private static final int MAX_PENDING_DOCUMENTS = 100_000; // 넘으면 구축이 끝난 뒤 다시 구축
+    private static final int MIN_DELETED_FOR_COMPACTION = 1_000;
+    private static final int QUANTIZATION_TRAINING_SAMPLE = 5_000;
+    // 따라잡을 때 워터마크보다 이만큼 앞의 revision부터 다시 읽음
+    // (시퀀스 값은 커밋 순서와 다를 수 있어, 늦게 커밋된 작은 revision을 놓치지 않도록. 같은 벡터는 다시 넣어도 변화 없음)
+    private static final long REVISION_OVERLAP = 1_000;
+    private static final int CATCH_UP_CHUNK = 500; // 따라잡을 때 updateLock을 잡고 한 번에 적용할 행 수
+
+    private final VectorDocumentRepository vectorDocumentRepository;
+
+    @Value("${recomon.vector-index.enabled:true}")
+    private boolean enabled;
+
+    // hnsw | flat (flat이면 이 인덱스는 만들지 않음)
+    @Value("${recomon.vector-index.backend:hnsw}")
+    private String backend;
+
+    @Value("${recomon.vector-index.path:data/vector-index.hnsw}")
+    private Path path;
+
+    @Value("${spring.ai.vectorstore.pgvector.dimensions}")
+    private int dimensions;
+
+    @Value("${recomon.vector-index.m:16}")
+    private int m;
+
+    @Value("${recomon.vector-index.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${recomon.vector-index.ef-search:64}")
+    private int efSearch;
+
+    // none | int8 | pq
+    @Value("${recomon.vector-index.quantization.mode:none}")
+    private String quantization;
+
+    @Value("${recomon.vector-index.quantization.pq-subspaces:96}")
+    private int pqSubspaces;
+
+    // 양자화 시 k * rerank-factor개 후보를 원본 벡터로 다시 정렬
+    @Value("${recomon.vector-index.quantization.rerank-factor:4}")
+    private int rerankFactor;
+
+    // 이보다 적으면 학습하지 않고 원본 벡터로 검색 (새로 설치한 경우 수집 중 도달하면 그때 학습)
+    @Value("${recomon.vector-index.quantization.min-documents:1000}")
+    private int quantizationMinDocuments;
+
+    private volatile HnswGraph graph;
+    private volatile boolean ready;
+    private volatile boolean failed;
+
+    // null이 아니면 구축 중: 변경을 바로 적용하지 않고 모아 둠
+    private final Object updateLock = new Object();
+    private List<Consumer<HnswGraph>> pendingUpdates = new ArrayList<>();
+    private int pendingDocuments;
+    private boolean pendingOverflow;
+    private int sizeMismatches; // 연속으로 vector_store 문서 수와 다른 주기 수
+    // 이 인스턴스가 쓴 revision 중 워터마크보다 큰 것 (워터마크 바로 다음부터 빈틈없이 이어지는 만큼 워터마크를 올림)
+    private final TreeSet<Long> writtenRevisions = new TreeSet<>();
+    // null이 아니면 sync()가 따라잡는 중: 그동안 갱신한 문서 -> 쓴 revision (삭제는 Long.MAX_VALUE)
+    // 스트리밍으로 읽은 행이 그보다 오래되었으면 적용하지 않음
+    private Map<UUID, Long> changedWhileCatchingUp;
+
+    private volatile boolean dirty; // 마지막 flush 이후 변경 여부
+    private final AtomicBoolean quantizing = new AtomicBoolean();
+
+    public HnswVectorIndex(VectorDocumentRepository vectorDocumentRepository, MeterRegistry meterRegistry) {
+        this.vectorDocumentRepository = vectorDocumentRepository;
+        Gauge.builder("recomon.vector.index.size", this, index -> index.graph == null ? 0 : index.graph.size())
+                .description("HNSW 인덱스 문서 수")
+                .register(meterRegistry);
+        Gauge.builder("recomon.vector.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .description("HNSW 인덱스 사용 가능 여부 (0이면 pgvector로 검색)")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info(">>> HNSW 인덱스 비활성화 (recomon.vector-index.enabled=false), pgvector로 검색합니다.");
+            return;
+        }
+        if (!active()) {
+            return;
+        }
+        startThread("vector-index-bootstrap", this::bootstrap);
+    }
+
+    @Override
+    public String name() {
+        return "hnsw";
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready && !failed;
+    }
+
+    @Override
+    public Optional<List<Document>> search(float[] embedding, int topK, SearchFilter filter) {
+        HnswGraph current = graph;
+        // 노드에는 ISBN만 저장하므로 카테고리 조건은 처리하지 않음 (호출 측이 pgvector로 검색)
+        if (!isReady() || current == null || filter.hasCategories()) {
+            return Optional.empty();
+        }
+        List<Document> documents = new ArrayList<>(topK);
+        for (HnswGraph.Neighbor neighbor : current.search(embedding, topK, efSearch, filter.excludedIsbns())) {
+            double distance = neighbor.distance();
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("isbn", neighbor.isbn());
+            metadata.put("distance", distance);
+            documents.add(Document.builder()
+                    .id(neighbor.id().toString())
+                    .text("")
+                    .metadata(metadata)
+                    .score(1.0 - distance)
+                    .build());
+        }
+        return Optional.of(documents);
+    }
+
+    @Override
+    public Optional<Map<String, float[]>> findEmbeddingsByIds(Collection<String> ids) {
+        HnswGraph current = graph;
+        if (!isReady() || current == null) {
+            return Optional.empty();
+        }
+        Map<String, float[]> embeddings = new HashMap<>();
+        for (String id : ids) {
+            float[] vector = current.vector(UUID.fromString(id));
+            if (vector != null) {
+                embeddings.put(id, vector);
+            }
+        }
+        return Optional.of(embeddings);
+    }
+
+    @Override
+    public void upsert(List<Document> documents, List<float[]> embeddings, long[] revisions) {
+        apply(documents.size(), target -> {
+            for (int i = 0; i < documents.size(); i++) {
+                Document document = documents.get(i);
+                UUID id = UUID.fromString(document.getId());
+                if (changedWhileCatchingUp != null) {
+                    changedWhileCatchingUp.merge(id, revisions[i], Math::max);
+                }
+                try {
+                    target.upsert(id, (String) document.getMetadata().get("isbn"), embeddings.get(i));
+                } catch (IllegalArgumentException e) {
+                    log.warn(">>> HNSW 인덱스에 추가하지 못한 문서 {}: {}", document.getId(), e.getMessage());
+                }
+            }
+            advanceWritten(target, revisions);
+        });
+    }
+
+    @Override
+    public void delete(Collection<String> ids) {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).toList();
+        apply(uuids.size(), target -> {
+            if (changedWhileCatchingUp != null) {
+                uuids.forEach(id -> changedWhileCatchingUp.put(id, Long.MAX_VALUE));
+            }
+            target.delete(uuids);
+        });
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        HnswGraph current = graph;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", active());
+        stats.put("ready", isReady());
+        stats.put("size", current == null ? 0 : current.size());
+        stats.put("deleted", current == null ? 0 : current.deletedCount());
+        stats.put("path", path.toString());
+        if (current != null) {
+            stats.putAll(current.memoryStats());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    void stop() {
+        HnswGraph current = graph;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn(">>> HNSW 인덱스 파일 닫기 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean active() {
+        return enabled && "hnsw".equals(backend);
+    }
+
+    // 구축 / 정리 결과로 교체되는 그래프에 적용하거나 적용분을 잃지 않도록 적용이 끝날 때까지 updateLock 유지
+    // (검색은 updateLock을 쓰지 않으므로 막히지 않음, 디스크 반영은 sync()에서 주기적으로)
+    private void apply(int documentCount, Consumer<HnswGraph> update) {
+        if (!active() || failed) {
+            return;
+        }
+        synchronized (updateLock) {
+            if (pendingUpdates != null) {
+                pendingDocuments += documentCount;
+                if (pendingDocuments > MAX_PENDING_DOCUMENTS) {
+                    pendingOverflow = true; // 모아 둔 변경은 버리고 구축이 끝나면 vector_store에서 다시 구축
+                    pendingUpdates.clear();
+                } else if (!pendingOverflow) {
+                    pendingUpdates.add(update);
+                }
+                return;
+            }
+
+            HnswGraph current = graph;
+            try {
+                update.accept(current);
+                dirty = true;
+            } catch (RuntimeException e) {
+                // 용량 초과 등: 인덱스가 vector_store와 달라졌으므로 더 이상 사용하지 않음
+                failed = true;
+                log.error(">>> HNSW 인덱스 갱신 실패, 재시작 전까지 pgvector로 검색합니다.", e);
+                return;
+            }
+
+            if (current.deletedCount() > Math.max(MIN_DELETED_FOR_COMPACTION, current.size())) {
+                log.info(">>> HNSW 인덱스 정리: 삭제 표시 {}건 > 문서 {}건, 백그라운드에서 다시 구축합니다.",
+                        current.deletedCount(), current.size());
+                startRebuild("vector-index-compaction");
+            } else {
+                startQuantizationIfReady(current);
+            }
+        }
+    }
+
+    // 새로 설치한 인덱스가 갱신으로 min-documents에 도달하면 백그라운드에서 한 번 학습
+    private void startQuantizationIfReady(HnswGraph current) {
+        if (needsQuantization(current) && quantizing.compareAndSet(false, true)) {
+            startThread("vector-index-quantization", () -> quantizeLive(current));
+        }
+    }
+
+    private boolean needsQuantization(HnswGraph target) {
+        return !"none".equals(quantization) && target.size() >= quantizationMinDocuments && !target.quantized();
+    }
+
+    // 문서 수가 기준에 도달한 검색 중 그래프를 양자화 (학습은 잠금 밖, 인코딩만 그래프 쓰기 잠금 안에서)
+    private void quantizeLive(HnswGraph target) {
+        try {
+            if (graph == target) {
+                quantize(target);
+            }
+        } catch (RuntimeException e) {
+            log.warn(">>> HNSW 인덱스 양자화 실패, 원본 벡터로 검색합니다: {}", e.getMessage());
+        } finally {
+            quantizing.set(false);
+        }
+    }
+
+    // 이 인스턴스가 쓴 revision으로 워터마크를 올림 (updateLock 안에서, 갱신을 적용한 그래프에)
+    // 사이에 다른 인스턴스가 쓴 revision이 있으면 빈틈에서 멈추고, 그 변경은 sync()가 따라잡으며 워터마크를 올림
+    private void advanceWritten(HnswGraph target, long[] revisions) {
+        for (long revision : revisions) {
+            if (revision > target.revision()) {
+                writtenRevisions.add(revision);
+            }
+        }
+        while (!writtenRevisions.isEmpty() && writtenRevisions.first() <= target.revision() + 1) {
+            target.advanceRevision(writtenRevisions.pollFirst());
+        }
+        if (writtenRevisions.size() > MAX_PENDING_DOCUMENTS) {
+            writtenRevisions.clear(); // 빈틈이 오래 남음: sync()가 따라잡음
+        }
+    }
+
+    // 다른 인스턴스가 vector_store에 쓴 변경을 따라잡고(revision), 바뀐 페이지를 디스크에 반영
+    // 조회와 스트리밍은 updateLock 밖에서 하고, 읽은 행을 CATCH_UP_CHUNK개씩 잠금 안에서 적용 (수집 쓰기 단계를 막지 않음)
+    @Scheduled(initialDelayString = "${recomon.vector-index.sync-interval-ms:30000}",
+            fixedDelayString = "${recomon.vector-index.sync-interval-ms:30000}")
+    public void sync() {
+        if (!active() || !isReady()) {
+            return;
+        }
+        HnswGraph current = graph;
+        try {
+            if (vectorDocumentRepository.maxRevision() > current.revision()
+                    || vectorDocumentRepository.count() != current.size()) {
+                catchUpLive(current);
+                long stored = vectorDocumentRepository.count();
+                synchronized (updateLock) {
+                    if (graph == current && pendingUpdates == null && !failed) {
+                        startQuantizationIfReady(current);
+                        // 삭제는 revision으로 알 수 없음: 두 주기 연속으로 문서 수가 다르면 다시 구축 (한 번은 동시 쓰기일 수 있음)
+                        sizeMismatches = current.size() == stored ? 0 : sizeMismatches + 1;
+                        if (sizeMismatches >= 2) {
+                            log.info(">>> HNSW 인덱스 문서 수({})가 vector_store({})와 달라 다시 구축합니다.",
+                                    current.size(), stored);
+                            sizeMismatches = 0;
+                            startRebuild("vector-index-resync");
+                        }
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn(">>> HNSW 인덱스 따라잡기 실패, 다음 주기에 다시 시도합니다: {}", e.getMessage());
+        }
+        flushIfDirty();
+    }
+
+    // 검색 중인 그래프의 revision 이후(겹침 포함) 변경을 잠금 밖에서 읽어 나누어 적용하고, 끝까지 적용했으면 revision을 올림
+    private void catchUpLive(HnswGraph target) {
+        synchronized (updateLock) {
+            changedWhileCatchingUp = new HashMap<>();
+        }
+        try {
+            long[] latest = {target.revision()};
+            boolean[] applied = {true};
+            List<VectorDocumentRepository.StoredEmbedding> chunk = new ArrayList<>(CATCH_UP_CHUNK);
+            vectorDocumentRepository.forEachEmbedding(Math.max(0, target.revision() - REVISION_OVERLAP), stored -> {
+                latest[0] = Math.max(latest[0], stored.revision());
+                chunk.add(stored);
+                if (chunk.size() == CATCH_UP_CHUNK) {
+                    applied[0] &= applyCaughtUp(target, chunk);
+                    chunk.clear();
+                }
+            });
+            applied[0] &= applyCaughtUp(target, chunk);
+            synchronized (updateLock) {
+                if (applied[0] && graph == target && pendingUpdates == null) {
+                    target.advanceRevision(latest[0]);
+                    writtenRevisions.headSet(latest[0], true).clear();
+                }
+            }
+        } finally {
+            synchronized (updateLock) {
+                changedWhileCatchingUp = null;
+            }
+        }
+    }
+
+    // 따라잡기로 읽은 행을 검색 중인 그래프에 적용 (구축 중이거나 그래프가 바뀌었으면 구축이 vector_store에서 다시 읽으므로 버림)
+    private boolean applyCaughtUp(HnswGraph target, List<VectorDocumentRepository.StoredEmbedding> rows) {
+        if (rows.isEmpty()) {
+            return true;
+        }
+        synchronized (updateLock) {
+            if (failed || graph != target || pendingUpdates != null) {
+                return false;
+            }
+            try {
+                for (VectorDocumentRepository.StoredEmbedding stored : rows) {
+                    UUID id = UUID.fromString(stored.id());
+                    // 읽은 뒤 이 인스턴스가 더 새로 쓰거나 지운 문서
+                    if (changedWhileCatchingUp.getOrDefault(id, -1L) >= stored.revision()) {
+                        continue;
+                    }
+                    try {
+                        target.upsert(id, stored.isbn(), stored.embedding());
+                    } catch (IllegalArgumentException e) {
+                        log.warn(">>> HNSW 인덱스에 추가하지 못한 문서 {}: {}", stored.id(), e.getMessage());
+                    }
+                }
+                dirty = true;
+                return true;
+            } catch (RuntimeException e) {
+                failed = true;
+                log.error(">>> HNSW 인덱스 갱신 실패, 재시작 전까지 pgvector로 검색합니다.", e);
+                return false;
+            }
+        }
+    }
+
+    // updateLock을 잡은 상태에서만 호출
+    private void startRebuild(String threadName) {
+        pendingUpdates = new ArrayList<>();
+        startThread(threadName, () -> publishRebuilt(null));
+    }
+
+    private void flushIfDirty() {
+        HnswGraph current = graph;
+        if (dirty && current != null) {
+            dirty = false;
+            current.flush(); // 헤더만 그래프 잠금 안에서, force()는 잠금 밖에서
+        }
+    }
+
+    // 그래프의 revision 이후(겹침 포함) vector_store 변경을 반영하고 revision을 올림, 반영한 행 수 반환
+    // (검색 전 bootstrap에서만: 그동안의 갱신은 pendingUpdates에 모임)
+    private int catchUp(HnswGraph target) {
+        long[] latest = {target.revision()};
+        int[] applied = {0};
+        vectorDocumentRepository.forEachEmbedding(Math.max(0, target.revision() - REVISION_OVERLAP), stored -> {
+            try {
+                target.upsert(UUID.fromString(stored.id()), stored.isbn(), stored.embedding());
+                applied[0]++;
+            } catch (IllegalArgumentException e) {
+                log.warn(">>> HNSW 인덱스에 추가하지 못한 문서 {}: {}", stored.id(), e.getMessage());
+            }
+            latest[0] = Math.max(latest[0], stored.revision());
+        });
+        target.advanceRevision(latest[0]);
+        return applied[0];
+    }
+
+    // 기존 파일을 매핑하고 파일의 revision 이후 변경을 따라잡은 뒤, vector_store와 문서 수가 다르면 다시 구축
+    // (문서 수만 비교하면 같은 수로 다시 임베딩 / 교체된 문서를 오래된 벡터로 검색하게 됨)
+    private void bootstrap() {
+        long start = System.nanoTime();
+        HnswGraph existing = null;
+        try {
+            if (Files.exists(path)) {
+                try {
+                    existing = HnswGraph.open(path, dimensions, m, efConstruction);
+                } catch (IllegalStateException e) {
+                    log.warn(">>> 기존 HNSW 인덱스를 사용할 수 없어 다시 구축합니다: {}", e.getMessage());
+                }
+            }
+            int caughtUp = existing == null ? 0 : catchUp(existing);
+            long stored = vectorDocumentRepository.count();
+            if (existing != null && existing.size() == stored) {
+                log.info(">>> HNSW 인덱스 파일 매핑: {} ({}건, 따라잡은 변경 {}건, revision {}, {}ms)",
+                        path, stored, caughtUp, existing.revision(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                publishRebuilt(existing);
+                return;
+            }
+            if (existing != null) {
+                log.info(">>> HNSW 인덱스 문서 수({})가 vector_store({})와 달라 다시 구축합니다.", existing.size(), stored);
+                existing.close();
+            }
+            publishRebuilt(null);
+        } catch (Exception e) {
+            failed = true;
+            log.error(">>> HNSW 인덱스 준비 실패, pgvector로 검색합니다.", e);
+        }
+    }
+
+    // candidate가 null이면 vector_store에서 구축하고, 모아 둔 변경을 적용한 뒤 검색 대상으로 교체
+    private void publishRebuilt(HnswGraph candidate) {
+        try {
+            HnswGraph built = candidate;
+            while (true) {
+                if (built == null) {
+                    built = rebuild();
+                }
+                quantize(built);
+                synchronized (updateLock) {
+                    if (!pendingOverflow) {
+                        for (Consumer<HnswGraph> update : pendingUpdates) {
+                            update.accept(built);
+                        }
+                        dirty = true; // 적용분은 다음 sync() / 종료 시 디스크에 반영
+                        HnswGraph previous = graph;
+                        graph = built;
+                        ready = true;
+                        pendingUpdates = null;
+                        pendingDocuments = 0;
+                        if (previous != null && previous != built) {
+                            previous.close();
+                        }
+                        return;
+                    }
+                    pendingUpdates.clear();
+                    pendingDocuments = 0;
+                    pendingOverflow = false;
+                }
+                log.info(">>> 구축 중 변경이 너무 많아 HNSW 인덱스를 다시 구축합니다.");
+                built.close();
+                built = null;
+            }
+        } catch (Exception e) {
+            failed = true;
+            log.error(">>> HNSW 인덱스 구축 실패, pgvector로 검색합니다.", e);
+        }
+    }
+
+    // 현재 문서 표본으로 양자화기를 학습하고 전체 노드를 인코딩 (코드는 파일에 저장하지 않으므로 시작/재구축 때마다 수행)
+    // 문서가 min-documents보다 적으면 건너뛰고, 이후 갱신으로 기준에 도달하면 apply()가 학습을 시작
+    private void quantize(HnswGraph target) {
+        if (!needsQuantization(target)) {
+            if (!"none".equals(quantization) && !target.quantized()) {
+                log.info(">>> HNSW 인덱스 양자화 대기: 문서 {}건 < {}건", target.size(), quantizationMinDocuments);
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        VectorQuantizer quantizer = VectorQuantizer.train(quantization,
+                target.sampleVectors(QUANTIZATION_TRAINING_SAMPLE), dimensions, pqSubspaces);
+        target.enableQuantization(quantizer, rerankFactor);
+        log.info(">>> HNSW 인덱스 양자화: {} ({}바이트/벡터, {}ms)", quantizer.name(), quantizer.bytesPerVector(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // 임시 파일에 구축한 뒤 원래 경로로 교체 (구축 중 종료되어도 기존 파일은 그대로)
+    private HnswGraph rebuild() throws IOException {
+        long start = System.nanoTime();
+        Path building = path.resolveSibling(path.getFileName() + ".building");
+        Files.deleteIfExists(building);
+        int[] count = {0};
+        // 구축 중 쓰인 행은 모아 둔 변경 / 다음 sync()로 반영되므로 읽기 전 최댓값을 워터마크로
+        long revision = vectorDocumentRepository.maxRevision();
+        try (HnswGraph target = HnswGraph.open(building, dimensions, m, efConstruction)) {
+            target.advanceRevision(revision);
+            vectorDocumentRepository.forEachEmbedding(stored -> {
+                try {
+                    target.upsert(UUID.fromString(stored.id()), stored.isbn(), stored.embedding());
+                } catch (IllegalArgumentException e) {
+                    log.warn(">>> HNSW 인덱스에 추가하지 못한 문서 {}: {}", stored.id(), e.getMessage());
+                }
+                if (++count[0] % 10_000 == 0) {
+                    log.info(">>> HNSW 인덱스 구축 중: {}건", count[0]);
+                }
+            });
+        }
+        Files.move(building, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info(">>> HNSW 인덱스 구축 완료: {}건 ({}ms)",
+                count[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return HnswGraph.open(path, dimensions, m, efConstruction);
+    }
+
+    private void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,73 @@
+package com.recomon.vectorindex;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : PairwiseSimilarity
+ * author         : kobe
+ * date           : 2026. 2. 6.
+ * description    : 후보 벡터끼리의 코사인 유사도 (요청 하나 안에서 쌍마다 한 번만 계산해 n x n 배열에 보관)
+ *                  저장된 임베딩을 쓰므로 임베딩 API를 호출하지 않고, 내적은 DotProducts.best() (SIMD)로 계산합니다.
+ *                  임베딩이 없는 후보(null)는 다른 후보와의 유사도를 0으로 봅니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 6.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       정규화는 Vectors로
+ */
+public final class PairwiseSimilarity {
+
+    private final DotProduct dotProduct = DotProducts.best();
+    private final float[][] vectors; // 단위 길이로 정규화, 없으면 null
+    private final float[] similarities; // [i * n + j], 아직 계산하지 않았으면 NaN
+    private final int size;
+    private int computed;
+
+    public PairwiseSimilarity(List<float[]> vectors) {
+        this.size = vectors.size();
+        this.vectors = new float[size][];
+        int dimensions = -1;
+        for (int i = 0; i < size; i++) {
+            float[] vector = vectors.get(i);
+            if (vector == null || (dimensions >= 0 && vector.length != dimensions)) {
+                continue;
+            }
+            dimensions = vector.length;
+            this.vectors[i] = Vectors.normalize(vector);
+        }
+        this.similarities = new float[size * size];
+        Arrays.fill(similarities, Float.NaN);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean hasVector(int i) {
+        return vectors[i] != null;
+    }
+
+    public float similarity(int i, int j) {
+        if (i == j) {
+            return 1f;
+        }
+        if (vectors[i] == null || vectors[j] == null) {
+            return 0f;
+        }
+        float similarity = similarities[i * size + j];
+        if (Float.isNaN(similarity)) {
+            similarity = dotProduct.dot(vectors[i], vectors[j], 0);
+            similarities[i * size + j] = similarity;
+            similarities[j * size + i] = similarity;
+            computed++;
+        }
+        return similarity;
+    }
+
+    // 지금까지 실제로 계산한 쌍 수
+    public int computedPairs() {
+        return computed;
+    }
+}
@@ -0,0 +1,171 @@
+package com.recomon.vectorindex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : ProductQuantizer
+ * author         : kobe
+ * date           : 2026. 1. 30.
+ * description    : 곱 양자화(PQ): 벡터를 subspaces개 구간으로 나누고 구간마다 k-means 중심점(최대 256개) 번호 1바이트로 저장
+ *                  1536차원 / 96구간이면 6144바이트 -> 96바이트.
+ *                  쿼리마다 (구간, 중심점)별 내적 표를 만들어 두고 코드마다 표를 더해 근사 거리를 구합니다 (ADC).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 30.        kobe       최초 생성
+ */
+final class ProductQuantizer implements VectorQuantizer {
+
+    private static final int MAX_CENTROIDS = 256;
+    private static final int KMEANS_ITERATIONS = 8;
+
+    private final int subspaces;
+    private final int subDimensions;
+    private final int centroidCount;
+    private final float[][] centroids; // [구간][중심점 * subDimensions + d]
+
+    private ProductQuantizer(int subspaces, int subDimensions, int centroidCount, float[][] centroids) {
+        this.subspaces = subspaces;
+        this.subDimensions = subDimensions;
+        this.centroidCount = centroidCount;
+        this.centroids = centroids;
+    }
+
+    // 구간 수는 dimensions의 약수 중 requestedSubspaces 이하인 가장 큰 값
+    static ProductQuantizer train(List<float[]> sample, int dimensions, int requestedSubspaces) {
+        if (sample.isEmpty()) {
+            throw new IllegalArgumentException("양자화 학습 표본이 없습니다.");
+        }
+        int subspaces = Math.max(1, Math.min(requestedSubspaces, dimensions));
+        while (dimensions % subspaces != 0) {
+            subspaces--;
+        }
+        int subDimensions = dimensions / subspaces;
+        int centroidCount = Math.min(MAX_CENTROIDS, sample.size());
+
+        SplittableRandom random = new SplittableRandom(42);
+        float[][] centroids = new float[subspaces][];
+        int[] assignment = new int[sample.size()];
+        for (int s = 0; s < subspaces; s++) {
+            centroids[s] = kMeans(sample, s * subDimensions, subDimensions, centroidCount, assignment, random);
+        }
+        return new ProductQuantizer(subspaces, subDimensions, centroidCount, centroids);
+    }
+
+    @Override
+    public String name() {
+        return "pq";
+    }
+
+    @Override
+    public int bytesPerVector() {
+        return subspaces;
+    }
+
+    int subspaces() {
+        return subspaces;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        for (int s = 0; s < subspaces; s++) {
+            codes[offset + s] = (byte) nearest(centroids[s], centroidCount, vector, s * subDimensions, subDimensions);
+        }
+    }
+
+    @Override
+    public Scorer scorer(float[] query) {
+        float[] table = new float[subspaces * centroidCount];
+        for (int s = 0; s < subspaces; s++) {
+            int start = s * subDimensions;
+            for (int c = 0; c < centroidCount; c++) {
+                float dot = 0;
+                int base = c * subDimensions;
+                for (int d = 0; d < subDimensions; d++) {
+                    dot += query[start + d] * centroids[s][base + d];
+                }
+                table[s * centroidCount + c] = dot;
+            }
+        }
+        return (codes, offset) -> {
+            float dot = 0;
+            for (int s = 0; s < subspaces; s++) {
+                dot += table[s * centroidCount + (codes[offset + s] & 0xFF)];
+            }
+            return 1 - dot;
+        };
+    }
+
+    // 한 구간에 대한 k-means (빈 군집은 이전 중심점 유지)
+    private static float[] kMeans(List<float[]> sample, int start, int length, int k,
+                                  int[] assignment, SplittableRandom random) {
+        float[] centers = new float[k * length];
+        int[] order = randomOrder(sample.size(), random);
+        for (int c = 0; c < k; c++) {
+            System.arraycopy(sample.get(order[c]), start, centers, c * length, length);
+        }
+
+        float[] sums = new float[k * length];
+        int[] counts = new int[k];
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            for (int i = 0; i < sample.size(); i++) {
+                assignment[i] = nearest(centers, k, sample.get(i), start, length);
+            }
+            Arrays.fill(sums, 0f);
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < sample.size(); i++) {
+                float[] vector = sample.get(i);
+                int base = assignment[i] * length;
+                for (int d = 0; d < length; d++) {
+                    sums[base + d] += vector[start + d];
+                }
+                counts[assignment[i]]++;
+            }
+            for (int c = 0; c < k; c++) {
+                if (counts[c] == 0) {
+                    continue;
+                }
+                for (int d = 0; d < length; d++) {
+                    centers[c * length + d] = sums[c * length + d] / counts[c];
+                }
+            }
+        }
+        return centers;
+    }
+
+    // 제곱 유클리드 거리가 가장 가까운 중심점 번호
+    private static int nearest(float[] centers, int k, float[] vector, int start, int length) {
+        int best = 0;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        for (int c = 0; c < k; c++) {
+            float distance = 0;
+            int base = c * length;
+            for (int d = 0; d < length; d++) {
+                float diff = vector[start + d] - centers[base + d];
+                distance += diff * diff;
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static int[] randomOrder(int size, SplittableRandom random) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,218 @@
+package com.recomon.vectorindex;
+
+import com.recomon.repository.VectorDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : QuantizationReport
+ * author         : kobe
+ * date           : 2026. 1. 30.
+ * description    : 양자화 방식별 recall@10 / 메모리 비교 보고서
+ *                  vector_store에서 임베딩을 최대 report-sample건 무작위 표본으로 올려(reservoir sampling)
+ *                  int8, pq(각각 코드만 / 원본 벡터로 다시 정렬)는 표본 안의 정확한 코사인 top-K를 정답으로,
+ *                  현재 HNSW 인덱스는 pgvector 코사인 검색 결과(전체)를 정답으로 비교합니다. 관리자용입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 30.        kobe       최초 생성
+ * 2026. 2. 9.        kobe       전체 임베딩 대신 표본만 힙에 (report-sample)
+ * 2026. 2. 9.        kobe       정규화 / 코사인 거리는 Vectors로
+ */
+@Slf4j
+@Component
+public class QuantizationReport {
+
+    private static final int K = 10;
+    private static final int TRAINING_SAMPLE = 5_000;
+
+    private final VectorDocumentRepository vectorDocumentRepository;
+    private final HnswVectorIndex hnswVectorIndex;
+
+    @Value("${spring.ai.vectorstore.pgvector.dimensions}")
+    private int dimensions;
+
+    @Value("${recomon.vector-index.quantization.pq-subspaces:96}")
+    private int pqSubspaces;
+
+    @Value("${recomon.vector-index.quantization.rerank-factor:4}")
+    private int rerankFactor;
+
+    // 힙에 올릴 최대 임베딩 수 (1536차원 기준 1만 건 약 60MB)
+    @Value("${recomon.vector-index.quantization.report-sample:10000}")
+    private int sampleSize;
+
+    public QuantizationReport(VectorDocumentRepository vectorDocumentRepository, HnswVectorIndex hnswVectorIndex) {
+        this.vectorDocumentRepository = vectorDocumentRepository;
+        this.hnswVectorIndex = hnswVectorIndex;
+    }
+
+    public Map<String, Object> run(int queryCount) {
+        long start = System.nanoTime();
+
+        // 1. 임베딩 표본 로드 (정규화, 스트리밍하며 reservoir sampling으로 최대 sampleSize건만 유지)
+        SplittableRandom random = new SplittableRandom(42);
+        List<String> ids = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+        long[] total = {0};
+        vectorDocumentRepository.forEachEmbedding(stored -> {
+            long seen = total[0]++;
+            if (vectors.size() < sampleSize) {
+                ids.add(stored.id());
+                vectors.add(Vectors.normalize(stored.embedding()));
+                return;
+            }
+            long slot = random.nextLong(seen + 1);
+            if (slot < sampleSize) {
+                ids.set((int) slot, stored.id());
+                vectors.set((int) slot, Vectors.normalize(stored.embedding()));
+            }
+        });
+        if (vectors.isEmpty()) {
+            throw new IllegalStateException("vector_store가 비어 있습니다.");
+        }
+
+        // 2. 쿼리 선택 + 정답 (양자화 방식: 표본 안의 정확한 top-K, HNSW: pgvector 전체 검색)
+        List<float[]> queries = new ArrayList<>();
+        List<Set<String>> exact = new ArrayList<>();
+        List<Set<String>> pgvector = new ArrayList<>();
+        for (int q = 0; q < Math.min(queryCount, vectors.size()); q++) {
+            float[] query = vectors.get(random.nextInt(vectors.size()));
+            queries.add(query);
+            exact.add(new LinkedHashSet<>(topK(ids, vectors.size(), node -> Vectors.cosineDistance(query, vectors.get(node)), K)));
+            pgvector.add(idsOf(vectorDocumentRepository.searchByVector(query, K)));
+        }
+
+        // 3. 방식별 비교 (float은 정답 계산과 같은 전수 비교: 검색 시간 / 메모리 기준값)
+        List<Map<String, Object>> modes = new ArrayList<>();
+        int floatBytes = dimensions * Float.BYTES;
+        modes.add(evaluate("float", floatBytes, total[0], queries, exact,
+                query -> topK(ids, vectors.size(), node -> Vectors.cosineDistance(query, vectors.get(node)), K)));
+
+        List<float[]> sample = sample(vectors, TRAINING_SAMPLE);
+        for (String mode : List.of("int8", "pq")) {
+            long trainStart = System.nanoTime();
+            VectorQuantizer quantizer = VectorQuantizer.train(mode, sample, dimensions, pqSubspaces);
+            int bytesPerVector = quantizer.bytesPerVector();
+            byte[] codes = new byte[vectors.size() * bytesPerVector];
+            for (int i = 0; i < vectors.size(); i++) {
+                quantizer.encode(vectors.get(i), codes, i * bytesPerVector);
+            }
+            long trainMillis = (System.nanoTime() - trainStart) / 1_000_000;
+
+            Map<String, Object> codesOnly = evaluate(mode, bytesPerVector, total[0], queries, exact, query -> {
+                VectorQuantizer.Scorer scorer = quantizer.scorer(query);
+                return topK(ids, vectors.size(), node -> scorer.distance(codes, node * bytesPerVector), K);
+            });
+            codesOnly.put("trainAndEncodeMs", trainMillis);
+            modes.add(codesOnly);
+
+            modes.add(evaluate(mode + "+rerank", bytesPerVector, total[0], queries, exact, query -> {
+                VectorQuantizer.Scorer scorer = quantizer.scorer(query);
+                List<Integer> candidates = topNodes(vectors.size(),
+                        node -> scorer.distance(codes, node * bytesPerVector), K * rerankFactor);
+                candidates.sort(Comparator.comparingDouble(node -> Vectors.cosineDistance(query, vectors.get(node))));
+                return candidates.stream().limit(K).map(ids::get).toList();
+            }));
+        }
+
+        if (hnswVectorIndex.isReady()) {
+            Map<String, Object> hnsw = evaluate("hnsw", floatBytes, total[0], queries, pgvector,
+                    query -> hnswVectorIndex.search(query, K).map(documents -> new ArrayList<>(idsOf(documents)))
+                            .orElse(new ArrayList<>()));
+            hnsw.put("index", hnswVectorIndex.stats());
+            modes.add(hnsw);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("documents", total[0]);
+        report.put("sampled", vectors.size());
+        report.put("dimensions", dimensions);
+        report.put("queries", queries.size());
+        report.put("k", K);
+        report.put("baseline", Map.of("quantized", "exact cosine (sample)", "hnsw", "pgvector cosine (vector_store)"));
+        report.put("modes", modes);
+        report.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+        log.info(">>> 양자화 보고서: 문서 {}건 중 표본 {}건, 쿼리 {}건, {}ms",
+                total[0], vectors.size(), queries.size(), report.get("elapsedMs"));
+        return report;
+    }
+
+    private Map<String, Object> evaluate(String mode, int bytesPerVector, long documents, List<float[]> queries,
+                                         List<Set<String>> expected, Function<float[], List<String>> search) {
+        double recall = 0;
+        long nanos = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            long start = System.nanoTime();
+            List<String> found = search.apply(queries.get(q));
+            nanos += System.nanoTime() - start;
+
+            Set<String> truth = expected.get(q);
+            long hits = found.stream().limit(K).filter(truth::contains).count();
+            recall += truth.isEmpty() ? 1.0 : (double) hits / Math.min(K, truth.size());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", mode);
+        result.put("recallAt10", round(recall / queries.size()));
+        result.put("avgSearchMicros", queries.isEmpty() ? 0 : nanos / queries.size() / 1_000);
+        result.put("bytesPerVector", bytesPerVector);
+        result.put("totalBytes", (long) bytesPerVector * documents); // 표본이 아닌 전체 문서 기준
+        return result;
+    }
+
+    private interface NodeDistance {
+        float to(int node);
+    }
+
+    private List<String> topK(List<String> ids, int size, NodeDistance distance, int k) {
+        return topNodes(size, distance, k).stream().map(ids::get).toList();
+    }
+
+    // 거리 오름차순 상위 n개 노드 번호
+    private List<Integer> topNodes(int size, NodeDistance distance, int n) {
+        PriorityQueue<float[]> nearest = new PriorityQueue<>((a, b) -> Float.compare(b[0], a[0]));
+        for (int node = 0; node < size; node++) {
+            float d = distance.to(node);
+            if (nearest.size() < n) {
+                nearest.add(new float[]{d, node});
+            } else if (d < nearest.peek()[0]) {
+                nearest.poll();
+                nearest.add(new float[]{d, node});
+            }
+        }
+        List<float[]> sorted = new ArrayList<>(nearest);
+        sorted.sort((a, b) -> Float.compare(a[0], b[0]));
+        List<Integer> nodes = new ArrayList<>(sorted.size());
+        for (float[] entry : sorted) {
+            nodes.add((int) entry[1]);
+        }
+        return nodes;
+    }
+
+    private Set<String> idsOf(List<Document> documents) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (Document document : documents) {
+            ids.add(document.getId());
+        }
+        return ids;
+    }
+
+    private List<float[]> sample(List<float[]> vectors, int max) {
+        int stride = Math.max(1, vectors.size() / max);
+        List<float[]> sample = new ArrayList<>();
+        for (int i = 0; i < vectors.size() && sample.size() < max; i += stride) {
+            sample.add(vectors.get(i));
+        }
+        return sample;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
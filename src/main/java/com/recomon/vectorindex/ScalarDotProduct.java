@@ -0,0 +1,50 @@
+package com.recomon.vectorindex;
+
+import java.nio.ByteBuffer;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : ScalarDotProduct
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : 스칼라 루프 내적 (jdk.incubator.vector 모듈 없이 실행할 때의 대체 구현, 벤치마크 기준선)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ */
+final class ScalarDotProduct implements DotProduct {
+
+    static final ScalarDotProduct INSTANCE = new ScalarDotProduct();
+
+    private ScalarDotProduct() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public float dot(float[] query, float[] data, int offset) {
+        float dot = 0;
+        for (int i = 0; i < query.length; i++) {
+            dot += query[i] * data[offset + i];
+        }
+        return dot;
+    }
+
+    @Override
+    public float dot(float[] query, ByteBuffer buffer, int byteOffset) {
+        float dot = 0;
+        for (int i = 0; i < query.length; i++) {
+            dot += query[i] * buffer.getFloat(byteOffset + i * Float.BYTES);
+        }
+        return dot;
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,87 @@
+package com.recomon.vectorindex;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : ScalarQuantizer
+ * author         : kobe
+ * date           : 2026. 1. 30.
+ * description    : 차원별 int8 스칼라 양자화 (float 4바이트 -> 1바이트)
+ *                  표본의 차원별 최소/최대 구간을 256단계로 나누며, 구간 밖의 값은 양 끝으로 맞춥니다.
+ *                  내적은 sum(q * min) + sum(q * step * code)로 계산하므로 쿼리마다 q * step만 미리 구해 둡니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 30.        kobe       최초 생성
+ */
+final class ScalarQuantizer implements VectorQuantizer {
+
+    private static final int LEVELS = 255;
+
+    private final float[] min;
+    private final float[] step;
+
+    private ScalarQuantizer(float[] min, float[] step) {
+        this.min = min;
+        this.step = step;
+    }
+
+    static ScalarQuantizer train(List<float[]> sample, int dimensions) {
+        if (sample.isEmpty()) {
+            throw new IllegalArgumentException("양자화 학습 표본이 없습니다.");
+        }
+        float[] min = new float[dimensions];
+        float[] max = new float[dimensions];
+        Arrays.fill(min, Float.POSITIVE_INFINITY);
+        Arrays.fill(max, Float.NEGATIVE_INFINITY);
+        for (float[] vector : sample) {
+            for (int d = 0; d < dimensions; d++) {
+                min[d] = Math.min(min[d], vector[d]);
+                max[d] = Math.max(max[d], vector[d]);
+            }
+        }
+        float[] step = new float[dimensions];
+        for (int d = 0; d < dimensions; d++) {
+            step[d] = max[d] > min[d] ? (max[d] - min[d]) / LEVELS : 0f;
+        }
+        return new ScalarQuantizer(min, step);
+    }
+
+    @Override
+    public String name() {
+        return "int8";
+    }
+
+    @Override
+    public int bytesPerVector() {
+        return min.length;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        for (int d = 0; d < min.length; d++) {
+            int level = step[d] == 0 ? 0 : Math.round((vector[d] - min[d]) / step[d]);
+            codes[offset + d] = (byte) (Math.max(0, Math.min(LEVELS, level)) - 128);
+        }
+    }
+
+    @Override
+    public Scorer scorer(float[] query) {
+        float base = 0;
+        float[] weights = new float[min.length];
+        for (int d = 0; d < min.length; d++) {
+            base += query[d] * min[d];
+            weights[d] = query[d] * step[d];
+        }
+        float queryDotMin = base;
+        return (codes, offset) -> {
+            float dot = queryDotMin;
+            for (int d = 0; d < weights.length; d++) {
+                dot += weights[d] * (codes[offset + d] + 128);
+            }
+            return 1 - dot;
+        };
+    }
+}
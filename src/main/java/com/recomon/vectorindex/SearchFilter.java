@@ -0,0 +1,88 @@
+package com.recomon.vectorindex;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : SearchFilter
+ * author         : kobe
+ * date           : 2026. 2. 3.
+ * description    : 벡터 검색 조건 (vector_store metadata의 isbn / category)
+ *                  - excludedIsbns: 결과에서 제외할 도서 (예: 사용자가 고른 도서)
+ *                  - categories: 비어 있지 않으면 이 카테고리의 도서만
+ *                  pgvector에는 Spring AI 필터 표현식(-> jsonpath)으로, JVM 내 인덱스에는 검색 중 조건으로 적용하므로
+ *                  검색 한 번으로 조건을 만족하는 topK개를 받습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 3.        kobe       최초 생성
+ */
+public record SearchFilter(Set<String> excludedIsbns, Set<String> categories) {
+
+    private static final SearchFilter NONE = new SearchFilter(Set.of(), Set.of());
+
+    public SearchFilter {
+        excludedIsbns = validated(excludedIsbns);
+        categories = validated(categories);
+    }
+
+    public static SearchFilter none() {
+        return NONE;
+    }
+
+    public static SearchFilter excluding(Collection<String> isbns) {
+        return new SearchFilter(new HashSet<>(isbns), Set.of());
+    }
+
+    public SearchFilter withCategories(Collection<String> allowedCategories) {
+        return new SearchFilter(excludedIsbns, allowedCategories == null ? Set.of() : new HashSet<>(allowedCategories));
+    }
+
+    public boolean isEmpty() {
+        return excludedIsbns.isEmpty() && categories.isEmpty();
+    }
+
+    public boolean hasCategories() {
+        return !categories.isEmpty();
+    }
+
+    public boolean excludes(String isbn) {
+        return excludedIsbns.contains(isbn);
+    }
+
+    // isbn NOT IN (...) AND category IN (...), 조건이 없으면 null
+    public Filter.Expression toExpression() {
+        FilterExpressionBuilder builder = new FilterExpressionBuilder();
+        FilterExpressionBuilder.Op isbn = excludedIsbns.isEmpty() ? null
+                : builder.nin("isbn", excludedIsbns.toArray());
+        FilterExpressionBuilder.Op category = categories.isEmpty() ? null
+                : builder.in("category", categories.toArray());
+        if (isbn != null && category != null) {
+            return builder.and(isbn, category).build();
+        }
+        if (isbn != null) {
+            return isbn.build();
+        }
+        return category == null ? null : category.build();
+    }
+
+    // 값은 jsonpath 문자열 리터럴로 들어가므로 따옴표/역슬래시는 허용하지 않음
+    private static Set<String> validated(Set<String> values) {
+        if (values == null) {
+            return Set.of();
+        }
+        for (String value : values) {
+            if (value == null || value.indexOf('"') >= 0 || value.indexOf('\\') >= 0) {
+                throw new IllegalArgumentException("검색 조건에 사용할 수 없는 값입니다: " + value);
+            }
+        }
+        return Collections.unmodifiableSortedSet(new TreeSet<>(values)); // 정렬: 같은 조건이면 같은 표현식
+    }
+}
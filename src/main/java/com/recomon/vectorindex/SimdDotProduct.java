@@ -0,0 +1,71 @@
+package com.recomon.vectorindex;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : SimdDotProduct
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : Java Vector API(jdk.incubator.vector) 내적
+ *                  CPU가 지원하는 가장 넓은 레인(AVX2 8개, AVX-512 16개)으로 fma 누적하고, 남은 차원만 스칼라로 계산합니다.
+ *                  --add-modules jdk.incubator.vector 없이 실행하면 이 클래스를 읽지 않습니다 (DotProducts 참고).
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ */
+final class SimdDotProduct implements DotProduct {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "simd";
+    }
+
+    @Override
+    public float dot(float[] query, float[] data, int offset) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(query.length);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector q = FloatVector.fromArray(SPECIES, query, i);
+            FloatVector d = FloatVector.fromArray(SPECIES, data, offset + i);
+            sum = q.fma(d, sum);
+        }
+        float dot = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < query.length; i++) {
+            dot += query[i] * data[offset + i];
+        }
+        return dot;
+    }
+
+    @Override
+    public float dot(float[] query, ByteBuffer buffer, int byteOffset) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(query.length);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector q = FloatVector.fromArray(SPECIES, query, i);
+            FloatVector d = FloatVector.fromByteBuffer(SPECIES, buffer, byteOffset + i * Float.BYTES,
+                    ByteOrder.LITTLE_ENDIAN);
+            sum = q.fma(d, sum);
+        }
+        float dot = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < query.length; i++) {
+            dot += query[i] * buffer.getFloat(byteOffset + i * Float.BYTES);
+        }
+        return dot;
+    }
+
+    @Override
+    public String toString() {
+        return "simd(" + SPECIES.length() + " lanes)";
+    }
+}
@@ -0,0 +1,101 @@
+package com.recomon.vectorindex;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : TopK
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : 거리가 가장 작은 k개를 고르는 고정 크기 최대 힙 (행 번호 + 거리를 기본형 배열로 보관)
+ *                  후보마다 객체를 만들지 않으므로 전수 비교(수만~수십만 건)에서도 할당이 k에 비례합니다.
+ *                  거리가 같으면 행 번호가 작은 쪽이 앞 (넣은 순서가 곧 우선순위인 경우 그 순서를 유지)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ * 2026. 2. 4.        kobe       같은 거리는 행 번호 순 (추천 목적 점수 정렬에서 유사도 순서 유지)
+ */
+public final class TopK {
+
+    private final int k;
+    private final int[] rows;
+    private final float[] distances;
+    private int size;
+
+    public TopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k는 1 이상이어야 합니다: " + k);
+        }
+        this.k = k;
+        this.rows = new int[k];
+        this.distances = new float[k];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 현재 k번째 거리 (아직 k개가 안 되면 무한대): 이보다 먼 후보는 넣을 필요 없음
+    public float worst() {
+        return size < k ? Float.POSITIVE_INFINITY : distances[0];
+    }
+
+    public void offer(int row, float distance) {
+        if (size < k) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(distance, row, distances[parent], rows[parent])) {
+                    break;
+                }
+                rows[i] = rows[parent];
+                distances[i] = distances[parent];
+                i = parent;
+            }
+            rows[i] = row;
+            distances[i] = distance;
+        } else if (worse(distances[0], rows[0], distance, row)) {
+            siftDown(row, distance, size);
+        }
+    }
+
+    // 거리 오름차순으로 rowsOut/distancesOut에 채우고 개수를 반환 (힙은 비워짐)
+    public int drainSorted(int[] rowsOut, float[] distancesOut) {
+        int count = size;
+        while (size > 0) {
+            int last = --size;
+            rowsOut[last] = rows[0];
+            distancesOut[last] = distances[0];
+            if (last > 0) {
+                siftDown(rows[last], distances[last], last);
+            }
+        }
+        return count;
+    }
+
+    // 루트를 (row, distance)로 바꾸고 [0, length) 범위에서 아래로 내림
+    private void siftDown(int row, float distance, int length) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= length) {
+                break;
+            }
+            if (child + 1 < length && worse(distances[child + 1], rows[child + 1], distances[child], rows[child])) {
+                child++;
+            }
+            if (!worse(distances[child], rows[child], distance, row)) {
+                break;
+            }
+            rows[i] = rows[child];
+            distances[i] = distances[child];
+            i = child;
+        }
+        rows[i] = row;
+        distances[i] = distance;
+    }
+
+    // (거리, 행 번호) 순서로 a가 b보다 뒤인지
+    private static boolean worse(float distanceA, int rowA, float distanceB, int rowB) {
+        return distanceA > distanceB || (distanceA == distanceB && rowA > rowB);
+    }
+}
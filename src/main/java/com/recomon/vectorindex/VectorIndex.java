@@ -0,0 +1,48 @@
+package com.recomon.vectorindex;
+
+import org.springframework.ai.document.Document;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : VectorIndex
+ * author         : kobe
+ * date           : 2026. 2. 2.
+ * description    : vector_store를 비추는 JVM 내 검색 인덱스 (recomon.vector-index.backend로 하나만 사용)
+ *                  사용하지 않거나 준비되지 않은 인덱스는 Optional.empty()를 반환하고 변경은 무시합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 2.        kobe       최초 생성
+ * 2026. 2. 3.        kobe       검색 조건(SearchFilter)
+ * 2026. 2. 10.       kobe       upsert에 vector_store revision 전달
+ */
+public interface VectorIndex {
+
+    // hnsw | flat
+    String name();
+
+    boolean isReady();
+
+    // 코사인 거리 상위 topK (metadata: isbn, distance), 준비되지 않았으면 empty
+    default Optional<List<Document>> search(float[] embedding, int topK) {
+        return search(embedding, topK, SearchFilter.none());
+    }
+
+    // 조건을 만족하는 문서 중 상위 topK, 준비되지 않았거나 이 인덱스가 처리할 수 없는 조건이면 empty
+    Optional<List<Document>> search(float[] embedding, int topK, SearchFilter filter);
+
+    // Document ID -> 저장된 (정규화한) 임베딩, 준비되지 않았으면 empty
+    Optional<Map<String, float[]>> findEmbeddingsByIds(Collection<String> ids);
+
+    // vector_store upsert와 같은 변경 반영 (documents.get(i)의 임베딩이 embeddings.get(i), 쓴 revision이 revisions[i])
+    void upsert(List<Document> documents, List<float[]> embeddings, long[] revisions);
+
+    void delete(Collection<String> ids);
+
+    Map<String, Object> stats();
+}
@@ -0,0 +1,42 @@
+package com.recomon.vectorindex;
+
+import java.util.List;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : VectorQuantizer
+ * author         : kobe
+ * date           : 2026. 1. 30.
+ * description    : 정규화한 임베딩을 작은 코드로 압축하고, 코드만으로 쿼리와의 근사 코사인 거리를 계산
+ *                  근사 거리로 후보를 고른 뒤 원본(float) 벡터로 다시 정렬하는 것을 전제로 합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 30.        kobe       최초 생성
+ */
+public interface VectorQuantizer {
+
+    // none | int8 | pq
+    String name();
+
+    int bytesPerVector();
+
+    // vector를 codes[offset, offset + bytesPerVector())에 기록
+    void encode(float[] vector, byte[] codes, int offset);
+
+    // 쿼리별로 미리 계산해 두고 코드마다 근사 거리를 구함
+    Scorer scorer(float[] query);
+
+    interface Scorer {
+        float distance(byte[] codes, int offset);
+    }
+
+    // 표본으로 학습한 양자화기 (mode: int8 | pq)
+    static VectorQuantizer train(String mode, List<float[]> sample, int dimensions, int pqSubspaces) {
+        return switch (mode) {
+            case "int8" -> ScalarQuantizer.train(sample, dimensions);
+            case "pq" -> ProductQuantizer.train(sample, dimensions, pqSubspaces);
+            default -> throw new IllegalArgumentException("지원하지 않는 양자화 방식: " + mode + " (int8 | pq)");
+        };
+    }
+}
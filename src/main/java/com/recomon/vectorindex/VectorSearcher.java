@@ -0,0 +1,128 @@
+package com.recomon.vectorindex;
+
+import com.recomon.repository.VectorDocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : VectorSearcher
+ * author         : kobe
+ * date           : 2026. 1. 29.
+ * description    : 추천 검색 진입점: JVM 내 인덱스(recomon.vector-index.backend = hnsw | flat)가 준비되어 있으면
+ *                  JVM 안에서, 아니면 pgvector(vector_store)에서 검색
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 1. 29.        kobe       최초 생성
+ * 2026. 2. 2.        kobe       전수 비교(flat) 인덱스 추가
+ * 2026. 2. 3.        kobe       검색 조건(SearchFilter): 인덱스가 처리할 수 없는 조건이면 pgvector 필터 표현식으로
+ * 2026. 2. 9.        kobe       인덱스 예외는 집계 후 pgvector로 (recomon.vector.search.errors)
+ * 2026. 2. 10.       kobe       upsert에 vector_store revision 전달
+ */
+@Slf4j
+@Component
+public class VectorSearcher {
+
+    private final List<VectorIndex> vectorIndexes;
+    private final VectorDocumentRepository vectorDocumentRepository;
+
+    private final Map<String, Timer> indexTimers = new HashMap<>();
+    private final Map<String, Counter> indexErrors = new HashMap<>();
+    private final Timer pgvectorTimer;
+
+    public VectorSearcher(List<VectorIndex> vectorIndexes, VectorDocumentRepository vectorDocumentRepository,
+                          MeterRegistry meterRegistry) {
+        this.vectorIndexes = vectorIndexes;
+        this.vectorDocumentRepository = vectorDocumentRepository;
+        for (VectorIndex index : vectorIndexes) {
+            indexTimers.put(index.name(), searchTimer(meterRegistry, index.name()));
+            indexErrors.put(index.name(), Counter.builder("recomon.vector.search.errors")
+                    .description("JVM 내 인덱스 예외 (pgvector로 검색)")
+                    .tag("backend", index.name())
+                    .register(meterRegistry));
+        }
+        this.pgvectorTimer = searchTimer(meterRegistry, "pgvector");
+    }
+
+    // 코사인 거리 상위 topK (metadata: isbn, distance)
+    public List<Document> searchByVector(float[] embedding, int topK) {
+        return searchByVector(embedding, topK, SearchFilter.none());
+    }
+
+    // 조건(제외 ISBN / 카테고리)을 만족하는 문서 중 상위 topK (검색 한 번)
+    public List<Document> searchByVector(float[] embedding, int topK, SearchFilter filter) {
+        for (VectorIndex index : vectorIndexes) {
+            long start = System.nanoTime();
+            Optional<List<Document>> indexed;
+            try {
+                indexed = index.search(embedding, topK, filter);
+            } catch (RuntimeException e) {
+                indexFailed(index, e);
+                continue;
+            }
+            if (indexed.isPresent()) {
+                indexTimers.get(index.name()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return indexed.get();
+            }
+        }
+        return pgvectorTimer.record(() -> vectorDocumentRepository.searchByVector(embedding, topK, filter.toExpression()));
+    }
+
+    // Document ID -> 저장된 임베딩
+    public Map<String, float[]> findEmbeddingsByIds(Collection<String> ids) {
+        for (VectorIndex index : vectorIndexes) {
+            Optional<Map<String, float[]>> indexed;
+            try {
+                indexed = index.findEmbeddingsByIds(ids);
+            } catch (RuntimeException e) {
+                indexFailed(index, e);
+                continue;
+            }
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
+        return vectorDocumentRepository.findEmbeddingsByIds(ids);
+    }
+
+    // 수집 파이프라인 / 벤치마크 정리: vector_store와 같은 변경을 JVM 내 인덱스에도 반영 (사용하지 않는 인덱스는 무시)
+    // revisions: VectorDocumentRepository.upsert가 반환한 revision
+    public void upsert(List<Document> documents, List<float[]> embeddings, long[] revisions) {
+        vectorIndexes.forEach(index -> index.upsert(documents, embeddings, revisions));
+    }
+
+    public void delete(Collection<String> ids) {
+        vectorIndexes.forEach(index -> index.delete(ids));
+    }
+
+    // 인덱스별 상태 (hnsw / flat)
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (VectorIndex index : vectorIndexes) {
+            stats.put(index.name(), index.stats());
+        }
+        return stats;
+    }
+
+    // 인덱스 오류로 추천이 실패하지 않도록 다음 인덱스 / pgvector로 넘김
+    private void indexFailed(VectorIndex index, RuntimeException e) {
+        indexErrors.get(index.name()).increment();
+        log.warn(">>> {} 인덱스 검색 실패, pgvector로 검색합니다: {}", index.name(), e.toString());
+    }
+
+    private static Timer searchTimer(MeterRegistry meterRegistry, String backend) {
+        return Timer.builder("recomon.vector.search")
+                .description("추천 벡터 검색 시간")
+                .tag("backend", backend)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.recomon.vectorindex;
+
+/**
+ * packageName    : com.recomon.vectorindex
+ * fileName       : Vectors
+ * author         : kobe
+ * date           : 2026. 2. 9.
+ * description    : 코사인 계산용 벡터 유틸 (길이, 단위 길이 정규화, 정규화한 벡터끼리의 코사인 거리)
+ *                  HNSW / flat 인덱스, 양자화 보고서, 다양화(MMR), 쿼리 벡터 계산이 같은 정규화를 쓰도록 한 곳에 둡니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026. 2. 9.        kobe       최초 생성 (각 클래스의 normalize / distance 중복 제거)
+ */
+public final class Vectors {
+
+    private Vectors() {
+        // 인스턴스 생성 차단
+    }
+
+    // 유클리드 길이 (double로 누적)
+    public static double norm(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+
+    // 단위 길이로 맞춘 새 배열 (원본은 그대로, 길이가 0이면 0 벡터)
+    public static float[] normalize(float[] vector) {
+        double norm = norm(vector);
+        float[] normalized = new float[vector.length];
+        if (norm == 0) {
+            return normalized;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    // 차원이 dimensions가 아니면 IllegalArgumentException (인덱스에 넣거나 검색할 벡터)
+    public static float[] normalize(float[] vector, int dimensions) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + vector.length + " != " + dimensions);
+        }
+        return normalize(vector);
+    }
+
+    // 정규화한 벡터끼리의 코사인 거리 (1 - 내적)
+    public static float cosineDistance(float[] a, float[] b) {
+        return 1 - DotProducts.best().dot(a, b, 0);
+    }
+}
@@ -0,0 +1,167 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import com.recomon.recommendation.dto.BatchRecommendRequest;
+import com.recomon.recommendation.dto.BatchRecommendResult;
+import com.recomon.recommendation.dto.ScoredBook;
+import com.recomon.recommendation.ranking.RankingContext;
+import com.recomon.recommendation.ranking.RankingPipeline;
+import com.recomon.recommendation.ranking.RankingStage;
+import com.recomon.service.BookDocuments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchRecommendationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Collection<String>> embeddingLookups = new ArrayList<>();
+    private final Map<String, Map<String, float[]>> seenByDiversify = new ConcurrentHashMap<>();
+    private BatchRecommendationService service;
+
+    @AfterEach
+    void stop() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void keepsRequestOrderAndFailsOnlyAffectedRequests() {
+        service = service(true);
+
+        List<BatchRecommendResult> results = service.recommend(List.of(
+                request("a"),
+                request("unknown"), // 선택 도서 없음
+                request("boom"),    // 정렬 중 예외
+                request("novec"),   // 쿼리 임베딩 요청이 실패한 묶음
+                request("b")));
+
+        assertThat(results).hasSize(5);
+        assertThat(isbns(results.get(0))).containsExactly("a-1", "a-2");
+        assertThat(results.get(1).error()).isEqualTo("선택된 도서가 없습니다.");
+        assertThat(results.get(2).error()).startsWith("추천 실패");
+        assertThat(results.get(3).error()).isEqualTo("쿼리 벡터 생성 실패");
+        assertThat(isbns(results.get(4))).containsExactly("b-1", "b-2");
+    }
+
+    @Test
+    void fetchesCandidateEmbeddingsOnceForAllRequests() {
+        service = service(true);
+
+        service.recommend(List.of(request("a"), request("b"), request("c")));
+
+        assertThat(embeddingLookups).hasSize(1);
+        assertThat(embeddingLookups.get(0)).containsExactlyInAnyOrder(
+                documentId("a-1"), documentId("a-2"), documentId("b-1"), documentId("b-2"),
+                documentId("c-1"), documentId("c-2"));
+        assertThat(seenByDiversify).containsOnlyKeys("a", "b", "c");
+        assertThat(seenByDiversify.get("a")).isSameAs(seenByDiversify.get("c"));
+    }
+
+    @Test
+    void skipsPrefetchWhenNoStageUsesEmbeddings() {
+        service = service(false);
+
+        List<BatchRecommendResult> results = service.recommend(List.of(request("a")));
+
+        assertThat(isbns(results.get(0))).containsExactly("a-1", "a-2");
+        assertThat(embeddingLookups).isEmpty();
+    }
+
+    private BatchRecommendationService service(boolean diversify) {
+        List<RankingStage> stages = new ArrayList<>();
+        stages.add(stage("candidates", false, context -> {
+            String selected = context.selectedBooks().get(0).getIsbn();
+            if (selected.equals("boom")) {
+                throw new IllegalStateException("검색 실패");
+            }
+            context.setCandidates(List.of(selected + "-1", selected + "-2"), new float[2]);
+            context.setFeatures(null, new int[]{-1, -1}, null, new double[]{0.9, 0.8});
+        }));
+        if (diversify) {
+            stages.add(stage("diversify", true, context -> {
+                seenByDiversify.put(context.selectedBooks().get(0).getIsbn(), context.storedEmbeddings());
+                context.setRanked(new int[]{0, 1});
+            }));
+        }
+        stages.add(stage("truncate", false, context -> context.setRanked(new int[]{0, 1})));
+
+        return new BatchRecommendationService(
+                this::findBooks,
+                selections -> selections.stream()
+                        .map(books -> books.get(0).getIsbn().equals("novec") ? null : new float[]{1, 0})
+                        .toList(),
+                ids -> {
+                    synchronized (embeddingLookups) {
+                        embeddingLookups.add(new HashSet<>(ids));
+                    }
+                    Map<String, float[]> stored = new HashMap<>();
+                    ids.forEach(id -> stored.put(id, new float[]{1, 0}));
+                    return stored;
+                },
+                new RankingPipeline(stages, meterRegistry), meterRegistry, 3, 2, 100);
+    }
+
+    // "unknown"만 DB에 없는 도서, 나머지는 추천 도서 포함 모두 있음
+    private List<Book> findBooks(Collection<String> isbns) {
+        return isbns.stream()
+                .filter(isbn -> !isbn.equals("unknown"))
+                .map(isbn -> Book.builder().isbn(isbn).title(isbn).build())
+                .toList();
+    }
+
+    private static BatchRecommendRequest request(String isbn) {
+        return new BatchRecommendRequest(List.of(isbn), List.of());
+    }
+
+    private static List<String> isbns(BatchRecommendResult result) {
+        assertThat(result.hasError()).isFalse();
+        return result.books().stream().map(ScoredBook::book).map(Book::getIsbn).toList();
+    }
+
+    private static String documentId(String isbn) {
+        return BookDocuments.idOf(isbn);
+    }
+
+    private static RankingStage stage(String name, boolean optional, Consumer<RankingContext> apply) {
+        return new RankingStage() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public long budgetMillis() {
+                return 10_000;
+            }
+
+            @Override
+            public boolean optional() {
+                return optional;
+            }
+
+            @Override
+            public boolean usesStoredEmbeddings() {
+                return name.equals("diversify");
+            }
+
+            @Override
+            public void apply(RankingContext context) {
+                apply.accept(context);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CatalogSnapshotTest {
+
+    private static final int THIS_YEAR = Year.now().getValue();
+
+    @Test
+    void storesColumnsByDenseId() {
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder(2);
+        for (int i = 0; i < 100; i++) {
+            builder.add("isbn-" + i, i % 2 == 0 ? "소설" : "경제", 4.5, i, 2000 + i, i % 3 == 0, i % 5 == 0);
+        }
+        CatalogSnapshot snapshot = builder.build(7);
+
+        assertThat(snapshot.version()).isEqualTo(7);
+        assertThat(snapshot.size()).isEqualTo(100);
+        int id = snapshot.idOf("isbn-65");
+        assertThat(snapshot.isbn(id)).isEqualTo("isbn-65");
+        assertThat(snapshot.reviewCount(id)).isEqualTo(65);
+        assertThat(snapshot.publishedYear(id)).isEqualTo(2065);
+        assertThat(snapshot.bestSeller(id)).isFalse();
+        assertThat(snapshot.awardWinner(id)).isTrue();
+        assertThat(snapshot.bestSeller(snapshot.idOf("isbn-66"))).isTrue();
+        assertThat(snapshot.idOf("unknown")).isEqualTo(-1);
+        assertThat(snapshot.categoryCount()).isEqualTo(2);
+        assertThat(snapshot.categoryName(snapshot.categoryId(id))).isEqualTo("경제");
+        assertThat(snapshot.categoryIdOf("과학")).isEqualTo(-1);
+    }
+
+    @Test
+    void sameIsbnOverwritesFlags() {
+        CatalogSnapshot snapshot = CatalogSnapshot.builder(1)
+                .add("1", "소설", 3.0, 10, 2020, true, true)
+                .add("1", null, 4.0, 20, 2021, false, false)
+                .build(1);
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.rating(0)).isEqualTo(4.0f);
+        assertThat(snapshot.bestSeller(0)).isFalse();
+        assertThat(snapshot.awardWinner(0)).isFalse();
+        assertThat(snapshot.categoryId(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void batchScoreMatchesEntityScore() {
+        List<Book> books = List.of(
+                book("1", 4.5, 1200, THIS_YEAR, true, false),
+                book("2", 3.0, 0, 2001, false, true),
+                book("3", 5.0, 87, THIS_YEAR - 2, true, true));
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder(books.size());
+        books.forEach(book -> builder.add(book.getIsbn(), book.getCategory(), book.getRating(), book.getReviewCount(),
+                book.getPublishedYear(), book.isBestSeller(), book.isAwardWinner()));
+        CatalogSnapshot snapshot = builder.build(1);
+        IntentWeightPolicy policy = IntentWeightPolicy.from(List.of(RecommendIntent.values()));
+
+        int[] candidates = {snapshot.idOf("3"), -1, snapshot.idOf("1"), snapshot.idOf("2")};
+        double[] scores = new double[candidates.length];
+        policy.score(snapshot, candidates, scores);
+
+        assertThat(scores[0]).isCloseTo(policy.score(books.get(2)), within(1e-6));
+        assertThat(scores[1]).isZero();
+        assertThat(scores[2]).isCloseTo(policy.score(books.get(0)), within(1e-6));
+        assertThat(scores[3]).isCloseTo(policy.score(books.get(1)), within(1e-6));
+    }
+
+    private Book book(String isbn, double rating, int reviewCount, int publishedYear,
+                      boolean bestSeller, boolean awardWinner) {
+        return Book.builder().isbn(isbn).title("책 " + isbn).rating(rating).reviewCount(reviewCount)
+                .publishedYear(publishedYear).bestSeller(bestSeller).awardWinner(awardWinner).build();
+    }
+}
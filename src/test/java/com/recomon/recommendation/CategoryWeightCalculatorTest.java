@@ -0,0 +1,38 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CategoryWeightCalculatorTest {
+
+    private final CategoryWeightCalculator calculator = new CategoryWeightCalculator();
+
+    @Test
+    void returnsWeightPerSelectedCategory() {
+        Map<String, Double> weights = calculator.calculate(List.of(
+                book("1", "소설"), book("2", "소설"), book("3", "소설"),
+                book("4", "경제"), book("5", "경제"),
+                book("6", "과학"), book("7", "과학"), book("8", "과학"), book("9", "과학"),
+                book("10", null)));
+
+        assertThat(weights).containsOnlyKeys("소설", "경제", "과학");
+        assertThat(weights.get("소설")).isCloseTo(0.3, within(1e-9)); // 30%
+        assertThat(weights.get("경제")).isCloseTo(0.2, within(1e-9)); // 20%
+        assertThat(weights.get("과학")).isCloseTo(0.4, within(1e-9)); // 40%
+    }
+
+    @Test
+    void emptySelectionHasNoWeights() {
+        assertThat(calculator.calculate(List.of())).isEmpty();
+    }
+
+    private Book book(String isbn, String category) {
+        return Book.builder().isbn(isbn).title("책 " + isbn).category(category).build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FallbackRecommendationsTest {
+
+    @Test
+    void keepsMostPopularBooksPerCategory() {
+        CatalogSnapshot snapshot = CatalogSnapshot.builder(5)
+                .add("novel-few-reviews", "소설", 5.0, 1, 2020, false, false)
+                .add("novel-many-reviews", "소설", 4.0, 1000, 2020, false, false)
+                .add("novel-best-seller", "소설", 3.0, 10, 2020, true, false)
+                .add("economy", "경제", 4.0, 10, 2020, false, false)
+                .add("no-category", null, 5.0, 5000, 2020, true, false)
+                .build(1);
+
+        Map<String, List<String>> popular = FallbackRecommendations.popularIsbns(snapshot, 2);
+
+        assertThat(popular).containsOnlyKeys("소설", "경제");
+        assertThat(popular.get("소설")).containsExactly("novel-best-seller", "novel-many-reviews");
+        assertThat(popular.get("경제")).containsExactly("economy");
+    }
+
+    @Test
+    void prefersOtherCategoriesAndSkipsSelectedBooks() {
+        Map<String, List<Book>> pool = Map.of(
+                "소설", List.of(book("n1", "소설"), book("n2", "소설")),
+                "경제", List.of(book("e1", "경제"), book("e2", "경제")),
+                "과학", List.of(book("s1", "과학")));
+
+        List<Book> picked = FallbackRecommendations.pick(pool, Set.of("소설"), Set.of("e1"), 2, new Random(1));
+
+        assertThat(picked).extracting(Book::getIsbn).containsExactlyInAnyOrder("e2", "s1");
+    }
+
+    @Test
+    void fillsFromSelectedCategoriesWhenOthersRunOut() {
+        Map<String, List<Book>> pool = Map.of(
+                "소설", List.of(book("n1", "소설"), book("n2", "소설")),
+                "경제", List.of(book("e1", "경제")));
+
+        List<Book> picked = FallbackRecommendations.pick(pool, Set.of("소설"), Set.of("n1"), 10, new Random(1));
+
+        assertThat(picked).extracting(Book::getIsbn).containsExactly("e1", "n2");
+    }
+
+    @Test
+    void initialPoolKeepsPopularityOrderPerCategory() {
+        List<Book> popular = List.of(book("n1", "소설"), book("e1", "경제"), book("n2", "소설"),
+                book("x", null), book("n3", "소설"));
+
+        Map<String, List<Book>> pool = FallbackRecommendations.groupByCategory(popular, 2);
+
+        assertThat(pool).containsOnlyKeys("소설", "경제");
+        assertThat(pool.get("소설")).extracting(Book::getIsbn).containsExactly("n1", "n2");
+        assertThat(pool.get("경제")).extracting(Book::getIsbn).containsExactly("e1");
+    }
+
+    private static Book book(String isbn, String category) {
+        return Book.builder().isbn(isbn).title(isbn).category(category).build();
+    }
+}
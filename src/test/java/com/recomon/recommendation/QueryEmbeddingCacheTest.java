@@ -0,0 +1,120 @@
+package com.recomon.recommendation;
+
+import com.recomon.embedding.FakeEmbeddingModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryEmbeddingCacheTest {
+
+    private final AtomicInteger modelCalls = new AtomicInteger();
+    private final FakeEmbeddingModel embeddingModel = new FakeEmbeddingModel(8, Duration.ZERO, Duration.ZERO) {
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            modelCalls.incrementAndGet();
+            return super.call(request);
+        }
+    };
+
+    @Test
+    void repeatedQueryDoesNotCallModel() {
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(embeddingModel, 100, Duration.ofHours(1));
+
+        float[] first = cache.embed("소설 채식주의자");
+        float[] second = cache.embed("소설 채식주의자");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(modelCalls).hasValue(1);
+    }
+
+    @Test
+    void embedsOriginalTextAndNormalizesOnlyTheKey() {
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(embeddingModel, 100, Duration.ofHours(1));
+        float[] original = new FakeEmbeddingModel(8, Duration.ZERO, Duration.ZERO).embed("IT 모바일 Clean Code");
+
+        assertThat(cache.embed("IT 모바일 Clean Code")).isEqualTo(original);
+        assertThat(cache.embedAll(List.of("it 모바일  clean code"))).first().isEqualTo(original);
+        assertThat(modelCalls).hasValue(1);
+    }
+
+    @Test
+    void returnedVectorsAreCopies() {
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(embeddingModel, 100, Duration.ofHours(1));
+        float[] first = cache.embed("소설 채식주의자");
+        float[] expected = first.clone();
+
+        first[0] = 42f;
+        cache.embedAll(List.of("소설 채식주의자")).get(0)[1] = 42f;
+
+        assertThat(cache.embed("소설 채식주의자")).isEqualTo(expected);
+    }
+
+    @Test
+    void whitespaceAndCaseVariantsShareEntry() {
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(embeddingModel, 100, Duration.ofHours(1));
+
+        cache.embed("IT 모바일  Clean Code");
+        cache.embed("  it 모바일 clean\tcode ");
+
+        assertThat(modelCalls).hasValue(1);
+        assertThat(QueryEmbeddingCache.normalize("  IT 모바일\n Clean  Code ")).isEqualTo("it 모바일 clean code");
+    }
+
+    @Test
+    void embedAllSendsOnlyMissingTextsInOneRequest() {
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(embeddingModel, 100, Duration.ofHours(1));
+        float[] cached = cache.embed("소설 채식주의자");
+
+        List<float[]> embeddings = cache.embedAll(List.of("경제 돈의 속성", "소설  채식주의자", "과학 코스모스", "경제 돈의 속성"));
+
+        assertThat(embeddings).hasSize(4);
+        assertThat(embeddings.get(1)).isEqualTo(cached);
+        assertThat(embeddings.get(3)).isEqualTo(embeddings.get(0));
+        assertThat(modelCalls).hasValue(2);
+    }
+
+    @Test
+    void embedAllSplitsRequestsAndFailsOnlyTheFailedChunk() {
+        List<Integer> requestSizes = new ArrayList<>();
+        FakeEmbeddingModel failing = new FakeEmbeddingModel(8, Duration.ZERO, Duration.ZERO) {
+            @Override
+            public EmbeddingResponse call(EmbeddingRequest request) {
+                requestSizes.add(request.getInstructions().size());
+                if (request.getInstructions().contains("실패")) {
+                    throw new IllegalStateException("rate limit");
+                }
+                return super.call(request);
+            }
+        };
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(failing, 100, Duration.ofHours(1), 2, 1_000);
+
+        List<float[]> embeddings = cache.embedAll(List.of("하나", "둘", "실패", "넷", "다섯"));
+
+        assertThat(requestSizes).containsExactly(2, 2, 1);
+        assertThat(embeddings).hasSize(5);
+        assertThat(embeddings.get(0)).isNotNull();
+        assertThat(embeddings.get(1)).isNotNull();
+        assertThat(embeddings.get(2)).isNull();
+        assertThat(embeddings.get(3)).isNull(); // 같은 묶음
+        assertThat(embeddings.get(4)).isNotNull();
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    void evictsBeyondMaxSize() {
+        QueryEmbeddingCache cache = new QueryEmbeddingCache(embeddingModel, 10, Duration.ofHours(1));
+
+        for (int i = 0; i < 100; i++) {
+            cache.embed("query " + i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+}
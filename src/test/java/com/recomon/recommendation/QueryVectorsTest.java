@@ -0,0 +1,46 @@
+package com.recomon.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class QueryVectorsTest {
+
+    @Test
+    void meanOfUnitVectorsIsNormalized() {
+        float[] centroid = QueryVectors.weightedCentroid(
+                List.of(new float[]{1, 0}, new float[]{0, 3}), List.of(1.0, 1.0));
+
+        // 길이가 달라도 방향만 평균 (0, 3)은 (0, 1)로 취급
+        assertThat(centroid[0]).isCloseTo((float) Math.sqrt(0.5), within(1e-6f));
+        assertThat(centroid[1]).isCloseTo((float) Math.sqrt(0.5), within(1e-6f));
+    }
+
+    @Test
+    void weightsPullTowardsHeavierVector() {
+        float[] centroid = QueryVectors.weightedCentroid(
+                List.of(new float[]{1, 0}, new float[]{0, 1}), List.of(3.0, 1.0));
+
+        assertThat(centroid[0]).isGreaterThan(centroid[1]);
+        assertThat(centroid[0] * centroid[0] + centroid[1] * centroid[1]).isCloseTo(1f, within(1e-6f));
+    }
+
+    @Test
+    void zeroWeightsFallBackToMean() {
+        float[] centroid = QueryVectors.weightedCentroid(
+                List.of(new float[]{1, 0}, new float[]{0, 1}), List.of(0.0, 0.0));
+
+        assertThat(centroid[0]).isCloseTo(centroid[1], within(1e-6f));
+    }
+
+    @Test
+    void rejectsMismatchedDimensions() {
+        assertThatThrownBy(() -> QueryVectors.weightedCentroid(
+                List.of(new float[]{1, 0}, new float[]{1, 0, 0}), List.of(1.0, 1.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
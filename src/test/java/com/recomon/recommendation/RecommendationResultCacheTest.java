@@ -0,0 +1,98 @@
+package com.recomon.recommendation;
+
+import com.recomon.domain.Book;
+import com.recomon.service.CatalogVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecommendationResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CatalogVersion catalogVersion = new CatalogVersion(meterRegistry);
+    // 다시 계산을 호출한 스레드에서 바로 실행
+    private final RecommendationResultCache cache =
+            new RecommendationResultCache(catalogVersion, 100, Runnable::run, meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void sameIsbnSetAndIntentsInAnyOrderHit() {
+        cache.get(List.of("2", "1"), List.of(RecommendIntent.HIGH_RATING, RecommendIntent.BEST_SELLER), () -> load("a"));
+        List<Book> result = cache.get(List.of("1", "2"), List.of(RecommendIntent.BEST_SELLER, RecommendIntent.HIGH_RATING), () -> load("b"));
+
+        assertThat(result).extracting(Book::getIsbn).containsExactly("a");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void differentIntentsMiss() {
+        cache.get(List.of("1"), List.of(), () -> load("a"));
+        cache.get(List.of("1"), List.of(RecommendIntent.NEW_RELEASE), () -> load("b"));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void staleEntryIsServedAndRevalidated() {
+        cache.get(List.of("1"), List.of(), () -> load("old"));
+        catalogVersion.bump();
+
+        List<Book> stale = cache.get(List.of("1"), List.of(), () -> load("new"));
+        List<Book> fresh = cache.get(List.of("1"), List.of(), () -> load("newer"));
+
+        assertThat(stale).extracting(Book::getIsbn).containsExactly("old");
+        assertThat(fresh).extracting(Book::getIsbn).containsExactly("new");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void incompleteResultIsRecomputedOnNextRequest() {
+        cache.get(List.of("1"), List.of(), Set.of(), Set.of(),
+                () -> new RecommendationResultCache.Loaded(load("partial"), false));
+
+        List<Book> served = cache.get(List.of("1"), List.of(), Set.of(), Set.of(),
+                () -> RecommendationResultCache.Loaded.complete(load("full")));
+        List<Book> hit = cache.get(List.of("1"), List.of(), Set.of(), Set.of(),
+                () -> RecommendationResultCache.Loaded.complete(load("again")));
+
+        assertThat(served).extracting(Book::getIsbn).containsExactly("partial");
+        assertThat(hit).extracting(Book::getIsbn).containsExactly("full");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failedRevalidationKeepsStaleResult() {
+        cache.get(List.of("1"), List.of(), () -> load("old"));
+        catalogVersion.bump();
+
+        cache.get(List.of("1"), List.of(), () -> {
+            throw new IllegalStateException("임베딩 API 장애");
+        });
+        List<Book> result = cache.get(List.of("1"), List.of(), () -> {
+            throw new IllegalStateException("임베딩 API 장애");
+        });
+
+        assertThat(result).extracting(Book::getIsbn).containsExactly("old");
+        assertThat(meterRegistry.counter("recomon.recommend.cache.refresh.failures").count()).isEqualTo(2);
+    }
+
+    @Test
+    void missFailureIsNotCached() {
+        assertThatThrownBy(() -> cache.get(List.of("1"), List.of(), () -> {
+            throw new IllegalStateException("임베딩 API 장애");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(List.of("1"), List.of(), () -> load("a"))).extracting(Book::getIsbn).containsExactly("a");
+    }
+
+    private List<Book> load(String isbn) {
+        loads.incrementAndGet();
+        return List.of(Book.builder().isbn(isbn).title(isbn).build());
+    }
+}
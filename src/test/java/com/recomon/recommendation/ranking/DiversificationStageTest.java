@@ -0,0 +1,79 @@
+package com.recomon.recommendation.ranking;
+
+import com.recomon.recommendation.CatalogSnapshot;
+import com.recomon.service.BookDocuments;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiversificationStageTest {
+
+    @Test
+    void capsBooksPerCategoryInScoreOrder() {
+        // 0~5: 소설 (점수 높음), 6~7: 경제
+        RankingContext context = context(new String[]{"소설", "소설", "소설", "소설", "소설", "소설", "경제", "경제"},
+                new double[]{0.9, 0.8, 0.7, 0.6, 0.5, 0.4, 0.3, 0.2}, 4);
+
+        new DiversificationStage(ids -> Map.of(), 1.0, 2, true, 5).apply(context);
+
+        assertThat(context.ranked()).containsExactly(0, 1, 6, 7);
+    }
+
+    @Test
+    void fillsFromSkippedBooksWhenOtherCategoriesRunOut() {
+        RankingContext context = context(new String[]{"소설", "소설", "소설", "경제"},
+                new double[]{0.4, 0.9, 0.8, 0.1}, 4);
+
+        new DiversificationStage(ids -> Map.of(), 1.0, 2, true, 5).apply(context);
+
+        assertThat(context.ranked()).containsExactly(1, 2, 3, 0);
+    }
+
+    @Test
+    void mmrSkipsNearDuplicatesUsingStoredEmbeddings() {
+        // 0, 1은 같은 임베딩 (같은 시리즈), 2는 점수가 조금 낮지만 다른 도서
+        RankingContext context = context(new String[]{"소설", "경제", "과학"}, new double[]{0.9, 0.85, 0.8}, 2);
+        Map<String, float[]> stored = new HashMap<>();
+        stored.put(BookDocuments.idOf("isbn-0"), new float[]{1, 0, 0});
+        stored.put(BookDocuments.idOf("isbn-1"), new float[]{1, 0.01f, 0});
+        stored.put(BookDocuments.idOf("isbn-2"), new float[]{0, 1, 0});
+
+        new DiversificationStage(ids -> stored, 0.5, 4, true, 5).apply(context);
+
+        assertThat(context.ranked()).containsExactly(0, 2);
+    }
+
+    @Test
+    void withoutStoredEmbeddingsKeepsScoreOrder() {
+        RankingContext context = context(new String[]{"소설", "경제", "과학"}, new double[]{0.2, 0.9, 0.5}, 3);
+
+        new DiversificationStage(ids -> Map.of(), 0.5, 4, true, 5).apply(context);
+
+        assertThat(context.ranked()).containsExactly(1, 2, 0);
+    }
+
+    private RankingContext context(String[] categories, double[] scores, int limit) {
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder(categories.length);
+        List<String> isbns = new ArrayList<>();
+        int[] ids = new int[categories.length];
+        for (int i = 0; i < categories.length; i++) {
+            isbns.add("isbn-" + i);
+            builder.add("isbn-" + i, categories[i], 4.0, 10, 2020, false, false);
+        }
+        CatalogSnapshot snapshot = builder.build(1);
+        for (int i = 0; i < categories.length; i++) {
+            ids[i] = snapshot.idOf(isbns.get(i));
+        }
+
+        RankingContext context = new RankingContext(List.of(), List.of(), Set.of(), Set.of(), limit, categories.length);
+        context.setCandidates(isbns, new float[categories.length]);
+        context.setFeatures(snapshot, ids, null, scores);
+        return context;
+    }
+}
@@ -0,0 +1,92 @@
+package com.recomon.recommendation.ranking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    void runsStagesInOrderAndTimesEach() {
+        RankingPipeline pipeline = new RankingPipeline(List.of(
+                stage("candidates", false, 100, 0), stage("intent-boost", true, 100, 0),
+                stage("truncate", false, 100, 0)), meterRegistry);
+
+        RankingContext context = context(Set.of());
+        pipeline.run(context);
+
+        assertThat(executed).containsExactly("candidates", "intent-boost", "truncate");
+        assertThat(context.stageMillis()).containsOnlyKeys("candidates", "intent-boost", "truncate");
+        assertThat(meterRegistry.get("recomon.recommend.ranking.stage").tag("stage", "truncate").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void requestCanSkipOnlyOptionalStages() {
+        RankingPipeline pipeline = new RankingPipeline(List.of(
+                stage("candidates", false, 100, 0), stage("diversify", true, 100, 0)), meterRegistry);
+
+        pipeline.run(context(Set.of("candidates", "diversify")));
+
+        assertThat(executed).containsExactly("candidates");
+        assertThat(pipeline.optionalStageNames()).containsExactly("diversify");
+    }
+
+    @Test
+    void optionalStagesAreSkippedOnceBudgetIsSpent() {
+        RankingPipeline pipeline = new RankingPipeline(List.of(
+                stage("candidates", false, 1, 30), stage("category-boost", true, 1, 0),
+                stage("truncate", false, 1, 0)), meterRegistry);
+
+        RankingContext context = context(Set.of());
+        pipeline.run(context);
+
+        assertThat(executed).containsExactly("candidates", "truncate");
+        assertThat(context.budgetSkippedStages()).containsExactly("category-boost");
+        assertThat(meterRegistry.get("recomon.recommend.ranking.stage.over-budget").tag("stage", "candidates")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recomon.recommend.ranking.stage.skipped").tag("stage", "category-boost")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private RankingContext context(Set<String> skippedStages) {
+        return new RankingContext(List.of(), List.of(), Set.of(), skippedStages, 10, 30);
+    }
+
+    private RankingStage stage(String name, boolean optional, long budgetMillis, long sleepMillis) {
+        return new RankingStage() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public long budgetMillis() {
+                return budgetMillis;
+            }
+
+            @Override
+            public boolean optional() {
+                return optional;
+            }
+
+            @Override
+            public void apply(RankingContext context) {
+                executed.add(name);
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
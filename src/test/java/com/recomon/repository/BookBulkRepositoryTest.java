@@ -0,0 +1,99 @@
+package com.recomon.repository;
+
+import com.recomon.domain.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookBulkRepositoryTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private BookBulkRepository repository;
+
+    @BeforeEach
+    void createTable() {
+        // ON DUPLICATE KEY UPDATE / VALUES()는 H2 MySQL 모드로 확인
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:books-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE books (
+                    isbn VARCHAR(20) PRIMARY KEY,
+                    title VARCHAR(255),
+                    author VARCHAR(255),
+                    image_url VARCHAR(255),
+                    category VARCHAR(255),
+                    published_year INT NOT NULL,
+                    rating DOUBLE NOT NULL,
+                    review_count INT NOT NULL,
+                    best_seller BOOLEAN NOT NULL,
+                    award_winner BOOLEAN NOT NULL
+                )
+                """);
+        repository = new BookBulkRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void reimportKeepsScoresAndCategoryOfExistingBook() {
+        jdbcTemplate.update("""
+                INSERT INTO books VALUES ('9788936434120', '채식주의자', '한강', 'http://img/1.jpg', '소설',
+                                          2007, 4.8, 1200, TRUE, TRUE)
+                """);
+
+        // 가져오기 파일 행: 카테고리 / 저자 / 이미지 / 출판년도 / 점수 열 없음
+        repository.upsertAll(List.of(Book.builder().isbn("9788936434120").title("채식주의자 (개정판)").author("")
+                .category(null).publishedYear(0).build()), "기타");
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM books WHERE isbn = '9788936434120'");
+        assertThat(row.get("TITLE")).isEqualTo("채식주의자 (개정판)");
+        assertThat(row.get("AUTHOR")).isEqualTo("한강");
+        assertThat(row.get("IMAGE_URL")).isEqualTo("http://img/1.jpg");
+        assertThat(row.get("CATEGORY")).isEqualTo("소설");
+        assertThat(row.get("PUBLISHED_YEAR")).isEqualTo(2007);
+        assertThat(row.get("RATING")).isEqualTo(4.8);
+        assertThat(row.get("REVIEW_COUNT")).isEqualTo(1200);
+        assertThat(row.get("BEST_SELLER")).isEqualTo(true);
+        assertThat(row.get("AWARD_WINNER")).isEqualTo(true);
+    }
+
+    @Test
+    void newBookWithoutCategoryGetsDefault() {
+        repository.upsertAll(List.of(
+                Book.builder().isbn("1").title("분류 없음").build(),
+                Book.builder().isbn("2").title("경제 책").category("경제").build()), "기타");
+
+        assertThat(jdbcTemplate.queryForList("SELECT category FROM books ORDER BY isbn", String.class))
+                .containsExactly("기타", "경제");
+    }
+
+    @Test
+    void suppliedValuesStillOverwrite() {
+        jdbcTemplate.update("""
+                INSERT INTO books VALUES ('1', '제목', '저자', NULL, '소설', 2007, 4.0, 10, FALSE, FALSE)
+                """);
+
+        repository.upsertAll(List.of(Book.builder().isbn("1").title("제목").author("새 저자")
+                .imageUrl("http://img/new.jpg").category("에세이").publishedYear(2020).build()), "기타");
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM books WHERE isbn = '1'");
+        assertThat(row.get("AUTHOR")).isEqualTo("새 저자");
+        assertThat(row.get("IMAGE_URL")).isEqualTo("http://img/new.jpg");
+        assertThat(row.get("CATEGORY")).isEqualTo("에세이");
+        assertThat(row.get("PUBLISHED_YEAR")).isEqualTo(2020);
+        assertThat(row.get("RATING")).isEqualTo(4.0);
+    }
+}
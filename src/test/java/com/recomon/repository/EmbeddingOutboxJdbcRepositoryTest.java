@@ -0,0 +1,117 @@
+package com.recomon.repository;
+
+import com.recomon.service.BookDocuments;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingOutboxJdbcRepositoryTest {
+
+    private static final long FIRST = 1L;
+    private static final long SECOND = 2L;
+
+    private final Document a = BookDocuments.of("9788936434120", "채식주의자", "소설", "채식주의자 한강");
+    private final Document b = BookDocuments.of("9788937460449", "데미안", "소설", "데미안 헤르만 헤세");
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private EmbeddingOutboxJdbcRepository repository;
+
+    @BeforeEach
+    void createTable() {
+        // ON DUPLICATE KEY UPDATE / GREATEST는 H2 MySQL 모드로 확인
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE embedding_outbox (
+                    document_id VARCHAR(36) PRIMARY KEY,
+                    isbn VARCHAR(20),
+                    title VARCHAR(255),
+                    category VARCHAR(255),
+                    content TEXT,
+                    attempts INT NOT NULL,
+                    claim_token BIGINT NOT NULL,
+                    next_attempt_at TIMESTAMP,
+                    last_error VARCHAR(500),
+                    created_at TIMESTAMP
+                )
+                """);
+        repository = new EmbeddingOutboxJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void renewLeaseReturnsOnlyRowsStillHeldByToken() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        repository.upsertAll(List.of(a, b), now, FIRST);
+        repository.upsertAll(List.of(b), now, SECOND); // 처리 전에 다시 기록됨
+
+        LocalDateTime renewed = now.plusMinutes(2);
+        assertThat(repository.renewLease(List.of(a.getId(), b.getId()), FIRST, renewed))
+                .containsExactly(a.getId());
+
+        assertThat(nextAttemptAt(a)).isEqualTo(Timestamp.valueOf(renewed));
+        assertThat(nextAttemptAt(b)).isEqualTo(Timestamp.valueOf(now));
+    }
+
+    @Test
+    void completeDeletesOnlyRowsStillHeldByToken() {
+        repository.upsertAll(List.of(a, b), LocalDateTime.now(), FIRST);
+        repository.upsertAll(List.of(b), LocalDateTime.now(), SECOND);
+
+        repository.deleteClaimed(List.of(a.getId(), b.getId()), FIRST);
+
+        assertThat(jdbcTemplate.queryForList("SELECT document_id FROM embedding_outbox", String.class))
+                .containsExactly(b.getId());
+        assertThat(repository.countPending()).isEqualTo(1);
+    }
+
+    @Test
+    void markFailedRecordsErrorOnlyOnRowsStillHeldByToken() {
+        repository.upsertAll(List.of(a, b), LocalDateTime.now(), FIRST);
+        repository.upsertAll(List.of(b), LocalDateTime.now(), SECOND);
+
+        repository.markFailed(List.of(a.getId(), b.getId()), FIRST, "IllegalStateException: 임베딩 API 장애");
+
+        assertThat(lastError(a)).isEqualTo("IllegalStateException: 임베딩 API 장애");
+        assertThat(lastError(b)).isNull();
+    }
+
+    @Test
+    void rewriteResetsAttemptsAndError() {
+        repository.upsertAll(List.of(a), LocalDateTime.now(), FIRST);
+        jdbcTemplate.update("UPDATE embedding_outbox SET attempts = 3");
+        repository.markFailed(List.of(a.getId()), FIRST, "x".repeat(600));
+        assertThat(lastError(a)).hasSize(500);
+
+        repository.upsertAll(List.of(a), LocalDateTime.now(), SECOND);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM embedding_outbox", Integer.class)).isZero();
+        assertThat(lastError(a)).isNull();
+    }
+
+    private Timestamp nextAttemptAt(Document document) {
+        return jdbcTemplate.queryForObject("SELECT next_attempt_at FROM embedding_outbox WHERE document_id = ?",
+                Timestamp.class, document.getId());
+    }
+
+    private String lastError(Document document) {
+        return jdbcTemplate.queryForObject("SELECT last_error FROM embedding_outbox WHERE document_id = ?",
+                String.class, document.getId());
+    }
+}
@@ -0,0 +1,113 @@
+package com.recomon.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recomon.vectorindex.SearchFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.ai.document.Document;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+class VectorDocumentRepositoryTest {
+
+    // 실제 pgvector가 필요한 테스트: RECOMON_TEST_PGVECTOR_URL=jdbc:postgresql://localhost:5432/recomon (USER / PASSWORD 선택)
+    private static final String URL_ENV = "RECOMON_TEST_PGVECTOR_URL";
+    private static final int DIMENSIONS = 8;
+
+    private SingleConnectionDataSource dataSource;
+    private String schema;
+
+    @AfterEach
+    void dropSchema() {
+        if (dataSource != null) {
+            new JdbcTemplate(dataSource).execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void comparesExtensionVersions() {
+        assertThat(VectorDocumentRepository.isAtLeast("0.8.0", 0, 8)).isTrue();
+        assertThat(VectorDocumentRepository.isAtLeast("0.10.1", 0, 8)).isTrue();
+        assertThat(VectorDocumentRepository.isAtLeast("1.0", 0, 8)).isTrue();
+        assertThat(VectorDocumentRepository.isAtLeast("0.7.4", 0, 8)).isFalse();
+        assertThat(VectorDocumentRepository.isAtLeast(null, 0, 8)).isFalse();
+        assertThat(VectorDocumentRepository.isAtLeast("dev", 0, 8)).isFalse();
+    }
+
+    // 쿼리 근처 문서는 모두 다른 카테고리: 조건을 인덱스 탐색 뒤에 적용하면(ef_search 40) 결과가 비거나 topK보다 적음
+    @Test
+    @EnabledIfEnvironmentVariable(named = URL_ENV, matches = ".+")
+    void filteredSearchFillsTopK() {
+        JdbcTemplate jdbcTemplate = openSchema();
+        String version = jdbcTemplate.queryForObject(
+                "SELECT extversion FROM pg_extension WHERE extname = 'vector'", String.class);
+        assumeThat(VectorDocumentRepository.isAtLeast(version, 0, 8))
+                .as("iterative_scan은 pgvector 0.8 이상").isTrue();
+        VectorDocumentRepository repository = new VectorDocumentRepository(jdbcTemplate, new ObjectMapper());
+
+        Random random = new Random(7);
+        List<Document> documents = new ArrayList<>();
+        List<float[]> embeddings = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            boolean rare = i % 100 == 0; // 20건
+            documents.add(Document.builder()
+                    .id(UUID.randomUUID().toString())
+                    .text("book-" + i)
+                    .metadata(Map.of("isbn", "isbn-" + i, "category", rare ? "희귀" : "일반"))
+                    .build());
+            embeddings.add(around(rare ? 1 : 0, random));
+        }
+        repository.upsert(documents, embeddings);
+        jdbcTemplate.execute("SET enable_seqscan = off"); // 행이 적어도 HNSW 인덱스로 검색
+
+        List<Document> found = repository.searchByVector(around(0, random), 10,
+                SearchFilter.none().withCategories(List.of("희귀")).toExpression());
+
+        assertThat(found).hasSize(10);
+        assertThat(found).allSatisfy(document -> assertThat(document.getMetadata()).containsEntry("category", "희귀"));
+        assertThat(found).extracting(document -> (Double) document.getMetadata().get("distance")).isSorted();
+    }
+
+    private JdbcTemplate openSchema() {
+        dataSource = new SingleConnectionDataSource(System.getenv(URL_ENV),
+                System.getenv("RECOMON_TEST_PGVECTOR_USER"), System.getenv("RECOMON_TEST_PGVECTOR_PASSWORD"), true);
+        schema = "recomon_test_" + UUID.randomUUID().toString().replace("-", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS vector");
+        jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        jdbcTemplate.execute("SET search_path TO " + schema + ", public");
+        jdbcTemplate.execute("CREATE SEQUENCE vector_store_revision_seq");
+        jdbcTemplate.execute("""
+                CREATE TABLE vector_store (
+                    id VARCHAR(255) PRIMARY KEY,
+                    content TEXT,
+                    metadata JSONB,
+                    embedding vector(%d),
+                    revision BIGINT NOT NULL DEFAULT nextval('vector_store_revision_seq')
+                )
+                """.formatted(DIMENSIONS));
+        jdbcTemplate.execute("CREATE INDEX ON vector_store USING hnsw (embedding vector_cosine_ops)");
+        return jdbcTemplate;
+    }
+
+    // axis 방향 단위 벡터 근처
+    private static float[] around(int axis, Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = random.nextFloat() * 0.1f;
+        }
+        vector[axis] += 1.0f;
+        return vector;
+    }
+}
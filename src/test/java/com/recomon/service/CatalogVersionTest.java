@@ -0,0 +1,39 @@
+package com.recomon.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CatalogVersion catalogVersion =
+            new CatalogVersion(Duration.ofSeconds(5), now::get, new SimpleMeterRegistry());
+
+    @Test
+    void firstChangeIsPublishedImmediately() {
+        catalogVersion.markChanged();
+        assertThat(catalogVersion.current()).isEqualTo(1);
+    }
+
+    @Test
+    void changesWithinIntervalAreCoalesced() {
+        catalogVersion.markChanged();
+        for (int i = 0; i < 100; i++) {
+            catalogVersion.markChanged(); // 수집 배치마다
+        }
+        assertThat(catalogVersion.current()).isEqualTo(1);
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        catalogVersion.publishPending();
+        assertThat(catalogVersion.current()).isEqualTo(2);
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        catalogVersion.publishPending(); // 그 사이 변경 없음
+        assertThat(catalogVersion.current()).isEqualTo(2);
+    }
+}
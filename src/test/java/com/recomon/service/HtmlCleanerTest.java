@@ -0,0 +1,36 @@
+package com.recomon.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmlCleanerTest {
+
+    @Test
+    void removesTagsAndDecodesEntities() {
+        assertThat(HtmlCleaner.clean("<b>소설</b> &amp; 에세이 &quot;특별판&quot;"))
+                .isEqualTo("소설 & 에세이 \"특별판\"");
+    }
+
+    @Test
+    void decodesNumericEntities() {
+        assertThat(HtmlCleaner.clean("&#39;혼공&#39; &#x41;")).isEqualTo("'혼공' A");
+    }
+
+    @Test
+    void decodedAngleBracketsAreNotTreatedAsTags() {
+        assertThat(HtmlCleaner.clean("&lt;b&gt;그대로&lt;/b&gt;")).isEqualTo("<b>그대로</b>");
+    }
+
+    @Test
+    void keepsUnknownEntitiesAndUnclosedTags() {
+        assertThat(HtmlCleaner.clean("R&D &unknown; 1 < 2")).isEqualTo("R&D &unknown; 1 < 2");
+    }
+
+    @Test
+    void returnsSameInstanceWhenNothingToClean() {
+        String plain = "한강";
+        assertThat(HtmlCleaner.clean(plain)).isSameAs(plain);
+        assertThat(HtmlCleaner.clean(null)).isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package com.recomon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NaverCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final NaverCircuitBreaker breaker = new NaverCircuitBreaker(3, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.recordFailure();
+        assertThat(breaker.state()).isEqualTo(NaverCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        assertThat(breaker.state()).isEqualTo(NaverCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void allowsSingleTrialAfterOpenDuration() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(NaverCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse(); // 시험 호출은 1건만
+
+        breaker.recordSuccess();
+        assertThat(breaker.state()).isEqualTo(NaverCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void failedTrialReopens() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.recordFailure();
+        assertThat(breaker.state()).isEqualTo(NaverCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void releasedTrialAllowsAnotherTrial() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.releaseTrial(); // 결과를 기록하지 못하고 끝난 시험 호출
+        assertThat(breaker.state()).isEqualTo(NaverCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void releaseOutsideHalfOpenChangesNothing() {
+        openBreaker();
+        breaker.releaseTrial();
+        assertThat(breaker.state()).isEqualTo(NaverCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+    }
+}
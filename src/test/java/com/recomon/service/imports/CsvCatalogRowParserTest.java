@@ -0,0 +1,36 @@
+package com.recomon.service.imports;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvCatalogRowParserTest {
+
+    @Test
+    void mapsColumnsByHeaderName() {
+        CsvCatalogRowParser parser = new CsvCatalogRowParser("Title,ISBN,published_year,image_url,description");
+
+        CatalogRow row = parser.parse("\"채식주의자, 개정판\",9788936434595,2022,http://img,\"그가 말했다 \"\"안녕\"\"\"");
+
+        assertThat(row.isbn()).isEqualTo("9788936434595");
+        assertThat(row.title()).isEqualTo("채식주의자, 개정판");
+        assertThat(row.publishedYear()).isEqualTo(2022);
+        assertThat(row.imageUrl()).isEqualTo("http://img");
+        assertThat(row.description()).isEqualTo("그가 말했다 \"안녕\"");
+        assertThat(row.author()).isNull();
+    }
+
+    @Test
+    void rejectsHeaderWithoutIsbn() {
+        assertThatThrownBy(() -> new CsvCatalogRowParser("title,author"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnclosedQuote() {
+        CsvCatalogRowParser parser = new CsvCatalogRowParser("isbn,title");
+        assertThatThrownBy(() -> parser.parse("1,\"열린 따옴표"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.recomon.service.imports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffsetLineReaderTest {
+
+    @Test
+    void readsLinesAndReportsByteOffsets(@TempDir Path dir) throws Exception {
+        Path file = write(dir, "\uFEFF첫째\r\n둘째\n\n셋째");
+
+        try (OffsetLineReader reader = new OffsetLineReader(file, 0)) {
+            assertThat(reader.readLine()).isEqualTo("첫째");
+            long afterFirst = reader.offset();
+            assertThat(afterFirst).isEqualTo(3 + "첫째".getBytes(StandardCharsets.UTF_8).length + 2);
+
+            assertThat(reader.readLine()).isEqualTo("둘째");
+            assertThat(reader.readLine()).isEmpty();
+            assertThat(reader.readLine()).isEqualTo("셋째");
+            assertThat(reader.offset()).isEqualTo(Files.size(file));
+            assertThat(reader.readLine()).isNull();
+        }
+    }
+
+    @Test
+    void resumesFromOffset(@TempDir Path dir) throws Exception {
+        Path file = write(dir, "a\nb\nc\n");
+
+        long offset;
+        try (OffsetLineReader reader = new OffsetLineReader(file, 0)) {
+            reader.readLine();
+            offset = reader.offset();
+        }
+
+        try (OffsetLineReader reader = new OffsetLineReader(file, offset)) {
+            assertThat(reader.readLine()).isEqualTo("b");
+            assertThat(reader.readLine()).isEqualTo("c");
+            assertThat(reader.readLine()).isNull();
+        }
+    }
+
+    @Test
+    void readsLinesLongerThanBuffer(@TempDir Path dir) throws Exception {
+        String longLine = "가".repeat(100_000); // 300KB (버퍼 64KB)
+        Path file = write(dir, longLine + "\nend\n");
+
+        try (OffsetLineReader reader = new OffsetLineReader(file, 0)) {
+            assertThat(reader.readLine()).isEqualTo(longLine);
+            assertThat(reader.readLine()).isEqualTo("end");
+        }
+    }
+
+    private static Path write(Path dir, String content) throws Exception {
+        Path file = dir.resolve("catalog.jsonl");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
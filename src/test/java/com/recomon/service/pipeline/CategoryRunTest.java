@@ -0,0 +1,42 @@
+package com.recomon.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CategoryRunTest {
+
+    @Test
+    void completesWithSavedCountWhenAllWorkEnds() throws Exception {
+        CategoryRun run = new CategoryRun("소설", 20);
+        run.begin();
+        run.begin();
+        run.addSaved(7);
+        run.end();
+        assertThat(run.getResult()).isNotDone();
+
+        run.end();
+        assertThat(run.getResult().get()).isEqualTo(7);
+    }
+
+    @Test
+    void stageFailureCompletesExceptionallyWithPartialCount() {
+        CategoryRun run = new CategoryRun("소설", 20);
+        run.begin();
+        run.begin();
+        run.addSaved(3);
+        run.end();
+        run.fail(new IllegalStateException("네이버 API 오류"));
+        run.end(); // 이후 정상 종료는 무시
+
+        assertThatThrownBy(() -> run.getResult().get())
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(IngestionFailedException.class)
+                .hasMessageContaining("네이버 API 오류")
+                .satisfies(e -> assertThat(((IngestionFailedException) e).getSavedCount()).isEqualTo(3));
+    }
+}
@@ -0,0 +1,76 @@
+package com.recomon.service.source;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recomon.dto.NaverBookItem;
+import com.recomon.dto.NaverBookSearchResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordReplayBookSourceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void replaysRecordedPages(@TempDir Path dir) throws Exception {
+        Path fixture = dir.resolve("pages.jsonl");
+        BookSource live = (query, start, display) -> response(query + "-" + start);
+
+        try (RecordingBookSource recorder = new RecordingBookSource(live, objectMapper, fixture)) {
+            recorder.search("소설", 1, 100);
+            recorder.search("소설", 101, 100);
+            recorder.search("에세이", 1, 100);
+        }
+
+        ReplayBookSource replay = new ReplayBookSource(objectMapper, fixture, Duration.ZERO, Duration.ZERO);
+        assertThat(replay.queries()).containsExactly("소설", "에세이");
+        assertThat(replay.isbns()).containsExactlyInAnyOrder("소설-1", "소설-101", "에세이-1");
+        assertThat(replay.search("소설", 101, 100).getItems())
+                .extracting(NaverBookItem::getIsbn)
+                .containsExactly("소설-101");
+    }
+
+    @Test
+    void unrecordedPageIsEmpty(@TempDir Path dir) throws Exception {
+        Path fixture = dir.resolve("pages.jsonl");
+        try (RecordingBookSource recorder = new RecordingBookSource(
+                (query, start, display) -> response("1"), objectMapper, fixture)) {
+            recorder.search("소설", 1, 100);
+        }
+
+        ReplayBookSource replay = new ReplayBookSource(objectMapper, fixture, Duration.ZERO, Duration.ZERO);
+        assertThat(replay.search("소설", 201, 100).getItems()).isNullOrEmpty();
+    }
+
+    @Test
+    void isbnLookupsAreReplayedSeparatelyFromQueries(@TempDir Path dir) throws Exception {
+        Path fixture = dir.resolve("pages.jsonl");
+        BookSource live = (query, start, display) -> response(query + "-" + start);
+
+        try (RecordingBookSource recorder = new RecordingBookSource(live, objectMapper, fixture)) {
+            recorder.search("소설", 1, 100);
+            recorder.searchByIsbn("9788936434120");
+        }
+
+        ReplayBookSource replay = new ReplayBookSource(objectMapper, fixture, Duration.ZERO, Duration.ZERO);
+        assertThat(replay.queries()).containsExactly("소설");
+        assertThat(replay.searchByIsbn("9788936434120").getItems())
+                .extracting(NaverBookItem::getIsbn)
+                .containsExactly("9788936434120-1");
+        assertThat(replay.search("9788936434120", 1, 1).getItems()).isNullOrEmpty();
+    }
+
+    private static NaverBookSearchResponse response(String isbn) {
+        NaverBookItem item = new NaverBookItem();
+        item.setIsbn(isbn);
+        item.setTitle("<b>제목</b>");
+        NaverBookSearchResponse response = new NaverBookSearchResponse();
+        response.setItems(List.of(item));
+        return response;
+    }
+}
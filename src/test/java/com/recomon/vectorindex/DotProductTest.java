@@ -0,0 +1,56 @@
+package com.recomon.vectorindex;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DotProductTest {
+
+    // 1536 = 실제 임베딩 차원, 13 = 레인 수로 나누어떨어지지 않는 차원
+    private static final int[] DIMENSIONS = {1536, 13};
+
+    private final Random random = new Random(5);
+
+    @Test
+    void bestImplementationMatchesScalarOnArrays() {
+        DotProduct best = DotProducts.best();
+        for (int dimensions : DIMENSIONS) {
+            float[] query = randomVector(dimensions);
+            float[] data = randomVector(dimensions * 3);
+            for (int row = 0; row < 3; row++) {
+                float expected = DotProducts.scalar().dot(query, data, row * dimensions);
+                assertThat(best.dot(query, data, row * dimensions)).isCloseTo(expected, within(1e-3f));
+            }
+        }
+    }
+
+    @Test
+    void bestImplementationMatchesScalarOnLittleEndianBuffers() {
+        DotProduct best = DotProducts.best();
+        for (int dimensions : DIMENSIONS) {
+            float[] query = randomVector(dimensions);
+            float[] data = randomVector(dimensions);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(8 + dimensions * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < dimensions; i++) {
+                buffer.putFloat(8 + i * Float.BYTES, data[i]);
+            }
+
+            float expected = DotProducts.scalar().dot(query, data, 0);
+            assertThat(DotProducts.scalar().dot(query, buffer, 8)).isCloseTo(expected, within(1e-3f));
+            assertThat(best.dot(query, buffer, 8)).isCloseTo(expected, within(1e-3f));
+        }
+    }
+
+    private float[] randomVector(int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
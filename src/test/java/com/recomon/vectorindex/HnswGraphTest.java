@@ -0,0 +1,171 @@
+package com.recomon.vectorindex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HnswGraphTest {
+
+    private static final int DIMENSIONS = 16;
+
+    @TempDir
+    Path tempDir;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void findsNearestNeighboursWithHighRecall() throws Exception {
+        List<float[]> vectors = clusteredVectors(2_000);
+        try (HnswGraph graph = HnswGraph.open(tempDir.resolve("index.hnsw"), DIMENSIONS, 16, 100)) {
+            List<UUID> ids = insertAll(graph, vectors);
+
+            double recall = 0;
+            int queries = 50;
+            for (int q = 0; q < queries; q++) {
+                float[] query = vectors.get(random.nextInt(vectors.size())).clone();
+                query[0] += 0.01f;
+                Set<UUID> exact = exactTopK(vectors, ids, query, 10);
+                long hits = graph.search(query, 10, 64).stream().filter(n -> exact.contains(n.id())).count();
+                recall += hits / 10.0;
+            }
+            assertThat(recall / queries).isGreaterThan(0.9);
+        }
+    }
+
+    @Test
+    void reopensMappedFileWithoutRebuilding() throws Exception {
+        Path path = tempDir.resolve("index.hnsw");
+        List<float[]> vectors = clusteredVectors(300);
+        List<UUID> ids;
+        List<HnswGraph.Neighbor> before;
+        try (HnswGraph graph = HnswGraph.open(path, DIMENSIONS, 16, 100)) {
+            ids = insertAll(graph, vectors);
+            before = graph.search(vectors.get(0), 5, 64);
+            graph.advanceRevision(42);
+            graph.advanceRevision(7); // 뒤로 가지 않음
+        }
+
+        try (HnswGraph reopened = HnswGraph.open(path, DIMENSIONS, 16, 100)) {
+            assertThat(reopened.size()).isEqualTo(300);
+            assertThat(reopened.revision()).isEqualTo(42);
+            assertThat(reopened.search(vectors.get(0), 5, 64)).isEqualTo(before);
+            assertThat(reopened.search(vectors.get(0), 1, 64).get(0).id()).isEqualTo(ids.get(0));
+            assertThat(reopened.search(vectors.get(0), 1, 64).get(0).isbn()).isEqualTo("isbn-0");
+        }
+    }
+
+    @Test
+    void rejectsFileBuiltWithDifferentDimensions() throws Exception {
+        Path path = tempDir.resolve("index.hnsw");
+        try (HnswGraph graph = HnswGraph.open(path, DIMENSIONS, 16, 100)) {
+            graph.upsert(UUID.randomUUID(), "isbn", clusteredVectors(1).get(0));
+        }
+
+        assertThatThrownBy(() -> HnswGraph.open(path, DIMENSIONS * 2, 16, 100))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void deletedAndReplacedDocumentsAreNotReturned() throws Exception {
+        List<float[]> vectors = clusteredVectors(200);
+        try (HnswGraph graph = HnswGraph.open(tempDir.resolve("index.hnsw"), DIMENSIONS, 16, 100)) {
+            List<UUID> ids = insertAll(graph, vectors);
+
+            graph.delete(List.of(ids.get(0)));
+            assertThat(graph.search(vectors.get(0), 5, 64)).extracting(HnswGraph.Neighbor::id).doesNotContain(ids.get(0));
+
+            // ids[1]을 ids[2]의 벡터로 갱신: 이전 벡터 위치에서는 더 이상 가장 가깝지 않음
+            graph.upsert(ids.get(1), "isbn-1", vectors.get(2));
+            assertThat(graph.size()).isEqualTo(199);
+            assertThat(graph.deletedCount()).isEqualTo(2);
+            assertThat(graph.vector(ids.get(1))).isEqualTo(graph.vector(ids.get(2)));
+
+            // 같은 벡터로 다시 넣으면 새 노드를 만들지 않음
+            graph.upsert(ids.get(3), "isbn-3", vectors.get(3));
+            assertThat(graph.deletedCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void excludedIsbnsAreSkippedWithoutShrinkingResults() throws Exception {
+        List<float[]> vectors = clusteredVectors(500);
+        try (HnswGraph graph = HnswGraph.open(tempDir.resolve("index.hnsw"), DIMENSIONS, 16, 100)) {
+            insertAll(graph, vectors);
+
+            List<HnswGraph.Neighbor> nearest = graph.search(vectors.get(0), 5, 64);
+            Set<String> excluded = new HashSet<>();
+            nearest.forEach(neighbor -> excluded.add(neighbor.isbn()));
+
+            List<HnswGraph.Neighbor> filtered = graph.search(vectors.get(0), 5, 64, excluded);
+            assertThat(filtered).hasSize(5);
+            assertThat(filtered).extracting(HnswGraph.Neighbor::isbn).doesNotContainAnyElementsOf(excluded);
+        }
+    }
+
+    private List<UUID> insertAll(HnswGraph graph, List<float[]> vectors) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            graph.upsert(id, "isbn-" + i, vectors.get(i));
+        }
+        return ids;
+    }
+
+    // 실제 임베딩처럼 몇 개의 군집 주변에 모인 벡터
+    private List<float[]> clusteredVectors(int count) {
+        List<float[]> centers = new ArrayList<>();
+        for (int c = 0; c < 20; c++) {
+            centers.add(gaussian(1.0f));
+        }
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] center = centers.get(random.nextInt(centers.size()));
+            float[] noise = gaussian(0.3f);
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = center[d] + noise[d];
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    private float[] gaussian(float scale) {
+        float[] vector = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+
+    private Set<UUID> exactTopK(List<float[]> vectors, List<UUID> ids, float[] query, int k) {
+        Integer[] order = new Integer[vectors.size()];
+        double[] distances = new double[vectors.size()];
+        for (int i = 0; i < vectors.size(); i++) {
+            order[i] = i;
+            distances[i] = 1 - cosine(query, vectors.get(i));
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> distances[i]));
+        Set<UUID> exact = new HashSet<>();
+        for (int i = 0; i < k; i++) {
+            exact.add(ids.get(order[i]));
+        }
+        return exact;
+    }
+
+    private double cosine(float[] a, float[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+}
@@ -0,0 +1,32 @@
+package com.recomon.vectorindex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PairwiseSimilarityTest {
+
+    @Test
+    void computesCosineSimilarityOncePerPair() {
+        PairwiseSimilarity similarity = new PairwiseSimilarity(Arrays.asList(
+                new float[]{2, 0}, new float[]{1, 1}, new float[]{0, 3}));
+
+        assertThat((double) similarity.similarity(0, 1)).isCloseTo(Math.sqrt(0.5), within(1e-6));
+        assertThat((double) similarity.similarity(1, 0)).isCloseTo(Math.sqrt(0.5), within(1e-6));
+        assertThat((double) similarity.similarity(0, 2)).isCloseTo(0.0, within(1e-6));
+        assertThat(similarity.similarity(2, 2)).isEqualTo(1f);
+        assertThat(similarity.computedPairs()).isEqualTo(2);
+    }
+
+    @Test
+    void missingVectorsAreNotSimilarToAnything() {
+        PairwiseSimilarity similarity = new PairwiseSimilarity(Arrays.asList(new float[]{1, 0}, null));
+
+        assertThat(similarity.hasVector(1)).isFalse();
+        assertThat(similarity.similarity(0, 1)).isZero();
+        assertThat(similarity.computedPairs()).isZero();
+    }
+}
@@ -0,0 +1,45 @@
+package com.recomon.vectorindex;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchFilterTest {
+
+    @Test
+    void emptyFilterHasNoExpression() {
+        assertThat(SearchFilter.none().toExpression()).isNull();
+        assertThat(SearchFilter.excluding(List.of()).withCategories(null).isEmpty()).isTrue();
+    }
+
+    @Test
+    void excludedIsbnsBecomeNotInExpression() {
+        Filter.Expression expression = SearchFilter.excluding(List.of("2", "1")).toExpression();
+
+        assertThat(expression.type()).isEqualTo(Filter.ExpressionType.NIN);
+        assertThat(((Filter.Key) expression.left()).key()).isEqualTo("isbn");
+        assertThat(((Filter.Value) expression.right()).value()).isEqualTo(List.of("1", "2"));
+    }
+
+    @Test
+    void exclusionAndCategoriesAreCombinedWithAnd() {
+        SearchFilter filter = SearchFilter.excluding(List.of("1")).withCategories(List.of("소설"));
+
+        Filter.Expression expression = filter.toExpression();
+
+        assertThat(filter.hasCategories()).isTrue();
+        assertThat(filter.excludes("1")).isTrue();
+        assertThat(expression.type()).isEqualTo(Filter.ExpressionType.AND);
+        assertThat(((Filter.Expression) expression.right()).type()).isEqualTo(Filter.ExpressionType.IN);
+    }
+
+    @Test
+    void rejectsValuesThatWouldBreakJsonPathLiteral() {
+        assertThatThrownBy(() -> SearchFilter.excluding(List.of("1\" || true")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.recomon.vectorindex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKTest {
+
+    @Test
+    void keepsSmallestDistancesInAscendingOrder() {
+        Random random = new Random(3);
+        float[] all = new float[1_000];
+        TopK nearest = new TopK(10);
+        for (int row = 0; row < all.length; row++) {
+            all[row] = random.nextFloat();
+            nearest.offer(row, all[row]);
+        }
+
+        int[] rows = new int[10];
+        float[] distances = new float[10];
+        assertThat(nearest.drainSorted(rows, distances)).isEqualTo(10);
+
+        float[] expected = all.clone();
+        Arrays.sort(expected);
+        assertThat(distances).containsExactly(Arrays.copyOf(expected, 10));
+        for (int i = 0; i < 10; i++) {
+            assertThat(all[rows[i]]).isEqualTo(distances[i]);
+        }
+        assertThat(nearest.size()).isZero();
+    }
+
+    @Test
+    void returnsFewerThanKWhenFewerOffered() {
+        TopK nearest = new TopK(5);
+        nearest.offer(7, 0.3f);
+        nearest.offer(2, 0.1f);
+        assertThat(nearest.worst()).isEqualTo(Float.POSITIVE_INFINITY);
+
+        int[] rows = new int[5];
+        float[] distances = new float[5];
+        int found = nearest.drainSorted(rows, distances);
+
+        assertThat(found).isEqualTo(2);
+        assertThat(IntStream.of(rows).limit(found).toArray()).containsExactly(2, 7);
+    }
+
+    @Test
+    void worstIsKthDistanceOnceFull() {
+        TopK nearest = new TopK(2);
+        nearest.offer(0, 0.5f);
+        nearest.offer(1, 0.2f);
+        nearest.offer(2, 0.9f);
+
+        assertThat(nearest.worst()).isEqualTo(0.5f);
+    }
+
+    @Test
+    void equalDistancesKeepLowerRowsFirst() {
+        TopK nearest = new TopK(3);
+        for (int row = 9; row >= 0; row--) {
+            nearest.offer(row, 1.0f);
+        }
+
+        int[] rows = new int[3];
+        nearest.drainSorted(rows, new float[3]);
+
+        assertThat(rows).containsExactly(0, 1, 2);
+    }
+}
@@ -0,0 +1,153 @@
+package com.recomon.vectorindex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class VectorQuantizerTest {
+
+    private static final int DIMENSIONS = 16;
+
+    @TempDir
+    Path tempDir;
+
+    private final Random random = new Random(11);
+
+    @Test
+    void int8SearchKeepsRecallAfterRerank() throws Exception {
+        assertQuantizedRecall("int8", 4);
+    }
+
+    @Test
+    void productQuantizedSearchKeepsRecallAfterRerank() throws Exception {
+        assertQuantizedRecall("pq", 8);
+    }
+
+    @Test
+    void codesAreSmallerThanFloatVectors() {
+        List<float[]> sample = normalized(clusteredVectors(500));
+
+        VectorQuantizer int8 = VectorQuantizer.train("int8", sample, DIMENSIONS, 8);
+        VectorQuantizer pq = VectorQuantizer.train("pq", sample, DIMENSIONS, 8);
+
+        assertThat(int8.bytesPerVector()).isEqualTo(DIMENSIONS);
+        assertThat(pq.bytesPerVector()).isEqualTo(8);
+    }
+
+    @Test
+    void approximateDistanceTracksExactDistance() {
+        List<float[]> vectors = normalized(clusteredVectors(500));
+        VectorQuantizer quantizer = VectorQuantizer.train("int8", vectors, DIMENSIONS, 8);
+        byte[] codes = new byte[quantizer.bytesPerVector()];
+
+        float[] query = vectors.get(0);
+        VectorQuantizer.Scorer scorer = quantizer.scorer(query);
+        for (float[] vector : vectors.subList(1, 50)) {
+            quantizer.encode(vector, codes, 0);
+            assertThat((double) scorer.distance(codes, 0)).isCloseTo(1 - dot(query, vector),
+                    offset(0.05));
+        }
+    }
+
+    @Test
+    void rejectsUnknownMode() {
+        assertThatThrownBy(() -> VectorQuantizer.train("fp16", List.of(new float[DIMENSIONS]), DIMENSIONS, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertQuantizedRecall(String mode, int subspaces) throws Exception {
+        List<float[]> vectors = clusteredVectors(2_000);
+        try (HnswGraph graph = HnswGraph.open(tempDir.resolve(mode + ".hnsw"), DIMENSIONS, 16, 100)) {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < vectors.size(); i++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                graph.upsert(id, "isbn-" + i, vectors.get(i));
+            }
+            assertThat(graph.quantized()).isFalse();
+            graph.enableQuantization(VectorQuantizer.train(mode, graph.sampleVectors(1_000), DIMENSIONS, subspaces), 4);
+            assertThat(graph.quantized()).isTrue();
+            assertThat(graph.memoryStats()).containsEntry("quantization", mode);
+
+            double recall = 0;
+            int queries = 50;
+            for (int q = 0; q < queries; q++) {
+                float[] query = vectors.get(random.nextInt(vectors.size())).clone();
+                query[0] += 0.01f;
+                Set<UUID> exact = exactTopK(vectors, ids, query, 10);
+                long hits = graph.search(query, 10, 64).stream().filter(n -> exact.contains(n.id())).count();
+                recall += hits / 10.0;
+            }
+            assertThat(recall / queries).isGreaterThan(0.9);
+        }
+    }
+
+    private List<float[]> clusteredVectors(int count) {
+        List<float[]> centers = new ArrayList<>();
+        for (int c = 0; c < 20; c++) {
+            centers.add(gaussian(1.0f));
+        }
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] center = centers.get(random.nextInt(centers.size()));
+            float[] noise = gaussian(0.3f);
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = center[d] + noise[d];
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    private float[] gaussian(float scale) {
+        float[] vector = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+
+    private List<float[]> normalized(List<float[]> vectors) {
+        List<float[]> normalized = new ArrayList<>(vectors.size());
+        for (float[] vector : vectors) {
+            double norm = Math.sqrt(dot(vector, vector));
+            float[] unit = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                unit[d] = (float) (vector[d] / norm);
+            }
+            normalized.add(unit);
+        }
+        return normalized;
+    }
+
+    private Set<UUID> exactTopK(List<float[]> vectors, List<UUID> ids, float[] query, int k) {
+        Integer[] order = new Integer[vectors.size()];
+        double[] distances = new double[vectors.size()];
+        double queryNorm = Math.sqrt(dot(query, query));
+        for (int i = 0; i < vectors.size(); i++) {
+            order[i] = i;
+            distances[i] = 1 - dot(query, vectors.get(i)) / (queryNorm * Math.sqrt(dot(vectors.get(i), vectors.get(i))));
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> distances[i]));
+        Set<UUID> exact = new HashSet<>();
+        for (int i = 0; i < k; i++) {
+            exact.add(ids.get(order[i]));
+        }
+        return exact;
+    }
+
+    private double dot(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+}
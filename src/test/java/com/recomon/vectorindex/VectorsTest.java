@@ -0,0 +1,41 @@
+package com.recomon.vectorindex;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorsTest {
+
+    @Test
+    void normalizesToUnitLengthWithoutTouchingInput() {
+        float[] vector = {3, 4};
+
+        float[] normalized = Vectors.normalize(vector);
+
+        assertThat(normalized).containsExactly(new float[]{0.6f, 0.8f}, within(1e-6f));
+        assertThat(Vectors.norm(normalized)).isCloseTo(1.0, within(1e-6));
+        assertThat(vector).containsExactly(3, 4);
+    }
+
+    @Test
+    void zeroVectorStaysZero() {
+        assertThat(Vectors.normalize(new float[3])).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void rejectsWrongDimensions() {
+        assertThatThrownBy(() -> Vectors.normalize(new float[3], 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cosineDistanceOfNormalizedVectors() {
+        float[] x = Vectors.normalize(new float[]{1, 0, 0});
+        float[] y = Vectors.normalize(new float[]{0, 2, 0});
+
+        assertThat(Vectors.cosineDistance(x, x)).isCloseTo(0f, within(1e-6f));
+        assertThat(Vectors.cosineDistance(x, y)).isCloseTo(1f, within(1e-6f));
+    }
+}